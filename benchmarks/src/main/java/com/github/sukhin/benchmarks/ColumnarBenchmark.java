@@ -0,0 +1,68 @@
+package com.github.sukhin.benchmarks;
+
+import com.github.sukhin.FilterUtils;
+import com.github.sukhin.QualifierValue;
+import com.github.sukhin.memory.ColumnarFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scans a column of every primitive type in one benchmark, so a kernel shared between the types would see all
+ * of them, 3 x 10 million rows per operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ColumnarBenchmark {
+    private static final List<QualifierValue> VALUES =
+            FilterUtils.parseQualifierValues(List.of("<1000", "=8080", ">=30000"));
+
+    @Param({"10000000"})
+    private int rowCount;
+
+    private short[] shorts;
+    private int[] ints;
+    private long[] longs;
+    private long[] selection;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        shorts = new short[rowCount];
+        ints = new int[rowCount];
+        longs = new long[rowCount];
+        for (int i = 0; i < rowCount; i++) {
+            int value = random.nextInt(32768);
+            shorts[i] = (short) value;
+            ints[i] = value;
+            longs[i] = value;
+        }
+        selection = ColumnarFilter.newSelection(rowCount);
+    }
+
+    @Benchmark
+    public int allColumns() {
+        ColumnarFilter.select(shorts, rowCount, VALUES, selection);
+        int count = ColumnarFilter.cardinality(selection);
+        ColumnarFilter.select(ints, rowCount, VALUES, selection);
+        count += ColumnarFilter.cardinality(selection);
+        ColumnarFilter.select(longs, rowCount, VALUES, selection);
+        return count + ColumnarFilter.cardinality(selection);
+    }
+}
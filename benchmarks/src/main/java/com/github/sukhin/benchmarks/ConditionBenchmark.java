@@ -0,0 +1,69 @@
+package com.github.sukhin.benchmarks;
+
+import com.github.sukhin.ConditionMode;
+import com.github.sukhin.FilterUtils;
+import com.github.sukhin.condition.FilterCondition;
+import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConditionBenchmark {
+    @Param({"1", "4", "16"})
+    private int fieldCount;
+
+    @Param({"1", "8", "32"})
+    private int valueCount;
+
+    @Param({"VERBATIM", "TEMPLATE", "SIMPLIFIED"})
+    private ConditionMode mode;
+
+    private Map<String, FilterCondition> conditions;
+    private Map<String, List<String>> filter;
+    private DSLContext ctx;
+    private Condition condition;
+
+    @Setup
+    public void setUp() {
+        conditions = Filters.conditions(fieldCount);
+        filter = Filters.filter(fieldCount, valueCount);
+        ctx = DSL.using(SQLDialect.POSTGRES);
+        condition = FilterUtils.getConditionFromFilter(conditions, filter, null, mode);
+    }
+
+    @Benchmark
+    public Condition getConditionFromFilter() {
+        return FilterUtils.getConditionFromFilter(conditions, filter, null, mode);
+    }
+
+    @Benchmark
+    public String render() {
+        return ctx.render(condition);
+    }
+
+    @Benchmark
+    public String getConditionFromFilterAndRender() {
+        return ctx.render(FilterUtils.getConditionFromFilter(conditions, filter, null, mode));
+    }
+}
@@ -0,0 +1,94 @@
+package com.github.sukhin.benchmarks;
+
+import com.github.sukhin.condition.FilterCondition;
+import com.github.sukhin.condition.IntegerFilterCondition;
+import com.github.sukhin.condition.LocalDateTimeFilterCondition;
+import com.github.sukhin.condition.StringFilterCondition;
+import org.jooq.Field;
+import org.jooq.impl.DSL;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Realistic filter datasets: flow-log fields like ip_src and port_dst from the {@link FilterCondition} Javadoc.
+ */
+final class Filters {
+    private static final String[] RANGE_VALUES = {"<11", "=100", ">=1024", "!=8080", "<=65535", ">443", "=22"};
+    private static final String[] STRING_VALUES = {"!=10.119.24.99", "~10.119", "=192.168.0.1", "!~172.16"};
+    private static final String[] DATE_VALUES = {">=2023-01-01T00:00", "<2023-02-01T00:00", "=2023-01-15T12:30:00"};
+
+    private Filters() {
+    }
+
+    /**
+     * Filtering conditions of fieldCount fields: ip_src_N (string), port_dst_N (integer) and created_N (timestamp).
+     */
+    static Map<String, FilterCondition> conditions(int fieldCount) {
+        Map<String, FilterCondition> conditions = new HashMap<>();
+        for (int i = 0; i < fieldCount; i++) {
+            String name = fieldName(i);
+            switch (i % 3) {
+                case 0:
+                    conditions.put(name, new IntegerFilterCondition(DSL.field(DSL.name(name), Integer.class)));
+                    break;
+                case 1:
+                    conditions.put(name, new StringFilterCondition(DSL.field(DSL.name(name), String.class)));
+                    break;
+                default:
+                    conditions.put(name,
+                            new LocalDateTimeFilterCondition(DSL.field(DSL.name(name), LocalDateTime.class)));
+                    break;
+            }
+        }
+        return conditions;
+    }
+
+    /**
+     * Filter with valueCount values for each of fieldCount fields.
+     */
+    static Map<String, List<String>> filter(int fieldCount, int valueCount) {
+        Map<String, List<String>> filter = new LinkedHashMap<>();
+        for (int i = 0; i < fieldCount; i++) {
+            String[] pool = i % 3 == 0 ? RANGE_VALUES : i % 3 == 1 ? STRING_VALUES : DATE_VALUES;
+            filter.put(fieldName(i), values(pool, valueCount));
+        }
+        return filter;
+    }
+
+    /**
+     * Sortable fields of the filter.
+     */
+    static Map<String, Field<?>> sortFields(int fieldCount) {
+        Map<String, Field<?>> fields = new HashMap<>();
+        for (int i = 0; i < fieldCount; i++) {
+            fields.put(fieldName(i), DSL.field(DSL.name(fieldName(i))));
+        }
+        return fields;
+    }
+
+    static List<String> values(String[] pool, int valueCount) {
+        List<String> values = new ArrayList<>(valueCount);
+        for (int i = 0; i < valueCount; i++) {
+            String value = pool[i % pool.length];
+            // Vary the numbers, so values are not all the same literal
+            values.add(i < pool.length ? value : value.replaceAll("\\d$", Integer.toString(i % 10)));
+        }
+        return values;
+    }
+
+    static String fieldName(int i) {
+        switch (i % 3) {
+            case 0:
+                return "port_dst_" + i;
+            case 1:
+                return "ip_src_" + i;
+            default:
+                return "created_" + i;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.github.sukhin.benchmarks;
+
+import com.github.sukhin.condition.BooleanFilterCondition;
+import com.github.sukhin.condition.FilterCondition;
+import com.github.sukhin.condition.StringFilterCondition;
+import com.github.sukhin.memory.FilterPredicates;
+import com.github.sukhin.memory.InvertedIndex;
+import com.github.sukhin.memory.RowBitmap;
+import org.jooq.impl.DSL;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InvertedIndexBenchmark {
+    private static final Map<String, FilterCondition> CONDITIONS = Map.of(
+            "status", new StringFilterCondition(DSL.field(DSL.name("status"), String.class)),
+            "vendor", new StringFilterCondition(DSL.field(DSL.name("vendor"), String.class)),
+            "online", new BooleanFilterCondition(DSL.field(DSL.name("online"), Boolean.class))
+    );
+    private static final Map<String, Function<Device, ?>> ACCESSORS = Map.of(
+            "status", Device::status,
+            "vendor", Device::vendor,
+            "online", Device::online
+    );
+    private static final Map<String, List<String>> FILTER = Map.of(
+            "status", List.of("=active", "=spare"),
+            "vendor", List.of("!=acme"),
+            "online", List.of("=true")
+    );
+
+    @Param({"100000", "1000000"})
+    private int rowCount;
+
+    private Device[] devices;
+    private InvertedIndex<Device> index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        String[] statuses = {"active", "retired", "spare", "broken"};
+        String[] vendors = {"acme", "globex", "initech", "umbrella", "hooli"};
+        devices = new Device[rowCount];
+        Map<Integer, Device> rows = new HashMap<>();
+        for (int row = 0; row < rowCount; row++) {
+            devices[row] = new Device(statuses[random.nextInt(statuses.length)],
+                    vendors[random.nextInt(vendors.length)], random.nextBoolean());
+            rows.put(row, devices[row]);
+        }
+        index = new InvertedIndex<>(CONDITIONS, ACCESSORS);
+        index.putAll(rows);
+    }
+
+    @Benchmark
+    public int scan() {
+        Predicate<Device> predicate = FilterPredicates.compile(CONDITIONS, ACCESSORS, FILTER);
+        int count = 0;
+        for (Device device : devices) {
+            if (predicate.test(device)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public RowBitmap select() {
+        return index.snapshot().select(FILTER).orElseThrow();
+    }
+
+    @Benchmark
+    public RowBitmap update() {
+        int row = rowCount / 2;
+        index.put(row, devices[row]);
+        index.put(row, new Device("broken", "hooli", false));
+        return index.snapshot().getRows();
+    }
+
+    public record Device(String status, String vendor, Boolean online) {
+    }
+}
@@ -0,0 +1,125 @@
+package com.github.sukhin.benchmarks;
+
+import com.github.sukhin.condition.FilterCondition;
+import com.github.sukhin.match.FilterMatcher;
+import com.github.sukhin.memory.FilterPredicates;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Matching one event against many subscriptions: the indexed {@link FilterMatcher} against a loop over
+ * predicates compiled by {@link FilterPredicates}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MatchBenchmark {
+    private static final int FIELD_COUNT = 3;
+    private static final int EVENT_COUNT = 1024;
+
+    @Param({"10000", "50000"})
+    private int filterCount;
+
+    private FilterMatcher matcher;
+    private List<Predicate<Map<String, Object>>> predicates;
+    private List<Map<String, Object>> events;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        Map<String, FilterCondition> conditions = Filters.conditions(FIELD_COUNT);
+        Map<String, Function<Map<String, Object>, ?>> accessors = new HashMap<>();
+        for (int i = 0; i < FIELD_COUNT; i++) {
+            String fieldName = Filters.fieldName(i);
+            accessors.put(fieldName, event -> event.get(fieldName));
+        }
+
+        matcher = new FilterMatcher(conditions);
+        predicates = new ArrayList<>(filterCount);
+        for (int i = 0; i < filterCount; i++) {
+            Map<String, List<String>> filter = subscription(random);
+            matcher.add(Integer.toString(i), filter);
+            predicates.add(FilterPredicates.compile(conditions, accessors, filter));
+        }
+
+        events = new ArrayList<>(EVENT_COUNT);
+        for (int i = 0; i < EVENT_COUNT; i++) {
+            Map<String, Object> event = new HashMap<>();
+            event.put(Filters.fieldName(0), random.nextInt(65536));
+            event.put(Filters.fieldName(1), "10.119.24." + random.nextInt(256));
+            event.put(Filters.fieldName(2),
+                    LocalDateTime.parse("2023-01-01T00:00").plusMinutes(random.nextInt(60 * 24 * 60)));
+            events.add(event);
+        }
+    }
+
+    /**
+     * Alert-like subscription: a few ports or a rare port range, optionally an address and recent events only.
+     * Values of a field are combined with OR, so ranges are open-ended.
+     */
+    private static Map<String, List<String>> subscription(Random random) {
+        Map<String, List<String>> filter = new LinkedHashMap<>();
+        int port = random.nextInt(65536);
+        switch (random.nextInt(4)) {
+            case 0:
+                filter.put(Filters.fieldName(0), List.of(">" + (65536 - random.nextInt(2048))));
+                break;
+            case 1:
+                filter.put(Filters.fieldName(0), List.of("<" + random.nextInt(1024), "=" + port));
+                break;
+            default:
+                filter.put(Filters.fieldName(0), List.of("=" + port, "=" + random.nextInt(65536)));
+                break;
+        }
+        if (random.nextInt(4) == 0) {
+            filter.put(Filters.fieldName(1), List.of("=10.119.24." + random.nextInt(256), "!~10.119.24.1"));
+        }
+        if (random.nextInt(4) == 0) {
+            filter.put(Filters.fieldName(2), List.of(">=" + LocalDateTime.parse("2023-02-28T00:00")
+                    .plusHours(random.nextInt(48))));
+        }
+        return filter;
+    }
+
+    private Map<String, Object> nextEvent() {
+        return events.get(next++ & (EVENT_COUNT - 1));
+    }
+
+    @Benchmark
+    public List<String> indexed() {
+        return matcher.match(nextEvent());
+    }
+
+    @Benchmark
+    public void predicateLoop(Blackhole blackhole) {
+        Map<String, Object> event = nextEvent();
+        for (Predicate<Map<String, Object>> predicate : predicates) {
+            blackhole.consume(predicate.test(event));
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.github.sukhin.benchmarks;
+
+import com.github.sukhin.FilterUtils;
+import com.github.sukhin.QualifierValue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParseBenchmark {
+    @Param({"1", "8", "32"})
+    private int valueCount;
+
+    private List<String> values;
+    private List<String> sortValues;
+    private List<QualifierValue> buffer;
+
+    @Setup
+    public void setUp() {
+        values = Filters.values(new String[]{"<11", "=100", "!=10.119.24.99", "!~abc", ">=1024", " 42 "}, valueCount);
+        sortValues = Filters.values(new String[]{"+port_dst", "-ip_src"}, valueCount);
+        buffer = new ArrayList<>(valueCount);
+    }
+
+    @Benchmark
+    public List<QualifierValue> parseQualifierValues() {
+        return FilterUtils.parseQualifierValues(values);
+    }
+
+    @Benchmark
+    public List<QualifierValue> parseQualifierValuesIntoBuffer() {
+        return FilterUtils.parseQualifierValues(values, buffer);
+    }
+
+    @Benchmark
+    public List<QualifierValue> parseSortQualifierValues() {
+        return FilterUtils.parseQualifierValues(sortValues);
+    }
+}
@@ -0,0 +1,72 @@
+package com.github.sukhin.benchmarks;
+
+import com.github.sukhin.DateQualifierMatcher;
+import com.github.sukhin.FilterUtils;
+import com.github.sukhin.QualifierValue;
+import com.github.sukhin.StringQualifierMatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QualifiedBenchmark {
+    @Param({"1", "8", "32"})
+    private int valueCount;
+
+    private List<QualifierValue> stringQualifierValues;
+    private StringQualifierMatcher stringMatcher;
+    private List<QualifierValue> dateQualifierValues;
+    private DateQualifierMatcher dateMatcher;
+
+    @Setup
+    public void setUp() {
+        stringQualifierValues = FilterUtils.parseQualifierValues(
+                Filters.values(new String[]{"=10.119.24.99", "~192.168", "!~172.16", "!=10.0.0.1"}, valueCount));
+        dateQualifierValues = FilterUtils.parseQualifierValues(
+                Filters.values(new String[]{">=2023-01-01T00:00", "<2023-02-01T00:00", "=2023-01-15T12:30:00"},
+                        valueCount));
+        stringMatcher = StringQualifierMatcher.compile(stringQualifierValues);
+        dateMatcher = DateQualifierMatcher.compile(dateQualifierValues);
+    }
+
+    @Benchmark
+    public boolean isStringQualified() {
+        return FilterUtils.isStringQualified(stringQualifierValues, "10.119.24.100");
+    }
+
+    @Benchmark
+    public boolean compiledStringQualified() {
+        return stringMatcher.test("10.119.24.100");
+    }
+
+    @Benchmark
+    public boolean isStringDateQualified() {
+        return FilterUtils.isStringDateQualified(dateQualifierValues, "2023-01-20T08:15:30");
+    }
+
+    @Benchmark
+    public boolean compiledStringDateQualified() {
+        return dateMatcher.test("2023-01-20T08:15:30");
+    }
+
+    @Benchmark
+    public int compareStringDates() {
+        return FilterUtils.compareStringDates("2023-01-20T08:15:30", "2023-01-15T12:30:00");
+    }
+}
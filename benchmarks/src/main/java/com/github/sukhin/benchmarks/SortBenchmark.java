@@ -0,0 +1,49 @@
+package com.github.sukhin.benchmarks;
+
+import com.github.sukhin.FilterUtils;
+import org.jooq.Field;
+import org.jooq.SortField;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SortBenchmark {
+    @Param({"1", "4", "16"})
+    private int sortFieldCount;
+
+    private Map<String, Field<?>> fields;
+    private List<String> sortValues;
+
+    @Setup
+    public void setUp() {
+        fields = Filters.sortFields(sortFieldCount);
+        sortValues = new ArrayList<>(sortFieldCount);
+        for (int i = 0; i < sortFieldCount; i++) {
+            sortValues.add((i % 2 == 0 ? "+" : "-") + Filters.fieldName(i));
+        }
+    }
+
+    @Benchmark
+    public List<SortField<?>> getSortFieldsFromQualifierValues() {
+        return FilterUtils.getSortFieldsFromQualifierValues(fields, sortValues);
+    }
+}
@@ -0,0 +1,69 @@
+package com.github.sukhin.benchmarks;
+
+import com.github.sukhin.memory.InMemorySorter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TopKBenchmark {
+    private static final List<String> SORT_VALUES = List.of("-bytes", "+port");
+
+    @Param({"100000", "1000000"})
+    private int rowCount;
+
+    private List<Flow> flows;
+    private InMemorySorter<Flow> sorter;
+    private InMemorySorter<Flow> parallelSorter;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        flows = new ArrayList<>(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            flows.add(new Flow(random.nextInt(65536), random.nextInt(1_000_000)));
+        }
+        sorter = new InMemorySorter<Flow>().addIntKey("port", Flow::port).addLongKey("bytes", Flow::bytes);
+        parallelSorter = new InMemorySorter<Flow>(100_000).addIntKey("port", Flow::port)
+                .addLongKey("bytes", Flow::bytes);
+    }
+
+    @Benchmark
+    public List<Flow> fullSort() {
+        List<Flow> sorted = new ArrayList<>(flows);
+        sorted.sort(Comparator.comparingLong(Flow::bytes).reversed().thenComparingInt(Flow::port));
+        return new ArrayList<>(sorted.subList(0, 50));
+    }
+
+    @Benchmark
+    public List<Flow> topK() {
+        return sorter.getPage(flows, SORT_VALUES, 0, 50);
+    }
+
+    @Benchmark
+    public List<Flow> parallelTopK() {
+        return parallelSorter.getPage(flows, SORT_VALUES, 0, 50);
+    }
+
+    public record Flow(int port, long bytes) {
+    }
+}
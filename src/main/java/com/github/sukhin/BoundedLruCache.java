@@ -0,0 +1,156 @@
+package com.github.sukhin;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiPredicate;
+import java.util.function.ToLongFunction;
+
+import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Map bounded by the number of entries and optionally by their total weight, which evicts the least recently used
+ * entries. It backs the caches of plans, counts and pages.
+ * <p>
+ * All methods synchronize on the cache, so a caller can make a compound action atomic by synchronizing on the
+ * cache as well.
+ * </p>
+ *
+ * @param <K> type of keys
+ * @param <V> type of values
+ */
+public final class BoundedLruCache<K, V> {
+    private final int maxSize;
+    private final long maxWeight;
+    private final ToLongFunction<? super V> weigher;
+    private final LinkedHashMap<K, V> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long weight;
+    private long evictions;
+
+    /**
+     * Creates a cache bounded by the number of entries.
+     *
+     * @param maxSize maximum number of entries
+     */
+    public BoundedLruCache(int maxSize) {
+        this(maxSize, Long.MAX_VALUE, value -> 0);
+    }
+
+    /**
+     * Creates a cache bounded by the number of entries and their total weight.
+     *
+     * @param maxSize   maximum number of entries
+     * @param maxWeight maximum total weight of entries
+     * @param weigher   weight of a value, it must not change while the value is cached
+     */
+    public BoundedLruCache(int maxSize, long maxWeight, ToLongFunction<? super V> weigher) {
+        requireNonNull(weigher);
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+        }
+        if (maxWeight <= 0) {
+            throw new IllegalArgumentException("maxWeight must be positive: " + maxWeight);
+        }
+        this.maxSize = maxSize;
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+    }
+
+    /**
+     * Returns a value and marks it as recently used.
+     *
+     * @param key key
+     * @return value, null if the key is not cached
+     */
+    public synchronized V get(K key) {
+        return entries.get(key);
+    }
+
+    /**
+     * Inserts or replaces a value, then evicts the least recently used entries until the cache is within its
+     * bounds. A value heavier than the maximum weight evicts every entry including itself.
+     *
+     * @param key   key
+     * @param value value
+     */
+    public synchronized void put(K key, V value) {
+        requireNonNull(value);
+        V previous = entries.put(key, value);
+        if (nonNull(previous)) {
+            weight -= weigher.applyAsLong(previous);
+        }
+        weight += weigher.applyAsLong(value);
+        Iterator<V> iterator = entries.values().iterator();
+        while ((entries.size() > maxSize || weight > maxWeight) && iterator.hasNext()) {
+            weight -= weigher.applyAsLong(iterator.next());
+            iterator.remove();
+            evictions++;
+        }
+    }
+
+    /**
+     * Removes a value.
+     *
+     * @param key key
+     * @return removed value, null if the key was not cached
+     */
+    public synchronized V remove(K key) {
+        V value = entries.remove(key);
+        if (nonNull(value)) {
+            weight -= weigher.applyAsLong(value);
+        }
+        return value;
+    }
+
+    /**
+     * Removes all entries matching a predicate.
+     *
+     * @param predicate predicate over keys and values
+     */
+    public synchronized void removeIf(BiPredicate<? super K, ? super V> predicate) {
+        Iterator<Map.Entry<K, V>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<K, V> entry = iterator.next();
+            if (predicate.test(entry.getKey(), entry.getValue())) {
+                weight -= weigher.applyAsLong(entry.getValue());
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Removes all entries, the eviction counter is kept.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        weight = 0;
+    }
+
+    /**
+     * Number of cached entries.
+     *
+     * @return size
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Total weight of cached entries.
+     *
+     * @return weight, 0 for a cache bounded only by the number of entries
+     */
+    public synchronized long getWeight() {
+        return weight;
+    }
+
+    /**
+     * Number of entries evicted to keep the cache within its bounds.
+     *
+     * @return count of evictions
+     */
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+}
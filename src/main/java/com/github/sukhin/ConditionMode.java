@@ -0,0 +1,34 @@
+package com.github.sukhin;
+
+/**
+ * How the values of one filter field are turned into a condition.
+ */
+public enum ConditionMode {
+    /**
+     * Every value becomes a separate predicate, predicates are combined with OR.
+     * <p>
+     * ["&lt;11", "=100", "=200"] =&gt; (port_dst &lt; ? OR port_dst = ? OR port_dst = ?)
+     * </p>
+     */
+    VERBATIM,
+    /**
+     * Values are grouped by qualifier, so the SQL text depends only on which qualifiers are used, not on how many
+     * values are passed, and database statement caches hit. Equality values are bound as a single array,
+     * range bounds of one direction are merged into a single bound. Requires a dialect with array support
+     * (e.g. PostgreSQL, H2).
+     * <p>
+     * ["&lt;11", "=100", "=200"] =&gt; (port_dst = any(?::int[]) OR port_dst &lt; ?)
+     * </p>
+     */
+    TEMPLATE,
+    /**
+     * Values are simplified before the condition is built: overlapping ranges are merged, subsumed bounds and
+     * duplicate values are dropped. A field whose values cover every non-null value becomes "field is not null",
+     * a field whose values match nothing (e.g. "&lt;-32768" of a short field) becomes false and the whole filter
+     * becomes false, see {@link FilterUtils#isAlwaysFalse(org.jooq.Condition)}.
+     * <p>
+     * ["&gt;=10", "&gt;5", "&lt;3", "=7", "=7"] =&gt; (port_dst &lt;= ? OR port_dst &gt;= ?)
+     * </p>
+     */
+    SIMPLIFIED
+}
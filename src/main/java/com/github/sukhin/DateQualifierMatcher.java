@@ -0,0 +1,183 @@
+package com.github.sukhin;
+
+import com.github.sukhin.condition.IsoDateTimeParser;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+
+import static com.github.sukhin.Qualifier.EQUAL;
+import static com.github.sukhin.Qualifier.GREATER;
+import static com.github.sukhin.Qualifier.GREATER_EQUAL;
+import static com.github.sukhin.Qualifier.LESS;
+import static com.github.sukhin.Qualifier.LESS_EQUAL;
+import static com.github.sukhin.Qualifier.NOT_EQUAL;
+import static java.util.Objects.isNull;
+
+/**
+ * Compiled form of {@link FilterUtils#isStringDateQualified(List, String)} for testing many values against the
+ * same filter values.
+ * <p>
+ * Filter values are parsed once and merged: the highest upper bound, the lowest lower bound, the sorted EQUAL
+ * values and the NOT_EQUAL values, so a value is checked with a few comparisons of epoch nanos after an
+ * allocation-free parse by {@link IsoDateTimeParser}. Dates outside the range of epoch nanos (years before 1678
+ * or after 2261) are compared as {@link LocalDateTime}s. As in {@link FilterUtils#isStringDateQualified}, a
+ * single filter value that is not a valid date makes every value fail.
+ * </p>
+ * <p>
+ * The matcher is immutable and can be shared between threads.
+ * </p>
+ */
+public final class DateQualifierMatcher implements Predicate<CharSequence> {
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final boolean matchesAll;
+    private final boolean matchesNothing;
+    private final Bounds dateTimeBounds;
+    private final long[] equalNanos;
+    private final long upperNanos;
+    private final long lowerNanos;
+    private final long notEqualNanos;
+    private final boolean fastPath;
+
+    private DateQualifierMatcher(List<QualifierValue> qualifierValues) {
+        Bounds bounds = new Bounds();
+        boolean invalid = false;
+        boolean supported = true;
+        for (QualifierValue qualifierValue : qualifierValues) {
+            // Every filter value is parsed, whatever its qualifier
+            long nanos = IsoDateTimeParser.parseEpochNanos(qualifierValue.value());
+            LocalDateTime dateTime = nanos == IsoDateTimeParser.INVALID ? null
+                    : nanos == IsoDateTimeParser.UNSUPPORTED ? IsoDateTimeParser.parse(qualifierValue.value())
+                    : IsoDateTimeParser.toLocalDateTime(nanos);
+            if (isNull(dateTime)) {
+                invalid = true;
+                break;
+            }
+            supported &= nanos != IsoDateTimeParser.UNSUPPORTED;
+            bounds.add(qualifierValue.qualifier(), dateTime);
+        }
+        this.matchesAll = qualifierValues.isEmpty();
+        this.matchesNothing = invalid;
+        this.dateTimeBounds = bounds;
+        this.fastPath = supported && !invalid;
+        if (fastPath) {
+            equalNanos = bounds.equal.stream().mapToLong(DateQualifierMatcher::toEpochNanos).toArray();
+            upperNanos = isNull(bounds.upper) ? 0 : toEpochNanos(bounds.upper);
+            lowerNanos = isNull(bounds.lower) ? 0 : toEpochNanos(bounds.lower);
+            notEqualNanos = bounds.notEqual.size() == 1 ? toEpochNanos(bounds.notEqual.first()) : 0;
+        } else {
+            equalNanos = new long[0];
+            upperNanos = 0;
+            lowerNanos = 0;
+            notEqualNanos = 0;
+        }
+    }
+
+    /**
+     * Compiles filter values.
+     *
+     * @param qualifierValues filter conditions and dates in ISO format, null or empty to match every value
+     * @return matcher
+     */
+    public static DateQualifierMatcher compile(List<QualifierValue> qualifierValues) {
+        return new DateQualifierMatcher(isNull(qualifierValues) ? List.of() : qualifierValues);
+    }
+
+    /**
+     * Same as {@link FilterUtils#isStringDateQualified(List, String)} with the compiled filter values.
+     *
+     * @param value date in ISO format
+     * @return true if one of the filter values matches, false if the value is not a valid date
+     */
+    @Override
+    public boolean test(CharSequence value) {
+        if (matchesAll) {
+            return true;
+        } else if (matchesNothing || isNull(value)) {
+            return false;
+        }
+        if (fastPath) {
+            long nanos = IsoDateTimeParser.parseEpochNanos(value);
+            if (nanos == IsoDateTimeParser.INVALID) {
+                return false;
+            } else if (nanos != IsoDateTimeParser.UNSUPPORTED) {
+                return test(nanos);
+            }
+        }
+        LocalDateTime dateTime = IsoDateTimeParser.parse(value.toString());
+        return !isNull(dateTime) && dateTimeBounds.test(dateTime);
+    }
+
+    private boolean test(long nanos) {
+        Bounds bounds = dateTimeBounds;
+        if (bounds.notEqual.size() > 1 || bounds.notEqual.size() == 1 && nanos != notEqualNanos) {
+            return true;
+        }
+        if (!isNull(bounds.upper) && (nanos < upperNanos || bounds.upperInclusive && nanos == upperNanos)) {
+            return true;
+        }
+        if (!isNull(bounds.lower) && (nanos > lowerNanos || bounds.lowerInclusive && nanos == lowerNanos)) {
+            return true;
+        }
+        return equalNanos.length > 0 && Arrays.binarySearch(equalNanos, nanos) >= 0;
+    }
+
+    private static long toEpochNanos(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * NANOS_PER_SECOND + dateTime.getNano();
+    }
+
+    /**
+     * Filter values merged into the widest bounds.
+     */
+    private static final class Bounds {
+        private final TreeSet<LocalDateTime> equal = new TreeSet<>();
+        private final TreeSet<LocalDateTime> notEqual = new TreeSet<>();
+        private LocalDateTime upper;
+        private boolean upperInclusive;
+        private LocalDateTime lower;
+        private boolean lowerInclusive;
+
+        private void add(Qualifier qualifier, LocalDateTime value) {
+            if (EQUAL == qualifier) {
+                equal.add(value);
+            } else if (NOT_EQUAL == qualifier) {
+                notEqual.add(value);
+            } else if (LESS_EQUAL == qualifier || LESS == qualifier) {
+                int compareResult = isNull(upper) ? 1 : value.compareTo(upper);
+                if (compareResult > 0 || compareResult == 0 && LESS_EQUAL == qualifier) {
+                    upper = value;
+                    upperInclusive = LESS_EQUAL == qualifier;
+                }
+            } else if (GREATER_EQUAL == qualifier || GREATER == qualifier) {
+                int compareResult = isNull(lower) ? -1 : value.compareTo(lower);
+                if (compareResult < 0 || compareResult == 0 && GREATER_EQUAL == qualifier) {
+                    lower = value;
+                    lowerInclusive = GREATER_EQUAL == qualifier;
+                }
+            }
+        }
+
+        private boolean test(LocalDateTime value) {
+            if (notEqual.size() > 1 || notEqual.size() == 1 && value.compareTo(notEqual.first()) != 0) {
+                return true;
+            }
+            if (!isNull(upper)) {
+                int compareResult = value.compareTo(upper);
+                if (compareResult < 0 || compareResult == 0 && upperInclusive) {
+                    return true;
+                }
+            }
+            if (!isNull(lower)) {
+                int compareResult = value.compareTo(lower);
+                if (compareResult > 0 || compareResult == 0 && lowerInclusive) {
+                    return true;
+                }
+            }
+            return equal.contains(value);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.github.sukhin;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import static com.github.sukhin.Qualifier.ASC;
+import static com.github.sukhin.Qualifier.DESC;
+import static java.util.Objects.nonNull;
+
+/**
+ * Canonical form of a filter and optionally its sort qualifiers, suitable as a cache key.
+ * <p>
+ * Field names and the values of each field are sorted and duplicate values are removed, so
+ * {a:[x,y],b:[z]} and {b:[z],a:[y,x,x]} produce equal keys. Values of a field are combined with OR, so the order
+ * and multiplicity of values do not change the meaning of a filter.
+ * </p>
+ * <p>
+ * The order of sort qualifiers matters and is kept. Qualifiers other than {@link Qualifier#ASC} and
+ * {@link Qualifier#DESC} and repeated fields are dropped, as they don't change the order of rows:
+ * ["+a", "x", "-b", "-a"] and ["+ a", "-b"] produce equal keys.
+ * </p>
+ */
+public final class FilterKey {
+    private final SortedMap<String, List<String>> filter;
+    private final List<String> sort;
+    private final String canonical;
+    private final int hash;
+
+    private FilterKey(SortedMap<String, List<String>> filter, List<String> sort, String canonical) {
+        this.filter = filter;
+        this.sort = sort;
+        this.canonical = canonical;
+        this.hash = canonical.hashCode();
+    }
+
+    /**
+     * Creates the canonical key of a filter.
+     *
+     * @param filter list of fields and filtering conditions
+     * @return canonical key
+     */
+    public static FilterKey of(Map<String, List<String>> filter) {
+        return of(filter, List.of());
+    }
+
+    /**
+     * Creates the canonical key of a filter and its sort qualifiers.
+     *
+     * @param filter                list of fields and filtering conditions
+     * @param stringQualifierValues sort qualifiers like "+port_dst", see
+     *                              {@link FilterUtils#getSortFieldsFromQualifierValues}
+     * @return canonical key
+     */
+    public static FilterKey of(Map<String, List<String>> filter, List<String> stringQualifierValues) {
+        SortedMap<String, List<String>> canonicalFilter = new TreeMap<>();
+        for (Map.Entry<String, List<String>> entry : filter.entrySet()) {
+            TreeSet<String> values = new TreeSet<>();
+            if (nonNull(entry.getValue())) {
+                for (String value : entry.getValue()) {
+                    if (nonNull(value)) {
+                        values.add(value);
+                    }
+                }
+            }
+            canonicalFilter.put(entry.getKey(), List.copyOf(values));
+        }
+
+        StringBuilder canonical = new StringBuilder();
+        for (Map.Entry<String, List<String>> entry : canonicalFilter.entrySet()) {
+            append(canonical, entry.getKey());
+            canonical.append(entry.getValue().size()).append('|');
+            for (String value : entry.getValue()) {
+                append(canonical, value);
+            }
+        }
+
+        List<String> sort = new ArrayList<>();
+        Set<String> sortFieldNames = new HashSet<>();
+        for (String stringValue : stringQualifierValues) {
+            QualifierValue qualifierValue = QualifierParser.parse(stringValue);
+            if ((ASC == qualifierValue.qualifier() || DESC == qualifierValue.qualifier())
+                    && sortFieldNames.add(qualifierValue.value())) {
+                sort.add(qualifierValue.qualifier().getSign() + qualifierValue.value());
+            }
+        }
+        if (!sort.isEmpty()) {
+            // Entries of the filter start with a digit, so the sort section is unambiguous
+            canonical.append('#').append(sort.size()).append('|');
+            for (String value : sort) {
+                append(canonical, value);
+            }
+        }
+        return new FilterKey(Collections.unmodifiableSortedMap(canonicalFilter), List.copyOf(sort),
+                canonical.toString());
+    }
+
+    /**
+     * Filter in canonical form: sorted field names, sorted values without duplicates.
+     *
+     * @return unmodifiable canonical filter
+     */
+    public SortedMap<String, List<String>> getFilter() {
+        return filter;
+    }
+
+    /**
+     * Sort qualifiers in canonical form: "+field" or "-field", in the original order.
+     *
+     * @return unmodifiable list of sort qualifiers, empty if the key has no sort
+     */
+    public List<String> getSort() {
+        return sort;
+    }
+
+    /**
+     * Compact text representation of the key, values are length-prefixed, so no escaping is needed.
+     *
+     * @return canonical text representation
+     */
+    public String getCanonical() {
+        return canonical;
+    }
+
+    private static void append(StringBuilder builder, String value) {
+        builder.append(value.length()).append(':').append(value);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof FilterKey)) {
+            return false;
+        }
+        FilterKey other = (FilterKey) o;
+        return hash == other.hash && canonical.equals(other.canonical);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return sort.isEmpty() ? filter.toString() : filter + " " + sort;
+    }
+}
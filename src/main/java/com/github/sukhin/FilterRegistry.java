@@ -0,0 +1,245 @@
+package com.github.sukhin;
+
+import com.github.sukhin.condition.BooleanFilterCondition;
+import com.github.sukhin.condition.FilterCondition;
+import com.github.sukhin.condition.IntegerFilterCondition;
+import com.github.sukhin.condition.LocalDateTimeFilterCondition;
+import com.github.sukhin.condition.LongFilterCondition;
+import com.github.sukhin.condition.ShortFilterCondition;
+import com.github.sukhin.condition.StringFilterCondition;
+import org.jooq.Field;
+import org.jooq.Table;
+import org.jooq.impl.SQLDataType;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Immutable registry of filterable and sortable fields of a table, built once at startup.
+ * <p>
+ * The filter condition of every field is chosen by its data type: {@link Short}, {@link Integer}, {@link Long},
+ * {@link LocalDateTime} (or any timestamp), {@link Boolean} and {@link String} are supported, fields of other
+ * types are only sortable unless a condition is given explicitly. Names are looked up with a perfect hash, see
+ * {@link FilterUtils#getConditionFromFilter(FilterRegistry, Map)}.
+ * </p>
+ * <pre>
+ * FilterRegistry registry = FilterRegistry.builder(FLOW)
+ *         .whitelist("ip_src", "port_dst", "created")
+ *         .alias("port", "port_dst")
+ *         .build();
+ * </pre>
+ */
+public final class FilterRegistry {
+    private final NameIndex index;
+    private final FilterCondition[] conditions;
+    private final Field<?>[] fields;
+    private final Map<String, FilterCondition> conditionMap;
+    private final Map<String, Field<?>> fieldMap;
+
+    private FilterRegistry(Map<String, Field<?>> fields, Map<String, FilterCondition> conditions) {
+        List<String> names = new ArrayList<>(fields.keySet());
+        this.index = new NameIndex(names);
+        this.fields = new Field<?>[names.size()];
+        this.conditions = new FilterCondition[names.size()];
+        for (int i = 0; i < names.size(); i++) {
+            this.fields[i] = fields.get(names.get(i));
+            this.conditions[i] = conditions.get(names.get(i));
+        }
+        this.fieldMap = Collections.unmodifiableMap(new LinkedHashMap<>(fields));
+        this.conditionMap = Collections.unmodifiableMap(new LinkedHashMap<>(conditions));
+    }
+
+    /**
+     * Creates a builder which scans the fields of a table.
+     *
+     * @param table table with field metadata, e.g. a generated table or a table from {@link org.jooq.Meta}
+     * @return builder
+     */
+    public static Builder builder(Table<?> table) {
+        requireNonNull(table);
+        return new Builder(table);
+    }
+
+    /**
+     * Creates a registry of all fields of a table under their own names.
+     *
+     * @param table table with field metadata
+     * @return registry
+     */
+    public static FilterRegistry of(Table<?> table) {
+        return builder(table).build();
+    }
+
+    /**
+     * Returns the filter condition of a field.
+     *
+     * @param name name of the field in filters
+     * @return filter condition, null if the field is unknown or not filterable
+     */
+    public FilterCondition getCondition(String name) {
+        int position = index.indexOf(name);
+        return position < 0 ? null : conditions[position];
+    }
+
+    /**
+     * Returns a sortable field.
+     *
+     * @param name name of the field in filters
+     * @return field, null if the field is unknown
+     */
+    public Field<?> getField(String name) {
+        int position = index.indexOf(name);
+        return position < 0 ? null : fields[position];
+    }
+
+    /**
+     * Filter conditions by name, for APIs which take a map, e.g. {@link com.github.sukhin.plan.FilterPlanCache}.
+     *
+     * @return unmodifiable map of filterable fields
+     */
+    public Map<String, FilterCondition> getConditions() {
+        return conditionMap;
+    }
+
+    /**
+     * Sortable fields by name.
+     *
+     * @return unmodifiable map of sortable fields
+     */
+    public Map<String, Field<?>> getFields() {
+        return fieldMap;
+    }
+
+    /**
+     * Creates the filter condition of a field by its data type.
+     *
+     * @param field field
+     * @return filter condition, null if the type is not supported
+     */
+    @SuppressWarnings("unchecked")
+    public static FilterCondition getDefaultCondition(Field<?> field) {
+        Class<?> type = field.getType();
+        if (Short.class == type) {
+            return new ShortFilterCondition((Field<Short>) field);
+        } else if (Integer.class == type) {
+            return new IntegerFilterCondition((Field<Integer>) field);
+        } else if (Long.class == type) {
+            return new LongFilterCondition((Field<Long>) field);
+        } else if (LocalDateTime.class == type) {
+            return new LocalDateTimeFilterCondition((Field<LocalDateTime>) field);
+        } else if (field.getDataType().isTimestamp()) {
+            // Legacy java.sql.Timestamp fields, e.g. from Meta
+            return new LocalDateTimeFilterCondition(field.coerce(SQLDataType.LOCALDATETIME));
+        } else if (Boolean.class == type) {
+            return new BooleanFilterCondition((Field<Boolean>) field);
+        } else if (String.class == type) {
+            return new StringFilterCondition((Field<String>) field);
+        }
+        return null;
+    }
+
+    /**
+     * Builder of a {@link FilterRegistry}, not thread-safe.
+     */
+    public static final class Builder {
+        private final Table<?> table;
+        private final Set<String> whitelist = new LinkedHashSet<>();
+        private final Map<String, String> aliases = new HashMap<>();
+        private final Map<String, FilterCondition> conditions = new HashMap<>();
+
+        private Builder(Table<?> table) {
+            this.table = table;
+        }
+
+        /**
+         * Restricts the registry to the given table fields, all fields are registered if no whitelist is given.
+         *
+         * @param fieldNames names of table fields
+         * @return this builder
+         */
+        public Builder whitelist(String... fieldNames) {
+            for (String fieldName : fieldNames) {
+                whitelist.add(requireNonNull(fieldName));
+            }
+            return this;
+        }
+
+        /**
+         * Exposes a table field under another name, the original name is not registered.
+         *
+         * @param alias     name of the field in filters
+         * @param fieldName name of the table field
+         * @return this builder
+         */
+        public Builder alias(String alias, String fieldName) {
+            aliases.put(requireNonNull(fieldName), requireNonNull(alias));
+            return this;
+        }
+
+        /**
+         * Replaces the condition chosen by the data type of a table field.
+         *
+         * @param fieldName name of the table field
+         * @param condition filter condition
+         * @return this builder
+         */
+        public Builder condition(String fieldName, FilterCondition condition) {
+            conditions.put(requireNonNull(fieldName), requireNonNull(condition));
+            return this;
+        }
+
+        /**
+         * Scans the table and freezes the registry.
+         *
+         * @return registry
+         * @throws IllegalArgumentException if a whitelisted or aliased field does not exist, or two fields get
+         *                                  the same name
+         */
+        public FilterRegistry build() {
+            Map<String, Field<?>> fields = new LinkedHashMap<>();
+            Map<String, FilterCondition> filterConditions = new LinkedHashMap<>();
+            Set<String> scanned = new LinkedHashSet<>();
+            for (Field<?> field : table.fields()) {
+                String fieldName = field.getName();
+                scanned.add(fieldName);
+                if (!whitelist.isEmpty() && !whitelist.contains(fieldName)) {
+                    continue;
+                }
+                String name = aliases.getOrDefault(fieldName, fieldName);
+                if (fields.put(name, field) != null) {
+                    throw new IllegalArgumentException("Duplicate filter field name: " + name);
+                }
+                FilterCondition condition = conditions.get(fieldName);
+                if (isNull(condition)) {
+                    condition = getDefaultCondition(field);
+                }
+                if (nonNull(condition)) {
+                    filterConditions.put(name, condition);
+                }
+            }
+            checkFieldNames(scanned, whitelist);
+            checkFieldNames(scanned, aliases.keySet());
+            checkFieldNames(scanned, conditions.keySet());
+            return new FilterRegistry(fields, filterConditions);
+        }
+
+        private void checkFieldNames(Set<String> scanned, Set<String> fieldNames) {
+            for (String fieldName : fieldNames) {
+                if (!scanned.contains(fieldName)) {
+                    throw new IllegalArgumentException("Unknown field of table " + table.getName() + ": " + fieldName);
+                }
+            }
+        }
+    }
+}
@@ -1,18 +1,23 @@
 package com.github.sukhin;
 
 import com.github.sukhin.condition.FilterCondition;
+import com.github.sukhin.metrics.FilterListener;
+import com.github.sukhin.metrics.FilterListeners;
+import com.github.sukhin.metrics.FilterPhase;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import org.jooq.Condition;
 import org.jooq.Field;
 import org.jooq.SortField;
 import org.jooq.impl.DSL;
+import org.jooq.impl.QOM;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
 import static com.github.sukhin.Qualifier.ASC;
 import static com.github.sukhin.Qualifier.DESC;
@@ -36,20 +41,19 @@ public final class FilterUtils {
      * @return list of objects of type {@link QualifierValue}
      */
     public static List<QualifierValue> parseQualifierValues(List<String> stringQualifierValues) {
-        List<QualifierValue> qualifierValues = new ArrayList<>();
-        for (String stringValue : stringQualifierValues) {
-            for (Qualifier qualifier : Qualifier.values()) {
-                String sign = qualifier.getSign();
-                if (stringValue.startsWith(sign)) {
-                    qualifierValues.add(
-                            new QualifierValue(qualifier,
-                                    stringValue.substring(stringValue.indexOf(sign) + sign.length()).trim())
-                    );
-                    break;
-                }
-            }
-        }
-        return qualifierValues;
+        return QualifierParser.parse(stringQualifierValues, new ArrayList<>(stringQualifierValues.size()));
+    }
+
+    /**
+     * Converts a list of strings like "!=20" to a list of objects {@link QualifierValue} using a reusable buffer.
+     *
+     * @param stringQualifierValues list of strings like "!=20" (filter condition and its value)
+     * @param buffer                reusable list, it is cleared before the parsed values are added
+     * @return the buffer filled with objects of type {@link QualifierValue}
+     */
+    public static List<QualifierValue> parseQualifierValues(List<String> stringQualifierValues,
+                                                            List<QualifierValue> buffer) {
+        return QualifierParser.parse(stringQualifierValues, buffer);
     }
 
     /**
@@ -75,15 +79,48 @@ public final class FilterUtils {
     public static List<SortField<?>> getSortFieldsFromQualifierValues(Map<String, Field<?>> fields,
                                                                       List<String> stringQualifierValues,
                                                                       List<SortField<?>> initialSortFields) {
+        return getSortFields(fields::get, stringQualifierValues, initialSortFields);
+    }
+
+    /**
+     * Gets fields and sort order from objects of type {@link QualifierValue}.
+     *
+     * @param registry              registry of fields that can be used for sorting
+     * @param stringQualifierValues list of filter conditions
+     * @return list of fields to sort
+     */
+    public static List<SortField<?>> getSortFieldsFromQualifierValues(FilterRegistry registry,
+                                                                      List<String> stringQualifierValues) {
+        return getSortFieldsFromQualifierValues(registry, stringQualifierValues, null);
+    }
+
+    /**
+     * Gets fields and sort order from objects of type {@link QualifierValue}.
+     *
+     * @param registry              registry of fields that can be used for sorting
+     * @param stringQualifierValues list of filter conditions
+     * @param initialSortFields     already existing sort fields
+     * @return list of fields to sort
+     */
+    public static List<SortField<?>> getSortFieldsFromQualifierValues(FilterRegistry registry,
+                                                                      List<String> stringQualifierValues,
+                                                                      List<SortField<?>> initialSortFields) {
+        return getSortFields(registry::getField, stringQualifierValues, initialSortFields);
+    }
+
+    private static List<SortField<?>> getSortFields(Function<String, Field<?>> fields,
+                                                    List<String> stringQualifierValues,
+                                                    List<SortField<?>> initialSortFields) {
         List<SortField<?>> sortFields =
                 nonNull(initialSortFields) ? new ArrayList<>(initialSortFields) : new ArrayList<>();
         List<QualifierValue> qualifierValues = parseQualifierValues(stringQualifierValues);
         for (QualifierValue qualifierValue : qualifierValues) {
-            if (fields.containsKey(qualifierValue.value())) {
+            Field<?> field = fields.apply(qualifierValue.value());
+            if (nonNull(field)) {
                 if (ASC == qualifierValue.qualifier()) {
-                    sortFields.add(fields.get(qualifierValue.value()).asc());
+                    sortFields.add(field.asc());
                 } else if (DESC == qualifierValue.qualifier()) {
-                    sortFields.add(fields.get(qualifierValue.value()).desc());
+                    sortFields.add(field.desc());
                 }
             }
         }
@@ -113,33 +150,131 @@ public final class FilterUtils {
     public static Condition getConditionFromFilter(Map<String, FilterCondition> filterConditions,
                                                    Map<String, List<String>> filter,
                                                    Condition initialCondition) {
+        return getConditionFromFilter(filterConditions, filter, initialCondition, ConditionMode.VERBATIM);
+    }
+
+    /**
+     * Get a filter condition based on a list of filter fields and filter conditions.
+     * <p>
+     * Parsing and building are reported to the installed {@link FilterListener}, see {@link FilterListeners}.
+     * </p>
+     *
+     * @param filterConditions list of fields and filtering conditions for fields of a certain type
+     * @param filter           list of fields and filtering conditions
+     * @param initialCondition initial filter condition value
+     * @param mode             condition building mode, see {@link ConditionMode}
+     * @return filter condition based on a list of filter fields and filter conditions
+     */
+    public static Condition getConditionFromFilter(Map<String, FilterCondition> filterConditions,
+                                                   Map<String, List<String>> filter,
+                                                   Condition initialCondition,
+                                                   ConditionMode mode) {
+        return getCondition(filterConditions::get, filter, initialCondition, mode);
+    }
+
+    /**
+     * Get a filter condition based on a registry of filter fields and filter conditions.
+     *
+     * @param registry registry of fields and filtering conditions
+     * @param filter   list of fields and filtering conditions
+     * @return filter condition based on a list of filter fields and filter conditions
+     */
+    public static Condition getConditionFromFilter(FilterRegistry registry, Map<String, List<String>> filter) {
+        return getConditionFromFilter(registry, filter, null, ConditionMode.VERBATIM);
+    }
+
+    /**
+     * Get a filter condition based on a registry of filter fields and filter conditions.
+     *
+     * @param registry         registry of fields and filtering conditions
+     * @param filter           list of fields and filtering conditions
+     * @param initialCondition initial filter condition value
+     * @param mode             condition building mode, see {@link ConditionMode}
+     * @return filter condition based on a list of filter fields and filter conditions
+     */
+    public static Condition getConditionFromFilter(FilterRegistry registry,
+                                                   Map<String, List<String>> filter,
+                                                   Condition initialCondition,
+                                                   ConditionMode mode) {
+        return getCondition(registry::getCondition, filter, initialCondition, mode);
+    }
+
+    private static Condition getCondition(Function<String, FilterCondition> filterConditions,
+                                          Map<String, List<String>> filter,
+                                          Condition initialCondition,
+                                          ConditionMode mode) {
+        FilterListener listener = FilterListeners.get();
+        boolean measured = listener != FilterListener.NONE;
+        long filterStart = measured ? System.nanoTime() : 0;
         Condition condition = nonNull(initialCondition) ? initialCondition : DSL.noCondition();
         for (Map.Entry<String, List<String>> entry : filter.entrySet()) {
             String fieldName = entry.getKey();
             List<String> filterValues = entry.getValue();
-            if (filterConditions.containsKey(fieldName)) {
-                Condition innerCondition = DSL.noCondition();
-                FilterCondition filterCondition =
-                        filterConditions.get(fieldName);
+            FilterCondition filterCondition = filterConditions.apply(fieldName);
+            if (nonNull(filterCondition)) {
+                long start = measured ? System.nanoTime() : 0;
                 List<QualifierValue> qualifierValues =
                         parseQualifierValues(filterValues);
-                for (QualifierValue qualifierValue : qualifierValues) {
-                    innerCondition =
-                            innerCondition.or(filterCondition.getCondition(qualifierValue.qualifier(),
-                                    qualifierValue.value()));
+                if (measured) {
+                    long parsed = System.nanoTime();
+                    listener.phase(FilterPhase.PARSE, parsed - start);
+                    for (QualifierValue qualifierValue : qualifierValues) {
+                        listener.valueUsed(fieldName, qualifierValue.qualifier());
+                    }
+                    start = parsed;
+                }
+                Condition innerCondition;
+                if (measured) {
+                    innerCondition = FilterListeners.withFieldName(fieldName,
+                            () -> filterCondition.getCondition(qualifierValues, mode));
+                    listener.phase(FilterPhase.BUILD, System.nanoTime() - start);
+                } else {
+                    innerCondition = filterCondition.getCondition(qualifierValues, mode);
+                }
+                if (isAlwaysFalse(innerCondition)) {
+                    condition = DSL.falseCondition();
+                    break;
                 }
                 condition = condition.and(innerCondition);
             }
         }
+        if (measured) {
+            listener.filterBuilt(filter, System.nanoTime() - filterStart);
+        }
         return condition;
     }
 
+    /**
+     * Checks whether a condition is known to match nothing, so a query with it can be skipped.
+     *
+     * @param condition filter condition
+     * @return true if the condition is the false condition {@link DSL#falseCondition()}
+     */
+    public static boolean isAlwaysFalse(Condition condition) {
+        return condition instanceof QOM.False;
+    }
+
+    /**
+     * Compares two dates in ISO format, see {@link StringDates#compare(String, String)}. Use
+     * {@link StringDates#sort(List, Function)} to sort a list by dates.
+     *
+     * @param date1 first date
+     * @param date2 second date
+     * @return negative, zero or positive like {@link LocalDateTime#compareTo(java.time.chrono.ChronoLocalDateTime)}
+     * @throws java.time.format.DateTimeParseException if a date is not valid
+     */
     public static int compareStringDates(String date1, String date2) {
-        LocalDateTime dateTime1 = LocalDateTime.parse(date1, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
-        LocalDateTime dateTime2 = LocalDateTime.parse(date2, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
-        return dateTime1.compareTo(dateTime2);
+        return StringDates.compare(date1, date2);
     }
 
+    /**
+     * Checks a date in ISO format against filter values, false if the date or one of the filter values is not a
+     * valid date. Use {@link DateQualifierMatcher} to check many dates against the same filter values.
+     *
+     * @param qualifierValues filter conditions and dates, null or empty to match every value
+     * @param value           date
+     * @return true if one of the filter values matches
+     */
     public static boolean isStringDateQualified(List<QualifierValue> qualifierValues, String value) {
         if (isNull(qualifierValues) || qualifierValues.isEmpty()) {
             return true;
@@ -174,6 +309,14 @@ public final class FilterUtils {
         return pass;
     }
 
+    /**
+     * Checks a value against filter values: EQUAL and NOT_EQUAL ignore case, LIKE and NOT_LIKE search the value
+     * ignoring case. Use {@link StringQualifierMatcher} to check many values against the same filter values.
+     *
+     * @param qualifierValues filter conditions and values, null or empty to match every value
+     * @param value           value
+     * @return true if one of the filter values matches
+     */
     public static boolean isStringQualified(List<QualifierValue> qualifierValues, String value) {
         if (isNull(qualifierValues) || qualifierValues.isEmpty()) {
             return true;
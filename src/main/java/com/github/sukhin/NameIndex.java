@@ -0,0 +1,88 @@
+package com.github.sukhin;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable index of distinct names with a perfect hash: every name has its own slot, so a lookup is one
+ * multiplication, one array read and one {@link String#equals(Object)}.
+ * <p>
+ * The slot of a name is {@code (name.hashCode() * seed) >>> shift}. The seed and the table size are searched
+ * once at construction, the table is at most 16 times larger than the number of names. Names which have no
+ * perfect layout within this budget, e.g. names with equal hash codes, are looked up in a {@link HashMap}.
+ * </p>
+ */
+final class NameIndex {
+    private static final int MAX_ATTEMPTS = 1024;
+
+    private final String[] names;
+    private final int[] positions;
+    private final int seed;
+    private final int shift;
+    private final Map<String, Integer> fallback;
+
+    /**
+     * Creates an index.
+     *
+     * @param names distinct names, their positions in the list are returned by {@link #indexOf(String)}
+     */
+    NameIndex(List<String> names) {
+        int minBits = Math.max(1, 32 - Integer.numberOfLeadingZeros(Math.max(names.size() - 1, 1)));
+        for (int bits = minBits; bits <= minBits + 4; bits++) {
+            int size = 1 << bits;
+            int candidateShift = 32 - bits;
+            // Seeds from a fixed odd sequence, so the layout is reproducible
+            int candidateSeed = 0x9E3779B9;
+            for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++, candidateSeed += 0x6A09E666) {
+                int multiplier = candidateSeed | 1;
+                String[] slots = new String[size];
+                int[] slotPositions = new int[size];
+                boolean perfect = true;
+                for (int i = 0; i < names.size() && perfect; i++) {
+                    int slot = (names.get(i).hashCode() * multiplier) >>> candidateShift;
+                    if (slots[slot] != null) {
+                        perfect = false;
+                    } else {
+                        slots[slot] = names.get(i);
+                        slotPositions[slot] = i;
+                    }
+                }
+                if (perfect) {
+                    this.names = slots;
+                    this.positions = slotPositions;
+                    this.seed = multiplier;
+                    this.shift = candidateShift;
+                    this.fallback = null;
+                    return;
+                }
+            }
+        }
+        this.names = null;
+        this.positions = null;
+        this.seed = 0;
+        this.shift = 0;
+        this.fallback = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            fallback.putIfAbsent(names.get(i), i);
+        }
+    }
+
+    /**
+     * Looks up a name.
+     *
+     * @param name name, may be null
+     * @return position of the name in the list given to the constructor, -1 if the name is unknown or null
+     */
+    int indexOf(String name) {
+        if (name == null) {
+            return -1;
+        }
+        if (fallback != null) {
+            return fallback.getOrDefault(name, -1);
+        }
+        int slot = (name.hashCode() * seed) >>> shift;
+        String candidate = names[slot];
+        return candidate != null && candidate.equals(name) ? positions[slot] : -1;
+    }
+}
@@ -0,0 +1,102 @@
+package com.github.sukhin;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+import static com.github.sukhin.Qualifier.ASC;
+import static com.github.sukhin.Qualifier.DESC;
+import static com.github.sukhin.Qualifier.DO_NOTHING;
+import static com.github.sukhin.Qualifier.EQUAL;
+import static com.github.sukhin.Qualifier.GREATER;
+import static com.github.sukhin.Qualifier.GREATER_EQUAL;
+import static com.github.sukhin.Qualifier.LESS;
+import static com.github.sukhin.Qualifier.LESS_EQUAL;
+import static com.github.sukhin.Qualifier.LIKE;
+import static com.github.sukhin.Qualifier.NOT_EQUAL;
+import static com.github.sukhin.Qualifier.NOT_LIKE;
+
+/**
+ * Parser of strings like "!=20" into a {@link Qualifier} and its value.
+ * <p>
+ * The qualifier is resolved by a switch over the first one or two characters of the string, so no enum array
+ * is cloned and the sign is searched only once. The longest sign wins ("&lt;=" before "&lt;", "!~" before "!="),
+ * strings without a known sign are resolved to {@link Qualifier#DO_NOTHING}.
+ * </p>
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class QualifierParser {
+    /**
+     * Resolves the qualifier the string starts with.
+     *
+     * @param stringValue string like "!=20" (filter condition and its value)
+     * @return qualifier, {@link Qualifier#DO_NOTHING} if the string does not start with a known sign
+     */
+    public static Qualifier parseQualifier(CharSequence stringValue) {
+        int length = stringValue.length();
+        if (length == 0) {
+            return DO_NOTHING;
+        }
+        char next = length > 1 ? stringValue.charAt(1) : 0;
+        switch (stringValue.charAt(0)) {
+            case '=':
+                return EQUAL;
+            case '~':
+                return LIKE;
+            case '+':
+                return ASC;
+            case '-':
+                return DESC;
+            case '!':
+                return next == '=' ? NOT_EQUAL : next == '~' ? NOT_LIKE : DO_NOTHING;
+            case '<':
+                return next == '=' ? LESS_EQUAL : LESS;
+            case '>':
+                return next == '=' ? GREATER_EQUAL : GREATER;
+            default:
+                return DO_NOTHING;
+        }
+    }
+
+    /**
+     * Converts a string like "!=20" to an object {@link QualifierValue}.
+     * <p>
+     * The value is the trimmed remainder of the string after the sign, it is extracted with a single
+     * {@link String#substring(int, int)} call (no copy at all when nothing has to be cut off).
+     * </p>
+     *
+     * @param stringValue string like "!=20" (filter condition and its value)
+     * @return object of type {@link QualifierValue}
+     */
+    public static QualifierValue parse(String stringValue) {
+        Qualifier qualifier = parseQualifier(stringValue);
+        int start = qualifier.getSign().length();
+        int end = stringValue.length();
+        while (start < end && stringValue.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && stringValue.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return new QualifierValue(qualifier, stringValue.substring(start, end));
+    }
+
+    /**
+     * Converts a list of strings like "!=20" to objects {@link QualifierValue} and puts them to the buffer.
+     * <p>
+     * The buffer is cleared first, so the same list can be reused between calls.
+     * </p>
+     *
+     * @param stringQualifierValues list of strings like "!=20" (filter condition and its value)
+     * @param buffer                reusable list to put the parsed values to
+     * @return the buffer
+     */
+    public static List<QualifierValue> parse(List<String> stringQualifierValues, List<QualifierValue> buffer) {
+        buffer.clear();
+        for (String stringValue : stringQualifierValues) {
+            buffer.add(parse(stringValue));
+        }
+        return buffer;
+    }
+}
@@ -0,0 +1,118 @@
+package com.github.sukhin;
+
+import com.github.sukhin.condition.IsoDateTimeParser;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.function.Function;
+
+/**
+ * Utility class for comparing and sorting dates in ISO format like "2023-01-15T12:30" without
+ * {@link DateTimeFormatter}: dates are parsed into epoch nanos by {@link IsoDateTimeParser}, dates it can't handle
+ * are parsed by {@link LocalDateTime#parse(CharSequence, DateTimeFormatter)}, which also throws the same exceptions
+ * for invalid dates as {@link FilterUtils#compareStringDates(String, String)}.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class StringDates {
+    /**
+     * Compares two dates in ISO format, allocation-free for years from 1678 to 2261.
+     *
+     * @param date1 first date
+     * @param date2 second date
+     * @return negative, zero or positive like {@link LocalDateTime#compareTo(java.time.chrono.ChronoLocalDateTime)}
+     * @throws java.time.format.DateTimeParseException if a date is not valid
+     * @throws NullPointerException                    if a date is null
+     */
+    public static int compare(String date1, String date2) {
+        long nanos1 = IsoDateTimeParser.parseEpochNanos(date1);
+        long nanos2 = IsoDateTimeParser.parseEpochNanos(date2);
+        if (isParsed(nanos1) && isParsed(nanos2)) {
+            return Long.compare(nanos1, nanos2);
+        }
+        return parse(date1).compareTo(parse(date2));
+    }
+
+    /**
+     * Sorts a list by dates in ISO format, same as
+     * {@code list.sort(Comparator.comparing(dateGetter, FilterUtils::compareStringDates))} but every date is parsed
+     * once into a sort key. The sort is stable.
+     *
+     * @param list       list to sort
+     * @param dateGetter returns the date of an element
+     * @param <T>        type of elements
+     * @throws java.time.format.DateTimeParseException if a date is not valid and the list has more than one element
+     */
+    public static <T> void sort(List<T> list, Function<? super T, String> dateGetter) {
+        sort(list, dateGetter, false);
+    }
+
+    /**
+     * Sorts a list by dates in ISO format, every date is parsed once into a sort key. The sort is stable, elements
+     * with equal dates keep their order in both directions.
+     *
+     * @param list       list to sort
+     * @param dateGetter returns the date of an element
+     * @param descending whether the latest dates come first
+     * @param <T>        type of elements
+     * @throws java.time.format.DateTimeParseException if a date is not valid and the list has more than one element
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> void sort(List<T> list, Function<? super T, String> dateGetter, boolean descending) {
+        if (list.size() < 2) {
+            return;
+        }
+        Keyed[] keyed = new Keyed[list.size()];
+        boolean epochNanos = true;
+        int index = 0;
+        for (T element : list) {
+            String date = dateGetter.apply(element);
+            long nanos = IsoDateTimeParser.parseEpochNanos(date);
+            if (nanos == IsoDateTimeParser.INVALID) {
+                // Throws the exception of the comparator
+                parse(date);
+            }
+            epochNanos &= nanos != IsoDateTimeParser.UNSUPPORTED;
+            keyed[index++] = new Keyed(element, date, nanos, null);
+        }
+
+        Comparator<Keyed> comparator;
+        if (epochNanos) {
+            comparator = Comparator.comparingLong(Keyed::nanos);
+        } else {
+            for (int i = 0; i < keyed.length; i++) {
+                Keyed key = keyed[i];
+                LocalDateTime dateTime =
+                        isParsed(key.nanos) ? IsoDateTimeParser.toLocalDateTime(key.nanos) : parse(key.date);
+                keyed[i] = new Keyed(key.element, key.date, key.nanos, dateTime);
+            }
+            comparator = Comparator.comparing(Keyed::dateTime);
+        }
+        Arrays.sort(keyed, descending ? comparator.reversed() : comparator);
+
+        ListIterator<T> iterator = list.listIterator();
+        for (Keyed key : keyed) {
+            iterator.next();
+            iterator.set((T) key.element);
+        }
+    }
+
+    private static boolean isParsed(long nanos) {
+        return nanos != IsoDateTimeParser.INVALID && nanos != IsoDateTimeParser.UNSUPPORTED;
+    }
+
+    private static LocalDateTime parse(String date) {
+        return LocalDateTime.parse(date, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+    }
+
+    /**
+     * Element with its sort key: epoch nanos, or a {@link LocalDateTime} if a date is out of their range.
+     */
+    private record Keyed(Object element, String date, long nanos, LocalDateTime dateTime) {
+    }
+}
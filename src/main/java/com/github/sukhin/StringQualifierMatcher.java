@@ -0,0 +1,407 @@
+package com.github.sukhin;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+
+import static com.github.sukhin.Qualifier.EQUAL;
+import static com.github.sukhin.Qualifier.LIKE;
+import static com.github.sukhin.Qualifier.NOT_EQUAL;
+import static com.github.sukhin.Qualifier.NOT_LIKE;
+import static java.util.Objects.isNull;
+
+/**
+ * Compiled form of {@link FilterUtils#isStringQualified(List, String)} for testing many values against the same
+ * filter values, e.g. post-filtering log lines.
+ * <p>
+ * Filter values are case-folded once: {@link Qualifier#EQUAL} and {@link Qualifier#NOT_EQUAL} values are kept in
+ * an open addressing hash table, all {@link Qualifier#LIKE} and {@link Qualifier#NOT_LIKE} values are searched in
+ * a single pass with an Aho–Corasick automaton. Values are lower-cased char by char while they are scanned, so
+ * a call allocates nothing. Values with chars whose lower case depends on their context (surrogates, dotted
+ * capital I, capital sigma) and all values in Turkish, Azeri and Lithuanian locales fall back to
+ * {@link String#toLowerCase()}, which keeps the results identical to {@link FilterUtils#isStringQualified}.
+ * </p>
+ * <p>
+ * Filter values are lower-cased in the default locale at compile time. The matcher is immutable and can be shared
+ * between threads.
+ * </p>
+ * <pre>
+ * StringQualifierMatcher matcher = StringQualifierMatcher.compile(FilterUtils.parseQualifierValues(values));
+ * lines.filter(matcher)...
+ * </pre>
+ */
+public final class StringQualifierMatcher implements Predicate<CharSequence> {
+    private static final int ASCII = 128;
+
+    private final boolean matchesAll;
+    private final boolean fastPath;
+    private final Locale locale;
+    private final String[] equalValues;
+    private final String[] notEqualValues;
+    private final String[] equalTable;
+    private final String notEqualKey;
+    private final boolean notEqualMatchesAll;
+    private final Automaton automaton;
+
+    private StringQualifierMatcher(List<QualifierValue> qualifierValues) {
+        this.matchesAll = qualifierValues.isEmpty();
+        this.locale = Locale.getDefault();
+        String language = locale.getLanguage();
+        this.fastPath = !"tr".equals(language) && !"az".equals(language) && !"lt".equals(language);
+
+        List<String> equal = new ArrayList<>();
+        List<String> notEqual = new ArrayList<>();
+        Set<String> notEqualKeys = new LinkedHashSet<>();
+        List<String> like = new ArrayList<>();
+        List<String> notLike = new ArrayList<>();
+        for (QualifierValue qualifierValue : qualifierValues) {
+            Qualifier qualifier = qualifierValue.qualifier();
+            String value = qualifierValue.value();
+            if (EQUAL == qualifier) {
+                equal.add(value);
+            } else if (NOT_EQUAL == qualifier) {
+                notEqual.add(value);
+                notEqualKeys.add(fold(value));
+            } else if (LIKE == qualifier) {
+                like.add(value.toLowerCase(locale));
+            } else if (NOT_LIKE == qualifier) {
+                notLike.add(value.toLowerCase(locale));
+            }
+        }
+        this.equalValues = equal.toArray(new String[0]);
+        this.notEqualValues = notEqual.toArray(new String[0]);
+        this.equalTable = newTable(equal);
+        this.notEqualKey = notEqualKeys.size() == 1 ? notEqualKeys.iterator().next() : null;
+        this.notEqualMatchesAll = notEqualKeys.size() > 1;
+        this.automaton = like.isEmpty() && notLike.isEmpty() ? null : new Automaton(like, notLike);
+    }
+
+    /**
+     * Compiles filter values, values of other qualifiers than EQUAL, NOT_EQUAL, LIKE and NOT_LIKE are ignored.
+     *
+     * @param qualifierValues filter conditions and values, null or empty to match every value
+     * @return matcher
+     */
+    public static StringQualifierMatcher compile(List<QualifierValue> qualifierValues) {
+        return new StringQualifierMatcher(isNull(qualifierValues) ? List.of() : qualifierValues);
+    }
+
+    /**
+     * Same as {@link FilterUtils#isStringQualified(List, String)} with the compiled filter values.
+     *
+     * @param value value, null never matches unless there are no filter values
+     * @return true if one of the filter values matches
+     */
+    @Override
+    public boolean test(CharSequence value) {
+        if (matchesAll) {
+            return true;
+        }
+        if (isNull(value)) {
+            return false;
+        }
+        if (notEqualMatchesAll) {
+            return true;
+        }
+        if (!fastPath || hasSurrogate(value)) {
+            return testExactly(value.toString());
+        }
+        if (equalTable.length > 0 && containsKey(equalTable, value)) {
+            return true;
+        }
+        if (!isNull(notEqualKey) && !equalsFolded(notEqualKey, value)) {
+            return true;
+        }
+        if (isNull(automaton)) {
+            return false;
+        }
+        int result = automaton.scan(value, true);
+        if (result == Automaton.UNSUPPORTED) {
+            return automaton.scan(value.toString().toLowerCase(locale), false) == Automaton.MATCH;
+        }
+        return result == Automaton.MATCH;
+    }
+
+    private boolean testExactly(String value) {
+        for (String equalValue : equalValues) {
+            if (value.equalsIgnoreCase(equalValue)) {
+                return true;
+            }
+        }
+        for (String notEqualValue : notEqualValues) {
+            if (!value.equalsIgnoreCase(notEqualValue)) {
+                return true;
+            }
+        }
+        return !isNull(automaton) && automaton.scan(value.toLowerCase(locale), false) == Automaton.MATCH;
+    }
+
+    private static boolean hasSurrogate(CharSequence value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (Character.isSurrogate(value.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Folds the case of a char the same way as {@link String#equalsIgnoreCase(String)} compares chars.
+     */
+    private static char fold(char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    private static String fold(String value) {
+        StringBuilder key = new StringBuilder(value.length());
+        value.codePoints().forEach(codePoint ->
+                key.appendCodePoint(Character.toLowerCase(Character.toUpperCase(codePoint))));
+        return key.toString();
+    }
+
+    private static int hash(CharSequence value) {
+        int hash = 0;
+        for (int i = 0; i < value.length(); i++) {
+            hash = 31 * hash + fold(value.charAt(i));
+        }
+        return hash ^ hash >>> 16;
+    }
+
+    private static boolean equalsFolded(String key, CharSequence value) {
+        if (key.length() != value.length()) {
+            return false;
+        }
+        for (int i = 0; i < key.length(); i++) {
+            if (key.charAt(i) != fold(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String[] newTable(List<String> values) {
+        if (values.isEmpty()) {
+            return new String[0];
+        }
+        String[] table = new String[Integer.highestOneBit(values.size() * 2 + 1) * 2];
+        for (String value : values) {
+            String key = fold(value);
+            int position = hash(value) & (table.length - 1);
+            while (!isNull(table[position]) && !table[position].equals(key)) {
+                position = (position + 1) & (table.length - 1);
+            }
+            table[position] = key;
+        }
+        return table;
+    }
+
+    private static boolean containsKey(String[] table, CharSequence value) {
+        int position = hash(value) & (table.length - 1);
+        while (!isNull(table[position])) {
+            if (equalsFolded(table[position], value)) {
+                return true;
+            }
+            position = (position + 1) & (table.length - 1);
+        }
+        return false;
+    }
+
+    /**
+     * Aho–Corasick automaton of lower-cased LIKE and NOT_LIKE values as a full transition table.
+     * <p>
+     * Chars of the values are mapped to columns 1..n, every other char to column 0 which leads back to the root.
+     * A state knows whether a LIKE value ends in it, and which NOT_LIKE values end in it as a bitmask.
+     * </p>
+     */
+    private static final class Automaton {
+        static final int NO_MATCH = 0;
+        static final int MATCH = 1;
+        static final int UNSUPPORTED = 2;
+
+        private final byte[] asciiLower = new byte[ASCII];
+        private final int[] asciiColumns = new int[ASCII];
+        private final char[] alphabet;
+        private final int columns;
+        private final int[] transitions;
+        private final boolean[] likeEnds;
+        private final long[] notLikeEnds;
+        private final int words;
+        private final long[] allNotLike;
+        private final boolean likeMatchesAll;
+        private final boolean notLikeMatchesNothing;
+        private final ThreadLocal<long[]> found;
+
+        private Automaton(List<String> like, List<String> notLike) {
+            for (int c = 0; c < ASCII; c++) {
+                asciiLower[c] = (byte) Character.toLowerCase(c);
+            }
+            // An empty LIKE value is contained in every value, an empty NOT_LIKE value in none
+            likeMatchesAll = like.contains("");
+            List<String> notLikeValues = new ArrayList<>(new LinkedHashSet<>(notLike));
+            notLikeValues.remove("");
+            notLikeMatchesNothing = notLikeValues.isEmpty();
+
+            Set<Character> chars = new TreeSet<>();
+            for (String value : like) {
+                value.chars().forEach(c -> chars.add((char) c));
+            }
+            for (String value : notLikeValues) {
+                value.chars().forEach(c -> chars.add((char) c));
+            }
+            alphabet = new char[chars.size()];
+            int index = 0;
+            for (char c : chars) {
+                alphabet[index++] = c;
+                if (c < ASCII) {
+                    asciiColumns[c] = index;
+                }
+            }
+            columns = alphabet.length + 1;
+            words = Math.max(1, (notLikeValues.size() + 63) >>> 6);
+            allNotLike = new long[words];
+            for (int i = 0; i < notLikeValues.size(); i++) {
+                allNotLike[i >>> 6] |= 1L << i;
+            }
+            found = words > 1 ? ThreadLocal.withInitial(() -> new long[words]) : null;
+
+            // Trie
+            List<int[]> goTo = new ArrayList<>();
+            List<Boolean> likeOutput = new ArrayList<>();
+            List<long[]> notLikeOutput = new ArrayList<>();
+            goTo.add(new int[columns]);
+            likeOutput.add(false);
+            notLikeOutput.add(new long[words]);
+            for (String value : like) {
+                int state = insert(value, goTo, likeOutput, notLikeOutput);
+                likeOutput.set(state, true);
+            }
+            for (int i = 0; i < notLikeValues.size(); i++) {
+                int state = insert(notLikeValues.get(i), goTo, likeOutput, notLikeOutput);
+                notLikeOutput.get(state)[i >>> 6] |= 1L << i;
+            }
+
+            // Failure links turned into a full transition table, outputs are merged along the links
+            int states = goTo.size();
+            transitions = new int[states * columns];
+            likeEnds = new boolean[states];
+            notLikeEnds = new long[states * words];
+            int[] failure = new int[states];
+            Queue<Integer> queue = new ArrayDeque<>();
+            for (int column = 1; column < columns; column++) {
+                int child = goTo.get(0)[column];
+                transitions[column] = child;
+                if (child > 0) {
+                    queue.add(child);
+                }
+            }
+            copyOutput(0, likeOutput, notLikeOutput);
+            while (!queue.isEmpty()) {
+                int state = queue.remove();
+                copyOutput(state, likeOutput, notLikeOutput);
+                likeEnds[state] |= likeEnds[failure[state]];
+                for (int word = 0; word < words; word++) {
+                    notLikeEnds[state * words + word] |= notLikeEnds[failure[state] * words + word];
+                }
+                for (int column = 1; column < columns; column++) {
+                    int child = goTo.get(state)[column];
+                    if (child > 0) {
+                        failure[child] = transitions[failure[state] * columns + column];
+                        transitions[state * columns + column] = child;
+                        queue.add(child);
+                    } else {
+                        transitions[state * columns + column] = transitions[failure[state] * columns + column];
+                    }
+                }
+            }
+        }
+
+        private int insert(String value, List<int[]> goTo, List<Boolean> likeOutput, List<long[]> notLikeOutput) {
+            int state = 0;
+            for (int i = 0; i < value.length(); i++) {
+                int column = getColumn(value.charAt(i));
+                int child = goTo.get(state)[column];
+                if (child == 0) {
+                    child = goTo.size();
+                    goTo.get(state)[column] = child;
+                    goTo.add(new int[columns]);
+                    likeOutput.add(false);
+                    notLikeOutput.add(new long[words]);
+                }
+                state = child;
+            }
+            return state;
+        }
+
+        private void copyOutput(int state, List<Boolean> likeOutput, List<long[]> notLikeOutput) {
+            likeEnds[state] |= likeOutput.get(state);
+            long[] output = notLikeOutput.get(state);
+            for (int word = 0; word < words; word++) {
+                notLikeEnds[state * words + word] |= output[word];
+            }
+        }
+
+        private int getColumn(char c) {
+            if (c < ASCII) {
+                return asciiColumns[c];
+            }
+            return Math.max(0, Arrays.binarySearch(alphabet, c) + 1);
+        }
+
+        /**
+         * Searches the LIKE and NOT_LIKE values in a value.
+         *
+         * @param value     value
+         * @param lowerCase whether chars have to be lower-cased, the value is already lower-cased otherwise
+         * @return {@link #MATCH}, {@link #NO_MATCH} or {@link #UNSUPPORTED} if a char can't be lower-cased alone
+         */
+        int scan(CharSequence value, boolean lowerCase) {
+            if (likeMatchesAll) {
+                return MATCH;
+            }
+            long[] foundWords = null;
+            long foundWord = 0;
+            if (words > 1) {
+                foundWords = found.get();
+                Arrays.fill(foundWords, 0);
+            }
+            int state = 0;
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (lowerCase) {
+                    if (c < ASCII) {
+                        c = (char) asciiLower[c];
+                    } else if (c == '\u0130' || c == '\u03A3') {
+                        return UNSUPPORTED;
+                    } else {
+                        c = Character.toLowerCase(c);
+                    }
+                }
+                state = transitions[state * columns + getColumn(c)];
+                if (likeEnds[state]) {
+                    return MATCH;
+                }
+                if (words == 1) {
+                    foundWord |= notLikeEnds[state];
+                } else {
+                    for (int word = 0; word < words; word++) {
+                        foundWords[word] |= notLikeEnds[state * words + word];
+                    }
+                }
+            }
+            if (notLikeMatchesNothing) {
+                return NO_MATCH;
+            }
+            if (words == 1) {
+                return foundWord != allNotLike[0] ? MATCH : NO_MATCH;
+            }
+            return Arrays.equals(foundWords, allNotLike) ? NO_MATCH : MATCH;
+        }
+    }
+}
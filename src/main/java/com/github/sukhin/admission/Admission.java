@@ -0,0 +1,95 @@
+package com.github.sukhin.admission;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Admission of a filter, see {@link FilterAdmission#admit}. A {@link AdmissionDecision#HEAVY} admission holds a
+ * permit of the heavy lane, which is released by {@link #close()}:
+ * <pre>
+ * try (Admission admission = filterAdmission.admit(registry, filter)) {
+ *     if (admission.isRejected()) {
+ *         return tooManyRequests();
+ *     }
+ *     Condition condition = FilterUtils.getConditionFromFilter(registry, admission.getFilter());
+ *     ...
+ * }
+ * </pre>
+ */
+public final class Admission implements AutoCloseable {
+    private final AdmissionDecision decision;
+    private final double cost;
+    private final Map<String, List<String>> filter;
+    private final boolean degraded;
+    private final Semaphore permit;
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    Admission(AdmissionDecision decision, double cost, Map<String, List<String>> filter, boolean degraded,
+              Semaphore permit) {
+        this.decision = decision;
+        this.cost = cost;
+        this.filter = filter;
+        this.degraded = degraded;
+        this.permit = permit;
+    }
+
+    /**
+     * Decision about the filter.
+     *
+     * @return decision
+     */
+    public AdmissionDecision getDecision() {
+        return decision;
+    }
+
+    /**
+     * Estimated cost of the filter to run, see {@link FilterCostModel}.
+     *
+     * @return cost after degrading
+     */
+    public double getCost() {
+        return cost;
+    }
+
+    /**
+     * Filter to run, the original filter unless it was degraded.
+     *
+     * @return list of fields and filtering conditions
+     */
+    public Map<String, List<String>> getFilter() {
+        return filter;
+    }
+
+    /**
+     * Whether values were dropped from the filter, so the result may miss rows of the original filter. Callers
+     * must check it and tell their clients that the result is incomplete.
+     *
+     * @return true if the filter was degraded
+     */
+    public boolean isDegraded() {
+        return degraded;
+    }
+
+    /**
+     * Whether the filter must not be run.
+     *
+     * @return true if the decision is {@link AdmissionDecision#REJECTED} or {@link AdmissionDecision#THROTTLED}
+     */
+    public boolean isRejected() {
+        return AdmissionDecision.REJECTED == decision || AdmissionDecision.THROTTLED == decision;
+    }
+
+    /**
+     * Releases the permit of the heavy lane, repeated calls do nothing.
+     */
+    @Override
+    public void close() {
+        if (!isNull(permit) && closed.compareAndSet(false, true)) {
+            permit.release();
+        }
+    }
+}
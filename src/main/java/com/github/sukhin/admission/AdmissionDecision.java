@@ -0,0 +1,23 @@
+package com.github.sukhin.admission;
+
+/**
+ * Outcome of {@link FilterAdmission#admit}.
+ */
+public enum AdmissionDecision {
+    /**
+     * The filter is cheap enough to run without limits.
+     */
+    ADMITTED,
+    /**
+     * The filter is expensive and holds a permit of the heavy lane until the {@link Admission} is closed.
+     */
+    HEAVY,
+    /**
+     * The filter is expensive, and the heavy lane had no free permit in time.
+     */
+    THROTTLED,
+    /**
+     * The filter costs more than the budget and must not be run.
+     */
+    REJECTED
+}
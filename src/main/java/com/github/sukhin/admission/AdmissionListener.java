@@ -0,0 +1,26 @@
+package com.github.sukhin.admission;
+
+/**
+ * Receiver of admission decisions, set with {@link FilterAdmission.Builder#listener(AdmissionListener)}.
+ * <p>
+ * Decisions are reported synchronously from the thread admitting the filter, so implementations must be
+ * thread-safe and cheap, e.g. {@link com.github.sukhin.metrics.InMemoryFilterRecorder}.
+ * </p>
+ */
+@FunctionalInterface
+public interface AdmissionListener {
+    /**
+     * Listener which ignores all decisions.
+     */
+    AdmissionListener NONE = (decision, degraded, cost) -> {
+    };
+
+    /**
+     * Admission control has decided about a filter, whatever the decision is.
+     *
+     * @param decision decision about the filter
+     * @param degraded whether values were dropped from the filter
+     * @param cost     estimated cost of the filter to run
+     */
+    void filterAdmitted(AdmissionDecision decision, boolean degraded, double cost);
+}
@@ -0,0 +1,251 @@
+package com.github.sukhin.admission;
+
+import com.github.sukhin.FilterRegistry;
+import com.github.sukhin.condition.FilterCondition;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Admission control of filters, applied before {@link com.github.sukhin.FilterUtils#getConditionFromFilter}.
+ * <p>
+ * The cost of a filter is estimated with a {@link FilterCostModel}. A filter above the degrade budget is degraded:
+ * duplicate values are dropped, and values of a field beyond the per-field cap are dropped too, then the filter is
+ * costed again. Cheaper filters are never changed. A degraded filter may miss rows of the original filter, the
+ * caller must check {@link Admission#isDegraded()} and tell its client, e.g. with a warning in the response.
+ * A filter above the reject budget is
+ * {@link AdmissionDecision#REJECTED}. A filter above the heavy budget must take a permit of the heavy lane, a
+ * bulkhead limiting how many expensive filters run concurrently, and is {@link AdmissionDecision#THROTTLED} if no
+ * permit becomes free in time. Decisions are reported to the {@link AdmissionListener} of the builder.
+ * </p>
+ * <pre>
+ * FilterAdmission filterAdmission = FilterAdmission.builder(new FilterCostModel())
+ *         .degrade(100, 50)
+ *         .heavyLane(200, 4, Duration.ofMillis(500))
+ *         .rejectCost(5_000)
+ *         .listener(recorder)
+ *         .build();
+ * </pre>
+ * <p>
+ * Admission is thread-safe.
+ * </p>
+ */
+public final class FilterAdmission {
+    private final FilterCostModel costModel;
+    private final double degradeCost;
+    private final int maxValuesPerField;
+    private final double heavyCost;
+    private final double rejectCost;
+    private final int heavyPermits;
+    private final Semaphore heavyLane;
+    private final long heavyWaitNanos;
+    private final AdmissionListener listener;
+
+    private FilterAdmission(Builder builder) {
+        this.costModel = builder.costModel;
+        this.degradeCost = builder.degradeCost;
+        this.maxValuesPerField = builder.maxValuesPerField;
+        this.heavyCost = builder.heavyCost;
+        this.rejectCost = builder.rejectCost;
+        this.heavyPermits = builder.heavyPermits;
+        this.heavyLane = builder.heavyPermits > 0 ? new Semaphore(builder.heavyPermits, true) : null;
+        this.heavyWaitNanos = builder.heavyWait.toNanos();
+        this.listener = builder.listener;
+    }
+
+    /**
+     * Creates a builder, without limits by default.
+     *
+     * @param costModel cost model of filters
+     * @return builder
+     */
+    public static Builder builder(FilterCostModel costModel) {
+        return new Builder(requireNonNull(costModel));
+    }
+
+    /**
+     * Admits a filter, waits for a permit of the heavy lane if the filter is expensive. The filter to run is
+     * {@link Admission#getFilter()}, which is degraded if {@link Admission#isDegraded()}.
+     *
+     * @param filterConditions list of fields and filtering conditions for fields of a certain type
+     * @param filter           list of fields and filtering conditions
+     * @return admission, to be closed after the query
+     */
+    public Admission admit(Map<String, FilterCondition> filterConditions, Map<String, List<String>> filter) {
+        return admit(filterConditions::get, filter);
+    }
+
+    /**
+     * Admits a filter, waits for a permit of the heavy lane if the filter is expensive. The filter to run is
+     * {@link Admission#getFilter()}, which is degraded if {@link Admission#isDegraded()}.
+     *
+     * @param registry registry of fields and filtering conditions
+     * @param filter   list of fields and filtering conditions
+     * @return admission, to be closed after the query
+     */
+    public Admission admit(FilterRegistry registry, Map<String, List<String>> filter) {
+        return admit(registry::getCondition, filter);
+    }
+
+    private Admission admit(Function<String, FilterCondition> filterConditions, Map<String, List<String>> filter) {
+        Map<String, List<String>> admitted = filter;
+        boolean degraded = false;
+        double cost = costModel.getCost(filterConditions, filter);
+        if (cost > degradeCost) {
+            for (Map.Entry<String, List<String>> entry : filter.entrySet()) {
+                List<String> values = entry.getValue();
+                if (values.size() <= 1 || isNull(filterConditions.apply(entry.getKey()))) {
+                    continue;
+                }
+                List<String> capped = new ArrayList<>(new LinkedHashSet<>(values));
+                if (capped.size() > maxValuesPerField) {
+                    capped = new ArrayList<>(capped.subList(0, maxValuesPerField));
+                    degraded = true;
+                }
+                if (capped.size() == values.size()) {
+                    continue;
+                }
+                if (admitted == filter) {
+                    admitted = new LinkedHashMap<>(filter);
+                }
+                admitted.put(entry.getKey(), Collections.unmodifiableList(capped));
+            }
+            if (admitted != filter) {
+                cost = costModel.getCost(filterConditions, admitted);
+            }
+        }
+
+        AdmissionDecision decision;
+        Semaphore permit = null;
+        if (cost > rejectCost) {
+            decision = AdmissionDecision.REJECTED;
+        } else if (isNull(heavyLane) || cost <= heavyCost) {
+            decision = AdmissionDecision.ADMITTED;
+        } else if (tryAcquire()) {
+            decision = AdmissionDecision.HEAVY;
+            permit = heavyLane;
+        } else {
+            decision = AdmissionDecision.THROTTLED;
+        }
+        listener.filterAdmitted(decision, degraded, cost);
+        return new Admission(decision, cost, admitted, degraded, permit);
+    }
+
+    private boolean tryAcquire() {
+        try {
+            return heavyLane.tryAcquire(heavyWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Number of filters running in the heavy lane.
+     *
+     * @return number of taken permits, 0 without a heavy lane
+     */
+    public int getHeavyInFlight() {
+        return isNull(heavyLane) ? 0 : heavyPermits - heavyLane.availablePermits();
+    }
+
+    /**
+     * Builder of a {@link FilterAdmission}, not thread-safe.
+     */
+    public static final class Builder {
+        private final FilterCostModel costModel;
+        private double degradeCost = Double.POSITIVE_INFINITY;
+        private int maxValuesPerField = Integer.MAX_VALUE;
+        private double heavyCost = Double.POSITIVE_INFINITY;
+        private double rejectCost = Double.POSITIVE_INFINITY;
+        private int heavyPermits;
+        private Duration heavyWait = Duration.ZERO;
+        private AdmissionListener listener = AdmissionListener.NONE;
+
+        private Builder(FilterCostModel costModel) {
+            this.costModel = costModel;
+        }
+
+        /**
+         * Degrades filters costing more than a budget: duplicate values are dropped and the number of distinct
+         * values of a field is capped, further values are dropped.
+         *
+         * @param cost      budget of filters running unchanged
+         * @param maxValues maximum number of values per field of degraded filters
+         * @return this builder
+         */
+        public Builder degrade(double cost, int maxValues) {
+            if (!(cost >= 0) || maxValues <= 0) {
+                throw new IllegalArgumentException("Invalid degrading: cost " + cost + ", values " + maxValues);
+            }
+            this.degradeCost = cost;
+            this.maxValuesPerField = maxValues;
+            return this;
+        }
+
+        /**
+         * Routes filters costing more than a budget through a lane with limited concurrency.
+         *
+         * @param cost    budget of filters running without limits
+         * @param permits maximum number of expensive filters running concurrently
+         * @param wait    maximum time to wait for a permit
+         * @return this builder
+         */
+        public Builder heavyLane(double cost, int permits, Duration wait) {
+            requireNonNull(wait);
+            if (!(cost >= 0) || permits <= 0 || wait.isNegative()) {
+                throw new IllegalArgumentException("Invalid heavy lane: cost " + cost + ", permits " + permits
+                        + ", wait " + wait);
+            }
+            this.heavyCost = cost;
+            this.heavyPermits = permits;
+            this.heavyWait = wait;
+            return this;
+        }
+
+        /**
+         * Rejects filters costing more than a budget.
+         *
+         * @param cost budget of all filters
+         * @return this builder
+         */
+        public Builder rejectCost(double cost) {
+            if (!(cost >= 0)) {
+                throw new IllegalArgumentException("Reject cost must not be negative: " + cost);
+            }
+            this.rejectCost = cost;
+            return this;
+        }
+
+        /**
+         * Reports every decision to a listener, e.g. {@link com.github.sukhin.metrics.InMemoryFilterRecorder}.
+         *
+         * @param admissionListener listener
+         * @return this builder
+         */
+        public Builder listener(AdmissionListener admissionListener) {
+            this.listener = requireNonNull(admissionListener);
+            return this;
+        }
+
+        /**
+         * Creates the admission control.
+         *
+         * @return admission control
+         */
+        public FilterAdmission build() {
+            return new FilterAdmission(this);
+        }
+    }
+}
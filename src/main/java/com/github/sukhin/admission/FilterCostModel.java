@@ -0,0 +1,170 @@
+package com.github.sukhin.admission;
+
+import com.github.sukhin.FilterRegistry;
+import com.github.sukhin.FilterUtils;
+import com.github.sukhin.Qualifier;
+import com.github.sukhin.QualifierValue;
+import com.github.sukhin.condition.FilterCondition;
+import com.github.sukhin.condition.StringFilterCondition;
+import com.github.sukhin.condition.StringMatchStrategy;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Estimates the database cost of a filter from its parsed values, before any SQL is built.
+ * <p>
+ * Every value costs by its qualifier and the {@link FilterCondition} of its field: an equality which can use an
+ * index costs {@link #INDEXED_COST}, a range or a prefix match costs a little more, a match anywhere in a string
+ * costs {@link #CONTAINS_COST}, and a {@link StringMatchStrategy#LEGACY} string value, which is always compared
+ * with a leading wildcard, costs {@link #SCAN_COST}. The cost of a field is the sum of its values multiplied by
+ * the weight of the field, e.g. 10 for a column without an index. Values of unknown fields cost nothing, they are
+ * ignored by {@link FilterUtils#getConditionFromFilter}.
+ * </p>
+ * <pre>
+ * FilterCostModel costModel = new FilterCostModel(Map.of("comment", 10.0));
+ * double cost = costModel.getCost(registry, filter);
+ * </pre>
+ * <p>
+ * Other costs are set by overriding {@link #getValueCost(FilterCondition, Qualifier)}. The model is immutable.
+ * </p>
+ */
+public class FilterCostModel {
+    /**
+     * Cost of an equality which can use an index.
+     */
+    public static final double INDEXED_COST = 1;
+    /**
+     * Cost of an inequality, a range or a prefix match.
+     */
+    public static final double RANGE_COST = 2;
+    /**
+     * Cost of a full-text match.
+     */
+    public static final double FULL_TEXT_COST = 5;
+    /**
+     * Cost of a match anywhere in a string, at best served by a trigram index.
+     */
+    public static final double CONTAINS_COST = 20;
+    /**
+     * Cost of a value which can't use an index, e.g. a LIKE with a leading wildcard.
+     */
+    public static final double SCAN_COST = 50;
+
+    private final Map<String, Double> fieldWeights;
+
+    /**
+     * Creates a new cost model where every field has the weight 1.
+     */
+    public FilterCostModel() {
+        this(Map.of());
+    }
+
+    /**
+     * Creates a new cost model.
+     *
+     * @param fieldWeights weights of filter fields, 1 for fields which are not in the map
+     */
+    public FilterCostModel(Map<String, Double> fieldWeights) {
+        for (Map.Entry<String, Double> entry : fieldWeights.entrySet()) {
+            if (!(entry.getValue() >= 0) || entry.getValue().isInfinite()) {
+                throw new IllegalArgumentException("Invalid weight of field " + entry.getKey() + ": "
+                        + entry.getValue());
+            }
+        }
+        this.fieldWeights = new HashMap<>(fieldWeights);
+    }
+
+    /**
+     * Estimates the cost of a filter.
+     *
+     * @param filterConditions list of fields and filtering conditions for fields of a certain type
+     * @param filter           list of fields and filtering conditions
+     * @return cost
+     */
+    public double getCost(Map<String, FilterCondition> filterConditions, Map<String, List<String>> filter) {
+        return getCost(filterConditions::get, filter);
+    }
+
+    /**
+     * Estimates the cost of a filter.
+     *
+     * @param registry registry of fields and filtering conditions
+     * @param filter   list of fields and filtering conditions
+     * @return cost
+     */
+    public double getCost(FilterRegistry registry, Map<String, List<String>> filter) {
+        return getCost(registry::getCondition, filter);
+    }
+
+    double getCost(Function<String, FilterCondition> filterConditions, Map<String, List<String>> filter) {
+        double cost = 0;
+        for (Map.Entry<String, List<String>> entry : filter.entrySet()) {
+            FilterCondition filterCondition = filterConditions.apply(entry.getKey());
+            if (!isNull(filterCondition)) {
+                cost += getFieldCost(entry.getKey(), filterCondition,
+                        FilterUtils.parseQualifierValues(entry.getValue()));
+            }
+        }
+        return cost;
+    }
+
+    /**
+     * Estimates the cost of the values of a field.
+     *
+     * @param fieldName       name of the filter field
+     * @param filterCondition filter condition of the field
+     * @param qualifierValues parsed filter values
+     * @return cost of the values multiplied by the weight of the field
+     */
+    public double getFieldCost(String fieldName, FilterCondition filterCondition,
+                               List<QualifierValue> qualifierValues) {
+        requireNonNull(filterCondition);
+        double cost = 0;
+        for (QualifierValue qualifierValue : qualifierValues) {
+            cost += getValueCost(filterCondition, qualifierValue.qualifier());
+        }
+        return cost * fieldWeights.getOrDefault(fieldName, 1.0);
+    }
+
+    /**
+     * Cost of one value of a field.
+     *
+     * @param filterCondition filter condition of the field
+     * @param qualifier       qualifier of the value
+     * @return cost, 0 for qualifiers which don't filter
+     */
+    protected double getValueCost(FilterCondition filterCondition, Qualifier qualifier) {
+        if (Qualifier.DO_NOTHING == qualifier || Qualifier.ASC == qualifier || Qualifier.DESC == qualifier) {
+            return 0;
+        }
+        if (!(filterCondition instanceof StringFilterCondition)) {
+            return Qualifier.EQUAL == qualifier ? INDEXED_COST : RANGE_COST;
+        }
+        // String conditions ignore range qualifiers
+        StringMatchStrategy strategy = ((StringFilterCondition) filterCondition).getStrategy();
+        boolean match = Qualifier.LIKE == qualifier || Qualifier.NOT_LIKE == qualifier;
+        if (!match && Qualifier.EQUAL != qualifier && Qualifier.NOT_EQUAL != qualifier) {
+            return 0;
+        } else if (StringMatchStrategy.LEGACY == strategy) {
+            return SCAN_COST;
+        } else if (!match) {
+            return Qualifier.EQUAL == qualifier ? INDEXED_COST : RANGE_COST;
+        }
+        switch (strategy) {
+            case EXACT:
+                return INDEXED_COST;
+            case PREFIX:
+                return RANGE_COST;
+            case FULL_TEXT:
+                return FULL_TEXT_COST;
+            default:
+                return CONTAINS_COST;
+        }
+    }
+}
@@ -1,10 +1,22 @@
 package com.github.sukhin.condition;
 
+import com.github.sukhin.Qualifier;
+import com.github.sukhin.QualifierValue;
+import com.github.sukhin.metrics.FilterListener;
+import com.github.sukhin.metrics.FilterListeners;
+import com.github.sukhin.metrics.FilterPhase;
+import org.jooq.Condition;
 import org.jooq.Converter;
 import org.jooq.Field;
+import org.jooq.impl.DSL;
 
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Function;
+import java.util.function.Predicate;
 
 import static java.util.Objects.nonNull;
 import static java.util.Objects.requireNonNull;
@@ -13,6 +25,7 @@ public abstract class AbstractFilterCondition<T> implements FilterCondition {
     protected final Field<T> field;
     protected final Converter<T, String> converter;
     protected final Function<String, T> basicConverter;
+    private final LiteralConverter<T> literalConverter;
 
     /**
      * Creates a new filtering condition for a field with a converter, see {@link Converter}.
@@ -26,29 +39,54 @@ public abstract class AbstractFilterCondition<T> implements FilterCondition {
         this.field = field;
         this.converter = converter;
         this.basicConverter = null;
+        this.literalConverter = null;
     }
 
     /**
      * Creates a new filtering condition for a field with a converter, see {@link Function}.
+     * <p>
+     * A {@link LiteralConverter} is called without exception handling, malformed values cost no exception.
+     * </p>
      *
      * @param field          field {@link Field}
      * @param basicConverter converter to convert text representation to value, see {@link Function}.
      */
+    @SuppressWarnings("unchecked")
     protected AbstractFilterCondition(Field<T> field, Function<String, T> basicConverter) {
         requireNonNull(field);
         requireNonNull(basicConverter);
         this.field = field;
         this.converter = null;
         this.basicConverter = basicConverter;
+        this.literalConverter = basicConverter instanceof LiteralConverter
+                ? (LiteralConverter<T>) basicConverter : null;
     }
 
     /**
-     * Returns the result of converting a string value.
+     * Returns the result of converting a string value, conversion time and failures are reported to the
+     * installed {@link FilterListener}.
      *
      * @param stringValue string value
      * @return converted typed value
      */
-    protected Optional<T> getConvertedValue(String stringValue) {
+    public Optional<T> getConvertedValue(String stringValue) {
+        FilterListener listener = FilterListeners.get();
+        if (listener == FilterListener.NONE) {
+            return convert(stringValue);
+        }
+        long start = System.nanoTime();
+        Optional<T> value = convert(stringValue);
+        listener.phase(FilterPhase.CONVERT, System.nanoTime() - start);
+        if (value.isEmpty()) {
+            listener.valueDropped(FilterListeners.getFieldName(field.getName()), stringValue);
+        }
+        return value;
+    }
+
+    private Optional<T> convert(String stringValue) {
+        if (nonNull(literalConverter)) {
+            return Optional.ofNullable(literalConverter.convert(stringValue));
+        }
         try {
             if (nonNull(converter)) {
                 return Optional.of(converter.to(stringValue));
@@ -60,4 +98,112 @@ public abstract class AbstractFilterCondition<T> implements FilterCondition {
         }
         return Optional.empty();
     }
+
+    /**
+     * Get an in-memory predicate over field values, which combines values like
+     * {@link com.github.sukhin.FilterUtils#isStringQualified(List, String)}: it is true if one of the values
+     * matches, null field values never match, and without values it matches everything. Values which can't be
+     * converted are ignored. Comparisons follow the subclass, not necessarily the SQL of {@link #getCondition(List)},
+     * e.g. legacy string values compare like {@code isStringQualified} rather than like "%x%". Literals are converted
+     * once, the predicate is immutable and can be shared between threads.
+     *
+     * @param qualifierValues filter conditions and text representations of values
+     * @return predicate over field values
+     */
+    public Predicate<T> getPredicate(List<QualifierValue> qualifierValues) {
+        List<Predicate<T>> predicates = new ArrayList<>(qualifierValues.size());
+        for (QualifierValue qualifierValue : qualifierValues) {
+            Optional<T> optionalValue = getConvertedValue(qualifierValue.value());
+            if (optionalValue.isEmpty()) {
+                continue;
+            }
+            Predicate<T> predicate = getPredicate(qualifierValue.qualifier(), optionalValue.get());
+            if (nonNull(predicate)) {
+                predicates.add(predicate);
+            }
+        }
+        if (predicates.isEmpty()) {
+            return value -> true;
+        } else if (predicates.size() == 1) {
+            Predicate<T> predicate = predicates.get(0);
+            return value -> nonNull(value) && predicate.test(value);
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Predicate<T>[] predicateArray = predicates.toArray(new Predicate[0]);
+        return value -> {
+            if (value == null) {
+                return false;
+            }
+            for (Predicate<T> predicate : predicateArray) {
+                if (predicate.test(value)) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+
+    /**
+     * Get an in-memory predicate for a single converted value, the counterpart of
+     * {@link #getCondition(Qualifier, String)}.
+     *
+     * @param qualifier filter condition qualifier {@link Qualifier}
+     * @param value     converted value
+     * @return predicate over non-null field values, null if the qualifier produces no condition
+     */
+    protected Predicate<T> getPredicate(Qualifier qualifier, T value) {
+        return null;
+    }
+
+    /**
+     * Returns the key under which {@link com.github.sukhin.Qualifier#EQUAL} values are matched in hash indexes,
+     * e.g. by {@link com.github.sukhin.match.FilterMatcher}: a non-null field value matches an EQUAL value exactly
+     * when their keys are equal.
+     *
+     * @param value converted filter value or field value
+     * @return key, null if EQUAL values can't be matched by key
+     */
+    public Object getMatchKey(T value) {
+        return null;
+    }
+
+    /**
+     * Returns a condition which is true for every non-null value of the field.
+     *
+     * @return "field is not null", no condition at all for not nullable fields
+     */
+    protected Condition getTautology() {
+        return field.getDataType().nullable() ? field.isNotNull() : DSL.noCondition();
+    }
+
+    /**
+     * Returns a single bind value holding all values as an array of the field type.
+     *
+     * @param values values
+     * @return array bind value
+     */
+    @SuppressWarnings("unchecked")
+    protected Field<T[]> getArrayValue(Collection<T> values) {
+        T[] array = values.toArray((T[]) Array.newInstance(field.getType(), values.size()));
+        return DSL.val(array, field.getDataType().getArrayDataType());
+    }
+
+    /**
+     * Returns a condition of stable shape for equality values: field = any(?) OR field &lt;&gt; any(?).
+     *
+     * @param equalValues    values of {@link com.github.sukhin.Qualifier#EQUAL}
+     * @param notEqualValues values of {@link com.github.sukhin.Qualifier#NOT_EQUAL}
+     * @return JOOQ filter condition {@link Condition}
+     */
+    protected Condition getEqualityTemplate(Collection<T> equalValues, Collection<T> notEqualValues) {
+        Condition condition = DSL.noCondition();
+        if (!equalValues.isEmpty()) {
+            condition = condition.or(field.equal(DSL.any(getArrayValue(equalValues))));
+        }
+        if (!notEqualValues.isEmpty()) {
+            condition = condition.or(field.notEqual(DSL.any(getArrayValue(notEqualValues))));
+        }
+        return condition;
+    }
 }
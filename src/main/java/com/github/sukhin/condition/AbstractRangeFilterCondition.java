@@ -1,13 +1,20 @@
 package com.github.sukhin.condition;
 
+import com.github.sukhin.ConditionMode;
 import com.github.sukhin.Qualifier;
+import com.github.sukhin.QualifierValue;
 import org.jooq.Condition;
 import org.jooq.Converter;
 import org.jooq.Field;
 import org.jooq.impl.DSL;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.function.Function;
+import java.util.function.Predicate;
 
 import static com.github.sukhin.Qualifier.EQUAL;
 import static com.github.sukhin.Qualifier.GREATER;
@@ -16,7 +23,7 @@ import static com.github.sukhin.Qualifier.LESS;
 import static com.github.sukhin.Qualifier.LESS_EQUAL;
 import static com.github.sukhin.Qualifier.NOT_EQUAL;
 
-public abstract class AbstractRangeFilterCondition<T> extends AbstractFilterCondition<T> {
+public abstract class AbstractRangeFilterCondition<T extends Comparable<? super T>> extends AbstractFilterCondition<T> {
     /**
      * Creates a new filtering condition for a field with a converter, see {@link Converter}.
      *
@@ -62,4 +69,171 @@ public abstract class AbstractRangeFilterCondition<T> extends AbstractFilterCond
         }
         return DSL.noCondition();
     }
+
+    /**
+     * Domain of field values, used to turn strict bounds into inclusive ones during simplification.
+     *
+     * @return discrete domain, null for continuous values
+     */
+    protected DiscreteDomain<T> getDomain() {
+        return null;
+    }
+
+    /**
+     * Returns the union of values matched by the filter values of a field.
+     *
+     * @param qualifierValues filter conditions and text representations of values
+     * @return union of intervals, empty if no value produces a condition and the field is not constrained
+     */
+    public Optional<RangeSet<T>> getRangeSet(List<QualifierValue> qualifierValues) {
+        List<Interval<T>> intervals = new ArrayList<>(qualifierValues.size() + 1);
+        for (QualifierValue qualifierValue : qualifierValues) {
+            Qualifier qualifier = qualifierValue.qualifier();
+            Optional<T> optionalValue = getConvertedValue(qualifierValue.value());
+            if (optionalValue.isEmpty()) {
+                continue;
+            }
+            T value = optionalValue.get();
+
+            if (EQUAL == qualifier) {
+                intervals.add(Interval.point(value));
+            } else if (NOT_EQUAL == qualifier) {
+                intervals.add(Interval.upTo(value, false));
+                intervals.add(Interval.downTo(value, false));
+            } else if (LESS_EQUAL == qualifier || LESS == qualifier) {
+                intervals.add(Interval.upTo(value, LESS_EQUAL == qualifier));
+            } else if (GREATER_EQUAL == qualifier || GREATER == qualifier) {
+                intervals.add(Interval.downTo(value, GREATER_EQUAL == qualifier));
+            }
+        }
+        return intervals.isEmpty() ? Optional.empty() : Optional.of(RangeSet.of(intervals, getDomain()));
+    }
+
+    /**
+     * Get the smallest filter condition matching exactly the union of intervals.
+     *
+     * @param rangeSet union of intervals
+     * @return JOOQ filter condition {@link Condition}
+     */
+    public Condition getCondition(RangeSet<T> rangeSet) {
+        if (rangeSet.isEmpty()) {
+            return DSL.falseCondition();
+        } else if (rangeSet.isAll()) {
+            return getTautology();
+        }
+
+        List<T> missingPoints = rangeSet.getMissingPoints();
+        if (missingPoints != null) {
+            return missingPoints.size() == 1 ? field.notEqual(missingPoints.get(0)) : field.notIn(missingPoints);
+        }
+
+        List<T> points = new ArrayList<>();
+        Condition condition = DSL.noCondition();
+        for (Interval<T> interval : rangeSet.getIntervals()) {
+            if (interval.isPoint()) {
+                points.add(interval.lower());
+            } else {
+                condition = condition.or(getCondition(interval));
+            }
+        }
+        if (points.size() == 1) {
+            condition = field.equal(points.get(0)).or(condition);
+        } else if (points.size() > 1) {
+            condition = field.in(points).or(condition);
+        }
+        return condition;
+    }
+
+    private Condition getCondition(Interval<T> interval) {
+        T lower = interval.lower();
+        T upper = interval.upper();
+        if (lower != null && upper != null && interval.lowerInclusive() && interval.upperInclusive()) {
+            return field.between(lower, upper);
+        }
+        Condition condition = DSL.noCondition();
+        if (lower != null) {
+            condition = interval.lowerInclusive() ? field.greaterOrEqual(lower) : field.greaterThan(lower);
+        }
+        if (upper != null) {
+            condition = condition.and(interval.upperInclusive() ? field.lessOrEqual(upper) : field.lessThan(upper));
+        }
+        return condition;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Values are merged into a {@link RangeSet} first, a field value is looked up with binary search.
+     * </p>
+     */
+    @Override
+    public Predicate<T> getPredicate(List<QualifierValue> qualifierValues) {
+        Optional<RangeSet<T>> optionalRangeSet = getRangeSet(qualifierValues);
+        if (optionalRangeSet.isEmpty()) {
+            return value -> true;
+        }
+        RangeSet<T> rangeSet = optionalRangeSet.get();
+        return value -> value != null && rangeSet.contains(value);
+    }
+
+    @Override
+    public Object getMatchKey(T value) {
+        return value;
+    }
+
+    @Override
+    public Condition getCondition(List<QualifierValue> qualifierValues, ConditionMode mode) {
+        if (ConditionMode.SIMPLIFIED == mode) {
+            return getRangeSet(qualifierValues).map(this::getCondition).orElseGet(DSL::noCondition);
+        } else if (ConditionMode.TEMPLATE != mode) {
+            return getCondition(qualifierValues);
+        }
+
+        Set<T> equalValues = new TreeSet<>();
+        Set<T> notEqualValues = new TreeSet<>();
+        T upper = null;
+        boolean upperInclusive = false;
+        T lower = null;
+        boolean lowerInclusive = false;
+        for (QualifierValue qualifierValue : qualifierValues) {
+            Qualifier qualifier = qualifierValue.qualifier();
+            Optional<T> optionalValue = getConvertedValue(qualifierValue.value());
+            if (optionalValue.isEmpty()) {
+                continue;
+            }
+            T value = optionalValue.get();
+
+            // Bounds of one direction are combined with OR, so the widest one is kept
+            if (EQUAL == qualifier) {
+                equalValues.add(value);
+            } else if (NOT_EQUAL == qualifier) {
+                notEqualValues.add(value);
+            } else if (LESS_EQUAL == qualifier || LESS == qualifier) {
+                int compareResult = upper == null ? 1 : value.compareTo(upper);
+                if (compareResult > 0) {
+                    upper = value;
+                    upperInclusive = LESS_EQUAL == qualifier;
+                } else if (compareResult == 0) {
+                    upperInclusive |= LESS_EQUAL == qualifier;
+                }
+            } else if (GREATER_EQUAL == qualifier || GREATER == qualifier) {
+                int compareResult = lower == null ? -1 : value.compareTo(lower);
+                if (compareResult < 0) {
+                    lower = value;
+                    lowerInclusive = GREATER_EQUAL == qualifier;
+                } else if (compareResult == 0) {
+                    lowerInclusive |= GREATER_EQUAL == qualifier;
+                }
+            }
+        }
+
+        Condition condition = getEqualityTemplate(equalValues, notEqualValues);
+        if (upper != null) {
+            condition = condition.or(upperInclusive ? field.lessOrEqual(upper) : field.lessThan(upper));
+        }
+        if (lower != null) {
+            condition = condition.or(lowerInclusive ? field.greaterOrEqual(lower) : field.greaterThan(lower));
+        }
+        return condition;
+    }
 }
@@ -1,13 +1,19 @@
 package com.github.sukhin.condition;
 
+import com.github.sukhin.ConditionMode;
 import com.github.sukhin.Qualifier;
+import com.github.sukhin.QualifierValue;
 import org.jooq.Condition;
 import org.jooq.Converter;
 import org.jooq.Field;
 import org.jooq.impl.DSL;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.function.Function;
+import java.util.function.Predicate;
 
 import static com.github.sukhin.Qualifier.EQUAL;
 import static com.github.sukhin.Qualifier.NOT_EQUAL;
@@ -45,4 +51,67 @@ public class BooleanFilterCondition extends AbstractFilterCondition<Boolean> {
         }
         return DSL.noCondition();
     }
+
+    @Override
+    protected Predicate<Boolean> getPredicate(Qualifier qualifier, Boolean value) {
+        if (EQUAL == qualifier) {
+            return value::equals;
+        } else if (NOT_EQUAL == qualifier) {
+            return fieldValue -> !value.equals(fieldValue);
+        }
+        return null;
+    }
+
+    @Override
+    public Object getMatchKey(Boolean value) {
+        return value;
+    }
+
+    @Override
+    public Condition getCondition(List<QualifierValue> qualifierValues, ConditionMode mode) {
+        if (ConditionMode.SIMPLIFIED == mode) {
+            return getSimplifiedCondition(qualifierValues);
+        } else if (ConditionMode.TEMPLATE != mode) {
+            return getCondition(qualifierValues);
+        }
+
+        Set<Boolean> equalValues = new TreeSet<>();
+        Set<Boolean> notEqualValues = new TreeSet<>();
+        for (QualifierValue qualifierValue : qualifierValues) {
+            Optional<Boolean> optionalValue = getConvertedValue(qualifierValue.value());
+            if (optionalValue.isEmpty()) {
+                continue;
+            }
+            if (EQUAL == qualifierValue.qualifier()) {
+                equalValues.add(optionalValue.get());
+            } else if (NOT_EQUAL == qualifierValue.qualifier()) {
+                notEqualValues.add(optionalValue.get());
+            }
+        }
+        return getEqualityTemplate(equalValues, notEqualValues);
+    }
+
+    private Condition getSimplifiedCondition(List<QualifierValue> qualifierValues) {
+        boolean matchesTrue = false;
+        boolean matchesFalse = false;
+        for (QualifierValue qualifierValue : qualifierValues) {
+            Optional<Boolean> optionalValue = getConvertedValue(qualifierValue.value());
+            if (optionalValue.isEmpty()) {
+                continue;
+            }
+            if (EQUAL == qualifierValue.qualifier()) {
+                matchesTrue |= optionalValue.get();
+                matchesFalse |= !optionalValue.get();
+            } else if (NOT_EQUAL == qualifierValue.qualifier()) {
+                matchesTrue |= !optionalValue.get();
+                matchesFalse |= optionalValue.get();
+            }
+        }
+        if (matchesTrue && matchesFalse) {
+            return getTautology();
+        } else if (matchesTrue || matchesFalse) {
+            return field.equal(matchesTrue);
+        }
+        return DSL.noCondition();
+    }
 }
@@ -0,0 +1,283 @@
+package com.github.sukhin.condition;
+
+import java.util.Arrays;
+
+import static java.util.Objects.isNull;
+
+/**
+ * IPv4 or IPv6 address with a prefix length, the value of PostgreSQL inet and cidr columns, e.g. "10.119.24.99",
+ * "10.0.0.0/8" or "2001:db8::/32".
+ * <p>
+ * {@link #parse(String)} doesn't throw and doesn't resolve host names, {@link #toString()} prints the canonical
+ * form PostgreSQL prints: lowercase, the longest run of zero IPv6 groups compressed (RFC 5952), the prefix length
+ * omitted for a single host.
+ * </p>
+ */
+public final class Cidr {
+    private final byte[] address;
+    private final int prefixLength;
+
+    private Cidr(byte[] address, int prefixLength) {
+        this.address = address;
+        this.prefixLength = prefixLength;
+    }
+
+    /**
+     * Parses an address with an optional prefix length.
+     *
+     * @param text text like "10.0.0.0/8" or "2001:db8::1"
+     * @return parsed address, null if the text is not a valid address
+     */
+    public static Cidr parse(String text) {
+        if (isNull(text)) {
+            return null;
+        }
+        int slash = text.indexOf('/');
+        int end = slash < 0 ? text.length() : slash;
+        byte[] address;
+        if (text.lastIndexOf(':', end - 1) >= 0) {
+            address = parseIpv6(text, 0, end);
+        } else {
+            address = new byte[4];
+            if (!parseIpv4(text, 0, end, address, 0)) {
+                address = null;
+            }
+        }
+        if (isNull(address)) {
+            return null;
+        }
+        int bits = address.length * 8;
+        if (slash < 0) {
+            return new Cidr(address, bits);
+        }
+        int prefixLength = 0;
+        int digits = text.length() - slash - 1;
+        if (digits < 1 || digits > 3) {
+            return null;
+        }
+        for (int i = slash + 1; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return null;
+            }
+            prefixLength = prefixLength * 10 + c - '0';
+        }
+        return prefixLength > bits ? null : new Cidr(address, prefixLength);
+    }
+
+    /**
+     * Whether the address is an IPv6 address.
+     *
+     * @return true for IPv6, false for IPv4
+     */
+    public boolean isIpv6() {
+        return address.length == 16;
+    }
+
+    /**
+     * Number of leading bits of the network part.
+     *
+     * @return prefix length, 32 or 128 for a single host
+     */
+    public int getPrefixLength() {
+        return prefixLength;
+    }
+
+    /**
+     * Whether another address is within this network or equals it, the PostgreSQL {@code <<=} operator.
+     *
+     * @param other address or network
+     * @return true if the other network is a subnet of this network or equal to it
+     */
+    public boolean contains(Cidr other) {
+        if (address.length != other.address.length || other.prefixLength < prefixLength) {
+            return false;
+        }
+        int fullBytes = prefixLength / 8;
+        for (int i = 0; i < fullBytes; i++) {
+            if (address[i] != other.address[i]) {
+                return false;
+            }
+        }
+        int remainingBits = prefixLength % 8;
+        if (remainingBits == 0) {
+            return true;
+        }
+        int mask = 0xFF << (8 - remainingBits);
+        return (address[fullBytes] & mask) == (other.address[fullBytes] & mask);
+    }
+
+    private static boolean parseIpv4(String text, int from, int to, byte[] out, int offset) {
+        int part = 0;
+        int position = from;
+        while (part < 4) {
+            int value = 0;
+            int digits = 0;
+            while (position < to && text.charAt(position) != '.') {
+                char c = text.charAt(position++);
+                if (c < '0' || c > '9' || ++digits > 3) {
+                    return false;
+                }
+                value = value * 10 + c - '0';
+            }
+            if (digits == 0 || value > 255) {
+                return false;
+            }
+            out[offset + part++] = (byte) value;
+            if (part < 4) {
+                if (position >= to) {
+                    return false;
+                }
+                position++;
+            }
+        }
+        return position == to;
+    }
+
+    private static byte[] parseIpv6(String text, int from, int to) {
+        int[] groups = new int[8];
+        int count = 0;
+        int compressedAt = -1;
+        int position = from;
+        if (to - from >= 2 && text.charAt(from) == ':' && text.charAt(from + 1) == ':') {
+            compressedAt = 0;
+            position += 2;
+        }
+        while (position < to) {
+            int groupEnd = position;
+            boolean ipv4 = false;
+            while (groupEnd < to && text.charAt(groupEnd) != ':') {
+                ipv4 |= text.charAt(groupEnd) == '.';
+                groupEnd++;
+            }
+            if (ipv4) {
+                byte[] embedded = new byte[4];
+                if (groupEnd != to || count > 6 || !parseIpv4(text, position, to, embedded, 0)) {
+                    return null;
+                }
+                groups[count++] = (embedded[0] & 0xFF) << 8 | embedded[1] & 0xFF;
+                groups[count++] = (embedded[2] & 0xFF) << 8 | embedded[3] & 0xFF;
+                position = to;
+                break;
+            }
+            int length = groupEnd - position;
+            if (length < 1 || length > 4 || count == 8) {
+                return null;
+            }
+            int value = 0;
+            for (int i = position; i < groupEnd; i++) {
+                int digit = Character.digit(text.charAt(i), 16);
+                if (digit < 0 || text.charAt(i) > 'f') {
+                    return null;
+                }
+                value = value << 4 | digit;
+            }
+            groups[count++] = value;
+            if (groupEnd == to) {
+                position = to;
+                break;
+            }
+            if (groupEnd + 1 < to && text.charAt(groupEnd + 1) == ':') {
+                if (compressedAt >= 0) {
+                    return null;
+                }
+                compressedAt = count;
+                position = groupEnd + 2;
+            } else {
+                position = groupEnd + 1;
+                if (position == to) {
+                    return null;
+                }
+            }
+        }
+        if (compressedAt < 0 ? count != 8 : count > 7) {
+            return null;
+        }
+        byte[] address = new byte[16];
+        int tail = compressedAt < 0 ? 0 : count - compressedAt;
+        for (int i = 0; i < count; i++) {
+            int group = compressedAt >= 0 && i >= compressedAt ? 8 - tail + (i - compressedAt) : i;
+            address[group * 2] = (byte) (groups[i] >> 8);
+            address[group * 2 + 1] = (byte) groups[i];
+        }
+        return address;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Cidr)) {
+            return false;
+        }
+        Cidr other = (Cidr) o;
+        return prefixLength == other.prefixLength && Arrays.equals(address, other.address);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(address) + prefixLength;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(isIpv6() ? 43 : 18);
+        if (isIpv6()) {
+            appendIpv6(builder);
+        } else {
+            appendIpv4(builder, 0);
+        }
+        if (prefixLength != address.length * 8) {
+            builder.append('/').append(prefixLength);
+        }
+        return builder.toString();
+    }
+
+    private void appendIpv4(StringBuilder builder, int offset) {
+        for (int i = offset; i < offset + 4; i++) {
+            if (i > offset) {
+                builder.append('.');
+            }
+            builder.append(address[i] & 0xFF);
+        }
+    }
+
+    private void appendIpv6(StringBuilder builder) {
+        int[] groups = new int[8];
+        for (int i = 0; i < 8; i++) {
+            groups[i] = (address[i * 2] & 0xFF) << 8 | address[i * 2 + 1] & 0xFF;
+        }
+        // IPv4-mapped addresses are printed as ::ffff:a.b.c.d
+        if (groups[0] == 0 && groups[1] == 0 && groups[2] == 0 && groups[3] == 0 && groups[4] == 0
+                && groups[5] == 0xFFFF) {
+            builder.append("::ffff:");
+            appendIpv4(builder, 12);
+            return;
+        }
+        int bestStart = -1;
+        int bestLength = 1;
+        for (int i = 0; i < 8; ) {
+            int j = i;
+            while (j < 8 && groups[j] == 0) {
+                j++;
+            }
+            if (j - i > bestLength) {
+                bestStart = i;
+                bestLength = j - i;
+            }
+            i = j == i ? i + 1 : j;
+        }
+        for (int i = 0; i < 8; i++) {
+            if (i == bestStart) {
+                builder.append("::");
+                i += bestLength - 1;
+                continue;
+            }
+            if (i > 0 && i != bestStart + bestLength) {
+                builder.append(':');
+            }
+            builder.append(Integer.toHexString(groups[i]));
+        }
+    }
+}
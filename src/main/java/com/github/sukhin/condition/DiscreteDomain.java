@@ -0,0 +1,59 @@
+package com.github.sukhin.condition;
+
+/**
+ * Domain of values where every value has a well-defined successor and predecessor, so strict bounds can be turned
+ * into inclusive ones: x &lt; 10 is x &lt;= 9.
+ *
+ * @param <T> type of values
+ */
+public interface DiscreteDomain<T extends Comparable<? super T>> {
+    DiscreteDomain<Short> SHORT = new DiscreteDomain<>() {
+        @Override
+        public Short next(Short value) {
+            return value == Short.MAX_VALUE ? null : (short) (value + 1);
+        }
+
+        @Override
+        public Short previous(Short value) {
+            return value == Short.MIN_VALUE ? null : (short) (value - 1);
+        }
+    };
+    DiscreteDomain<Integer> INTEGER = new DiscreteDomain<>() {
+        @Override
+        public Integer next(Integer value) {
+            return value == Integer.MAX_VALUE ? null : value + 1;
+        }
+
+        @Override
+        public Integer previous(Integer value) {
+            return value == Integer.MIN_VALUE ? null : value - 1;
+        }
+    };
+    DiscreteDomain<Long> LONG = new DiscreteDomain<>() {
+        @Override
+        public Long next(Long value) {
+            return value == Long.MAX_VALUE ? null : value + 1;
+        }
+
+        @Override
+        public Long previous(Long value) {
+            return value == Long.MIN_VALUE ? null : value - 1;
+        }
+    };
+
+    /**
+     * Returns the next value.
+     *
+     * @param value value
+     * @return next value, null if the value is the maximum of the domain
+     */
+    T next(T value);
+
+    /**
+     * Returns the previous value.
+     *
+     * @param value value
+     * @return previous value, null if the value is the minimum of the domain
+     */
+    T previous(T value);
+}
@@ -0,0 +1,163 @@
+package com.github.sukhin.condition;
+
+import com.github.sukhin.ConditionMode;
+import com.github.sukhin.Qualifier;
+import com.github.sukhin.QualifierValue;
+import org.jooq.Condition;
+import org.jooq.EnumType;
+import org.jooq.Field;
+import org.jooq.impl.DSL;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static com.github.sukhin.Qualifier.EQUAL;
+import static com.github.sukhin.Qualifier.NOT_EQUAL;
+import static java.util.Objects.isNull;
+
+/**
+ * Filter condition for field with a Java enum type, values are bound as enum constants, so database enum columns
+ * (e.g. PostgreSQL enum types mapped to {@link EnumType}) are compared natively.
+ *
+ * @param <E> enum type
+ */
+public class EnumFilterCondition<E extends Enum<E>> extends AbstractFilterCondition<E> {
+    /**
+     * Creates a condition which accepts constant names and, for {@link EnumType}s, database literals, both
+     * case-insensitive. The lookup table is built once, converting a value doesn't throw.
+     *
+     * @param field field {@link Field}
+     * @param type  enum type
+     */
+    public EnumFilterCondition(Field<E> field, Class<E> type) {
+        super(field, getConverter(type));
+    }
+
+    public EnumFilterCondition(Field<E> field, Function<String, E> basicConverter) {
+        super(field, basicConverter);
+    }
+
+    private static <E extends Enum<E>> LiteralConverter<E> getConverter(Class<E> type) {
+        Map<String, E> constants = new HashMap<>();
+        for (E constant : type.getEnumConstants()) {
+            constants.put(constant.name(), constant);
+            if (constant instanceof EnumType) {
+                constants.putIfAbsent(((EnumType) constant).getLiteral(), constant);
+            }
+        }
+        for (E constant : type.getEnumConstants()) {
+            constants.putIfAbsent(constant.name().toLowerCase(Locale.ROOT), constant);
+            if (constant instanceof EnumType) {
+                constants.putIfAbsent(((EnumType) constant).getLiteral().toLowerCase(Locale.ROOT), constant);
+            }
+        }
+        return value -> {
+            if (isNull(value)) {
+                return null;
+            }
+            E constant = constants.get(value);
+            return isNull(constant) ? constants.get(value.toLowerCase(Locale.ROOT)) : constant;
+        };
+    }
+
+    @Override
+    public Condition getCondition(Qualifier qualifier, String stringValue) {
+        Optional<E> optionalValue = getConvertedValue(stringValue);
+        if (optionalValue.isEmpty()) {
+            return DSL.noCondition();
+        }
+
+        E value = optionalValue.get();
+
+        if (EQUAL == qualifier) {
+            return field.equal(value);
+        } else if (NOT_EQUAL == qualifier) {
+            return field.notEqual(value);
+        }
+        return DSL.noCondition();
+    }
+
+    @Override
+    protected Predicate<E> getPredicate(Qualifier qualifier, E value) {
+        if (EQUAL == qualifier) {
+            return fieldValue -> value == fieldValue;
+        } else if (NOT_EQUAL == qualifier) {
+            return fieldValue -> value != fieldValue;
+        }
+        return null;
+    }
+
+    @Override
+    public Object getMatchKey(E value) {
+        return value;
+    }
+
+    @Override
+    public Condition getCondition(List<QualifierValue> qualifierValues, ConditionMode mode) {
+        if (ConditionMode.SIMPLIFIED == mode) {
+            return getSimplifiedCondition(qualifierValues);
+        } else if (ConditionMode.TEMPLATE != mode) {
+            return getCondition(qualifierValues);
+        }
+
+        Set<E> equalValues = new LinkedHashSet<>();
+        Set<E> notEqualValues = new LinkedHashSet<>();
+        for (QualifierValue qualifierValue : qualifierValues) {
+            Optional<E> optionalValue = getConvertedValue(qualifierValue.value());
+            if (optionalValue.isEmpty()) {
+                continue;
+            }
+            if (EQUAL == qualifierValue.qualifier()) {
+                equalValues.add(optionalValue.get());
+            } else if (NOT_EQUAL == qualifierValue.qualifier()) {
+                notEqualValues.add(optionalValue.get());
+            }
+        }
+        return getEqualityTemplate(equalValues, notEqualValues);
+    }
+
+    /**
+     * Computes the set of matched constants and renders the shorter of "field in (matched)" and
+     * "field not in (not matched)".
+     */
+    private Condition getSimplifiedCondition(List<QualifierValue> qualifierValues) {
+        Class<E> type = field.getType();
+        EnumSet<E> matched = EnumSet.noneOf(type);
+        boolean constrained = false;
+        for (QualifierValue qualifierValue : qualifierValues) {
+            Optional<E> optionalValue = getConvertedValue(qualifierValue.value());
+            if (optionalValue.isEmpty()) {
+                continue;
+            }
+            if (EQUAL == qualifierValue.qualifier()) {
+                matched.add(optionalValue.get());
+                constrained = true;
+            } else if (NOT_EQUAL == qualifierValue.qualifier()) {
+                matched.addAll(EnumSet.complementOf(EnumSet.of(optionalValue.get())));
+                constrained = true;
+            }
+        }
+        if (!constrained) {
+            return DSL.noCondition();
+        }
+        EnumSet<E> notMatched = EnumSet.complementOf(matched);
+        if (matched.isEmpty()) {
+            return DSL.falseCondition();
+        } else if (notMatched.isEmpty()) {
+            return getTautology();
+        } else if (matched.size() == 1) {
+            return field.equal(matched.iterator().next());
+        } else if (notMatched.size() == 1) {
+            return field.notEqual(notMatched.iterator().next());
+        }
+        return matched.size() <= notMatched.size() ? field.in(matched) : field.notIn(notMatched);
+    }
+}
@@ -1,9 +1,14 @@
 package com.github.sukhin.condition;
 
+import com.github.sukhin.ConditionMode;
 import com.github.sukhin.Qualifier;
+import com.github.sukhin.QualifierValue;
 import org.jooq.Condition;
+import org.jooq.impl.DSL;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
 import java.util.function.Function;
 import java.util.function.UnaryOperator;
 
@@ -11,11 +16,12 @@ import java.util.function.UnaryOperator;
  * Filter condition interface.
  */
 public interface FilterCondition {
-    Function<String, Short> BASIC_SHORT_CONVERTER = Short::parseShort;
-    Function<String, Integer> BASIC_INTEGER_CONVERTER = Integer::parseInt;
-    Function<String, Long> BASIC_LONG_CONVERTER = Long::parseLong;
-    Function<String, LocalDateTime> BASIC_LOCAL_DATE_TIME_CONVERTER = LocalDateTime::parse;
-    Function<String, Boolean> BASIC_BOOLEAN_CONVERTER = Boolean::parseBoolean;
+    Function<String, Short> BASIC_SHORT_CONVERTER = LiteralConverters.SHORT;
+    Function<String, Integer> BASIC_INTEGER_CONVERTER = LiteralConverters.INTEGER;
+    Function<String, Long> BASIC_LONG_CONVERTER = LiteralConverters.LONG;
+    Function<String, LocalDateTime> BASIC_LOCAL_DATE_TIME_CONVERTER = LiteralConverters.LOCAL_DATE_TIME;
+    Function<String, Boolean> BASIC_BOOLEAN_CONVERTER = LiteralConverters.BOOLEAN;
+    Function<String, UUID> BASIC_UUID_CONVERTER = LiteralConverters.UUID;
     UnaryOperator<String> BASIC_STRING_CONVERTER = s -> s;
 
     /**
@@ -29,4 +35,32 @@ public interface FilterCondition {
      * @return JOOQ filter condition {@link Condition}
      */
     Condition getCondition(Qualifier qualifier, String stringValue);
+
+    /**
+     * Get filter condition for all values of a field, conditions of the values are combined with OR.
+     *
+     * @param qualifierValues filter conditions and text representations of values
+     * @return JOOQ filter condition {@link Condition}
+     */
+    default Condition getCondition(List<QualifierValue> qualifierValues) {
+        Condition condition = DSL.noCondition();
+        for (QualifierValue qualifierValue : qualifierValues) {
+            condition = condition.or(getCondition(qualifierValue.qualifier(), qualifierValue.value()));
+        }
+        return condition;
+    }
+
+    /**
+     * Get filter condition for all values of a field in the given mode, see {@link ConditionMode}.
+     * <p>
+     * Conditions which do not support a mode fall back to {@link ConditionMode#VERBATIM}.
+     * </p>
+     *
+     * @param qualifierValues filter conditions and text representations of values
+     * @param mode            condition building mode
+     * @return JOOQ filter condition {@link Condition}
+     */
+    default Condition getCondition(List<QualifierValue> qualifierValues, ConditionMode mode) {
+        return getCondition(qualifierValues);
+    }
 }
@@ -0,0 +1,93 @@
+package com.github.sukhin.condition;
+
+import com.github.sukhin.Qualifier;
+import org.jooq.Condition;
+import org.jooq.Field;
+import org.jooq.impl.DSL;
+
+import java.util.Optional;
+import java.util.function.Predicate;
+
+import static com.github.sukhin.Qualifier.EQUAL;
+import static com.github.sukhin.Qualifier.LIKE;
+import static com.github.sukhin.Qualifier.NOT_EQUAL;
+import static com.github.sukhin.Qualifier.NOT_LIKE;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Filter condition for PostgreSQL inet and cidr fields, values are bound as inet, so btree and GiST indexes are
+ * used.
+ * <p>
+ * {@link Qualifier#EQUAL} and {@link Qualifier#NOT_EQUAL} compare addresses, {@link Qualifier#LIKE} matches
+ * addresses within a network with the {@code <<=} operator and {@link Qualifier#NOT_LIKE} matches addresses
+ * outside it:
+ * Map("ip_src", ["~10.0.0.0/8", "=192.168.1.1"]) =&gt; (ip_src &lt;&lt;= '10.0.0.0/8' OR ip_src = '192.168.1.1').
+ * Values are parsed with {@link Cidr#parse(String)}, host names are not resolved.
+ * </p>
+ */
+public class InetFilterCondition extends AbstractFilterCondition<String> {
+    private static final LiteralConverter<String> CONVERTER = value -> {
+        Cidr cidr = Cidr.parse(value);
+        return isNull(cidr) ? null : cidr.toString();
+    };
+
+    /**
+     * Creates a new filtering condition.
+     *
+     * @param field inet or cidr field of any Java type, it's compared as text
+     */
+    public InetFilterCondition(Field<?> field) {
+        super(field.coerce(String.class), CONVERTER);
+    }
+
+    @Override
+    public Condition getCondition(Qualifier qualifier, String stringValue) {
+        Optional<String> optionalValue = getConvertedValue(stringValue);
+        if (optionalValue.isEmpty()) {
+            return DSL.noCondition();
+        }
+
+        Field<String> value = DSL.field("cast({0} as inet)", String.class, DSL.val(optionalValue.get()));
+
+        if (EQUAL == qualifier) {
+            return field.equal(value);
+        } else if (NOT_EQUAL == qualifier) {
+            return field.notEqual(value);
+        } else if (LIKE == qualifier) {
+            return DSL.condition("{0} <<= {1}", field, value);
+        } else if (NOT_LIKE == qualifier) {
+            return DSL.not(DSL.condition("{0} <<= {1}", field, value));
+        }
+        return DSL.noCondition();
+    }
+
+    @Override
+    protected Predicate<String> getPredicate(Qualifier qualifier, String value) {
+        Cidr cidr = Cidr.parse(value);
+        if (EQUAL == qualifier) {
+            return fieldValue -> cidr.equals(Cidr.parse(fieldValue));
+        } else if (NOT_EQUAL == qualifier) {
+            return fieldValue -> {
+                Cidr fieldCidr = Cidr.parse(fieldValue);
+                return nonNull(fieldCidr) && !cidr.equals(fieldCidr);
+            };
+        } else if (LIKE == qualifier) {
+            return fieldValue -> {
+                Cidr fieldCidr = Cidr.parse(fieldValue);
+                return nonNull(fieldCidr) && cidr.contains(fieldCidr);
+            };
+        } else if (NOT_LIKE == qualifier) {
+            return fieldValue -> {
+                Cidr fieldCidr = Cidr.parse(fieldValue);
+                return nonNull(fieldCidr) && !cidr.contains(fieldCidr);
+            };
+        }
+        return null;
+    }
+
+    @Override
+    public Object getMatchKey(String value) {
+        return Cidr.parse(value);
+    }
+}
@@ -20,4 +20,9 @@ public class IntegerFilterCondition extends AbstractRangeFilterCondition<Integer
     public IntegerFilterCondition(Field<Integer> field) {
         super(field, BASIC_INTEGER_CONVERTER);
     }
+
+    @Override
+    protected DiscreteDomain<Integer> getDomain() {
+        return DiscreteDomain.INTEGER;
+    }
 }
@@ -0,0 +1,89 @@
+package com.github.sukhin.condition;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Interval of values, a null bound means that the interval is unbounded on that side.
+ *
+ * @param <T> type of values
+ */
+public record Interval<T extends Comparable<? super T>>(
+        T lower,
+        boolean lowerInclusive,
+        T upper,
+        boolean upperInclusive
+) {
+    /**
+     * Interval of all values.
+     *
+     * @param <T> type of values
+     * @return unbounded interval
+     */
+    public static <T extends Comparable<? super T>> Interval<T> all() {
+        return new Interval<>(null, false, null, false);
+    }
+
+    /**
+     * Interval of a single value.
+     *
+     * @param value value
+     * @param <T>   type of values
+     * @return interval [value, value]
+     */
+    public static <T extends Comparable<? super T>> Interval<T> point(T value) {
+        return new Interval<>(value, true, value, true);
+    }
+
+    /**
+     * Interval of values less than (or equal to) the bound.
+     *
+     * @param upper     upper bound
+     * @param inclusive whether the bound belongs to the interval
+     * @param <T>       type of values
+     * @return interval (-inf, upper)
+     */
+    public static <T extends Comparable<? super T>> Interval<T> upTo(T upper, boolean inclusive) {
+        return new Interval<>(null, false, upper, inclusive);
+    }
+
+    /**
+     * Interval of values greater than (or equal to) the bound.
+     *
+     * @param lower     lower bound
+     * @param inclusive whether the bound belongs to the interval
+     * @param <T>       type of values
+     * @return interval (lower, +inf)
+     */
+    public static <T extends Comparable<? super T>> Interval<T> downTo(T lower, boolean inclusive) {
+        return new Interval<>(lower, inclusive, null, false);
+    }
+
+    /**
+     * Whether the interval contains exactly one value.
+     *
+     * @return true for intervals like [value, value]
+     */
+    public boolean isPoint() {
+        return lowerInclusive && upperInclusive && !isNull(lower) && !isNull(upper) && lower.compareTo(upper) == 0;
+    }
+
+    /**
+     * Whether the interval contains the value.
+     *
+     * @param value value
+     * @return true if the value lies within the bounds
+     */
+    public boolean contains(T value) {
+        if (!isNull(lower)) {
+            int compareResult = value.compareTo(lower);
+            if (compareResult < 0 || compareResult == 0 && !lowerInclusive) {
+                return false;
+            }
+        }
+        if (!isNull(upper)) {
+            int compareResult = value.compareTo(upper);
+            return compareResult < 0 || compareResult == 0 && upperInclusive;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,207 @@
+package com.github.sukhin.condition;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Allocation-free parser of {@link java.time.format.DateTimeFormatter#ISO_LOCAL_DATE_TIME} text, e.g.
+ * "2023-01-15T12:30" or "2023-01-15T12:30:00.123".
+ * <p>
+ * The fast path handles four-digit years from 1678 to 2261, so the result fits into epoch nanos. Other input that
+ * may still be valid (signed or longer years, years outside the range) is reported as {@link #UNSUPPORTED} and
+ * must be parsed with {@link LocalDateTime#parse(CharSequence)}, everything else is reported as {@link #INVALID}
+ * exactly when {@link LocalDateTime#parse(CharSequence)} would throw.
+ * </p>
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class IsoDateTimeParser {
+    /**
+     * The text is not a valid ISO local date-time.
+     */
+    public static final long INVALID = Long.MIN_VALUE;
+    /**
+     * The text can't be handled by the fast path, use {@link LocalDateTime#parse(CharSequence)}.
+     */
+    public static final long UNSUPPORTED = Long.MIN_VALUE + 1;
+
+    private static final int MIN_YEAR = 1678;
+    private static final int MAX_YEAR = 2261;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final int SECONDS_PER_DAY = 86_400;
+    private static final int DAYS_0000_TO_1970 = 719_528;
+
+    /**
+     * Parses a local date-time into nanoseconds since 1970-01-01T00:00 of the same time line (UTC).
+     *
+     * @param text text to parse
+     * @return epoch nanos, {@link #INVALID} or {@link #UNSUPPORTED}
+     */
+    public static long parseEpochNanos(CharSequence text) {
+        if (text == null) {
+            return INVALID;
+        }
+        int length = text.length();
+        if (length == 0) {
+            return INVALID;
+        }
+        char first = text.charAt(0);
+        if (first == '+' || first == '-') {
+            return UNSUPPORTED;
+        }
+
+        int yearDigits = 0;
+        while (yearDigits < length && isDigit(text.charAt(yearDigits))) {
+            yearDigits++;
+        }
+        if (yearDigits > 4) {
+            return UNSUPPORTED;
+        }
+        // yyyy-MM-ddTHH:mm is the shortest valid text
+        if (yearDigits < 4 || length < 16) {
+            return INVALID;
+        }
+        int year = digits(text, 0, 4);
+        if (text.charAt(4) != '-' || text.charAt(7) != '-' || !isT(text.charAt(10)) || text.charAt(13) != ':') {
+            return INVALID;
+        }
+        int month = digits(text, 5, 2);
+        int day = digits(text, 8, 2);
+        int hour = digits(text, 11, 2);
+        int minute = digits(text, 14, 2);
+        if (month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)
+                || hour < 0 || hour > 23 || minute < 0 || minute > 59) {
+            return INVALID;
+        }
+
+        int second = 0;
+        long nano = 0;
+        int position = 16;
+        if (position < length) {
+            if (text.charAt(position) != ':' || length < position + 3) {
+                return INVALID;
+            }
+            second = digits(text, position + 1, 2);
+            if (second < 0 || second > 59) {
+                return INVALID;
+            }
+            position += 3;
+            if (position < length) {
+                if (text.charAt(position) != '.') {
+                    return INVALID;
+                }
+                position++;
+                int fractionDigits = length - position;
+                if (fractionDigits > 9) {
+                    return INVALID;
+                }
+                for (int i = 0; i < 9; i++) {
+                    int digit = 0;
+                    if (i < fractionDigits) {
+                        char c = text.charAt(position + i);
+                        if (!isDigit(c)) {
+                            return INVALID;
+                        }
+                        digit = c - '0';
+                    }
+                    nano = nano * 10 + digit;
+                }
+            }
+        }
+
+        if (year < MIN_YEAR || year > MAX_YEAR) {
+            return UNSUPPORTED;
+        }
+        long epochSecond = epochDay(year, month, day) * SECONDS_PER_DAY + hour * 3600L + minute * 60L + second;
+        return epochSecond * NANOS_PER_SECOND + nano;
+    }
+
+    /**
+     * Parses a local date-time without throwing on malformed input.
+     *
+     * @param text text to parse
+     * @return local date-time, null if the text is not a valid ISO local date-time
+     */
+    public static LocalDateTime parse(String text) {
+        long epochNanos = parseEpochNanos(text);
+        if (epochNanos == INVALID) {
+            return null;
+        } else if (epochNanos == UNSUPPORTED) {
+            try {
+                return LocalDateTime.parse(text);
+            } catch (Exception e) {
+                return null;
+            }
+        }
+        return toLocalDateTime(epochNanos);
+    }
+
+    /**
+     * Converts epoch nanos returned by {@link #parseEpochNanos(CharSequence)} back to a local date-time.
+     *
+     * @param epochNanos epoch nanos
+     * @return local date-time
+     */
+    public static LocalDateTime toLocalDateTime(long epochNanos) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epochNanos, NANOS_PER_SECOND),
+                (int) Math.floorMod(epochNanos, NANOS_PER_SECOND), ZoneOffset.UTC);
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isT(char c) {
+        return c == 'T' || c == 't';
+    }
+
+    /**
+     * Parses ASCII digits.
+     *
+     * @return parsed number, -1 if a character is not a digit
+     */
+    private static int digits(CharSequence text, int position, int count) {
+        int result = 0;
+        for (int i = position; i < position + count; i++) {
+            char c = text.charAt(i);
+            if (!isDigit(c)) {
+                return -1;
+            }
+            result = result * 10 + c - '0';
+        }
+        return result;
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    /**
+     * Days since 1970-01-01 of a valid date with a non-negative year, same algorithm as
+     * {@link java.time.LocalDate#toEpochDay()}.
+     */
+    private static long epochDay(int year, int month, int day) {
+        long total = 365L * year + (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400;
+        total += (367 * month - 362) / 12;
+        total += day - 1;
+        if (month > 2) {
+            total--;
+            if ((year & 3) != 0 || year % 100 == 0 && year % 400 != 0) {
+                total--;
+            }
+        }
+        return total - DAYS_0000_TO_1970;
+    }
+}
@@ -0,0 +1,40 @@
+package com.github.sukhin.condition;
+
+import java.util.function.Function;
+
+/**
+ * Converter of text representations to values which reports malformed input by returning null instead of throwing.
+ * <p>
+ * {@link AbstractFilterCondition} calls {@link #convert(String)} directly, so malformed client input costs neither
+ * an exception nor a stack walk. As a {@link Function} it can be passed to every constructor that accepts a basic
+ * converter.
+ * </p>
+ *
+ * @param <T> type of values
+ */
+@FunctionalInterface
+public interface LiteralConverter<T> extends Function<String, T> {
+    /**
+     * Converts a text representation to a value.
+     *
+     * @param value text representation
+     * @return converted value, null if the text can't be converted
+     */
+    T convert(String value);
+
+    /**
+     * Converts a text representation to a value.
+     *
+     * @param value text representation
+     * @return converted value
+     * @throws IllegalArgumentException if the text can't be converted
+     */
+    @Override
+    default T apply(String value) {
+        T result = convert(value);
+        if (result == null) {
+            throw new IllegalArgumentException("Can't convert value: " + value);
+        }
+        return result;
+    }
+}
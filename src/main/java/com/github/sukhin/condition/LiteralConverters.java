@@ -0,0 +1,319 @@
+package com.github.sukhin.condition;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Exception-free converters of literals, they accept exactly the text accepted by the JDK parsers
+ * ({@link Short#parseShort(String)}, {@link Integer#parseInt(String)}, {@link Long#parseLong(String)},
+ * {@link LocalDateTime#parse(CharSequence)}) and return the same values.
+ * <p>
+ * Malformed input is reported by returning null, {@link LiteralConverter#apply(String)} of these converters throws
+ * the same exception as the JDK parser. ASCII input is parsed without allocation besides boxing, other input falls
+ * back to the JDK parser.
+ * </p>
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class LiteralConverters {
+    public static final LiteralConverter<Short> SHORT = new LiteralConverter<>() {
+        @Override
+        public Short convert(String value) {
+            long result = parse(value, Short.MIN_VALUE, Short.MAX_VALUE);
+            if (result == INVALID) {
+                return null;
+            } else if (result == UNSUPPORTED) {
+                try {
+                    return Short.parseShort(value);
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            }
+            return (short) result;
+        }
+
+        @Override
+        public Short apply(String value) {
+            Short result = convert(value);
+            return isNull(result) ? Short.parseShort(value) : result;
+        }
+    };
+
+    public static final LiteralConverter<Integer> INTEGER = new LiteralConverter<>() {
+        @Override
+        public Integer convert(String value) {
+            long result = parse(value, Integer.MIN_VALUE, Integer.MAX_VALUE);
+            if (result == INVALID) {
+                return null;
+            } else if (result == UNSUPPORTED) {
+                try {
+                    return Integer.parseInt(value);
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            }
+            return (int) result;
+        }
+
+        @Override
+        public Integer apply(String value) {
+            Integer result = convert(value);
+            return isNull(result) ? Integer.parseInt(value) : result;
+        }
+    };
+
+    public static final LiteralConverter<Long> LONG = new LiteralConverter<>() {
+        @Override
+        public Long convert(String value) {
+            return parseLong(value);
+        }
+
+        @Override
+        public Long apply(String value) {
+            Long result = convert(value);
+            return isNull(result) ? Long.parseLong(value) : result;
+        }
+    };
+
+    public static final LiteralConverter<LocalDateTime> LOCAL_DATE_TIME = new LiteralConverter<>() {
+        @Override
+        public LocalDateTime convert(String value) {
+            return IsoDateTimeParser.parse(value);
+        }
+
+        @Override
+        public LocalDateTime apply(String value) {
+            LocalDateTime result = convert(value);
+            return isNull(result) ? LocalDateTime.parse(value) : result;
+        }
+    };
+
+    /**
+     * Canonical 8-4-4-4-12 hexadecimal form of a {@link java.util.UUID}, case-insensitive. Unlike
+     * {@link java.util.UUID#fromString(String)} it rejects shortened groups like "1-2-3-4-5".
+     */
+    public static final LiteralConverter<java.util.UUID> UUID = LiteralConverters::parseUuid;
+
+    /**
+     * Same as {@link Boolean#parseBoolean(String)}, it never fails.
+     */
+    public static final LiteralConverter<Boolean> BOOLEAN = Boolean::parseBoolean;
+
+    private static final long INVALID = Long.MIN_VALUE;
+    private static final long UNSUPPORTED = Long.MIN_VALUE + 1;
+
+    /**
+     * Parses a long without throwing on malformed input.
+     *
+     * @param value text representation
+     * @return parsed value, null if the text is not a valid long
+     */
+    public static Long parseLong(String value) {
+        if (isNull(value)) {
+            return null;
+        }
+        int length = value.length();
+        if (length == 0) {
+            return null;
+        }
+        int position = 0;
+        boolean negative = false;
+        char first = value.charAt(0);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            if (length == 1) {
+                return null;
+            }
+            position++;
+        }
+        // Accumulating negatively as Long.parseLong does, so Long.MIN_VALUE is representable
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long multiplyLimit = limit / 10;
+        long result = 0;
+        for (; position < length; position++) {
+            char c = value.charAt(position);
+            if (c < '0' || c > '9') {
+                return c < 0x80 ? null : parseLongSlow(value);
+            }
+            int digit = c - '0';
+            if (result < multiplyLimit) {
+                return null;
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                return null;
+            }
+            result -= digit;
+        }
+        return negative ? result : -result;
+    }
+
+    /**
+     * Parses a UUID in canonical form without throwing on malformed input.
+     *
+     * @param value text representation
+     * @return parsed value, null if the text is not a UUID in canonical form
+     */
+    public static java.util.UUID parseUuid(String value) {
+        if (isNull(value) || value.length() != 36 || value.charAt(8) != '-' || value.charAt(13) != '-'
+                || value.charAt(18) != '-' || value.charAt(23) != '-') {
+            return null;
+        }
+        long mostSignificant = 0;
+        long leastSignificant = 0;
+        int digits = 0;
+        for (int i = 0; i < 36; i++) {
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                continue;
+            }
+            char c = value.charAt(i);
+            int digit = c >= '0' && c <= '9' ? c - '0'
+                    : c >= 'a' && c <= 'f' ? c - 'a' + 10
+                    : c >= 'A' && c <= 'F' ? c - 'A' + 10 : -1;
+            if (digit < 0) {
+                return null;
+            }
+            if (digits++ < 16) {
+                mostSignificant = mostSignificant << 4 | digit;
+            } else {
+                leastSignificant = leastSignificant << 4 | digit;
+            }
+        }
+        return new java.util.UUID(mostSignificant, leastSignificant);
+    }
+
+    /**
+     * Wraps a converter with a bounded cache of conversion results, including failed conversions.
+     * <p>
+     * The cache is a direct-mapped table of immutable entries: a lookup is one array read and a string comparison,
+     * a colliding literal replaces the previous one. It's lock-free and can be shared between threads, literals
+     * which are repeated across requests (ports, vlans, hosts) are converted once.
+     * </p>
+     *
+     * @param converter converter, {@link LiteralConverter#convert(String)} is used for literal converters,
+     *                  otherwise a thrown exception means a failed conversion
+     * @param maxSize   maximum number of cached literals, rounded up to a power of two
+     * @param <T>       type of values
+     * @return caching converter
+     */
+    public static <T> LiteralConverter<T> cached(Function<String, T> converter, int maxSize) {
+        requireNonNull(converter);
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive: " + maxSize);
+        }
+        return new CachingConverter<>(converter, maxSize);
+    }
+
+    private static Long parseLongSlow(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Parses an integer within the limits.
+     *
+     * @return parsed value, {@link #INVALID} or {@link #UNSUPPORTED} for non-ASCII input
+     */
+    private static long parse(String value, long min, long max) {
+        if (isNull(value)) {
+            return INVALID;
+        }
+        int length = value.length();
+        // Longer ASCII text would be either invalid or have leading zeros, let the long parser handle it
+        if (length == 0 || length > 18) {
+            Long result = parseLong(value);
+            return isNull(result) || result < min || result > max ? INVALID : result;
+        }
+        int position = 0;
+        boolean negative = false;
+        char first = value.charAt(0);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            if (length == 1) {
+                return INVALID;
+            }
+            position++;
+        }
+        long result = 0;
+        for (; position < length; position++) {
+            char c = value.charAt(position);
+            if (c < '0' || c > '9') {
+                return c < 0x80 ? INVALID : UNSUPPORTED;
+            }
+            result = result * 10 + c - '0';
+        }
+        if (negative) {
+            result = -result;
+        }
+        return result < min || result > max ? INVALID : result;
+    }
+
+    private static final class CachingConverter<T> implements LiteralConverter<T> {
+        private static final Object FAILED = new Object();
+
+        private final Function<String, T> converter;
+        private final Entry[] entries;
+        private final int mask;
+
+        private CachingConverter(Function<String, T> converter, int maxSize) {
+            this.converter = converter;
+            int size = Integer.highestOneBit(Math.min(maxSize, 1 << 30));
+            size = size < maxSize ? size << 1 : size;
+            this.entries = new Entry[size];
+            this.mask = size - 1;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T convert(String value) {
+            if (isNull(value)) {
+                return doConvert(null);
+            }
+            int hash = value.hashCode();
+            int index = (hash ^ hash >>> 16) & mask;
+            // Entries are immutable with final fields, so a racy read sees either a complete entry or null
+            Entry entry = entries[index];
+            if (entry != null && entry.key.equals(value)) {
+                return entry.value == FAILED ? null : (T) entry.value;
+            }
+            T result = doConvert(value);
+            entries[index] = new Entry(value, isNull(result) ? FAILED : result);
+            return result;
+        }
+
+        private T doConvert(String value) {
+            if (converter instanceof LiteralConverter) {
+                return ((LiteralConverter<T>) converter).convert(value);
+            }
+            try {
+                return converter.apply(value);
+            } catch (Exception e) {
+                return null;
+            }
+        }
+
+        @Override
+        public T apply(String value) {
+            T result = convert(value);
+            return isNull(result) ? converter.apply(value) : result;
+        }
+    }
+
+    private static final class Entry {
+        private final String key;
+        private final Object value;
+
+        private Entry(String key, Object value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+}
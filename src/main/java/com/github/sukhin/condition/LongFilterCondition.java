@@ -20,4 +20,9 @@ public class LongFilterCondition extends AbstractRangeFilterCondition<Long> {
     public LongFilterCondition(Field<Long> field) {
         super(field, BASIC_LONG_CONVERTER);
     }
+
+    @Override
+    protected DiscreteDomain<Long> getDomain() {
+        return DiscreteDomain.LONG;
+    }
 }
@@ -0,0 +1,260 @@
+package com.github.sukhin.condition;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Union of intervals in normalized form: sorted, disjoint, not adjacent, without empty intervals.
+ * <p>
+ * For a {@link DiscreteDomain} strict bounds are replaced by inclusive ones and the bounds equal to the minimum or
+ * maximum of the domain are dropped, so [1, 3] and [4, 6] are merged into [1, 6] and x &lt;= 32767 of a short
+ * field covers the whole domain.
+ * </p>
+ *
+ * @param <T> type of values
+ */
+public final class RangeSet<T extends Comparable<? super T>> {
+    private final List<Interval<T>> intervals;
+    private final DiscreteDomain<T> domain;
+
+    private RangeSet(List<Interval<T>> intervals, DiscreteDomain<T> domain) {
+        this.intervals = intervals;
+        this.domain = domain;
+    }
+
+    /**
+     * Creates the union of intervals.
+     *
+     * @param intervals intervals, may overlap, may be empty
+     * @param domain    discrete domain of values, null for continuous values
+     * @param <T>       type of values
+     * @return normalized union
+     */
+    public static <T extends Comparable<? super T>> RangeSet<T> of(List<Interval<T>> intervals,
+                                                                 DiscreteDomain<T> domain) {
+        List<Interval<T>> normalized = new ArrayList<>(intervals.size());
+        for (Interval<T> interval : intervals) {
+            Interval<T> normalizedInterval = normalize(interval, domain);
+            if (nonNull(normalizedInterval)) {
+                normalized.add(normalizedInterval);
+            }
+        }
+        normalized.sort(Comparator.comparing(Interval::lower, RangeSet::compareLower));
+
+        List<Interval<T>> merged = new ArrayList<>(normalized.size());
+        Interval<T> current = null;
+        for (Interval<T> interval : normalized) {
+            if (isNull(current)) {
+                current = interval;
+            } else if (isConnected(current, interval, domain)) {
+                current = span(current, interval);
+            } else {
+                merged.add(current);
+                current = interval;
+            }
+        }
+        if (nonNull(current)) {
+            merged.add(current);
+        }
+        return new RangeSet<>(Collections.unmodifiableList(merged), domain);
+    }
+
+    /**
+     * Disjoint intervals in ascending order.
+     *
+     * @return unmodifiable list of intervals
+     */
+    public List<Interval<T>> getIntervals() {
+        return intervals;
+    }
+
+    /**
+     * Whether the union contains no values at all.
+     *
+     * @return true for a contradiction
+     */
+    public boolean isEmpty() {
+        return intervals.isEmpty();
+    }
+
+    /**
+     * Whether the union contains all values.
+     *
+     * @return true for a tautology
+     */
+    public boolean isAll() {
+        return intervals.size() == 1 && isNull(intervals.get(0).lower()) && isNull(intervals.get(0).upper());
+    }
+
+    /**
+     * Whether the union contains the value, intervals are searched with binary search.
+     *
+     * @param value value
+     * @return true if one of the intervals contains the value
+     */
+    public boolean contains(T value) {
+        int low = 0;
+        int high = intervals.size() - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            Interval<T> interval = intervals.get(middle);
+            if (interval.contains(value)) {
+                return true;
+            }
+            T lower = interval.lower();
+            int compareResult = isNull(lower) ? 1 : value.compareTo(lower);
+            if (compareResult < 0 || compareResult == 0 && !interval.lowerInclusive()) {
+                high = middle - 1;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Smallest interval containing all values of the union.
+     *
+     * @return span of the union, null if the union is empty
+     */
+    public Interval<T> getSpan() {
+        if (intervals.isEmpty()) {
+            return null;
+        }
+        Interval<T> first = intervals.get(0);
+        Interval<T> last = intervals.get(intervals.size() - 1);
+        return new Interval<>(first.lower(), first.lowerInclusive(), last.upper(), last.upperInclusive());
+    }
+
+    /**
+     * Values missing from the union if it misses only single values: (-inf, 7) U (7, +inf) misses 7.
+     *
+     * @return missing values in ascending order, null if the union misses a range of values or is unbounded
+     */
+    public List<T> getMissingPoints() {
+        if (intervals.size() < 2
+                || nonNull(intervals.get(0).lower())
+                || nonNull(intervals.get(intervals.size() - 1).upper())) {
+            return null;
+        }
+        List<T> points = new ArrayList<>(intervals.size() - 1);
+        for (int i = 1; i < intervals.size(); i++) {
+            T upper = intervals.get(i - 1).upper();
+            T lower = intervals.get(i).lower();
+            if (isNull(domain)) {
+                // Not connected intervals with equal bounds exclude the bound on both sides
+                if (upper.compareTo(lower) != 0) {
+                    return null;
+                }
+                points.add(upper);
+            } else {
+                T point = domain.next(upper);
+                T afterPoint = isNull(point) ? null : domain.next(point);
+                if (isNull(afterPoint) || afterPoint.compareTo(lower) != 0) {
+                    return null;
+                }
+                points.add(point);
+            }
+        }
+        return points;
+    }
+
+    private static <T extends Comparable<? super T>> Interval<T> normalize(Interval<T> interval,
+                                                                         DiscreteDomain<T> domain) {
+        T lower = interval.lower();
+        boolean lowerInclusive = interval.lowerInclusive();
+        T upper = interval.upper();
+        boolean upperInclusive = interval.upperInclusive();
+        if (nonNull(domain)) {
+            if (nonNull(lower)) {
+                if (!lowerInclusive) {
+                    lower = domain.next(lower);
+                    if (isNull(lower)) {
+                        return null;
+                    }
+                    lowerInclusive = true;
+                }
+                if (isNull(domain.previous(lower))) {
+                    lower = null;
+                    lowerInclusive = false;
+                }
+            }
+            if (nonNull(upper)) {
+                if (!upperInclusive) {
+                    upper = domain.previous(upper);
+                    if (isNull(upper)) {
+                        return null;
+                    }
+                    upperInclusive = true;
+                }
+                if (isNull(domain.next(upper))) {
+                    upper = null;
+                    upperInclusive = false;
+                }
+            }
+        }
+        if (nonNull(lower) && nonNull(upper)) {
+            int compareResult = lower.compareTo(upper);
+            if (compareResult > 0 || compareResult == 0 && !(lowerInclusive && upperInclusive)) {
+                return null;
+            }
+        }
+        return new Interval<>(lower, lowerInclusive, upper, upperInclusive);
+    }
+
+    private static <T extends Comparable<? super T>> int compareLower(T first, T second) {
+        if (isNull(first) || isNull(second)) {
+            return isNull(first) ? (isNull(second) ? 0 : -1) : 1;
+        }
+        return first.compareTo(second);
+    }
+
+    private static <T extends Comparable<? super T>> boolean isConnected(Interval<T> current, Interval<T> next,
+                                                                        DiscreteDomain<T> domain) {
+        if (isNull(current.upper()) || isNull(next.lower())) {
+            return true;
+        }
+        int compareResult = next.lower().compareTo(current.upper());
+        if (compareResult < 0) {
+            return true;
+        } else if (compareResult == 0) {
+            return current.upperInclusive() || next.lowerInclusive();
+        }
+        T afterUpper = isNull(domain) ? null : domain.next(current.upper());
+        return nonNull(afterUpper) && afterUpper.compareTo(next.lower()) == 0;
+    }
+
+    private static <T extends Comparable<? super T>> Interval<T> span(Interval<T> current, Interval<T> next) {
+        // Intervals are sorted by lower bound only, equal bounds may differ in inclusiveness
+        boolean lowerInclusive = current.lowerInclusive();
+        if (nonNull(current.lower()) && next.lower().compareTo(current.lower()) == 0) {
+            lowerInclusive |= next.lowerInclusive();
+        }
+
+        T upper = current.upper();
+        boolean upperInclusive = current.upperInclusive();
+        if (isNull(upper) || isNull(next.upper())) {
+            upper = null;
+            upperInclusive = false;
+        } else {
+            int compareResult = next.upper().compareTo(upper);
+            if (compareResult > 0) {
+                upper = next.upper();
+                upperInclusive = next.upperInclusive();
+            } else if (compareResult == 0) {
+                upperInclusive |= next.upperInclusive();
+            }
+        }
+        return new Interval<>(current.lower(), lowerInclusive, upper, upperInclusive);
+    }
+
+    @Override
+    public String toString() {
+        return intervals.toString();
+    }
+}
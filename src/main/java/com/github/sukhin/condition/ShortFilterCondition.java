@@ -20,4 +20,9 @@ public class ShortFilterCondition extends AbstractRangeFilterCondition<Short> {
     public ShortFilterCondition(Field<Short> field) {
         super(field, BASIC_SHORT_CONVERTER);
     }
+
+    @Override
+    protected DiscreteDomain<Short> getDomain() {
+        return DiscreteDomain.SHORT;
+    }
 }
@@ -1,12 +1,21 @@
 package com.github.sukhin.condition;
 
+import com.github.sukhin.ConditionMode;
 import com.github.sukhin.Qualifier;
+import com.github.sukhin.QualifierValue;
 import org.jooq.Condition;
 import org.jooq.Converter;
 import org.jooq.Field;
 import org.jooq.impl.DSL;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Predicate;
 import java.util.function.UnaryOperator;
 
 import static com.github.sukhin.Qualifier.EQUAL;
@@ -14,21 +23,134 @@ import static com.github.sukhin.Qualifier.LIKE;
 import static com.github.sukhin.Qualifier.NOT_EQUAL;
 import static com.github.sukhin.Qualifier.NOT_LIKE;
 import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
 
 /**
  * Filter condition for field with type {@link String}.
  */
 public class StringFilterCondition extends AbstractFilterCondition<String> {
+    private static final char ESCAPE = '!';
+
+    private final StringMatchStrategy strategy;
+    private final Field<?> searchField;
+    private final boolean lowerCaseValues;
+
     public StringFilterCondition(Field<String> field, Converter<String, String> converter) {
         super(field, converter);
+        this.strategy = StringMatchStrategy.LEGACY;
+        this.searchField = field;
+        this.lowerCaseValues = false;
     }
 
     public StringFilterCondition(Field<String> field, UnaryOperator<String> basicConverter) {
         super(field, basicConverter);
+        this.strategy = StringMatchStrategy.LEGACY;
+        this.searchField = field;
+        this.lowerCaseValues = false;
     }
 
     public StringFilterCondition(Field<String> field) {
-        super(field, BASIC_STRING_CONVERTER);
+        this(field, StringMatchStrategy.LEGACY);
+    }
+
+    /**
+     * Creates a new filtering condition with a matching strategy, see {@link StringMatchStrategy}.
+     *
+     * @param field    field {@link Field}
+     * @param strategy matching strategy
+     */
+    public StringFilterCondition(Field<String> field, StringMatchStrategy strategy) {
+        this(field, BASIC_STRING_CONVERTER, strategy);
+    }
+
+    /**
+     * Creates a new filtering condition with a converter and a matching strategy, see {@link StringMatchStrategy}.
+     *
+     * @param field          field {@link Field}
+     * @param basicConverter converter to convert text representation to value, see {@link UnaryOperator}
+     * @param strategy       matching strategy
+     */
+    public StringFilterCondition(Field<String> field, UnaryOperator<String> basicConverter,
+                                 StringMatchStrategy strategy) {
+        this(field, basicConverter, strategy, field, false);
+    }
+
+    /**
+     * Creates a new filtering condition with a matching strategy, see {@link StringMatchStrategy}.
+     *
+     * @param field           field {@link Field} used by EQUAL and NOT_EQUAL
+     * @param strategy        matching strategy
+     * @param searchField     field or expression used by LIKE and NOT_LIKE, e.g. an indexed tsvector expression
+     *                        for {@link StringMatchStrategy#FULL_TEXT}
+     * @param lowerCaseValues whether filter values are lower-cased, for pre-lowered columns or expressions
+     */
+    public StringFilterCondition(Field<String> field, StringMatchStrategy strategy, Field<?> searchField,
+                                 boolean lowerCaseValues) {
+        this(field, BASIC_STRING_CONVERTER, strategy, searchField, lowerCaseValues);
+    }
+
+    /**
+     * Creates a new filtering condition with a converter and a matching strategy, see {@link StringMatchStrategy}.
+     *
+     * @param field           field {@link Field} used by EQUAL and NOT_EQUAL
+     * @param basicConverter  converter to convert text representation to value, see {@link UnaryOperator}
+     * @param strategy        matching strategy
+     * @param searchField     field or expression used by LIKE and NOT_LIKE, e.g. an indexed tsvector expression
+     *                        for {@link StringMatchStrategy#FULL_TEXT}
+     * @param lowerCaseValues whether filter values are lower-cased, for pre-lowered columns or expressions
+     */
+    public StringFilterCondition(Field<String> field, UnaryOperator<String> basicConverter,
+                                 StringMatchStrategy strategy, Field<?> searchField, boolean lowerCaseValues) {
+        super(field, basicConverter);
+        requireNonNull(strategy);
+        requireNonNull(searchField);
+        this.strategy = strategy;
+        this.searchField = searchField;
+        this.lowerCaseValues = lowerCaseValues;
+    }
+
+    /**
+     * Matching strategy of LIKE and NOT_LIKE values.
+     *
+     * @return strategy
+     */
+    public StringMatchStrategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Escapes LIKE metacharacters, so the value matches literally with the escape character '!'.
+     *
+     * @param value value
+     * @return escaped value
+     */
+    public static String escapeLike(String value) {
+        StringBuilder escaped = null;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '%' || c == '_' || c == ESCAPE) {
+                if (escaped == null) {
+                    escaped = new StringBuilder(value.length() + 8).append(value, 0, i);
+                }
+                escaped.append(ESCAPE);
+            }
+            if (escaped != null) {
+                escaped.append(c);
+            }
+        }
+        return escaped == null ? value : escaped.toString();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Values are lower-cased if the condition was created for lower-cased values.
+     * </p>
+     */
+    @Override
+    public Optional<String> getConvertedValue(String stringValue) {
+        Optional<String> value = super.getConvertedValue(stringValue);
+        return lowerCaseValues ? value.map(v -> v.toLowerCase(Locale.ROOT)) : value;
     }
 
     @Override
@@ -39,6 +161,9 @@ public class StringFilterCondition extends AbstractFilterCondition<String> {
         }
 
         String value = optionalValue.get();
+        if (StringMatchStrategy.LEGACY != strategy) {
+            return getStrategyCondition(qualifier, value);
+        }
         value = format("%%%s%%", value);
 
         // The order in which conditions are checked matters
@@ -53,4 +178,219 @@ public class StringFilterCondition extends AbstractFilterCondition<String> {
         }
         return DSL.noCondition();
     }
+
+    private Condition getStrategyCondition(Qualifier qualifier, String value) {
+        // The order in which conditions are checked matters
+        if (EQUAL == qualifier) {
+            return field.equal(value);
+        } else if (NOT_EQUAL == qualifier) {
+            return field.notEqual(value);
+        } else if (NOT_LIKE == qualifier) {
+            return getMatchCondition(value, true);
+        } else if (LIKE == qualifier) {
+            return getMatchCondition(value, false);
+        }
+        return DSL.noCondition();
+    }
+
+    private Condition getMatchCondition(String value, boolean negated) {
+        Field<String> stringSearchField = searchField.coerce(String.class);
+        switch (strategy) {
+            case EXACT:
+                return negated ? stringSearchField.notEqual(value) : stringSearchField.equal(value);
+            case PREFIX:
+                String prefix = escapeLike(value) + "%";
+                return negated ? stringSearchField.notLike(prefix, ESCAPE) : stringSearchField.like(prefix, ESCAPE);
+            case CONTAINS:
+                String pattern = "%" + escapeLike(value) + "%";
+                return negated
+                        ? stringSearchField.notLikeIgnoreCase(pattern, ESCAPE)
+                        : stringSearchField.likeIgnoreCase(pattern, ESCAPE);
+            case FULL_TEXT:
+                Condition condition = DSL.condition("{0} @@ plainto_tsquery({1})", searchField, DSL.val(value));
+                return negated ? DSL.not(condition) : condition;
+            default:
+                throw new IllegalStateException("Unexpected strategy " + strategy);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * With {@link StringMatchStrategy#LEGACY} values are compared the same way as in
+     * {@link com.github.sukhin.FilterUtils#isStringQualified(List, String)}: EQUAL and NOT_EQUAL ignore case, LIKE
+     * and NOT_LIKE check whether the lower-cased field value contains the lower-cased filter value.
+     * </p>
+     * <p>
+     * Other strategies follow their SQL: EQUAL, NOT_EQUAL and {@link StringMatchStrategy#EXACT} compare whole
+     * values and {@link StringMatchStrategy#PREFIX} compares the beginning of values, all respecting case;
+     * {@link StringMatchStrategy#CONTAINS} ignores case. {@link StringMatchStrategy#FULL_TEXT} has no in-memory
+     * counterpart and is approximated by CONTAINS. LIKE and NOT_LIKE are tested against the field value, as if
+     * the search field were the field itself.
+     * </p>
+     */
+    @Override
+    protected Predicate<String> getPredicate(Qualifier qualifier, String value) {
+        boolean legacy = StringMatchStrategy.LEGACY == strategy;
+        if (EQUAL == qualifier) {
+            return legacy ? value::equalsIgnoreCase : value::equals;
+        } else if (NOT_EQUAL == qualifier) {
+            return legacy ? fieldValue -> !value.equalsIgnoreCase(fieldValue) : fieldValue -> !value.equals(fieldValue);
+        }
+        String lowerCaseValue = value.toLowerCase();
+        Predicate<String> matches;
+        if (StringMatchStrategy.EXACT == strategy) {
+            matches = value::equals;
+        } else if (StringMatchStrategy.PREFIX == strategy) {
+            matches = fieldValue -> fieldValue.startsWith(value);
+        } else {
+            matches = fieldValue -> fieldValue.toLowerCase().contains(lowerCaseValue);
+        }
+        if (NOT_LIKE == qualifier) {
+            return matches.negate();
+        } else if (LIKE == qualifier) {
+            return matches;
+        }
+        return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * With {@link StringMatchStrategy#LEGACY} the key folds the case of every code point the same way as
+     * {@link String#equalsIgnoreCase(String)}, so keys are equal exactly when the strings are equal ignoring case.
+     * Other strategies compare with field = ?, the key is the value itself.
+     * </p>
+     */
+    @Override
+    public Object getMatchKey(String value) {
+        if (StringMatchStrategy.LEGACY != strategy) {
+            return value;
+        }
+        StringBuilder key = new StringBuilder(value.length());
+        value.codePoints().forEach(codePoint ->
+                key.appendCodePoint(Character.toLowerCase(Character.toUpperCase(codePoint))));
+        return key.toString();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * In {@link ConditionMode#TEMPLATE} mode values are lower-cased on the client side and compared with
+     * lower(field) using a single array bind per qualifier. With a matching strategy other than
+     * {@link StringMatchStrategy#LEGACY} only EQUAL and NOT_EQUAL values are bound as arrays.
+     * </p>
+     */
+    @Override
+    public Condition getCondition(List<QualifierValue> qualifierValues, ConditionMode mode) {
+        if (ConditionMode.SIMPLIFIED == mode) {
+            return getSimplifiedCondition(qualifierValues);
+        } else if (ConditionMode.TEMPLATE != mode) {
+            return getCondition(qualifierValues);
+        } else if (StringMatchStrategy.LEGACY != strategy) {
+            return getStrategyTemplate(qualifierValues);
+        }
+
+        Set<String> equalValues = new TreeSet<>();
+        Set<String> notEqualValues = new TreeSet<>();
+        Set<String> likeValues = new TreeSet<>();
+        Set<String> notLikeValues = new TreeSet<>();
+        for (QualifierValue qualifierValue : qualifierValues) {
+            Optional<String> optionalValue = getConvertedValue(qualifierValue.value());
+            if (optionalValue.isEmpty()) {
+                continue;
+            }
+            String value = format("%%%s%%", optionalValue.get()).toLowerCase(Locale.ROOT);
+
+            Qualifier qualifier = qualifierValue.qualifier();
+            if (EQUAL == qualifier) {
+                equalValues.add(value);
+            } else if (NOT_EQUAL == qualifier) {
+                notEqualValues.add(value);
+            } else if (NOT_LIKE == qualifier) {
+                notLikeValues.add(value);
+            } else if (LIKE == qualifier) {
+                likeValues.add(value);
+            }
+        }
+
+        Field<String> lowerField = DSL.lower(field);
+        Condition condition = DSL.noCondition();
+        if (!equalValues.isEmpty()) {
+            condition = condition.or(lowerField.equal(DSL.any(getArrayValue(equalValues))));
+        }
+        if (!notEqualValues.isEmpty()) {
+            condition = condition.or(lowerField.notEqual(DSL.any(getArrayValue(notEqualValues))));
+        }
+        if (!notLikeValues.isEmpty()) {
+            // OR of NOT LIKE is NOT (LIKE ALL), "NOT LIKE ALL" would mean AND
+            condition = condition.or(DSL.not(lowerField.like(DSL.all(getArrayValue(notLikeValues)))));
+        }
+        if (!likeValues.isEmpty()) {
+            condition = condition.or(lowerField.like(DSL.any(getArrayValue(likeValues))));
+        }
+        return condition;
+    }
+
+    private Condition getStrategyTemplate(List<QualifierValue> qualifierValues) {
+        Set<String> equalValues = new TreeSet<>();
+        Set<String> notEqualValues = new TreeSet<>();
+        Set<String> likeValues = new TreeSet<>();
+        Set<String> notLikeValues = new TreeSet<>();
+        for (QualifierValue qualifierValue : qualifierValues) {
+            Optional<String> optionalValue = getConvertedValue(qualifierValue.value());
+            if (optionalValue.isEmpty()) {
+                continue;
+            }
+            String value = optionalValue.get();
+
+            Qualifier qualifier = qualifierValue.qualifier();
+            if (EQUAL == qualifier) {
+                equalValues.add(value);
+            } else if (NOT_EQUAL == qualifier) {
+                notEqualValues.add(value);
+            } else if (NOT_LIKE == qualifier) {
+                notLikeValues.add(value);
+            } else if (LIKE == qualifier) {
+                likeValues.add(value);
+            }
+        }
+
+        Condition condition = getEqualityTemplate(equalValues, notEqualValues);
+        for (String value : notLikeValues) {
+            condition = condition.or(getMatchCondition(value, true));
+        }
+        for (String value : likeValues) {
+            condition = condition.or(getMatchCondition(value, false));
+        }
+        return condition;
+    }
+
+    private Condition getSimplifiedCondition(List<QualifierValue> qualifierValues) {
+        List<QualifierValue> distinctValues = new ArrayList<>(qualifierValues.size());
+        Set<String> seen = new HashSet<>();
+        Set<String> notEqualValues = new HashSet<>();
+        for (QualifierValue qualifierValue : qualifierValues) {
+            Qualifier qualifier = qualifierValue.qualifier();
+            if (EQUAL != qualifier && NOT_EQUAL != qualifier && LIKE != qualifier && NOT_LIKE != qualifier) {
+                continue;
+            }
+            Optional<String> optionalValue = getConvertedValue(qualifierValue.value());
+            if (optionalValue.isEmpty()) {
+                continue;
+            }
+            // Values which differ only in case are equal only when compared ignoring case
+            String value = StringMatchStrategy.LEGACY == strategy
+                    ? optionalValue.get().toLowerCase(Locale.ROOT)
+                    : optionalValue.get();
+            if (seen.add(qualifier.getSign() + value)) {
+                distinctValues.add(qualifierValue);
+            }
+            // Every value differs from at least one of two different values
+            if (NOT_EQUAL == qualifier && notEqualValues.add(value) && notEqualValues.size() > 1) {
+                return getTautology();
+            }
+        }
+        return getCondition(distinctValues);
+    }
 }
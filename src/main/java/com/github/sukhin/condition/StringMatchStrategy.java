@@ -0,0 +1,36 @@
+package com.github.sukhin.condition;
+
+/**
+ * How {@link StringFilterCondition} matches string values.
+ * <p>
+ * Except for {@link #LEGACY}, EQUAL and NOT_EQUAL compare values without wildcards (field = ?), so a btree index
+ * is used. Case-insensitivity comes from the column: use a citext column, or a pre-lowered column (or expression
+ * index) together with lower-cased filter values. LIKE metacharacters of filter values are escaped, so "%" and "_"
+ * match literally and can't turn a prefix search into a full scan.
+ * </p>
+ */
+public enum StringMatchStrategy {
+    /**
+     * Values are wrapped in "%...%" for every qualifier and compared ignoring case:
+     * lower(field) = lower('%x%'), field ilike '%x%'. Kept for backward compatibility, it is never sargable.
+     */
+    LEGACY,
+    /**
+     * LIKE and NOT_LIKE match whole values: field = ?, field &lt;&gt; ?.
+     */
+    EXACT,
+    /**
+     * LIKE and NOT_LIKE match the beginning of values: field like 'x%', sargable with a btree index
+     * (text_pattern_ops or "C" collation).
+     */
+    PREFIX,
+    /**
+     * LIKE and NOT_LIKE match anywhere in values: field ilike '%x%', served by a pg_trgm GIN or GiST index.
+     */
+    CONTAINS,
+    /**
+     * LIKE and NOT_LIKE use full-text search: search_field @@ plainto_tsquery(?), the search field must be a
+     * tsvector column or expression, e.g. to_tsvector('simple', name), matching a GIN index.
+     */
+    FULL_TEXT
+}
@@ -0,0 +1,105 @@
+package com.github.sukhin.condition;
+
+import com.github.sukhin.ConditionMode;
+import com.github.sukhin.Qualifier;
+import com.github.sukhin.QualifierValue;
+import org.jooq.Condition;
+import org.jooq.Converter;
+import org.jooq.Field;
+import org.jooq.impl.DSL;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static com.github.sukhin.Qualifier.EQUAL;
+import static com.github.sukhin.Qualifier.NOT_EQUAL;
+
+/**
+ * Filter condition for field with type {@link UUID}, values are bound as UUIDs, so indexes on uuid columns are used.
+ */
+public class UuidFilterCondition extends AbstractFilterCondition<UUID> {
+    public UuidFilterCondition(Field<UUID> field, Converter<UUID, String> converter) {
+        super(field, converter);
+    }
+
+    public UuidFilterCondition(Field<UUID> field, Function<String, UUID> basicConverter) {
+        super(field, basicConverter);
+    }
+
+    public UuidFilterCondition(Field<UUID> field) {
+        super(field, BASIC_UUID_CONVERTER);
+    }
+
+    @Override
+    public Condition getCondition(Qualifier qualifier, String stringValue) {
+        Optional<UUID> optionalValue = getConvertedValue(stringValue);
+        if (optionalValue.isEmpty()) {
+            return DSL.noCondition();
+        }
+
+        UUID value = optionalValue.get();
+
+        if (EQUAL == qualifier) {
+            return field.equal(value);
+        } else if (NOT_EQUAL == qualifier) {
+            return field.notEqual(value);
+        }
+        return DSL.noCondition();
+    }
+
+    @Override
+    protected Predicate<UUID> getPredicate(Qualifier qualifier, UUID value) {
+        if (EQUAL == qualifier) {
+            return value::equals;
+        } else if (NOT_EQUAL == qualifier) {
+            return fieldValue -> !value.equals(fieldValue);
+        }
+        return null;
+    }
+
+    @Override
+    public Object getMatchKey(UUID value) {
+        return value;
+    }
+
+    @Override
+    public Condition getCondition(List<QualifierValue> qualifierValues, ConditionMode mode) {
+        if (ConditionMode.VERBATIM == mode) {
+            return getCondition(qualifierValues);
+        }
+
+        Set<UUID> equalValues = new LinkedHashSet<>();
+        Set<UUID> notEqualValues = new LinkedHashSet<>();
+        for (QualifierValue qualifierValue : qualifierValues) {
+            Optional<UUID> optionalValue = getConvertedValue(qualifierValue.value());
+            if (optionalValue.isEmpty()) {
+                continue;
+            }
+            if (EQUAL == qualifierValue.qualifier()) {
+                equalValues.add(optionalValue.get());
+            } else if (NOT_EQUAL == qualifierValue.qualifier()) {
+                notEqualValues.add(optionalValue.get());
+            }
+        }
+        if (ConditionMode.TEMPLATE == mode) {
+            return getEqualityTemplate(equalValues, notEqualValues);
+        }
+
+        // Two different excluded values, or an excluded value which is also included, match every value
+        if (notEqualValues.size() > 1 || notEqualValues.size() == 1 && equalValues.containsAll(notEqualValues)) {
+            return getTautology();
+        } else if (notEqualValues.size() == 1) {
+            return field.notEqual(notEqualValues.iterator().next());
+        } else if (equalValues.size() == 1) {
+            return field.equal(equalValues.iterator().next());
+        } else if (!equalValues.isEmpty()) {
+            return field.in(equalValues);
+        }
+        return DSL.noCondition();
+    }
+}
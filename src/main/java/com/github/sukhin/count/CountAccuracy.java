@@ -0,0 +1,19 @@
+package com.github.sukhin.count;
+
+/**
+ * How a {@link FilterCount} relates to the real number of rows.
+ */
+public enum CountAccuracy {
+    /**
+     * The value is the number of rows.
+     */
+    EXACT,
+    /**
+     * There are at least as many rows as the value, more rows were not counted.
+     */
+    AT_LEAST,
+    /**
+     * The value is the planner's estimate.
+     */
+    ESTIMATE
+}
@@ -0,0 +1,21 @@
+package com.github.sukhin.count;
+
+/**
+ * Ways of counting rows matching a filter, see {@link FilterCounter#count}.
+ */
+public enum CountStrategy {
+    /**
+     * {@code select count(*) ... where condition}, exact but as expensive as reading all matching rows.
+     */
+    EXACT,
+    /**
+     * {@code select count(*) from (select 1 ... where condition limit cap + 1)}, reads at most cap + 1 rows and
+     * reports "cap+" if there are more.
+     */
+    CAPPED,
+    /**
+     * The row estimate of the planner from {@code EXPLAIN}, costs no reading at all. Supported for PostgreSQL,
+     * other dialects fall back to {@link #CAPPED}.
+     */
+    ESTIMATED
+}
@@ -0,0 +1,34 @@
+package com.github.sukhin.count;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Number of rows matching a filter.
+ *
+ * @param value    counted or estimated number of rows
+ * @param accuracy how the value relates to the real number of rows
+ */
+public record FilterCount(
+        long value,
+        CountAccuracy accuracy
+) {
+    public FilterCount {
+        requireNonNull(accuracy);
+    }
+
+    /**
+     * Formats the count for display: "42", "10000+" or "~12345".
+     *
+     * @return text representation
+     */
+    public String format() {
+        switch (accuracy) {
+            case AT_LEAST:
+                return value + "+";
+            case ESTIMATE:
+                return "~" + value;
+            default:
+                return Long.toString(value);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.github.sukhin.count;
+
+import com.github.sukhin.BoundedLruCache;
+import com.github.sukhin.ConditionMode;
+import com.github.sukhin.FilterKey;
+import com.github.sukhin.condition.FilterCondition;
+import com.github.sukhin.plan.FilterPlan;
+import org.jooq.TableLike;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Short-lived cache of counts of one endpoint, keyed by the canonical filter {@link FilterKey}.
+ * <p>
+ * Counts are computed with the {@link FilterCounter} and the {@link CountStrategy} of the cache and kept for the
+ * time to live, so repeated page requests with the same filter count once. Counts may be stale by up to the time
+ * to live. The cache is bounded and evicts the least recently used counts. Conditions are built in
+ * {@link ConditionMode#SIMPLIFIED} mode, filters which can match nothing are counted as 0 without a query.
+ * </p>
+ */
+public class FilterCountCache {
+    private final FilterCounter counter;
+    private final TableLike<?> source;
+    private final Map<String, FilterCondition> filterConditions;
+    private final CountStrategy strategy;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+    private final BoundedLruCache<FilterKey, Entry> counts;
+
+    /**
+     * Creates a new cache.
+     *
+     * @param counter          counter
+     * @param source           table or select to count rows of
+     * @param filterConditions list of fields and filtering conditions for fields of a certain type
+     * @param strategy         counting strategy
+     * @param ttl              time to live of counts
+     * @param maxSize          maximum number of cached counts
+     */
+    public FilterCountCache(FilterCounter counter, TableLike<?> source, Map<String, FilterCondition> filterConditions,
+                            CountStrategy strategy, Duration ttl, int maxSize) {
+        this(counter, source, filterConditions, strategy, ttl, maxSize, System::nanoTime);
+    }
+
+    FilterCountCache(FilterCounter counter, TableLike<?> source, Map<String, FilterCondition> filterConditions,
+                     CountStrategy strategy, Duration ttl, int maxSize, LongSupplier clock) {
+        requireNonNull(counter);
+        requireNonNull(source);
+        requireNonNull(filterConditions);
+        requireNonNull(strategy);
+        requireNonNull(ttl);
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("ttl must be positive: " + ttl);
+        }
+        this.counter = counter;
+        this.source = source;
+        this.filterConditions = filterConditions;
+        this.strategy = strategy;
+        this.ttlNanos = ttl.toNanos();
+        this.clock = clock;
+        this.counts = new BoundedLruCache<>(maxSize);
+    }
+
+    /**
+     * Returns the count of a filter, counting it if it's not cached or expired.
+     *
+     * @param filter list of fields and filtering conditions
+     * @return count of rows
+     */
+    public FilterCount getCount(Map<String, List<String>> filter) {
+        return getCount(FilterKey.of(filter));
+    }
+
+    /**
+     * Returns the count of a canonical filter, counting it if it's not cached or expired.
+     *
+     * @param key canonical filter
+     * @return count of rows
+     */
+    public FilterCount getCount(FilterKey key) {
+        long now = clock.getAsLong();
+        Entry entry = counts.get(key);
+        if (nonNull(entry) && now - entry.countedAt < ttlNanos) {
+            return entry.count;
+        }
+        FilterPlan plan = FilterPlan.compile(filterConditions, key, ConditionMode.SIMPLIFIED);
+        FilterCount count = plan.isAlwaysFalse()
+                ? new FilterCount(0, CountAccuracy.EXACT)
+                : counter.count(source, plan.getCondition(), strategy);
+        counts.put(key, new Entry(count, now));
+        return count;
+    }
+
+    /**
+     * Removes the count of a filter, e.g. after the client changed the data.
+     *
+     * @param filter list of fields and filtering conditions
+     */
+    public void invalidate(Map<String, List<String>> filter) {
+        counts.remove(FilterKey.of(filter));
+    }
+
+    /**
+     * Removes all cached counts.
+     */
+    public void clear() {
+        counts.clear();
+    }
+
+    private static final class Entry {
+        private final FilterCount count;
+        private final long countedAt;
+
+        private Entry(FilterCount count, long countedAt) {
+            this.count = count;
+            this.countedAt = countedAt;
+        }
+    }
+}
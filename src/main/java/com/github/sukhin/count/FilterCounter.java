@@ -0,0 +1,102 @@
+package com.github.sukhin.count;
+
+import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.jooq.Explain;
+import org.jooq.SQLDialect;
+import org.jooq.TableLike;
+import org.jooq.impl.DSL;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Counts rows of a table or select matching a filter condition with a {@link CountStrategy} chosen per call.
+ * <pre>
+ * FilterCounter counter = new FilterCounter(ctx, 10_000);
+ * FilterCount count = counter.count(FLOW, FilterUtils.getConditionFromFilter(CONDITIONS, filter),
+ *         CountStrategy.CAPPED);
+ * count.format(); // "10000+"
+ * </pre>
+ */
+public class FilterCounter {
+    private final DSLContext ctx;
+    private final long cap;
+
+    /**
+     * Creates a new counter.
+     *
+     * @param ctx context to execute queries with
+     * @param cap maximum number of rows counted by {@link CountStrategy#CAPPED}
+     */
+    public FilterCounter(DSLContext ctx, long cap) {
+        requireNonNull(ctx);
+        if (cap <= 0 || cap == Long.MAX_VALUE) {
+            throw new IllegalArgumentException("Cap must be positive and less than Long.MAX_VALUE: " + cap);
+        }
+        this.ctx = ctx;
+        this.cap = cap;
+    }
+
+    /**
+     * Counts the rows matching a condition.
+     *
+     * @param source    table or select
+     * @param condition filter condition, see {@link com.github.sukhin.FilterUtils#getConditionFromFilter}
+     * @param strategy  counting strategy
+     * @return count of rows
+     */
+    public FilterCount count(TableLike<?> source, Condition condition, CountStrategy strategy) {
+        requireNonNull(strategy);
+        switch (strategy) {
+            case CAPPED:
+                return countCapped(source, condition);
+            case ESTIMATED:
+                return estimate(source, condition);
+            default:
+                return countExact(source, condition);
+        }
+    }
+
+    /**
+     * Counts all rows matching a condition.
+     *
+     * @param source    table or select
+     * @param condition filter condition
+     * @return exact count
+     */
+    public FilterCount countExact(TableLike<?> source, Condition condition) {
+        long value = ctx.fetchCount(ctx.selectOne().from(source).where(condition));
+        return new FilterCount(value, CountAccuracy.EXACT);
+    }
+
+    /**
+     * Counts rows matching a condition up to the cap.
+     *
+     * @param source    table or select
+     * @param condition filter condition
+     * @return exact count up to the cap, the cap with {@link CountAccuracy#AT_LEAST} if there are more rows
+     */
+    public FilterCount countCapped(TableLike<?> source, Condition condition) {
+        long value = ctx.fetchCount(ctx.selectOne().from(source).where(condition).limit(cap + 1));
+        return value > cap ? new FilterCount(cap, CountAccuracy.AT_LEAST) : new FilterCount(value, CountAccuracy.EXACT);
+    }
+
+    /**
+     * Estimates the number of rows matching a condition with {@code EXPLAIN} on PostgreSQL, counts up to the cap
+     * on other dialects or if the plan has no estimate.
+     *
+     * @param source    table or select
+     * @param condition filter condition
+     * @return estimated count or capped count
+     */
+    public FilterCount estimate(TableLike<?> source, Condition condition) {
+        if (SQLDialect.POSTGRES == ctx.dialect().family()) {
+            Explain explain = ctx.explain(ctx.select(DSL.asterisk()).from(source).where(condition));
+            double rows = explain.rows();
+            if (!Double.isNaN(rows) && rows >= 0) {
+                return new FilterCount(Math.round(rows), CountAccuracy.ESTIMATE);
+            }
+        }
+        return countCapped(source, condition);
+    }
+}
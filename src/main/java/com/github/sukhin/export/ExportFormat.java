@@ -0,0 +1,16 @@
+package com.github.sukhin.export;
+
+/**
+ * Output formats of {@link FilteredExporter}.
+ */
+public enum ExportFormat {
+    /**
+     * One JSON object per line, field names as keys. Numbers and booleans are written as JSON literals, other
+     * values as strings.
+     */
+    NDJSON,
+    /**
+     * RFC 4180 CSV with a header line, values are quoted only when needed, nulls are written as empty values.
+     */
+    CSV
+}
@@ -0,0 +1,15 @@
+package com.github.sukhin.export;
+
+/**
+ * Outcome of an export.
+ *
+ * @param rows      number of written rows
+ * @param truncated true if more rows matched than the row cap allowed
+ * @param cancelled true if the export was cancelled before the last row
+ */
+public record ExportResult(
+        long rows,
+        boolean truncated,
+        boolean cancelled
+) {
+}
@@ -0,0 +1,267 @@
+package com.github.sukhin.export;
+
+import org.jooq.Condition;
+import org.jooq.Cursor;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.ResultQuery;
+import org.jooq.SortField;
+import org.jooq.TableLike;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Streams filtered rows to an {@link OutputStream} as NDJSON or CSV without materializing the result.
+ * <p>
+ * Rows are read one by one from a lazy cursor ({@link ResultQuery#fetchLazy()}) with the configured JDBC fetch
+ * size and written through a fixed-size buffer, so memory does not grow with the number of rows. The next row is
+ * fetched only after the previous one is written, a slow consumer slows down reading from the database. Note that
+ * some drivers honour the fetch size only under conditions of their own, e.g. PostgreSQL needs a transaction
+ * (auto-commit off), MySQL needs {@code useCursorFetch=true}.
+ * </p>
+ * <pre>
+ * Condition condition = FilterUtils.getConditionFromFilter(CONDITIONS, filter);
+ * List&lt;SortField&lt;?&gt;&gt; sortFields = FilterUtils.getSortFieldsFromQualifierValues(FIELDS, sort);
+ * new FilteredExporter(ctx, 1000).export(FLOW, condition, sortFields, ExportFormat.CSV, out);
+ * </pre>
+ */
+public class FilteredExporter {
+    private static final int BUFFER_SIZE = 8192;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final DSLContext ctx;
+    private final int fetchSize;
+
+    /**
+     * Creates a new exporter.
+     *
+     * @param ctx       context to execute queries with
+     * @param fetchSize number of rows fetched from the database at once
+     */
+    public FilteredExporter(DSLContext ctx, int fetchSize) {
+        requireNonNull(ctx);
+        if (fetchSize <= 0) {
+            throw new IllegalArgumentException("Fetch size must be positive: " + fetchSize);
+        }
+        this.ctx = ctx;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Exports all rows of a table or select matching a condition.
+     *
+     * @param source     table or select to export
+     * @param condition  filter condition, see {@link com.github.sukhin.FilterUtils#getConditionFromFilter}
+     * @param sortFields sort fields, see {@link com.github.sukhin.FilterUtils#getSortFieldsFromQualifierValues}
+     * @param format     output format
+     * @param out        output stream, it is flushed but not closed
+     * @return outcome of the export
+     */
+    public ExportResult export(TableLike<?> source, Condition condition, List<SortField<?>> sortFields,
+                               ExportFormat format, OutputStream out) {
+        return export(source, condition, sortFields, format, out, Long.MAX_VALUE, () -> false);
+    }
+
+    /**
+     * Exports at most maxRows rows of a table or select matching a condition.
+     *
+     * @param source     table or select to export
+     * @param condition  filter condition, see {@link com.github.sukhin.FilterUtils#getConditionFromFilter}
+     * @param sortFields sort fields, see {@link com.github.sukhin.FilterUtils#getSortFieldsFromQualifierValues}
+     * @param format     output format
+     * @param out        output stream, it is flushed but not closed
+     * @param maxRows    row cap
+     * @param cancelled  checked before every row, the export stops and the cursor is closed once it returns true
+     * @return outcome of the export
+     */
+    public ExportResult export(TableLike<?> source, Condition condition, List<SortField<?>> sortFields,
+                               ExportFormat format, OutputStream out, long maxRows, BooleanSupplier cancelled) {
+        ResultQuery<Record> query = maxRows < Long.MAX_VALUE
+                ? ctx.select().from(source).where(condition).orderBy(sortFields).limit(maxRows + 1)
+                : ctx.select().from(source).where(condition).orderBy(sortFields);
+        return export(query, format, out, maxRows, cancelled);
+    }
+
+    /**
+     * Exports at most maxRows rows of a query.
+     *
+     * @param query     query to export, it's executed with the exporter's fetch size
+     * @param format    output format
+     * @param out       output stream, it is flushed but not closed
+     * @param maxRows   row cap
+     * @param cancelled checked before every row, the export stops and the cursor is closed once it returns true
+     * @return outcome of the export
+     * @throws UncheckedIOException if the output stream fails
+     */
+    public ExportResult export(ResultQuery<? extends Record> query, ExportFormat format, OutputStream out,
+                               long maxRows, BooleanSupplier cancelled) {
+        requireNonNull(format);
+        requireNonNull(out);
+        requireNonNull(cancelled);
+        if (maxRows < 0) {
+            throw new IllegalArgumentException("Row cap must not be negative: " + maxRows);
+        }
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        long rows = 0;
+        try (Cursor<? extends Record> cursor = ctx.fetchLazy(query.fetchSize(fetchSize))) {
+            Field<?>[] fields = cursor.fields();
+            String[] names = new String[fields.length];
+            for (int i = 0; i < fields.length; i++) {
+                names[i] = fields[i].getName();
+            }
+            char[][] keys = ExportFormat.NDJSON == format ? getJsonKeys(names) : null;
+            if (ExportFormat.CSV == format) {
+                writeCsvRow(writer, names);
+            }
+
+            Object[] values = new Object[fields.length];
+            while (true) {
+                if (cancelled.getAsBoolean() || Thread.currentThread().isInterrupted()) {
+                    writer.flush();
+                    return new ExportResult(rows, false, true);
+                }
+                Record record = cursor.fetchNext();
+                if (record == null) {
+                    writer.flush();
+                    return new ExportResult(rows, false, false);
+                }
+                if (rows == maxRows) {
+                    writer.flush();
+                    return new ExportResult(rows, true, false);
+                }
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = record.get(i);
+                }
+                if (ExportFormat.NDJSON == format) {
+                    writeJsonRow(writer, keys, values);
+                } else {
+                    writeCsvRow(writer, values);
+                }
+                rows++;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Pre-renders the "name": prefix of every column, the first one with the opening brace.
+     */
+    private static char[][] getJsonKeys(String[] names) {
+        char[][] keys = new char[names.length][];
+        for (int i = 0; i < names.length; i++) {
+            StringBuilder key = new StringBuilder(i == 0 ? "{" : ",");
+            appendJsonString(key, names[i]);
+            keys[i] = key.append(':').toString().toCharArray();
+        }
+        return keys;
+    }
+
+    private static void writeJsonRow(Writer writer, char[][] keys, Object[] values) throws IOException {
+        if (values.length == 0) {
+            writer.write('{');
+        }
+        for (int i = 0; i < values.length; i++) {
+            writer.write(keys[i]);
+            Object value = values[i];
+            if (value == null) {
+                writer.write("null");
+            } else if (value instanceof Number || value instanceof Boolean) {
+                String text = value.toString();
+                // NaN and infinities are not JSON numbers
+                if (value instanceof Double && !Double.isFinite((Double) value)
+                        || value instanceof Float && !Float.isFinite((Float) value)) {
+                    writeJsonString(writer, text);
+                } else {
+                    writer.write(text);
+                }
+            } else {
+                writeJsonString(writer, value.toString());
+            }
+        }
+        writer.write("}\n");
+    }
+
+    private static void appendJsonString(StringBuilder builder, String value) {
+        builder.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                builder.append('\\').append(c);
+            } else if (c < ' ') {
+                builder.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+            } else {
+                builder.append(c);
+            }
+        }
+        builder.append('"');
+    }
+
+    private static void writeJsonString(Writer writer, String value) throws IOException {
+        writer.write('"');
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\' || c < ' ') {
+                writer.write(value, start, i - start);
+                if (c < ' ') {
+                    writer.write("\\u00");
+                    writer.write(HEX[c >> 4]);
+                    writer.write(HEX[c & 0xF]);
+                } else {
+                    writer.write('\\');
+                    writer.write(c);
+                }
+                start = i + 1;
+            }
+        }
+        writer.write(value, start, value.length() - start);
+        writer.write('"');
+    }
+
+    private static void writeCsvRow(Writer writer, Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] != null) {
+                writeCsvValue(writer, values[i].toString());
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    private static void writeCsvValue(Writer writer, String value) throws IOException {
+        boolean quoted = false;
+        for (int i = 0; i < value.length() && !quoted; i++) {
+            char c = value.charAt(i);
+            quoted = c == ',' || c == '"' || c == '\r' || c == '\n';
+        }
+        if (!quoted) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) == '"') {
+                writer.write(value, start, i + 1 - start);
+                writer.write('"');
+                start = i + 1;
+            }
+        }
+        writer.write(value, start, value.length() - start);
+        writer.write('"');
+    }
+}
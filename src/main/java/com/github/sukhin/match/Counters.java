@@ -0,0 +1,61 @@
+package com.github.sukhin.match;
+
+import java.util.Arrays;
+
+/**
+ * Per-thread scratch space of {@link FilterMatcher}: number of matched clauses of every filter slot.
+ * <p>
+ * Counters are reset in constant time by moving to the next epoch, a counter is valid only if its stamp equals
+ * the current epoch.
+ * </p>
+ */
+final class Counters {
+    private final IntList completed = new IntList();
+    private int[] counts = new int[0];
+    private int[] stamps = new int[0];
+    private int[] required;
+    private int epoch;
+
+    /**
+     * Starts counting for a new event.
+     *
+     * @param required number of indexed clauses of every filter slot
+     */
+    void reset(int[] required) {
+        this.required = required;
+        if (counts.length < required.length) {
+            counts = new int[required.length];
+            stamps = new int[required.length];
+            epoch = 0;
+        }
+        if (++epoch == 0) {
+            Arrays.fill(stamps, 0);
+            epoch = 1;
+        }
+        completed.clear();
+    }
+
+    /**
+     * Counts a matched clause of a filter.
+     *
+     * @param slot slot of the filter
+     */
+    void hit(int slot) {
+        if (stamps[slot] != epoch) {
+            stamps[slot] = epoch;
+            counts[slot] = 0;
+        }
+        if (++counts[slot] == required[slot]) {
+            completed.add(slot);
+        }
+    }
+
+    /**
+     * Slots of filters whose indexed clauses have all matched.
+     *
+     * @return completed slots
+     */
+    IntList getCompleted() {
+        return completed;
+    }
+}
@@ -0,0 +1,173 @@
+package com.github.sukhin.match;
+
+import com.github.sukhin.condition.AbstractFilterCondition;
+import com.github.sukhin.condition.Interval;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Index of the clauses of one field, a clause is a union of equality keys and disjoint intervals.
+ * <p>
+ * Equality keys are kept in a hash table, half-bounded intervals in two sorted maps by their bound, so a lookup
+ * visits only the bounds which match the value. Bounded intervals (merged adjacent points of discrete types) are
+ * sorted by their lower bound and checked against the upper one.
+ * </p>
+ */
+final class FieldIndex {
+    private final AbstractFilterCondition<Object> condition;
+    private final Map<Object, IntList> keys = new HashMap<>();
+    private final NavigableMap<Object, Bound> upperBounds = new TreeMap<>();
+    private final NavigableMap<Object, Bound> lowerBounds = new TreeMap<>();
+    private final NavigableMap<Object, List<Closed>> closed = new TreeMap<>();
+    private int clauseCount;
+
+    FieldIndex(AbstractFilterCondition<Object> condition) {
+        this.condition = condition;
+    }
+
+    void add(int slot, Clause clause) {
+        for (Object key : clause.keys()) {
+            keys.computeIfAbsent(key, k -> new IntList()).add(slot);
+        }
+        for (Interval<?> interval : clause.intervals()) {
+            if (isNull(interval.lower())) {
+                upperBounds.computeIfAbsent(interval.upper(), k -> new Bound()).get(interval.upperInclusive())
+                        .add(slot);
+            } else if (isNull(interval.upper())) {
+                lowerBounds.computeIfAbsent(interval.lower(), k -> new Bound()).get(interval.lowerInclusive())
+                        .add(slot);
+            } else {
+                closed.computeIfAbsent(interval.lower(), k -> new ArrayList<>()).add(new Closed(interval, slot));
+            }
+        }
+        clauseCount++;
+    }
+
+    void remove(int slot, Clause clause) {
+        for (Object key : clause.keys()) {
+            IntList slots = keys.get(key);
+            slots.remove(slot);
+            if (slots.isEmpty()) {
+                keys.remove(key);
+            }
+        }
+        for (Interval<?> interval : clause.intervals()) {
+            if (isNull(interval.lower())) {
+                remove(upperBounds, interval.upper(), interval.upperInclusive(), slot);
+            } else if (isNull(interval.upper())) {
+                remove(lowerBounds, interval.lower(), interval.lowerInclusive(), slot);
+            } else {
+                List<Closed> intervals = closed.get(interval.lower());
+                intervals.removeIf(entry -> entry.slot == slot && entry.interval.equals(interval));
+                if (intervals.isEmpty()) {
+                    closed.remove(interval.lower());
+                }
+            }
+        }
+        clauseCount--;
+    }
+
+    boolean isEmpty() {
+        return clauseCount == 0;
+    }
+
+    /**
+     * Counts the clauses matching a non-null field value, every clause is counted at most once because its
+     * keys and intervals are disjoint.
+     *
+     * @param value    field value
+     * @param counters counters of the current event
+     */
+    void collect(Object value, Counters counters) {
+        Object key = condition.getMatchKey(value);
+        if (nonNull(key)) {
+            IntList slots = keys.get(key);
+            if (nonNull(slots)) {
+                hit(slots, counters);
+            }
+        }
+        if (!upperBounds.isEmpty()) {
+            // value < bound, or value <= bound
+            for (Map.Entry<Object, Bound> entry : upperBounds.tailMap(value, true).entrySet()) {
+                entry.getValue().collect(compare(value, entry.getKey()) != 0, counters);
+            }
+        }
+        if (!lowerBounds.isEmpty()) {
+            // value > bound, or value >= bound
+            for (Map.Entry<Object, Bound> entry : lowerBounds.headMap(value, true).entrySet()) {
+                entry.getValue().collect(compare(value, entry.getKey()) != 0, counters);
+            }
+        }
+        if (!closed.isEmpty()) {
+            for (List<Closed> intervals : closed.headMap(value, true).values()) {
+                for (Closed entry : intervals) {
+                    if (entry.contains(value)) {
+                        counters.hit(entry.slot);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void remove(NavigableMap<Object, Bound> bounds, Object bound, boolean inclusive, int slot) {
+        Bound entry = bounds.get(bound);
+        entry.get(inclusive).remove(slot);
+        if (entry.inclusive.isEmpty() && entry.exclusive.isEmpty()) {
+            bounds.remove(bound);
+        }
+    }
+
+    private static void hit(IntList slots, Counters counters) {
+        for (int i = 0; i < slots.size(); i++) {
+            counters.hit(slots.get(i));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int compare(Object value, Object bound) {
+        return ((Comparable<Object>) value).compareTo(bound);
+    }
+
+    /**
+     * Keys and intervals of a clause, the keys of points are the values themselves.
+     *
+     * @param keys      equality keys, see {@link AbstractFilterCondition#getMatchKey(Object)}
+     * @param intervals intervals which are not single points
+     */
+    record Clause(List<Object> keys, List<Interval<?>> intervals) {
+    }
+
+    /**
+     * Slots of filters with the same bound.
+     */
+    private static final class Bound {
+        private final IntList inclusive = new IntList();
+        private final IntList exclusive = new IntList();
+
+        IntList get(boolean inclusive) {
+            return inclusive ? this.inclusive : exclusive;
+        }
+
+        void collect(boolean strict, Counters counters) {
+            hit(inclusive, counters);
+            if (strict) {
+                hit(exclusive, counters);
+            }
+        }
+    }
+
+    private record Closed(Interval<?> interval, int slot) {
+        @SuppressWarnings("unchecked")
+        boolean contains(Object value) {
+            return ((Interval<Comparable<Object>>) interval).contains((Comparable<Object>) value);
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package com.github.sukhin.match;
+
+import com.github.sukhin.FilterUtils;
+import com.github.sukhin.Qualifier;
+import com.github.sukhin.QualifierValue;
+import com.github.sukhin.condition.AbstractFilterCondition;
+import com.github.sukhin.condition.AbstractRangeFilterCondition;
+import com.github.sukhin.condition.FilterCondition;
+import com.github.sukhin.condition.Interval;
+import com.github.sukhin.condition.RangeSet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Matches events against many registered filters at once, e.g. alert subscriptions against a stream of flows.
+ * <p>
+ * Filters have the semantics of {@link com.github.sukhin.memory.FilterPredicates}: values of one field are combined
+ * with OR, fields are combined with AND, fields missing from the filtering conditions are ignored. Instead of
+ * testing every filter, the values of all filters are indexed by field: {@link Qualifier#EQUAL} values in hash
+ * tables, range bounds of {@link AbstractRangeFilterCondition} fields in sorted maps. An event visits only the
+ * entries it matches and counts the matched fields of every filter, a filter matches when all of its indexed
+ * fields have been counted and its remaining fields (LIKE, NOT_LIKE, NOT_EQUAL of non-range fields) accept the
+ * event. Filters without any indexed field are tested one by one.
+ * </p>
+ * <p>
+ * Filters can be added and removed at any time, events are matched concurrently under a read lock.
+ * </p>
+ * <pre>
+ * FilterMatcher matcher = new FilterMatcher(CONDITIONS);
+ * matcher.add("alert-1", Map.of("port_dst", List.of("&lt;11", "100"), "ip_src", List.of("!=10.119.24.99")));
+ * List&lt;String&gt; ids = matcher.match(Map.of("port_dst", 7, "ip_src", "10.0.0.1"));
+ * </pre>
+ */
+public class FilterMatcher {
+    private final Map<String, FilterCondition> filterConditions;
+    private final Map<String, FieldIndex> indexes = new HashMap<>();
+    private final Map<String, Subscription> subscriptions = new HashMap<>();
+    private final Set<Integer> scanned = new LinkedHashSet<>();
+    private final IntList freeSlots = new IntList();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ThreadLocal<Counters> counters = ThreadLocal.withInitial(Counters::new);
+    private Subscription[] slots = new Subscription[16];
+    private int[] required = new int[16];
+    private int slotCount;
+
+    /**
+     * Creates an empty matcher.
+     *
+     * @param filterConditions list of fields and filtering conditions, conditions must be
+     *                         {@link AbstractFilterCondition}s
+     */
+    public FilterMatcher(Map<String, FilterCondition> filterConditions) {
+        requireNonNull(filterConditions);
+        this.filterConditions = filterConditions;
+    }
+
+    /**
+     * Registers a filter, a filter with the same id is replaced.
+     *
+     * @param id     id of the filter
+     * @param filter list of fields and filtering conditions
+     * @throws UnsupportedOperationException if a filtering condition is not an {@link AbstractFilterCondition}
+     */
+    public void add(String id, Map<String, List<String>> filter) {
+        requireNonNull(id);
+        Subscription subscription = compile(id, filter);
+        lock.writeLock().lock();
+        try {
+            remove(subscriptions.get(id));
+            int slot = freeSlots.isEmpty() ? slotCount++ : freeSlots.removeLast();
+            if (slot == slots.length) {
+                slots = Arrays.copyOf(slots, slot * 2);
+                required = Arrays.copyOf(required, slot * 2);
+            }
+            subscription.slot = slot;
+            slots[slot] = subscription;
+            required[slot] = subscription.clauses.size();
+            subscriptions.put(id, subscription);
+            if (subscription.never) {
+                return;
+            }
+            subscription.clauses.forEach((fieldName, clause) -> indexes.computeIfAbsent(fieldName, this::newIndex)
+                    .add(slot, clause));
+            if (subscription.clauses.isEmpty()) {
+                scanned.add(slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Unregisters a filter.
+     *
+     * @param id id of the filter
+     * @return true if the filter has been registered
+     */
+    public boolean remove(String id) {
+        lock.writeLock().lock();
+        try {
+            return remove(subscriptions.get(id));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Number of registered filters.
+     *
+     * @return number of filters
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return subscriptions.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the ids of all filters matching an event.
+     *
+     * @param event field values by field name, value types must match the filtering conditions of the fields,
+     *              missing fields are null
+     * @return ids of matching filters in no particular order
+     */
+    public List<String> match(Map<String, ?> event) {
+        List<String> ids = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Counters eventCounters = counters.get();
+            eventCounters.reset(required);
+            for (Map.Entry<String, ?> entry : event.entrySet()) {
+                FieldIndex index = indexes.get(entry.getKey());
+                if (nonNull(index) && nonNull(entry.getValue())) {
+                    index.collect(entry.getValue(), eventCounters);
+                }
+            }
+            IntList completed = eventCounters.getCompleted();
+            for (int i = 0; i < completed.size(); i++) {
+                Subscription subscription = slots[completed.get(i)];
+                if (subscription.test(event)) {
+                    ids.add(subscription.id);
+                }
+            }
+            for (Integer slot : scanned) {
+                Subscription subscription = slots[slot];
+                if (subscription.test(event)) {
+                    ids.add(subscription.id);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return ids;
+    }
+
+    private boolean remove(Subscription subscription) {
+        if (isNull(subscription)) {
+            return false;
+        }
+        int slot = subscription.slot;
+        if (!subscription.never) {
+            subscription.clauses.forEach((fieldName, clause) -> {
+                FieldIndex index = indexes.get(fieldName);
+                index.remove(slot, clause);
+                if (index.isEmpty()) {
+                    indexes.remove(fieldName);
+                }
+            });
+        }
+        scanned.remove(slot);
+        subscriptions.remove(subscription.id);
+        slots[slot] = null;
+        required[slot] = 0;
+        freeSlots.add(slot);
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private FieldIndex newIndex(String fieldName) {
+        return new FieldIndex((AbstractFilterCondition<Object>) filterConditions.get(fieldName));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Subscription compile(String id, Map<String, List<String>> filter) {
+        Subscription subscription = new Subscription(id);
+        for (Map.Entry<String, List<String>> entry : filter.entrySet()) {
+            String fieldName = entry.getKey();
+            FilterCondition filterCondition = filterConditions.get(fieldName);
+            if (isNull(filterCondition)) {
+                continue;
+            }
+            if (!(filterCondition instanceof AbstractFilterCondition)) {
+                throw new UnsupportedOperationException("In-memory filtering is not supported by "
+                        + filterCondition.getClass().getName());
+            }
+
+            List<QualifierValue> qualifierValues = FilterUtils.parseQualifierValues(entry.getValue());
+            if (filterCondition instanceof AbstractRangeFilterCondition) {
+                Optional<RangeSet> optionalRangeSet =
+                        ((AbstractRangeFilterCondition) filterCondition).getRangeSet(qualifierValues);
+                if (optionalRangeSet.isEmpty()) {
+                    continue;
+                }
+                RangeSet<?> rangeSet = optionalRangeSet.get();
+                if (rangeSet.isEmpty()) {
+                    subscription.never = true;
+                } else if (rangeSet.isAll()) {
+                    subscription.residuals.add(new Residual(fieldName, Objects::nonNull));
+                } else {
+                    subscription.clauses.put(fieldName, getClause(rangeSet));
+                }
+                continue;
+            }
+
+            AbstractFilterCondition<Object> condition = (AbstractFilterCondition<Object>) filterCondition;
+            FieldIndex.Clause clause = getClause(condition, qualifierValues);
+            if (nonNull(clause)) {
+                subscription.clauses.put(fieldName, clause);
+            } else {
+                subscription.residuals.add(new Residual(fieldName, condition.getPredicate(qualifierValues)));
+            }
+        }
+        return subscription;
+    }
+
+    private static FieldIndex.Clause getClause(RangeSet<?> rangeSet) {
+        List<Object> keys = new ArrayList<>();
+        List<Interval<?>> intervals = new ArrayList<>();
+        for (Interval<?> interval : rangeSet.getIntervals()) {
+            if (interval.isPoint()) {
+                keys.add(interval.lower());
+            } else {
+                intervals.add(interval);
+            }
+        }
+        return new FieldIndex.Clause(keys, intervals);
+    }
+
+    /**
+     * Returns the clause of a field with only {@link Qualifier#EQUAL} values.
+     *
+     * @return clause, null if the field has other values or its values have no match keys
+     */
+    private static FieldIndex.Clause getClause(AbstractFilterCondition<Object> condition,
+                                               List<QualifierValue> qualifierValues) {
+        Set<Object> keys = new LinkedHashSet<>();
+        for (QualifierValue qualifierValue : qualifierValues) {
+            if (Qualifier.DO_NOTHING == qualifierValue.qualifier()) {
+                continue;
+            } else if (Qualifier.EQUAL != qualifierValue.qualifier()) {
+                return null;
+            }
+            Optional<Object> optionalValue = condition.getConvertedValue(qualifierValue.value());
+            if (optionalValue.isEmpty()) {
+                continue;
+            }
+            Object key = condition.getMatchKey(optionalValue.get());
+            if (isNull(key)) {
+                return null;
+            }
+            keys.add(key);
+        }
+        return keys.isEmpty() ? null : new FieldIndex.Clause(new ArrayList<>(keys), List.of());
+    }
+
+    private static final class Subscription {
+        private final String id;
+        private final Map<String, FieldIndex.Clause> clauses = new HashMap<>();
+        private final List<Residual> residuals = new ArrayList<>();
+        private boolean never;
+        private int slot;
+
+        private Subscription(String id) {
+            this.id = id;
+        }
+
+        private boolean test(Map<String, ?> event) {
+            for (Residual residual : residuals) {
+                if (!residual.predicate.test(event.get(residual.fieldName))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private record Residual(String fieldName, Predicate<Object> predicate) {
+    }
+}
@@ -0,0 +1,54 @@
+package com.github.sukhin.match;
+
+import java.util.Arrays;
+
+/**
+ * Growable list of ints without boxing, the order of elements is not preserved by {@link #remove(int)}.
+ */
+final class IntList {
+    private int[] elements = new int[4];
+    private int size;
+
+    void add(int element) {
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, size * 2);
+        }
+        elements[size++] = element;
+    }
+
+    /**
+     * Removes one occurrence of the element, the last element takes its place.
+     *
+     * @param element element
+     * @return true if the element has been found
+     */
+    boolean remove(int element) {
+        for (int i = 0; i < size; i++) {
+            if (elements[i] == element) {
+                elements[i] = elements[--size];
+                return true;
+            }
+        }
+        return false;
+    }
+
+    int get(int index) {
+        return elements[index];
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int removeLast() {
+        return elements[--size];
+    }
+
+    void clear() {
+        size = 0;
+    }
+}
@@ -0,0 +1,344 @@
+package com.github.sukhin.memory;
+
+import com.github.sukhin.Qualifier;
+import com.github.sukhin.QualifierValue;
+import com.github.sukhin.condition.DiscreteDomain;
+import com.github.sukhin.condition.Interval;
+import com.github.sukhin.condition.IsoDateTimeParser;
+import com.github.sukhin.condition.LiteralConverters;
+import com.github.sukhin.condition.RangeSet;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import static com.github.sukhin.Qualifier.EQUAL;
+import static com.github.sukhin.Qualifier.GREATER;
+import static com.github.sukhin.Qualifier.GREATER_EQUAL;
+import static com.github.sukhin.Qualifier.LESS;
+import static com.github.sukhin.Qualifier.LESS_EQUAL;
+import static com.github.sukhin.Qualifier.NOT_EQUAL;
+import static java.util.Objects.isNull;
+
+/**
+ * Utility class for filtering primitive columns with the semantics of
+ * {@link com.github.sukhin.condition.ShortFilterCondition}, {@link com.github.sukhin.condition.IntegerFilterCondition},
+ * {@link com.github.sukhin.condition.LongFilterCondition} and
+ * {@link com.github.sukhin.condition.LocalDateTimeFilterCondition} (timestamps stored as UTC epoch millis).
+ * <p>
+ * The result is a selection bitmap: bit (row &amp; 63) of word (row &gt;&gt;&gt; 6) is set if the row matches.
+ * Filter values of a column are merged into disjoint inclusive intervals once, every row is then checked with one
+ * unsigned comparison per interval and no allocation. Columns are combined with word-wise {@link #and(long[], long[])}.
+ * </p>
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ColumnarFilter {
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+
+    /**
+     * Creates an empty selection bitmap.
+     *
+     * @param rowCount number of rows
+     * @return selection bitmap with no rows selected
+     */
+    public static long[] newSelection(int rowCount) {
+        return new long[(rowCount + 63) >>> 6];
+    }
+
+    /**
+     * Selects all rows.
+     *
+     * @param selection selection bitmap
+     * @param rowCount  number of rows
+     */
+    public static void selectAll(long[] selection, int rowCount) {
+        int fullWords = rowCount >>> 6;
+        for (int i = 0; i < fullWords; i++) {
+            selection[i] = -1L;
+        }
+        if ((rowCount & 63) != 0) {
+            selection[fullWords] = (1L << rowCount) - 1;
+        }
+    }
+
+    /**
+     * Intersects two selections, the result is stored in the first one.
+     *
+     * @param selection selection bitmap to update
+     * @param other     selection bitmap to intersect with
+     */
+    public static void and(long[] selection, long[] other) {
+        for (int i = 0; i < selection.length; i++) {
+            selection[i] &= other[i];
+        }
+    }
+
+    /**
+     * Unites two selections, the result is stored in the first one.
+     *
+     * @param selection selection bitmap to update
+     * @param other     selection bitmap to unite with
+     */
+    public static void or(long[] selection, long[] other) {
+        for (int i = 0; i < selection.length; i++) {
+            selection[i] |= other[i];
+        }
+    }
+
+    /**
+     * Counts selected rows.
+     *
+     * @param selection selection bitmap
+     * @return number of selected rows
+     */
+    public static int cardinality(long[] selection) {
+        int count = 0;
+        for (long word : selection) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Selects the rows of a short column matching the filter values.
+     *
+     * @param column          column values
+     * @param rowCount        number of rows
+     * @param qualifierValues filter conditions and text representations of values
+     * @param selection       selection bitmap, overwritten
+     */
+    public static void select(short[] column, int rowCount, List<QualifierValue> qualifierValues, long[] selection) {
+        Bounds bounds = getBounds(qualifierValues, value -> toLong(LiteralConverters.SHORT.convert(value)));
+        if (bounds.isTrivial()) {
+            bounds.fill(selection, rowCount);
+            return;
+        }
+        long[] lower = bounds.lower;
+        long[] span = bounds.span;
+        for (int base = 0, word = 0; base < rowCount; base += 64, word++) {
+            int end = Math.min(base + 64, rowCount);
+            long bits = 0;
+            for (int row = base; row < end; row++) {
+                bits |= (matches(column[row], lower, span) ? 1L : 0L) << row;
+            }
+            selection[word] = bits;
+        }
+    }
+
+    /**
+     * Selects the rows of an int column matching the filter values.
+     *
+     * @param column          column values
+     * @param rowCount        number of rows
+     * @param qualifierValues filter conditions and text representations of values
+     * @param selection       selection bitmap, overwritten
+     */
+    public static void select(int[] column, int rowCount, List<QualifierValue> qualifierValues, long[] selection) {
+        Bounds bounds = getBounds(qualifierValues, value -> toLong(LiteralConverters.INTEGER.convert(value)));
+        if (bounds.isTrivial()) {
+            bounds.fill(selection, rowCount);
+            return;
+        }
+        long[] lower = bounds.lower;
+        long[] span = bounds.span;
+        for (int base = 0, word = 0; base < rowCount; base += 64, word++) {
+            int end = Math.min(base + 64, rowCount);
+            long bits = 0;
+            for (int row = base; row < end; row++) {
+                bits |= (matches(column[row], lower, span) ? 1L : 0L) << row;
+            }
+            selection[word] = bits;
+        }
+    }
+
+    /**
+     * Selects the rows of a long column matching the filter values.
+     *
+     * @param column          column values
+     * @param rowCount        number of rows
+     * @param qualifierValues filter conditions and text representations of values
+     * @param selection       selection bitmap, overwritten
+     */
+    public static void select(long[] column, int rowCount, List<QualifierValue> qualifierValues, long[] selection) {
+        select(column, rowCount, getBounds(qualifierValues, LiteralConverters::parseLong), selection);
+    }
+
+    /**
+     * Selects the rows of a timestamp column matching the filter values, the filter values are
+     * {@link LocalDateTime}s in ISO format, the column holds epoch millis of the same local date-times in UTC.
+     *
+     * @param epochMillis     column values
+     * @param rowCount        number of rows
+     * @param qualifierValues filter conditions and text representations of values
+     * @param selection       selection bitmap, overwritten
+     */
+    public static void selectTimestamps(long[] epochMillis, int rowCount, List<QualifierValue> qualifierValues,
+                                        long[] selection) {
+        List<Interval<Long>> intervals = new ArrayList<>(qualifierValues.size() + 1);
+        boolean constrained = false;
+        for (QualifierValue qualifierValue : qualifierValues) {
+            long millis;
+            boolean exact;
+            long epochNanos = IsoDateTimeParser.parseEpochNanos(qualifierValue.value());
+            if (epochNanos == IsoDateTimeParser.INVALID) {
+                continue;
+            } else if (epochNanos != IsoDateTimeParser.UNSUPPORTED) {
+                millis = Math.floorDiv(epochNanos, NANOS_PER_MILLI);
+                exact = Math.floorMod(epochNanos, NANOS_PER_MILLI) == 0;
+            } else {
+                try {
+                    LocalDateTime value = LocalDateTime.parse(qualifierValue.value());
+                    long nanos = value.getNano();
+                    millis = Math.addExact(Math.multiplyExact(value.toEpochSecond(ZoneOffset.UTC), 1000L),
+                            nanos / NANOS_PER_MILLI);
+                    exact = nanos % NANOS_PER_MILLI == 0;
+                } catch (Exception e) {
+                    continue;
+                }
+            }
+            constrained |= addTimestampInterval(intervals, qualifierValue.qualifier(), millis, exact);
+        }
+        Bounds bounds = constrained ? new Bounds(RangeSet.of(intervals, DiscreteDomain.LONG)) : Bounds.NONE;
+        select(epochMillis, rowCount, bounds, selection);
+    }
+
+    private static void select(long[] column, int rowCount, Bounds bounds, long[] selection) {
+        if (bounds.isTrivial()) {
+            bounds.fill(selection, rowCount);
+            return;
+        }
+        long[] lower = bounds.lower;
+        long[] span = bounds.span;
+        for (int base = 0, word = 0; base < rowCount; base += 64, word++) {
+            int end = Math.min(base + 64, rowCount);
+            long bits = 0;
+            for (int row = base; row < end; row++) {
+                bits |= (matches(column[row], lower, span) ? 1L : 0L) << row;
+            }
+            selection[word] = bits;
+        }
+    }
+
+    /**
+     * Checks a value against all intervals without branching, small enough to be inlined into the loops over
+     * columns of every type, which read their arrays directly.
+     */
+    private static boolean matches(long value, long[] lower, long[] span) {
+        boolean match = false;
+        for (int i = 0; i < lower.length; i++) {
+            match |= value - lower[i] + Long.MIN_VALUE <= span[i];
+        }
+        return match;
+    }
+
+    /**
+     * Adds the interval of millis matching a timestamp bound with sub-millisecond precision.
+     *
+     * @return true if the qualifier produces a condition
+     */
+    private static boolean addTimestampInterval(List<Interval<Long>> intervals, Qualifier qualifier, long millis,
+                                                boolean exact) {
+        // Not exact bound t lies strictly between millis and millis + 1
+        if (EQUAL == qualifier) {
+            if (exact) {
+                intervals.add(Interval.point(millis));
+            }
+        } else if (NOT_EQUAL == qualifier) {
+            if (exact) {
+                intervals.add(Interval.upTo(millis, false));
+                intervals.add(Interval.downTo(millis, false));
+            } else {
+                intervals.add(Interval.all());
+            }
+        } else if (LESS_EQUAL == qualifier) {
+            intervals.add(Interval.upTo(millis, true));
+        } else if (LESS == qualifier) {
+            intervals.add(Interval.upTo(millis, !exact));
+        } else if (GREATER_EQUAL == qualifier) {
+            intervals.add(Interval.downTo(millis, exact));
+        } else if (GREATER == qualifier) {
+            intervals.add(Interval.downTo(millis, false));
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    private static Long toLong(Number value) {
+        return isNull(value) ? null : value.longValue();
+    }
+
+    /**
+     * Converts the filter values to bounds, the converter returns null for values which can't be converted.
+     */
+    private static Bounds getBounds(List<QualifierValue> qualifierValues, Function<String, Long> converter) {
+        List<Interval<Long>> intervals = new ArrayList<>(qualifierValues.size() + 1);
+        for (QualifierValue qualifierValue : qualifierValues) {
+            Qualifier qualifier = qualifierValue.qualifier();
+            if (EQUAL != qualifier && NOT_EQUAL != qualifier && LESS_EQUAL != qualifier
+                    && GREATER_EQUAL != qualifier && LESS != qualifier && GREATER != qualifier) {
+                continue;
+            }
+            Long value = converter.apply(qualifierValue.value());
+            if (isNull(value)) {
+                continue;
+            }
+
+            if (EQUAL == qualifier) {
+                intervals.add(Interval.point(value));
+            } else if (NOT_EQUAL == qualifier) {
+                intervals.add(Interval.upTo(value, false));
+                intervals.add(Interval.downTo(value, false));
+            } else if (LESS_EQUAL == qualifier || LESS == qualifier) {
+                intervals.add(Interval.upTo(value, LESS_EQUAL == qualifier));
+            } else {
+                intervals.add(Interval.downTo(value, GREATER_EQUAL == qualifier));
+            }
+        }
+        return intervals.isEmpty() ? Bounds.NONE : new Bounds(RangeSet.of(intervals, DiscreteDomain.LONG));
+    }
+
+    /**
+     * Disjoint inclusive intervals prepared for the unsigned range check
+     * lower &lt;= value &lt;= upper  &lt;=&gt;  (value - lower) &lt;=u (upper - lower).
+     */
+    private static final class Bounds {
+        private static final Bounds NONE = new Bounds(null);
+
+        private final boolean all;
+        private final long[] lower;
+        private final long[] span;
+
+        private Bounds(RangeSet<Long> rangeSet) {
+            // No condition at all: primitive columns have no nulls, so every row matches
+            this.all = isNull(rangeSet) || rangeSet.isAll();
+            List<Interval<Long>> intervals = all ? List.of() : rangeSet.getIntervals();
+            this.lower = new long[intervals.size()];
+            this.span = new long[intervals.size()];
+            for (int i = 0; i < intervals.size(); i++) {
+                Interval<Long> interval = intervals.get(i);
+                long lowerValue = isNull(interval.lower()) ? Long.MIN_VALUE : interval.lower();
+                long upperValue = isNull(interval.upper()) ? Long.MAX_VALUE : interval.upper();
+                lower[i] = lowerValue;
+                span[i] = upperValue - lowerValue + Long.MIN_VALUE;
+            }
+        }
+
+        private boolean isTrivial() {
+            return all || lower.length == 0;
+        }
+
+        private void fill(long[] selection, int rowCount) {
+            if (all) {
+                selectAll(selection, rowCount);
+            } else {
+                Arrays.fill(selection, 0, (rowCount + 63) >>> 6, 0L);
+            }
+        }
+    }
+}
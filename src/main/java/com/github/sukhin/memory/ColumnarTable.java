@@ -0,0 +1,136 @@
+package com.github.sukhin.memory;
+
+import com.github.sukhin.FilterUtils;
+import com.github.sukhin.QualifierValue;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Rows stored column-wise in primitive arrays, filtered with {@link ColumnarFilter}.
+ * <p>
+ * Columns are registered once, the arrays are not copied, so the table reflects later changes of the arrays.
+ * Registration is not thread-safe, filtering is.
+ * </p>
+ */
+public class ColumnarTable {
+    private final int rowCount;
+    private final Map<String, Object> columns = new HashMap<>();
+    private final Set<String> timestampColumns = new HashSet<>();
+
+    /**
+     * Creates a new table.
+     *
+     * @param rowCount number of rows, every column must have at least that many values
+     */
+    public ColumnarTable(int rowCount) {
+        if (rowCount < 0) {
+            throw new IllegalArgumentException("rowCount must not be negative: " + rowCount);
+        }
+        this.rowCount = rowCount;
+    }
+
+    /**
+     * Number of rows.
+     *
+     * @return number of rows
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Registers a short column.
+     *
+     * @param name   column name
+     * @param values column values
+     * @return this table
+     */
+    public ColumnarTable addColumn(String name, short[] values) {
+        return add(name, values, values.length, false);
+    }
+
+    /**
+     * Registers a int column.
+     *
+     * @param name   column name
+     * @param values column values
+     * @return this table
+     */
+    public ColumnarTable addColumn(String name, int[] values) {
+        return add(name, values, values.length, false);
+    }
+
+    /**
+     * Registers a long column.
+     *
+     * @param name   column name
+     * @param values column values
+     * @return this table
+     */
+    public ColumnarTable addColumn(String name, long[] values) {
+        return add(name, values, values.length, false);
+    }
+
+    /**
+     * Registers a timestamp column, see {@link ColumnarFilter#selectTimestamps(long[], int, List, long[])}.
+     *
+     * @param name        column name
+     * @param epochMillis UTC epoch millis
+     * @return this table
+     */
+    public ColumnarTable addTimestampColumn(String name, long[] epochMillis) {
+        return add(name, epochMillis, epochMillis.length, true);
+    }
+
+    /**
+     * Selects the rows matching a filter: values of one column are combined with OR, columns are combined with AND,
+     * unknown columns are ignored.
+     *
+     * @param filter list of columns and filtering conditions
+     * @return selection bitmap
+     */
+    public long[] select(Map<String, List<String>> filter) {
+        long[] selection = ColumnarFilter.newSelection(rowCount);
+        ColumnarFilter.selectAll(selection, rowCount);
+        long[] columnSelection = ColumnarFilter.newSelection(rowCount);
+        for (Map.Entry<String, List<String>> entry : filter.entrySet()) {
+            Object column = columns.get(entry.getKey());
+            if (isNull(column)) {
+                continue;
+            }
+            List<QualifierValue> qualifierValues = FilterUtils.parseQualifierValues(entry.getValue());
+            if (column instanceof short[]) {
+                ColumnarFilter.select((short[]) column, rowCount, qualifierValues, columnSelection);
+            } else if (column instanceof int[]) {
+                ColumnarFilter.select((int[]) column, rowCount, qualifierValues, columnSelection);
+            } else if (timestampColumns.contains(entry.getKey())) {
+                ColumnarFilter.selectTimestamps((long[]) column, rowCount, qualifierValues, columnSelection);
+            } else {
+                ColumnarFilter.select((long[]) column, rowCount, qualifierValues, columnSelection);
+            }
+            ColumnarFilter.and(selection, columnSelection);
+        }
+        return selection;
+    }
+
+    private ColumnarTable add(String name, Object values, int length, boolean timestamp) {
+        requireNonNull(name);
+        if (length < rowCount) {
+            throw new IllegalArgumentException("Column " + name + " has " + length + " values, expected " + rowCount);
+        }
+        columns.put(name, values);
+        if (timestamp) {
+            timestampColumns.add(name);
+        } else {
+            timestampColumns.remove(name);
+        }
+        return this;
+    }
+}
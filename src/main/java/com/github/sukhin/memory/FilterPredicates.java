@@ -0,0 +1,81 @@
+package com.github.sukhin.memory;
+
+import com.github.sukhin.FilterUtils;
+import com.github.sukhin.QualifierValue;
+import com.github.sukhin.condition.AbstractFilterCondition;
+import com.github.sukhin.condition.FilterCondition;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Utility class for filtering Java objects with the same filters that are used for JOOQ API.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class FilterPredicates {
+    /**
+     * Compiles a filter into a predicate over objects: values of one field are combined with OR, fields are combined
+     * with AND, fields missing from the filtering conditions are ignored, just like in
+     * {@link FilterUtils#getConditionFromFilter(Map, Map)}.
+     * <p>
+     * The predicate is immutable and can be shared between threads and used in parallel streams.
+     * </p>
+     *
+     * @param filterConditions list of fields and filtering conditions for fields of a certain type
+     * @param accessors        functions returning the value of a field, the value type must match the type of the
+     *                         filtering condition of the field
+     * @param filter           list of fields and filtering conditions
+     * @param <R>              type of objects
+     * @return predicate over objects
+     * @throws IllegalArgumentException      if a filtered field has no accessor
+     * @throws UnsupportedOperationException if a filtering condition is not an {@link AbstractFilterCondition}
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static <R> Predicate<R> compile(Map<String, FilterCondition> filterConditions,
+                                           Map<String, ? extends Function<? super R, ?>> accessors,
+                                           Map<String, List<String>> filter) {
+        List<Predicate<R>> predicates = new ArrayList<>(filter.size());
+        for (Map.Entry<String, List<String>> entry : filter.entrySet()) {
+            String fieldName = entry.getKey();
+            FilterCondition filterCondition = filterConditions.get(fieldName);
+            if (isNull(filterCondition)) {
+                continue;
+            }
+            Function<? super R, Object> accessor = (Function<? super R, Object>) accessors.get(fieldName);
+            if (isNull(accessor)) {
+                throw new IllegalArgumentException("No accessor for field " + fieldName);
+            }
+            if (!(filterCondition instanceof AbstractFilterCondition)) {
+                throw new UnsupportedOperationException("In-memory filtering is not supported by "
+                        + filterCondition.getClass().getName());
+            }
+
+            List<QualifierValue> qualifierValues = FilterUtils.parseQualifierValues(entry.getValue());
+            Predicate<Object> valuePredicate =
+                    ((AbstractFilterCondition<Object>) filterCondition).getPredicate(qualifierValues);
+            predicates.add(object -> valuePredicate.test(accessor.apply(object)));
+        }
+
+        if (predicates.isEmpty()) {
+            return object -> true;
+        } else if (predicates.size() == 1) {
+            return predicates.get(0);
+        }
+        Predicate<R>[] predicateArray = predicates.toArray(new Predicate[0]);
+        return object -> {
+            for (Predicate<R> predicate : predicateArray) {
+                if (!predicate.test(object)) {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+}
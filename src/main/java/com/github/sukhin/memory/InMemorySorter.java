@@ -0,0 +1,341 @@
+package com.github.sukhin.memory;
+
+import com.github.sukhin.FilterUtils;
+import com.github.sukhin.Qualifier;
+import com.github.sukhin.QualifierValue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Sorts and pages objects in memory with the same sort qualifiers ("+field", "-field") that are used for JOOQ API,
+ * see {@link FilterUtils#getSortFieldsFromQualifierValues(Map, List)}.
+ * <p>
+ * Sort keys are registered once by name. The qualifiers are composed into one comparator which reads int, long and
+ * double keys without boxing. A page is selected with a bounded heap of offset + limit rows, so it costs
+ * O(n log k) instead of sorting all rows. Rows with equal keys keep their input order, the result is the same as
+ * a stable sort followed by {@link List#subList(int, int)}. Null object keys are sorted last in ascending order and
+ * first in descending order, like PostgreSQL does.
+ * </p>
+ * <p>
+ * Inputs of at least {@code parallelThreshold} rows are split into partitions whose pages are selected on the
+ * common {@link ForkJoinPool} and merged. Registration is not thread-safe, sorting is.
+ * </p>
+ * <pre>
+ * InMemorySorter&lt;Flow&gt; sorter = new InMemorySorter&lt;Flow&gt;()
+ *         .addIntKey("port_dst", Flow::portDst)
+ *         .addKey("ip_src", Flow::ipSrc);
+ * List&lt;Flow&gt; page = sorter.getPage(flows, List.of("-port_dst", "+ip_src"), 0, 50);
+ * </pre>
+ *
+ * @param <R> type of objects
+ */
+public class InMemorySorter<R> {
+    private static final int MIN_PARTITION_SIZE = 8192;
+
+    private final Map<String, Comparator<R>> keys = new HashMap<>();
+    private final int parallelThreshold;
+
+    /**
+     * Creates a new sequential sorter.
+     */
+    public InMemorySorter() {
+        this(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Creates a new sorter with a parallel mode for large inputs.
+     *
+     * @param parallelThreshold minimal number of rows sorted in parallel
+     */
+    public InMemorySorter(int parallelThreshold) {
+        if (parallelThreshold <= 0) {
+            throw new IllegalArgumentException("parallelThreshold must be positive: " + parallelThreshold);
+        }
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * Registers an int sort key.
+     *
+     * @param name name of the key in sort qualifiers
+     * @param key  key of an object
+     * @return this sorter
+     */
+    public InMemorySorter<R> addIntKey(String name, ToIntFunction<? super R> key) {
+        requireNonNull(key);
+        return add(name, (row1, row2) -> Integer.compare(key.applyAsInt(row1), key.applyAsInt(row2)));
+    }
+
+    /**
+     * Registers a long sort key.
+     *
+     * @param name name of the key in sort qualifiers
+     * @param key  key of an object
+     * @return this sorter
+     */
+    public InMemorySorter<R> addLongKey(String name, ToLongFunction<? super R> key) {
+        requireNonNull(key);
+        return add(name, (row1, row2) -> Long.compare(key.applyAsLong(row1), key.applyAsLong(row2)));
+    }
+
+    /**
+     * Registers a double sort key, compared with {@link Double#compare(double, double)}.
+     *
+     * @param name name of the key in sort qualifiers
+     * @param key  key of an object
+     * @return this sorter
+     */
+    public InMemorySorter<R> addDoubleKey(String name, ToDoubleFunction<? super R> key) {
+        requireNonNull(key);
+        return add(name, (row1, row2) -> Double.compare(key.applyAsDouble(row1), key.applyAsDouble(row2)));
+    }
+
+    /**
+     * Registers a sort key of comparable objects, e.g. strings or dates.
+     *
+     * @param name name of the key in sort qualifiers
+     * @param key  key of an object, may return null
+     * @return this sorter
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public InMemorySorter<R> addKey(String name, Function<? super R, ? extends Comparable<?>> key) {
+        requireNonNull(key);
+        return add(name, (row1, row2) -> {
+            Comparable value1 = key.apply(row1);
+            Comparable value2 = key.apply(row2);
+            if (isNull(value1) || isNull(value2)) {
+                return isNull(value1) ? (isNull(value2) ? 0 : 1) : -1;
+            }
+            return value1.compareTo(value2);
+        });
+    }
+
+    private InMemorySorter<R> add(String name, Comparator<R> comparator) {
+        requireNonNull(name);
+        keys.put(name, comparator);
+        return this;
+    }
+
+    /**
+     * Composes the comparator of sort qualifiers, unknown keys and other qualifiers than ASC and DESC are ignored.
+     *
+     * @param sortQualifiers strings like "+field" and "-field"
+     * @return comparator, every pair of objects is equal if no key is sorted
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public Comparator<R> getComparator(List<String> sortQualifiers) {
+        List<Comparator<R>> comparators = new ArrayList<>(sortQualifiers.size());
+        for (QualifierValue qualifierValue : FilterUtils.parseQualifierValues(sortQualifiers)) {
+            Comparator<R> comparator = keys.get(qualifierValue.value());
+            if (isNull(comparator)) {
+                continue;
+            }
+            if (Qualifier.ASC == qualifierValue.qualifier()) {
+                comparators.add(comparator);
+            } else if (Qualifier.DESC == qualifierValue.qualifier()) {
+                comparators.add(comparator.reversed());
+            }
+        }
+        if (comparators.isEmpty()) {
+            return (row1, row2) -> 0;
+        } else if (comparators.size() == 1) {
+            return comparators.get(0);
+        }
+        Comparator<R>[] comparatorArray = comparators.toArray(new Comparator[0]);
+        return (row1, row2) -> {
+            for (Comparator<R> comparator : comparatorArray) {
+                int compareResult = comparator.compare(row1, row2);
+                if (compareResult != 0) {
+                    return compareResult;
+                }
+            }
+            return 0;
+        };
+    }
+
+    /**
+     * Returns a page of rows sorted by sort qualifiers.
+     *
+     * @param rows           rows, not modified
+     * @param sortQualifiers strings like "+field" and "-field"
+     * @param offset         number of rows to skip
+     * @param limit          maximum number of rows to return
+     * @return new list with at most limit rows
+     */
+    public List<R> getPage(List<? extends R> rows, List<String> sortQualifiers, int offset, int limit) {
+        return getPage(rows, getComparator(sortQualifiers), offset, limit);
+    }
+
+    /**
+     * Returns a page of rows sorted by a comparator.
+     *
+     * @param rows       rows, not modified
+     * @param comparator comparator of rows, e.g. from {@link #getComparator(List)}
+     * @param offset     number of rows to skip
+     * @param limit      maximum number of rows to return
+     * @return new list with at most limit rows
+     */
+    @SuppressWarnings("unchecked")
+    public List<R> getPage(List<? extends R> rows, Comparator<? super R> comparator, int offset, int limit) {
+        requireNonNull(comparator);
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("offset and limit must not be negative: " + offset + ", " + limit);
+        }
+        Object[] array = rows.toArray();
+        int size = (int) Math.min((long) offset + limit, array.length);
+        if (offset >= size) {
+            return new ArrayList<>();
+        }
+
+        Selection selection = new Selection(array, (Comparator<Object>) comparator, size);
+        int[] top;
+        if (array.length >= parallelThreshold) {
+            int partitionSize = Math.max(MIN_PARTITION_SIZE,
+                    array.length / (ForkJoinPool.getCommonPoolParallelism() * 4));
+            top = ForkJoinPool.commonPool().invoke(new SelectTask(selection, 0, array.length, partitionSize));
+        } else {
+            top = selection.select(0, array.length);
+        }
+
+        List<R> page = new ArrayList<>(top.length - offset);
+        for (int i = offset; i < top.length; i++) {
+            page.add((R) array[top[i]]);
+        }
+        return page;
+    }
+
+    /**
+     * Selection of the first rows of index ranges, ties are broken by index.
+     */
+    private static final class Selection {
+        private final Object[] rows;
+        private final Comparator<Object> comparator;
+        private final int size;
+
+        private Selection(Object[] rows, Comparator<Object> comparator, int size) {
+            this.rows = rows;
+            this.comparator = comparator;
+            this.size = size;
+        }
+
+        private int compare(int index1, int index2) {
+            int compareResult = comparator.compare(rows[index1], rows[index2]);
+            return compareResult != 0 ? compareResult : Integer.compare(index1, index2);
+        }
+
+        /**
+         * Selects the first rows of a range with a max-heap of indexes, the worst selected row is at the top.
+         *
+         * @return sorted indexes of at most size rows
+         */
+        private int[] select(int from, int to) {
+            int[] heap = new int[Math.min(size, to - from)];
+            int heapSize = 0;
+            for (int index = from; index < to; index++) {
+                if (heapSize < heap.length) {
+                    heap[heapSize] = index;
+                    siftUp(heap, heapSize++);
+                } else if (compare(index, heap[0]) < 0) {
+                    heap[0] = index;
+                    siftDown(heap, 0, heapSize);
+                }
+            }
+            // Heap sort: the worst row is moved to the end
+            for (int end = heapSize - 1; end > 0; end--) {
+                int worst = heap[0];
+                heap[0] = heap[end];
+                heap[end] = worst;
+                siftDown(heap, 0, end);
+            }
+            return heap;
+        }
+
+        private int[] merge(int[] first, int[] second) {
+            int[] merged = new int[Math.min(size, first.length + second.length)];
+            int i = 0;
+            int j = 0;
+            for (int k = 0; k < merged.length; k++) {
+                if (j == second.length || i < first.length && compare(first[i], second[j]) < 0) {
+                    merged[k] = first[i++];
+                } else {
+                    merged[k] = second[j++];
+                }
+            }
+            return merged;
+        }
+
+        private void siftUp(int[] heap, int position) {
+            int index = heap[position];
+            while (position > 0) {
+                int parent = (position - 1) >>> 1;
+                if (compare(heap[parent], index) >= 0) {
+                    break;
+                }
+                heap[position] = heap[parent];
+                position = parent;
+            }
+            heap[position] = index;
+        }
+
+        private void siftDown(int[] heap, int position, int heapSize) {
+            int index = heap[position];
+            int half = heapSize >>> 1;
+            while (position < half) {
+                int child = 2 * position + 1;
+                if (child + 1 < heapSize && compare(heap[child + 1], heap[child]) > 0) {
+                    child++;
+                }
+                if (compare(index, heap[child]) >= 0) {
+                    break;
+                }
+                heap[position] = heap[child];
+                position = child;
+            }
+            heap[position] = index;
+        }
+    }
+
+    /**
+     * Selects the first rows of both halves of a range in parallel and merges them.
+     */
+    private static final class SelectTask extends RecursiveTask<int[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final Selection selection;
+        private final int from;
+        private final int to;
+        private final int partitionSize;
+
+        private SelectTask(Selection selection, int from, int to, int partitionSize) {
+            this.selection = selection;
+            this.from = from;
+            this.to = to;
+            this.partitionSize = partitionSize;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (to - from <= partitionSize) {
+                return selection.select(from, to);
+            }
+            int middle = (from + to) >>> 1;
+            SelectTask second = new SelectTask(selection, middle, to, partitionSize);
+            second.fork();
+            int[] first = new SelectTask(selection, from, middle, partitionSize).compute();
+            return selection.merge(first, second.join());
+        }
+    }
+}
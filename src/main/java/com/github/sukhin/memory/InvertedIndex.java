@@ -0,0 +1,329 @@
+package com.github.sukhin.memory;
+
+import com.github.sukhin.FilterUtils;
+import com.github.sukhin.Qualifier;
+import com.github.sukhin.QualifierValue;
+import com.github.sukhin.condition.AbstractFilterCondition;
+import com.github.sukhin.condition.BooleanFilterCondition;
+import com.github.sukhin.condition.FilterCondition;
+import com.github.sukhin.condition.StringFilterCondition;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Inverted index of low-cardinality {@link String} and {@link Boolean} fields of objects cached in memory, mapping
+ * every value of a field to the {@link RowBitmap} of the rows having it.
+ * <p>
+ * Filters of EQUAL and NOT_EQUAL values are answered by bitmap algebra alone, with the semantics of
+ * {@link FilterPredicates}: values are matched by {@link AbstractFilterCondition#getMatchKey}, so strings follow
+ * the case rules of their {@link com.github.sukhin.condition.StringMatchStrategy}, null field values never match,
+ * values which can't be converted are ignored, values of one field are combined with OR and fields with AND.
+ * A filter with other qualifiers, or with a known field which is not indexed, can't be answered and is left to
+ * {@link FilterPredicates}:
+ * </p>
+ * <pre>
+ * InvertedIndex&lt;Device&gt; index = new InvertedIndex&lt;&gt;(CONDITIONS,
+ *         Map.of("status", Device::status, "vendor", Device::vendor, "online", Device::online));
+ * index.putAll(devicesByRow);
+ * Optional&lt;RowBitmap&gt; rows = index.snapshot().select(filter);
+ * </pre>
+ * <p>
+ * Updates are serialized and publish a new immutable {@link Snapshot}, which shares the bitmaps of unchanged
+ * values with the previous one. Readers take a snapshot without locking and see a consistent state.
+ * </p>
+ *
+ * @param <R> type of objects
+ */
+public class InvertedIndex<R> {
+    private final Map<String, FilterCondition> filterConditions;
+    private final String[] fieldNames;
+    private final AbstractFilterCondition<Object>[] conditions;
+    private final Map<String, AbstractFilterCondition<Object>> conditionsByName = new HashMap<>();
+    private final Function<? super R, Object>[] accessors;
+    private final Map<Integer, Object[]> rowKeys = new HashMap<>();
+    private volatile Snapshot snapshot;
+
+    /**
+     * Creates an empty index.
+     *
+     * @param filterConditions list of fields and filtering conditions for fields of a certain type
+     * @param accessors        functions returning the value of an indexed field
+     * @throws IllegalArgumentException if an indexed field has no {@link StringFilterCondition} or
+     *                                  {@link BooleanFilterCondition}
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public InvertedIndex(Map<String, FilterCondition> filterConditions,
+                         Map<String, ? extends Function<? super R, ?>> accessors) {
+        this.filterConditions = new HashMap<>(filterConditions);
+        this.fieldNames = accessors.keySet().toArray(new String[0]);
+        this.conditions = new AbstractFilterCondition[fieldNames.length];
+        this.accessors = new Function[fieldNames.length];
+        Map<String, Postings> postings = new HashMap<>();
+        for (int i = 0; i < fieldNames.length; i++) {
+            FilterCondition filterCondition = filterConditions.get(fieldNames[i]);
+            if (!(filterCondition instanceof StringFilterCondition)
+                    && !(filterCondition instanceof BooleanFilterCondition)) {
+                throw new IllegalArgumentException("Field " + fieldNames[i] + " can't be indexed by "
+                        + (isNull(filterCondition) ? null : filterCondition.getClass().getName()));
+            }
+            conditions[i] = (AbstractFilterCondition<Object>) filterCondition;
+            conditionsByName.put(fieldNames[i], conditions[i]);
+            this.accessors[i] = (Function<? super R, Object>) requireNonNull(accessors.get(fieldNames[i]));
+            postings.put(fieldNames[i], Postings.EMPTY);
+        }
+        this.snapshot = new Snapshot(RowBitmap.EMPTY, postings);
+    }
+
+    /**
+     * Current state of the index.
+     *
+     * @return immutable snapshot
+     */
+    public Snapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Inserts or replaces an object.
+     *
+     * @param row    row number of the object
+     * @param object object
+     */
+    public void put(int row, R object) {
+        putAll(Map.of(row, object));
+    }
+
+    /**
+     * Inserts or replaces objects and publishes one snapshot.
+     *
+     * @param objects objects by row number
+     */
+    public synchronized void putAll(Map<Integer, ? extends R> objects) {
+        Changes changes = new Changes(fieldNames.length);
+        for (Map.Entry<Integer, ? extends R> entry : objects.entrySet()) {
+            int row = entry.getKey();
+            if (row < 0) {
+                throw new IllegalArgumentException("Row must not be negative: " + row);
+            }
+            Object[] keys = new Object[fieldNames.length];
+            for (int i = 0; i < fieldNames.length; i++) {
+                Object value = accessors[i].apply(entry.getValue());
+                keys[i] = isNull(value) ? null : conditions[i].getMatchKey(value);
+            }
+            changes.update(row, rowKeys.put(row, keys), keys);
+        }
+        publish(changes);
+    }
+
+    /**
+     * Removes an object.
+     *
+     * @param row row number of the object
+     */
+    public synchronized void remove(int row) {
+        Object[] keys = rowKeys.remove(row);
+        if (!isNull(keys)) {
+            Changes changes = new Changes(fieldNames.length);
+            changes.update(row, keys, null);
+            publish(changes);
+        }
+    }
+
+    private void publish(Changes changes) {
+        Snapshot current = snapshot;
+        Map<String, Postings> postings = new HashMap<>(current.postings);
+        for (int i = 0; i < fieldNames.length; i++) {
+            if (!changes.isEmpty(i)) {
+                postings.put(fieldNames[i], current.postings.get(fieldNames[i]).apply(changes, i));
+            }
+        }
+        RowBitmap rows = current.rows.andNot(changes.removedRows.build()).or(changes.addedRows.build());
+        snapshot = new Snapshot(rows, postings);
+    }
+
+    /**
+     * Immutable state of an {@link InvertedIndex}.
+     */
+    public final class Snapshot {
+        private final RowBitmap rows;
+        private final Map<String, Postings> postings;
+
+        private Snapshot(RowBitmap rows, Map<String, Postings> postings) {
+            this.rows = rows;
+            this.postings = postings;
+        }
+
+        /**
+         * Rows of all indexed objects.
+         *
+         * @return bitmap of rows
+         */
+        public RowBitmap getRows() {
+            return rows;
+        }
+
+        /**
+         * Rows having a value of a field.
+         *
+         * @param fieldName name of an indexed field
+         * @param value     filter value, e.g. "true" or "Active"
+         * @return bitmap of rows, empty if the value can't be converted
+         * @throws IllegalArgumentException if the field is not indexed
+         */
+        public RowBitmap getRows(String fieldName, String value) {
+            Postings fieldPostings = postings.get(fieldName);
+            if (isNull(fieldPostings)) {
+                throw new IllegalArgumentException("Field " + fieldName + " is not indexed");
+            }
+            Object key = getKey(fieldName, value);
+            return isNull(key) ? RowBitmap.EMPTY : fieldPostings.get(key);
+        }
+
+        /**
+         * Selects the rows matching a filter by bitmap algebra.
+         *
+         * @param filter list of fields and filtering conditions
+         * @return bitmap of matching rows, empty if the filter can't be answered by the index alone
+         */
+        public Optional<RowBitmap> select(Map<String, List<String>> filter) {
+            RowBitmap selection = rows;
+            for (Map.Entry<String, List<String>> entry : filter.entrySet()) {
+                String fieldName = entry.getKey();
+                Postings fieldPostings = postings.get(fieldName);
+                if (isNull(fieldPostings)) {
+                    if (filterConditions.containsKey(fieldName)) {
+                        return Optional.empty();
+                    }
+                    continue;
+                }
+                RowBitmap fieldSelection = null;
+                for (QualifierValue qualifierValue : FilterUtils.parseQualifierValues(entry.getValue())) {
+                    Qualifier qualifier = qualifierValue.qualifier();
+                    if (Qualifier.EQUAL != qualifier && Qualifier.NOT_EQUAL != qualifier) {
+                        if (isFiltering(fieldName, qualifier)) {
+                            return Optional.empty();
+                        }
+                        continue;
+                    }
+                    Object key = getKey(fieldName, qualifierValue.value());
+                    if (isNull(key)) {
+                        continue;
+                    }
+                    RowBitmap valueRows = Qualifier.EQUAL == qualifier
+                            ? fieldPostings.get(key)
+                            : fieldPostings.nonNull.andNot(fieldPostings.get(key));
+                    fieldSelection = isNull(fieldSelection) ? valueRows : fieldSelection.or(valueRows);
+                }
+                if (!isNull(fieldSelection)) {
+                    selection = selection.and(fieldSelection);
+                }
+            }
+            return Optional.of(selection);
+        }
+
+        private Object getKey(String fieldName, String value) {
+            AbstractFilterCondition<Object> condition = conditionsByName.get(fieldName);
+            return condition.getConvertedValue(value).map(condition::getMatchKey).orElse(null);
+        }
+
+        private boolean isFiltering(String fieldName, Qualifier qualifier) {
+            // Other qualifiers have no predicate, they are ignored
+            return filterConditions.get(fieldName) instanceof StringFilterCondition
+                    && (Qualifier.LIKE == qualifier || Qualifier.NOT_LIKE == qualifier);
+        }
+    }
+
+    /**
+     * Bitmaps of the values of a field.
+     */
+    private static final class Postings {
+        private static final Postings EMPTY = new Postings(Map.of(), RowBitmap.EMPTY);
+
+        private final Map<Object, RowBitmap> bitmaps;
+        private final RowBitmap nonNull;
+
+        private Postings(Map<Object, RowBitmap> bitmaps, RowBitmap nonNull) {
+            this.bitmaps = bitmaps;
+            this.nonNull = nonNull;
+        }
+
+        private RowBitmap get(Object key) {
+            return bitmaps.getOrDefault(key, RowBitmap.EMPTY);
+        }
+
+        private Postings apply(Changes changes, int field) {
+            Map<Object, RowBitmap> newBitmaps = new HashMap<>(bitmaps);
+            RowBitmap removed = RowBitmap.EMPTY;
+            RowBitmap added = RowBitmap.EMPTY;
+            for (Map.Entry<Object, RowBitmap.Builder[]> entry : changes.fields.get(field).entrySet()) {
+                RowBitmap keyRemoved = entry.getValue()[0].build();
+                RowBitmap keyAdded = entry.getValue()[1].build();
+                RowBitmap bitmap = get(entry.getKey()).andNot(keyRemoved).or(keyAdded);
+                if (bitmap.isEmpty()) {
+                    newBitmaps.remove(entry.getKey());
+                } else {
+                    newBitmaps.put(entry.getKey(), bitmap);
+                }
+                removed = removed.or(keyRemoved);
+                added = added.or(keyAdded);
+            }
+            return new Postings(newBitmaps, nonNull.andNot(removed).or(added));
+        }
+    }
+
+    /**
+     * Rows removed from and added to the bitmaps of values, collected for a batch of updates.
+     */
+    private static final class Changes {
+        private final List<Map<Object, RowBitmap.Builder[]>> fields;
+        private final RowBitmap.Builder removedRows = new RowBitmap.Builder();
+        private final RowBitmap.Builder addedRows = new RowBitmap.Builder();
+
+        private Changes(int fieldCount) {
+            fields = new ArrayList<>(fieldCount);
+            for (int i = 0; i < fieldCount; i++) {
+                fields.add(new LinkedHashMap<>());
+            }
+        }
+
+        private void update(int row, Object[] oldKeys, Object[] newKeys) {
+            if (isNull(newKeys)) {
+                removedRows.add(row);
+            } else {
+                addedRows.add(row);
+            }
+            for (int i = 0; i < fields.size(); i++) {
+                Object oldKey = isNull(oldKeys) ? null : oldKeys[i];
+                Object newKey = isNull(newKeys) ? null : newKeys[i];
+                if (Objects.equals(oldKey, newKey)) {
+                    continue;
+                }
+                if (!isNull(oldKey)) {
+                    builders(i, oldKey)[0].add(row);
+                }
+                if (!isNull(newKey)) {
+                    builders(i, newKey)[1].add(row);
+                }
+            }
+        }
+
+        private RowBitmap.Builder[] builders(int field, Object key) {
+            return fields.get(field).computeIfAbsent(key,
+                    k -> new RowBitmap.Builder[]{new RowBitmap.Builder(), new RowBitmap.Builder()});
+        }
+
+        private boolean isEmpty(int field) {
+            return fields.get(field).isEmpty();
+        }
+    }
+}
@@ -0,0 +1,584 @@
+package com.github.sukhin.memory;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Immutable compressed set of row numbers, organized like a roaring bitmap.
+ * <p>
+ * Rows are split by their high 16 bits into containers of 65536 rows. A container with up to 4096 rows is a sorted
+ * array of the low 16 bits, a denser container is a bitmap of 1024 words. Set operations work container by
+ * container, and containers which don't change are shared between bitmaps, so {@link #add(int)} and
+ * {@link #remove(int)} copy at most one container.
+ * </p>
+ */
+public final class RowBitmap {
+    /**
+     * Bitmap without rows.
+     */
+    public static final RowBitmap EMPTY = new RowBitmap(new char[0], new Container[0], 0);
+
+    private static final int ARRAY_MAX = 4096;
+    private static final int WORDS = 1024;
+
+    private final char[] keys;
+    private final Container[] containers;
+    private final int cardinality;
+
+    private RowBitmap(char[] keys, Container[] containers, int size) {
+        this.keys = size == keys.length ? keys : Arrays.copyOf(keys, size);
+        this.containers = size == containers.length ? containers : Arrays.copyOf(containers, size);
+        int count = 0;
+        for (Container container : this.containers) {
+            count += container.cardinality();
+        }
+        this.cardinality = count;
+    }
+
+    /**
+     * Creates a bitmap of rows.
+     *
+     * @param rows row numbers in any order, duplicates are allowed
+     * @return bitmap
+     * @throws IllegalArgumentException if a row number is negative
+     */
+    public static RowBitmap of(int... rows) {
+        if (rows.length == 0) {
+            return EMPTY;
+        }
+        int[] sorted = rows.clone();
+        Arrays.sort(sorted);
+        if (sorted[0] < 0) {
+            throw new IllegalArgumentException("Row must not be negative: " + sorted[0]);
+        }
+        char[] keys = new char[(sorted[sorted.length - 1] >>> 16) + 1];
+        Container[] containers = new Container[keys.length];
+        int size = 0;
+        char[] lows = new char[Math.min(sorted.length, 1 << 16)];
+        for (int start = 0; start < sorted.length; ) {
+            int high = sorted[start] >>> 16;
+            int count = 0;
+            int end = start;
+            for (; end < sorted.length && sorted[end] >>> 16 == high; end++) {
+                char low = (char) sorted[end];
+                if (count == 0 || lows[count - 1] != low) {
+                    lows[count++] = low;
+                }
+            }
+            keys[size] = (char) high;
+            containers[size++] = count <= ARRAY_MAX
+                    ? new ArrayContainer(Arrays.copyOf(lows, count))
+                    : BitmapContainer.of(lows, count);
+            start = end;
+        }
+        return new RowBitmap(keys, containers, size);
+    }
+
+    /**
+     * Number of rows.
+     *
+     * @return cardinality
+     */
+    public int cardinality() {
+        return cardinality;
+    }
+
+    /**
+     * Whether the bitmap has no rows.
+     *
+     * @return true if there are no rows
+     */
+    public boolean isEmpty() {
+        return cardinality == 0;
+    }
+
+    /**
+     * Checks whether a row is in the bitmap.
+     *
+     * @param row row number
+     * @return true if the row is in the bitmap
+     */
+    public boolean contains(int row) {
+        if (row < 0) {
+            return false;
+        }
+        int index = Arrays.binarySearch(keys, (char) (row >>> 16));
+        return index >= 0 && containers[index].contains((char) row);
+    }
+
+    /**
+     * Adds a row, copying one container.
+     *
+     * @param row row number
+     * @return bitmap with the row, this bitmap if it already contains the row
+     */
+    public RowBitmap add(int row) {
+        if (row < 0) {
+            throw new IllegalArgumentException("Row must not be negative: " + row);
+        }
+        char high = (char) (row >>> 16);
+        int index = Arrays.binarySearch(keys, high);
+        if (index >= 0) {
+            if (containers[index].contains((char) row)) {
+                return this;
+            }
+            Container[] newContainers = containers.clone();
+            newContainers[index] = containers[index].add((char) row);
+            return new RowBitmap(keys, newContainers, keys.length);
+        }
+        int insertion = -index - 1;
+        char[] newKeys = new char[keys.length + 1];
+        Container[] newContainers = new Container[keys.length + 1];
+        System.arraycopy(keys, 0, newKeys, 0, insertion);
+        System.arraycopy(containers, 0, newContainers, 0, insertion);
+        newKeys[insertion] = high;
+        newContainers[insertion] = new ArrayContainer(new char[]{(char) row});
+        System.arraycopy(keys, insertion, newKeys, insertion + 1, keys.length - insertion);
+        System.arraycopy(containers, insertion, newContainers, insertion + 1, keys.length - insertion);
+        return new RowBitmap(newKeys, newContainers, newKeys.length);
+    }
+
+    /**
+     * Removes a row, copying one container.
+     *
+     * @param row row number
+     * @return bitmap without the row, this bitmap if it doesn't contain the row
+     */
+    public RowBitmap remove(int row) {
+        if (!contains(row)) {
+            return this;
+        }
+        int index = Arrays.binarySearch(keys, (char) (row >>> 16));
+        Container container = containers[index].remove((char) row);
+        if (container != null) {
+            Container[] newContainers = containers.clone();
+            newContainers[index] = container;
+            return new RowBitmap(keys, newContainers, keys.length);
+        }
+        char[] newKeys = new char[keys.length - 1];
+        Container[] newContainers = new Container[keys.length - 1];
+        System.arraycopy(keys, 0, newKeys, 0, index);
+        System.arraycopy(containers, 0, newContainers, 0, index);
+        System.arraycopy(keys, index + 1, newKeys, index, newKeys.length - index);
+        System.arraycopy(containers, index + 1, newContainers, index, newContainers.length - index);
+        return new RowBitmap(newKeys, newContainers, newKeys.length);
+    }
+
+    /**
+     * Union of two bitmaps.
+     *
+     * @param other other bitmap
+     * @return rows in either bitmap
+     */
+    public RowBitmap or(RowBitmap other) {
+        if (other.isEmpty()) {
+            return this;
+        } else if (isEmpty()) {
+            return other;
+        }
+        char[] newKeys = new char[keys.length + other.keys.length];
+        Container[] newContainers = new Container[newKeys.length];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < keys.length || j < other.keys.length) {
+            int compareResult = i == keys.length ? 1 : j == other.keys.length ? -1
+                    : Character.compare(keys[i], other.keys[j]);
+            if (compareResult < 0) {
+                newKeys[size] = keys[i];
+                newContainers[size++] = containers[i++];
+            } else if (compareResult > 0) {
+                newKeys[size] = other.keys[j];
+                newContainers[size++] = other.containers[j++];
+            } else {
+                newKeys[size] = keys[i];
+                newContainers[size++] = or(containers[i++], other.containers[j++]);
+            }
+        }
+        return new RowBitmap(newKeys, newContainers, size);
+    }
+
+    /**
+     * Intersection of two bitmaps.
+     *
+     * @param other other bitmap
+     * @return rows in both bitmaps
+     */
+    public RowBitmap and(RowBitmap other) {
+        char[] newKeys = new char[Math.min(keys.length, other.keys.length)];
+        Container[] newContainers = new Container[newKeys.length];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < keys.length && j < other.keys.length) {
+            int compareResult = Character.compare(keys[i], other.keys[j]);
+            if (compareResult < 0) {
+                i++;
+            } else if (compareResult > 0) {
+                j++;
+            } else {
+                Container container = and(containers[i], other.containers[j]);
+                if (container != null) {
+                    newKeys[size] = keys[i];
+                    newContainers[size++] = container;
+                }
+                i++;
+                j++;
+            }
+        }
+        return size == 0 ? EMPTY : new RowBitmap(newKeys, newContainers, size);
+    }
+
+    /**
+     * Difference of two bitmaps.
+     *
+     * @param other bitmap of rows to remove
+     * @return rows of this bitmap which are not in the other one
+     */
+    public RowBitmap andNot(RowBitmap other) {
+        if (isEmpty() || other.isEmpty()) {
+            return this;
+        }
+        char[] newKeys = new char[keys.length];
+        Container[] newContainers = new Container[keys.length];
+        int size = 0;
+        int j = 0;
+        for (int i = 0; i < keys.length; i++) {
+            while (j < other.keys.length && other.keys[j] < keys[i]) {
+                j++;
+            }
+            Container container = j < other.keys.length && other.keys[j] == keys[i]
+                    ? andNot(containers[i], other.containers[j])
+                    : containers[i];
+            if (container != null) {
+                newKeys[size] = keys[i];
+                newContainers[size++] = container;
+            }
+        }
+        return size == 0 ? EMPTY : new RowBitmap(newKeys, newContainers, size);
+    }
+
+    /**
+     * Returns the rows in ascending order.
+     *
+     * @return row numbers
+     */
+    public int[] toArray() {
+        int[] rows = new int[cardinality];
+        int[] position = new int[1];
+        forEach(row -> rows[position[0]++] = row);
+        return rows;
+    }
+
+    /**
+     * Passes the rows to a consumer in ascending order.
+     *
+     * @param consumer consumer of row numbers
+     */
+    public void forEach(IntConsumer consumer) {
+        for (int i = 0; i < keys.length; i++) {
+            containers[i].forEach(keys[i] << 16, consumer);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        } else if (!(o instanceof RowBitmap)) {
+            return false;
+        }
+        RowBitmap other = (RowBitmap) o;
+        return cardinality == other.cardinality && Arrays.equals(toArray(), other.toArray());
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(toArray());
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+    /**
+     * Collector of row numbers for {@link RowBitmap#of(int...)}, not thread-safe.
+     */
+    public static final class Builder {
+        private int[] rows = new int[8];
+        private int size;
+
+        /**
+         * Adds a row.
+         *
+         * @param row row number
+         * @return this builder
+         */
+        public Builder add(int row) {
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, size * 2);
+            }
+            rows[size++] = row;
+            return this;
+        }
+
+        /**
+         * Creates a bitmap of the added rows.
+         *
+         * @return bitmap
+         * @throws IllegalArgumentException if a row number is negative
+         */
+        public RowBitmap build() {
+            return of(Arrays.copyOf(rows, size));
+        }
+    }
+
+    private static Container or(Container first, Container second) {
+        if (first instanceof ArrayContainer && second instanceof ArrayContainer) {
+            char[] values1 = ((ArrayContainer) first).values;
+            char[] values2 = ((ArrayContainer) second).values;
+            char[] union = new char[values1.length + values2.length];
+            int size = 0;
+            int i = 0;
+            int j = 0;
+            while (i < values1.length || j < values2.length) {
+                if (j == values2.length || i < values1.length && values1[i] < values2[j]) {
+                    union[size++] = values1[i++];
+                } else {
+                    if (i < values1.length && values1[i] == values2[j]) {
+                        i++;
+                    }
+                    union[size++] = values2[j++];
+                }
+            }
+            return size <= ARRAY_MAX ? new ArrayContainer(Arrays.copyOf(union, size)) : BitmapContainer.of(union, size);
+        }
+        long[] words = first.toWords();
+        second.orInto(words);
+        return BitmapContainer.of(words);
+    }
+
+    private static Container and(Container first, Container second) {
+        if (first instanceof BitmapContainer && second instanceof BitmapContainer) {
+            long[] words = first.toWords();
+            long[] otherWords = ((BitmapContainer) second).words;
+            for (int i = 0; i < WORDS; i++) {
+                words[i] &= otherWords[i];
+            }
+            return BitmapContainer.of(words);
+        }
+        ArrayContainer array = (ArrayContainer) (first instanceof ArrayContainer ? first : second);
+        Container other = array == first ? second : first;
+        return array.filter(other, true);
+    }
+
+    private static Container andNot(Container first, Container second) {
+        if (first instanceof ArrayContainer) {
+            return ((ArrayContainer) first).filter(second, false);
+        }
+        long[] words = first.toWords();
+        if (second instanceof ArrayContainer) {
+            for (char value : ((ArrayContainer) second).values) {
+                words[value >>> 6] &= ~(1L << value);
+            }
+        } else {
+            long[] otherWords = ((BitmapContainer) second).words;
+            for (int i = 0; i < WORDS; i++) {
+                words[i] &= ~otherWords[i];
+            }
+        }
+        return BitmapContainer.of(words);
+    }
+
+    /**
+     * Set of the low 16 bits of the rows sharing the same high 16 bits, never empty.
+     */
+    private abstract static class Container {
+        abstract int cardinality();
+
+        abstract boolean contains(char value);
+
+        abstract Container add(char value);
+
+        abstract Container remove(char value);
+
+        abstract long[] toWords();
+
+        abstract void orInto(long[] words);
+
+        abstract void forEach(int base, IntConsumer consumer);
+    }
+
+    /**
+     * Sorted array of at most {@link #ARRAY_MAX} values.
+     */
+    private static final class ArrayContainer extends Container {
+        private final char[] values;
+
+        private ArrayContainer(char[] values) {
+            this.values = values;
+        }
+
+        @Override
+        int cardinality() {
+            return values.length;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return Arrays.binarySearch(values, value) >= 0;
+        }
+
+        @Override
+        Container add(char value) {
+            if (values.length == ARRAY_MAX) {
+                long[] words = toWords();
+                words[value >>> 6] |= 1L << value;
+                return new BitmapContainer(words, ARRAY_MAX + 1);
+            }
+            int insertion = -Arrays.binarySearch(values, value) - 1;
+            char[] newValues = new char[values.length + 1];
+            System.arraycopy(values, 0, newValues, 0, insertion);
+            newValues[insertion] = value;
+            System.arraycopy(values, insertion, newValues, insertion + 1, values.length - insertion);
+            return new ArrayContainer(newValues);
+        }
+
+        @Override
+        Container remove(char value) {
+            if (values.length == 1) {
+                return null;
+            }
+            int index = Arrays.binarySearch(values, value);
+            char[] newValues = new char[values.length - 1];
+            System.arraycopy(values, 0, newValues, 0, index);
+            System.arraycopy(values, index + 1, newValues, index, newValues.length - index);
+            return new ArrayContainer(newValues);
+        }
+
+        /**
+         * Keeps the values which are (or are not) in another container.
+         */
+        private Container filter(Container other, boolean contained) {
+            char[] kept = new char[values.length];
+            int size = 0;
+            for (char value : values) {
+                if (other.contains(value) == contained) {
+                    kept[size++] = value;
+                }
+            }
+            return size == 0 ? null : size == values.length ? this : new ArrayContainer(Arrays.copyOf(kept, size));
+        }
+
+        @Override
+        long[] toWords() {
+            long[] words = new long[WORDS];
+            orInto(words);
+            return words;
+        }
+
+        @Override
+        void orInto(long[] words) {
+            for (char value : values) {
+                words[value >>> 6] |= 1L << value;
+            }
+        }
+
+        @Override
+        void forEach(int base, IntConsumer consumer) {
+            for (char value : values) {
+                consumer.accept(base | value);
+            }
+        }
+    }
+
+    /**
+     * Bitmap of more than {@link #ARRAY_MAX} values.
+     */
+    private static final class BitmapContainer extends Container {
+        private final long[] words;
+        private final int cardinality;
+
+        private BitmapContainer(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        private static Container of(char[] values, int size) {
+            long[] words = new long[WORDS];
+            for (int i = 0; i < size; i++) {
+                words[values[i] >>> 6] |= 1L << values[i];
+            }
+            return of(words);
+        }
+
+        /**
+         * Creates the smallest container of the bits, null if there are none.
+         */
+        private static Container of(long[] words) {
+            int cardinality = 0;
+            for (long word : words) {
+                cardinality += Long.bitCount(word);
+            }
+            if (cardinality == 0) {
+                return null;
+            } else if (cardinality > ARRAY_MAX) {
+                return new BitmapContainer(words, cardinality);
+            }
+            char[] values = new char[cardinality];
+            int size = 0;
+            for (int i = 0; i < WORDS; i++) {
+                for (long word = words[i]; word != 0; word &= word - 1) {
+                    values[size++] = (char) (i << 6 | Long.numberOfTrailingZeros(word));
+                }
+            }
+            return new ArrayContainer(values);
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return (words[value >>> 6] & 1L << value) != 0;
+        }
+
+        @Override
+        Container add(char value) {
+            long[] newWords = words.clone();
+            newWords[value >>> 6] |= 1L << value;
+            return new BitmapContainer(newWords, cardinality + 1);
+        }
+
+        @Override
+        Container remove(char value) {
+            long[] newWords = words.clone();
+            newWords[value >>> 6] &= ~(1L << value);
+            return cardinality - 1 > ARRAY_MAX ? new BitmapContainer(newWords, cardinality - 1) : of(newWords);
+        }
+
+        @Override
+        long[] toWords() {
+            return words.clone();
+        }
+
+        @Override
+        void orInto(long[] target) {
+            for (int i = 0; i < WORDS; i++) {
+                target[i] |= words[i];
+            }
+        }
+
+        @Override
+        void forEach(int base, IntConsumer consumer) {
+            for (int i = 0; i < WORDS; i++) {
+                for (long word = words[i]; word != 0; word &= word - 1) {
+                    consumer.accept(base | i << 6 | Long.numberOfTrailingZeros(word));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.github.sukhin.metrics;
+
+import com.github.sukhin.Qualifier;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Receiver of filter parsing and condition building events, installed with {@link FilterListeners#set}.
+ * <p>
+ * Events are reported synchronously from the thread building the condition, so implementations must be
+ * thread-safe and cheap. All methods do nothing by default. While {@link #NONE} is installed no event is created
+ * and no time is measured.
+ * </p>
+ */
+public interface FilterListener {
+    /**
+     * Listener which ignores all events.
+     */
+    FilterListener NONE = new FilterListener() {
+    };
+
+    /**
+     * A phase of a filter has completed.
+     *
+     * @param phase phase
+     * @param nanos duration in nanoseconds
+     */
+    default void phase(FilterPhase phase, long nanos) {
+    }
+
+    /**
+     * A filter value of a known field has been parsed.
+     *
+     * @param fieldName name of the filter field
+     * @param qualifier qualifier of the value
+     */
+    default void valueUsed(String fieldName, Qualifier qualifier) {
+    }
+
+    /**
+     * A filter value can't be converted to the field type and is ignored.
+     *
+     * @param fieldName name of the filter field, the database field name if the value isn't converted by
+     *                  {@link com.github.sukhin.FilterUtils}, see {@link FilterListeners#withFieldName}
+     * @param value     text representation of the value
+     */
+    default void valueDropped(String fieldName, String value) {
+    }
+
+    /**
+     * The condition of a whole filter has been built.
+     *
+     * @param filter list of fields and filtering conditions
+     * @param nanos  duration of parsing and building in nanoseconds
+     */
+    default void filterBuilt(Map<String, List<String>> filter, long nanos) {
+    }
+
+    /**
+     * A query has been rendered, reported by {@link RenderTimingListener}.
+     *
+     * @param sql   rendered SQL
+     * @param nanos duration in nanoseconds
+     */
+    default void rendered(String sql, long nanos) {
+    }
+}
@@ -0,0 +1,86 @@
+package com.github.sukhin.metrics;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.function.Supplier;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Holder of the global {@link FilterListener}, {@link FilterListener#NONE} by default.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class FilterListeners {
+    private static final ThreadLocal<String> FIELD_NAME = new ThreadLocal<>();
+    private static volatile FilterListener listener = FilterListener.NONE;
+
+    /**
+     * Returns the installed listener.
+     *
+     * @return listener, {@link FilterListener#NONE} if none is installed
+     */
+    public static FilterListener get() {
+        return listener;
+    }
+
+    /**
+     * Installs a listener, replacing the previous one.
+     *
+     * @param filterListener listener
+     */
+    public static void set(FilterListener filterListener) {
+        requireNonNull(filterListener);
+        listener = filterListener;
+    }
+
+    /**
+     * Removes the installed listener.
+     */
+    public static void reset() {
+        listener = FilterListener.NONE;
+    }
+
+    /**
+     * Checks whether a listener is installed, callers skip measuring if it isn't.
+     *
+     * @return true if a listener other than {@link FilterListener#NONE} is installed
+     */
+    public static boolean isEnabled() {
+        return listener != FilterListener.NONE;
+    }
+
+    /**
+     * Builds the condition of a filter field, values dropped meanwhile by the current thread are reported with the
+     * name of the filter field instead of the database field.
+     *
+     * @param fieldName name of the filter field
+     * @param action    action converting values of the field
+     * @param <T>       type of the result
+     * @return result of the action
+     */
+    public static <T> T withFieldName(String fieldName, Supplier<T> action) {
+        String previous = FIELD_NAME.get();
+        FIELD_NAME.set(fieldName);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                FIELD_NAME.remove();
+            } else {
+                FIELD_NAME.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Returns the name of the filter field whose values the current thread converts.
+     *
+     * @param defaultName name used outside of {@link #withFieldName(String, Supplier)}
+     * @return name of the filter field
+     */
+    public static String getFieldName(String defaultName) {
+        String fieldName = FIELD_NAME.get();
+        return fieldName == null ? defaultName : fieldName;
+    }
+}
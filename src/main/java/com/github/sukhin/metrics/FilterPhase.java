@@ -0,0 +1,23 @@
+package com.github.sukhin.metrics;
+
+/**
+ * Phases of turning a filter into SQL, see {@link FilterListener#phase(FilterPhase, long)}.
+ */
+public enum FilterPhase {
+    /**
+     * Parsing strings like "!=20" into qualifiers and values, once per field.
+     */
+    PARSE,
+    /**
+     * Converting a text value to the field type, once per value.
+     */
+    CONVERT,
+    /**
+     * Building the condition of a field from parsed values, conversion included.
+     */
+    BUILD,
+    /**
+     * Rendering a query to SQL, reported by {@link RenderTimingListener}.
+     */
+    RENDER
+}
@@ -0,0 +1,193 @@
+package com.github.sukhin.metrics;
+
+import com.github.sukhin.Qualifier;
+import com.github.sukhin.admission.AdmissionDecision;
+import com.github.sukhin.admission.AdmissionListener;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * {@link FilterListener} and {@link AdmissionListener} which keeps statistics in memory: latency histograms of
+ * every {@link FilterPhase}, usage counters per field and {@link Qualifier}, counters of dropped values per field,
+ * counters of admission decisions, and a log of slow filters and queries.
+ * <p>
+ * Slow filters and queries are logged with {@link System.Logger} at WARNING level, the statistics are read with
+ * the getters and can be exported to any metrics system.
+ * </p>
+ */
+public class InMemoryFilterRecorder implements FilterListener, AdmissionListener {
+    private static final System.Logger LOGGER = System.getLogger(InMemoryFilterRecorder.class.getName());
+    private static final Qualifier[] QUALIFIERS = Qualifier.values();
+
+    private final long slowFilterNanos;
+    private final long slowRenderNanos;
+    private final Map<FilterPhase, LatencyHistogram> latencies = new EnumMap<>(FilterPhase.class);
+    private final Map<String, AtomicLongArray> usage = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> dropped = new ConcurrentHashMap<>();
+    private final Map<AdmissionDecision, LongAdder> admissions = new EnumMap<>(AdmissionDecision.class);
+    private final LongAdder degraded = new LongAdder();
+    private final LongAdder slowFilters = new LongAdder();
+    private final LongAdder slowRenders = new LongAdder();
+
+    /**
+     * Creates a new recorder.
+     *
+     * @param slowFilterThreshold filters which take longer to parse and build are logged
+     * @param slowRenderThreshold queries which take longer to render are logged
+     */
+    public InMemoryFilterRecorder(Duration slowFilterThreshold, Duration slowRenderThreshold) {
+        requireNonNull(slowFilterThreshold);
+        requireNonNull(slowRenderThreshold);
+        this.slowFilterNanos = slowFilterThreshold.toNanos();
+        this.slowRenderNanos = slowRenderThreshold.toNanos();
+        for (FilterPhase phase : FilterPhase.values()) {
+            latencies.put(phase, new LatencyHistogram());
+        }
+        for (AdmissionDecision decision : AdmissionDecision.values()) {
+            admissions.put(decision, new LongAdder());
+        }
+    }
+
+    @Override
+    public void phase(FilterPhase phase, long nanos) {
+        latencies.get(phase).record(nanos);
+    }
+
+    @Override
+    public void valueUsed(String fieldName, Qualifier qualifier) {
+        usage.computeIfAbsent(fieldName, name -> new AtomicLongArray(QUALIFIERS.length))
+                .incrementAndGet(qualifier.ordinal());
+    }
+
+    @Override
+    public void valueDropped(String fieldName, String value) {
+        dropped.computeIfAbsent(fieldName, name -> new LongAdder()).increment();
+    }
+
+    @Override
+    public void filterBuilt(Map<String, List<String>> filter, long nanos) {
+        if (nanos >= slowFilterNanos) {
+            slowFilters.increment();
+            LOGGER.log(System.Logger.Level.WARNING, "Slow filter: {0} us, {1}", nanos / 1000, filter);
+        }
+    }
+
+    @Override
+    public void filterAdmitted(AdmissionDecision decision, boolean degraded, double cost) {
+        admissions.get(decision).increment();
+        if (degraded) {
+            this.degraded.increment();
+        }
+    }
+
+    @Override
+    public void rendered(String sql, long nanos) {
+        latencies.get(FilterPhase.RENDER).record(nanos);
+        if (nanos >= slowRenderNanos) {
+            slowRenders.increment();
+            LOGGER.log(System.Logger.Level.WARNING, "Slow render: {0} us, {1}", nanos / 1000, sql);
+        }
+    }
+
+    /**
+     * Latency histogram of a phase.
+     *
+     * @param phase phase
+     * @return snapshot of the histogram
+     */
+    public LatencySnapshot getLatency(FilterPhase phase) {
+        return latencies.get(phase).snapshot();
+    }
+
+    /**
+     * Number of parsed values per filter field and qualifier, qualifiers which were never used are omitted.
+     *
+     * @return usage counters sorted by field name
+     */
+    public Map<String, Map<Qualifier, Long>> getUsage() {
+        Map<String, Map<Qualifier, Long>> result = new TreeMap<>();
+        for (Map.Entry<String, AtomicLongArray> entry : usage.entrySet()) {
+            Map<Qualifier, Long> counters = new EnumMap<>(Qualifier.class);
+            for (Qualifier qualifier : QUALIFIERS) {
+                long count = entry.getValue().get(qualifier.ordinal());
+                if (count > 0) {
+                    counters.put(qualifier, count);
+                }
+            }
+            result.put(entry.getKey(), Collections.unmodifiableMap(counters));
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * Number of values which could not be converted per database field.
+     *
+     * @return dropped value counters sorted by field name
+     */
+    public Map<String, Long> getDroppedValues() {
+        Map<String, Long> result = new TreeMap<>();
+        dropped.forEach((name, count) -> result.put(name, count.sum()));
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * Number of filters per admission decision.
+     *
+     * @return admission counters of all decisions
+     */
+    public Map<AdmissionDecision, Long> getAdmissions() {
+        Map<AdmissionDecision, Long> result = new EnumMap<>(AdmissionDecision.class);
+        admissions.forEach((decision, count) -> result.put(decision, count.sum()));
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * Number of filters whose values were capped by admission control.
+     *
+     * @return count of degraded filters
+     */
+    public long getDegradedCount() {
+        return degraded.sum();
+    }
+
+    /**
+     * Number of filters which exceeded the slow filter threshold.
+     *
+     * @return count of slow filters
+     */
+    public long getSlowFilterCount() {
+        return slowFilters.sum();
+    }
+
+    /**
+     * Number of queries which exceeded the slow render threshold.
+     *
+     * @return count of slow renders
+     */
+    public long getSlowRenderCount() {
+        return slowRenders.sum();
+    }
+
+    /**
+     * Clears all statistics.
+     */
+    public void reset() {
+        latencies.values().forEach(LatencyHistogram::reset);
+        usage.clear();
+        dropped.clear();
+        admissions.values().forEach(LongAdder::reset);
+        degraded.reset();
+        slowFilters.reset();
+        slowRenders.reset();
+    }
+}
@@ -0,0 +1,54 @@
+package com.github.sukhin.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of latencies with power-of-two buckets, recording is a few atomic increments.
+ */
+public class LatencyHistogram {
+    private final AtomicLongArray buckets = new AtomicLongArray(64);
+    private final LongAdder total = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records a measurement, negative values are recorded as zero.
+     *
+     * @param nanos duration in nanoseconds
+     */
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        buckets.incrementAndGet(64 - Long.numberOfLeadingZeros(value));
+        total.add(value);
+        if (value > max.get()) {
+            max.accumulateAndGet(value, Math::max);
+        }
+    }
+
+    /**
+     * Copies the current state, concurrent recordings may be partially included.
+     *
+     * @return snapshot
+     */
+    public LatencySnapshot snapshot() {
+        long[] copy = new long[buckets.length()];
+        long count = 0;
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] = buckets.get(i);
+            count += copy[i];
+        }
+        return new LatencySnapshot(count, total.sum(), max.get(), copy);
+    }
+
+    /**
+     * Clears all measurements.
+     */
+    public void reset() {
+        for (int i = 0; i < buckets.length(); i++) {
+            buckets.set(i, 0);
+        }
+        total.reset();
+        max.set(0);
+    }
+}
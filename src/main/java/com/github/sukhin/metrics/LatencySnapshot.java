@@ -0,0 +1,47 @@
+package com.github.sukhin.metrics;
+
+/**
+ * Point-in-time copy of a log2 latency histogram.
+ *
+ * @param count      number of measurements
+ * @param totalNanos sum of measurements in nanoseconds
+ * @param maxNanos   largest measurement in nanoseconds
+ * @param buckets    bucket i counts measurements from 2^(i-1) to 2^i - 1 nanoseconds, bucket 0 counts zeros
+ */
+public record LatencySnapshot(
+        long count,
+        long totalNanos,
+        long maxNanos,
+        long[] buckets
+) {
+    /**
+     * Mean of the measurements.
+     *
+     * @return mean in nanoseconds, 0 if there are no measurements
+     */
+    public double mean() {
+        return count == 0 ? 0 : (double) totalNanos / count;
+    }
+
+    /**
+     * Upper estimate of a percentile, precise within a factor of two.
+     *
+     * @param percentile percentile from 0 to 100
+     * @return upper bound of the bucket holding the percentile in nanoseconds, 0 if there are no measurements
+     */
+    public long percentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be from 0 to 100: " + percentile);
+        }
+        long rank = (long) Math.ceil(count * percentile / 100);
+        long seen = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i];
+            if (seen >= rank && seen > 0) {
+                long upper = i == 0 ? 0 : (1L << i) - 1;
+                return Math.min(upper, maxNanos);
+            }
+        }
+        return 0;
+    }
+}
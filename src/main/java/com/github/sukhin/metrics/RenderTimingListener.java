@@ -0,0 +1,31 @@
+package com.github.sukhin.metrics;
+
+import org.jooq.ExecuteContext;
+import org.jooq.ExecuteListener;
+
+/**
+ * jOOQ {@link ExecuteListener} which reports SQL rendering time to the installed {@link FilterListener}.
+ * <p>
+ * Register it with {@code configuration.set(new DefaultExecuteListenerProvider(new RenderTimingListener()))}.
+ * It keeps no state besides the execute context, one instance can be shared.
+ * </p>
+ */
+public class RenderTimingListener implements ExecuteListener {
+    private static final long serialVersionUID = 1L;
+    private static final String RENDER_START = RenderTimingListener.class.getName() + ".renderStart";
+
+    @Override
+    public void renderStart(ExecuteContext ctx) {
+        if (FilterListeners.isEnabled()) {
+            ctx.data(RENDER_START, System.nanoTime());
+        }
+    }
+
+    @Override
+    public void renderEnd(ExecuteContext ctx) {
+        Object start = ctx.data(RENDER_START);
+        if (start instanceof Long) {
+            FilterListeners.get().rendered(ctx.sql(), System.nanoTime() - (Long) start);
+        }
+    }
+}
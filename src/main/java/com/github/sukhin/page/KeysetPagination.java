@@ -0,0 +1,316 @@
+package com.github.sukhin.page;
+
+import org.jooq.Condition;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.SortField;
+import org.jooq.SortOrder;
+import org.jooq.impl.DSL;
+import org.jooq.impl.QOM;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Keyset (seek) pagination over sort fields, e.g. those of
+ * {@link com.github.sukhin.FilterUtils#getSortFieldsFromQualifierValues(java.util.Map, List)}.
+ * <p>
+ * A unique tiebreaker field is appended to the sort fields, so the order is total. The last row of a page is
+ * encoded into an opaque cursor, the cursor is turned into a condition selecting the rows after that row, so every
+ * page costs the same as the first one:
+ * </p>
+ * <pre>
+ * KeysetPagination pagination = new KeysetPagination(sortFields, FLOW.ID);
+ * ctx.selectFrom(FLOW)
+ *         .where(filterCondition.and(pagination.getSeekCondition(cursor)))
+ *         .orderBy(pagination.getSortFields())
+ *         .limit(pageSize)
+ * </pre>
+ * <p>
+ * Nullable sort fields without an explicit null ordering are sorted NULLS LAST in ascending and NULLS FIRST in
+ * descending order, like PostgreSQL does, so the seek condition and ORDER BY agree on every database. Null values
+ * are encoded in the cursor and sought with "is null" and "is not null" branches. Cursors are bound to the sort
+ * order, a cursor of another order is rejected.
+ * </p>
+ */
+public class KeysetPagination {
+    private static final byte VERSION = 1;
+    private static final byte NULL_VALUE = 0;
+    private static final byte SHORT = 1;
+    private static final byte INTEGER = 2;
+    private static final byte LONG = 3;
+    private static final byte STRING = 4;
+    private static final byte BOOLEAN = 5;
+    private static final byte LOCAL_DATE_TIME = 6;
+    private static final byte LOCAL_DATE = 7;
+    private static final byte UUID_VALUE = 8;
+    private static final byte BIG_DECIMAL = 9;
+    private static final byte DOUBLE = 10;
+
+    private final List<SortField<?>> sortFields;
+    private final boolean[] nullable;
+    private final boolean[] nullsFirst;
+    private final int signature;
+
+    /**
+     * Creates keyset pagination over sort fields.
+     *
+     * @param sortFields sort fields, nullable fields get an explicit null ordering
+     * @param tiebreaker unique not null field, it is appended in ascending order unless already sorted by
+     */
+    public KeysetPagination(List<SortField<?>> sortFields, Field<?> tiebreaker) {
+        requireNonNull(sortFields);
+        requireNonNull(tiebreaker);
+        List<SortField<?>> fields = new ArrayList<>(sortFields.size() + 1);
+        boolean hasTiebreaker = false;
+        for (SortField<?> sortField : sortFields) {
+            boolean isTiebreaker = tiebreaker.equals(sortField.$field());
+            hasTiebreaker |= isTiebreaker;
+            if (!isTiebreaker && sortField.$field().getDataType().nullable() && isNull(sortField.$nullOrdering())) {
+                sortField = isDescending(sortField) ? sortField.nullsFirst() : sortField.nullsLast();
+            }
+            fields.add(sortField);
+        }
+        if (!hasTiebreaker) {
+            fields.add(tiebreaker.asc());
+        }
+        this.sortFields = Collections.unmodifiableList(fields);
+        this.nullable = new boolean[fields.size()];
+        this.nullsFirst = new boolean[fields.size()];
+
+        int hash = 1;
+        for (int i = 0; i < fields.size(); i++) {
+            SortField<?> sortField = fields.get(i);
+            nullable[i] = !tiebreaker.equals(sortField.$field()) && sortField.$field().getDataType().nullable();
+            nullsFirst[i] = QOM.NullOrdering.NULLS_FIRST == sortField.$nullOrdering();
+            hash = 31 * hash + sortField.getName().hashCode();
+            hash = 31 * hash + (isDescending(sortField) ? 1 : 0);
+            hash = 31 * hash + (nullsFirst[i] ? 1 : 0);
+        }
+        this.signature = hash;
+    }
+
+    /**
+     * Sort fields including the tiebreaker, to be used in ORDER BY.
+     *
+     * @return unmodifiable list of sort fields
+     */
+    public List<SortField<?>> getSortFields() {
+        return sortFields;
+    }
+
+    /**
+     * Encodes the sort field values of the last row of a page into a cursor.
+     *
+     * @param lastRow last row of the page, must contain all sort fields
+     * @return opaque URL-safe cursor
+     * @throws IllegalArgumentException if the tiebreaker or a not null sort field is null, or a value is of an
+     *                                  unsupported type
+     */
+    public String getCursor(Record lastRow) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeInt(signature);
+            for (int i = 0; i < sortFields.size(); i++) {
+                Object value = lastRow.get(sortFields.get(i).$field());
+                if (isNull(value) && !nullable[i]) {
+                    throw new IllegalArgumentException("Sort field " + sortFields.get(i).getName() + " is null");
+                }
+                writeValue(out, value);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    /**
+     * Creates the condition selecting rows after the row encoded in the cursor.
+     * <p>
+     * If all sort fields have the same direction, the cursor has no null value and nulls of every nullable field
+     * come first, a row value comparison (a, b) &gt; (?, ?) is used, otherwise the expanded form
+     * a &gt; ? OR (a = ? AND b &lt; ?). A null cursor value seeks with "a is null" for equality and with
+     * "a is not null" for the rows after it if nulls come first; a non-null value includes "a is null" in the rows
+     * after it if nulls come last.
+     * </p>
+     *
+     * @param cursor cursor of the previous page, null or empty for the first page
+     * @return seek condition, no condition for the first page
+     * @throws IllegalArgumentException if the cursor is malformed or belongs to another sort order
+     */
+    public Condition getSeekCondition(String cursor) {
+        if (isNull(cursor) || cursor.isEmpty()) {
+            return DSL.noCondition();
+        }
+        List<Object> values = decode(cursor);
+
+        boolean rowComparison = true;
+        for (int i = 0; i < sortFields.size(); i++) {
+            rowComparison &= isDescending(sortFields.get(i)) == isDescending(sortFields.get(0))
+                    && !isNull(values.get(i)) && (!nullable[i] || nullsFirst[i]);
+        }
+        if (rowComparison) {
+            Field<?>[] fields = new Field<?>[sortFields.size()];
+            Field<?>[] bindValues = new Field<?>[sortFields.size()];
+            for (int i = 0; i < fields.length; i++) {
+                fields[i] = sortFields.get(i).$field();
+                bindValues[i] = getBindValue(fields[i], values.get(i));
+            }
+            return isDescending(sortFields.get(0))
+                    ? DSL.row(fields).lessThan(DSL.row(bindValues))
+                    : DSL.row(fields).greaterThan(DSL.row(bindValues));
+        }
+
+        // a > ? OR (a = ? AND (b < ? OR (b = ? AND c > ?))), built from the last field
+        Condition condition = null;
+        for (int i = sortFields.size() - 1; i >= 0; i--) {
+            Condition after = getAfterCondition(sortFields.get(i), values.get(i), nullable[i], nullsFirst[i]);
+            if (isNull(condition)) {
+                condition = isNull(after) ? DSL.falseCondition() : after;
+            } else {
+                Condition equal = getEqualCondition(sortFields.get(i).$field(), values.get(i)).and(condition);
+                condition = isNull(after) ? equal : after.or(equal);
+            }
+        }
+        return condition;
+    }
+
+    private List<Object> decode(String cursor) {
+        byte[] bytes = Base64.getUrlDecoder().decode(cursor);
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            if (in.readByte() != VERSION || in.readInt() != signature) {
+                throw new IllegalArgumentException("Cursor does not match the sort order");
+            }
+            List<Object> values = new ArrayList<>(sortFields.size());
+            for (SortField<?> sortField : sortFields) {
+                values.add(sortField.$field().getDataType().convert(readValue(in)));
+            }
+            if (in.available() > 0) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            return values;
+        } catch (IOException | RuntimeException e) {
+            if (e instanceof IllegalArgumentException) {
+                throw (IllegalArgumentException) e;
+            }
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+    }
+
+    private static boolean isDescending(SortField<?> sortField) {
+        return SortOrder.DESC == sortField.getOrder();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Field<T> getBindValue(Field<T> field, Object value) {
+        return DSL.val((T) value, field);
+    }
+
+    /**
+     * Condition of the rows after a value in the order of one sort field.
+     *
+     * @return condition, null if no row comes after the value
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> Condition getAfterCondition(SortField<T> sortField, Object value, boolean nullable,
+                                                   boolean nullsFirst) {
+        Field<T> field = sortField.$field();
+        if (isNull(value)) {
+            return nullsFirst ? field.isNotNull() : null;
+        }
+        Condition after = isDescending(sortField) ? field.lessThan((T) value) : field.greaterThan((T) value);
+        return nullable && !nullsFirst ? after.or(field.isNull()) : after;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Condition getEqualCondition(Field<T> field, Object value) {
+        return isNull(value) ? field.isNull() : field.equal((T) value);
+    }
+
+    private static void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (isNull(value)) {
+            out.writeByte(NULL_VALUE);
+        } else if (value instanceof Short) {
+            out.writeByte(SHORT);
+            out.writeShort((Short) value);
+        } else if (value instanceof Integer) {
+            out.writeByte(INTEGER);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.writeByte(LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof String) {
+            out.writeByte(STRING);
+            out.writeUTF((String) value);
+        } else if (value instanceof Boolean) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        } else if (value instanceof LocalDateTime) {
+            LocalDateTime dateTime = (LocalDateTime) value;
+            out.writeByte(LOCAL_DATE_TIME);
+            out.writeLong(dateTime.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(dateTime.getNano());
+        } else if (value instanceof LocalDate) {
+            out.writeByte(LOCAL_DATE);
+            out.writeLong(((LocalDate) value).toEpochDay());
+        } else if (value instanceof UUID) {
+            out.writeByte(UUID_VALUE);
+            out.writeLong(((UUID) value).getMostSignificantBits());
+            out.writeLong(((UUID) value).getLeastSignificantBits());
+        } else if (value instanceof BigDecimal) {
+            out.writeByte(BIG_DECIMAL);
+            out.writeUTF(value.toString());
+        } else if (value instanceof Double) {
+            out.writeByte(DOUBLE);
+            out.writeDouble((Double) value);
+        } else {
+            throw new IllegalArgumentException("Unsupported sort field type " + value.getClass().getName());
+        }
+    }
+
+    private static Object readValue(DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        switch (type) {
+            case NULL_VALUE:
+                return null;
+            case SHORT:
+                return in.readShort();
+            case INTEGER:
+                return in.readInt();
+            case LONG:
+                return in.readLong();
+            case STRING:
+                return in.readUTF();
+            case BOOLEAN:
+                return in.readBoolean();
+            case LOCAL_DATE_TIME:
+                return LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+            case LOCAL_DATE:
+                return LocalDate.ofEpochDay(in.readLong());
+            case UUID_VALUE:
+                return new UUID(in.readLong(), in.readLong());
+            case BIG_DECIMAL:
+                return new BigDecimal(in.readUTF());
+            case DOUBLE:
+                return in.readDouble();
+            default:
+                throw new IllegalArgumentException("Malformed cursor");
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.github.sukhin.page;
+
+import com.github.sukhin.BoundedLruCache;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Concurrent cache of result pages with a time to live, bounded by the number of pages and their total weight.
+ * <p>
+ * Concurrent lookups of the same missing page share one load (single flight): the first caller queries the
+ * database, the others wait for its result. Pages of a table are removed with {@link #invalidate(String)}, a load
+ * which was running during the invalidation returns its result to its callers but doesn't cache it.
+ * </p>
+ * <p>
+ * Cached pages are returned to all callers, so they must be immutable, e.g. {@code List.copyOf(result.into(..))}
+ * rather than a jOOQ {@link org.jooq.Result}.
+ * </p>
+ * <pre>
+ * PageCache&lt;List&lt;Flow&gt;&gt; cache =
+ *         new PageCache&lt;&gt;(10_000, 1_000_000, Duration.ofSeconds(10), List::size);
+ * PageKey key = new PageKey("flow", FilterKey.of(filter, sort), "offset=0,limit=50");
+ * List&lt;Flow&gt; page = cache.get(key, () -&gt; List.copyOf(query.fetchInto(Flow.class)));
+ * </pre>
+ *
+ * @param <V> type of pages
+ */
+public class PageCache<V> {
+    private final long maxWeight;
+    private final long ttlNanos;
+    private final ToLongFunction<? super V> weigher;
+    private final LongSupplier clock;
+    private final BoundedLruCache<PageKey, Entry<V>> pages;
+    private final Map<PageKey, CompletableFuture<V>> loads = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder sharedLoads = new LongAdder();
+
+    /**
+     * Creates a new cache.
+     *
+     * @param maxSize   maximum number of cached pages
+     * @param maxWeight maximum total weight of cached pages, heavier pages are not cached
+     * @param ttl       time to live of pages
+     * @param weigher   weight of a page, e.g. its number of rows
+     */
+    public PageCache(int maxSize, long maxWeight, Duration ttl, ToLongFunction<? super V> weigher) {
+        this(maxSize, maxWeight, ttl, weigher, System::nanoTime);
+    }
+
+    PageCache(int maxSize, long maxWeight, Duration ttl, ToLongFunction<? super V> weigher, LongSupplier clock) {
+        requireNonNull(ttl);
+        requireNonNull(weigher);
+        this.pages = new BoundedLruCache<>(maxSize, maxWeight, entry -> entry.weight);
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("ttl must be positive: " + ttl);
+        }
+        this.maxWeight = maxWeight;
+        this.ttlNanos = ttl.toNanos();
+        this.weigher = weigher;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns a cached page or loads it, concurrent loads of the same page are shared.
+     *
+     * @param key    key of the page
+     * @param loader loads the page from the database, it must not return null
+     * @return page
+     * @throws RuntimeException thrown by the loader, also rethrown to the callers sharing the load; callers
+     *                          sharing a load which threw a checked exception get a {@link CompletionException}
+     */
+    public V get(PageKey key, Supplier<? extends V> loader) {
+        requireNonNull(loader);
+        V page = getCached(key);
+        if (nonNull(page)) {
+            hits.increment();
+            return page;
+        }
+
+        CompletableFuture<V> load = new CompletableFuture<>();
+        CompletableFuture<V> running = loads.putIfAbsent(key, load);
+        if (nonNull(running)) {
+            sharedLoads.increment();
+            return join(running);
+        }
+        misses.increment();
+        long generation = getGeneration(key.table()).get();
+        try {
+            page = requireNonNull(loader.get(), "Loaded page must not be null");
+            put(key, page, generation);
+            load.complete(page);
+            return page;
+        } catch (Throwable e) {
+            // Whatever the loader throws, callers sharing the load must not wait forever
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            loads.remove(key, load);
+        }
+    }
+
+    /**
+     * Removes all pages of a table, e.g. after the table has been modified.
+     *
+     * @param table name of the table
+     */
+    public void invalidate(String table) {
+        getGeneration(table).incrementAndGet();
+        // New lookups must not join loads which may have read data before the modification
+        loads.keySet().removeIf(key -> key.table().equals(table));
+        pages.removeIf((key, entry) -> key.table().equals(table));
+    }
+
+    /**
+     * Removes all pages, counters are kept.
+     */
+    public void clear() {
+        generations.values().forEach(AtomicLong::incrementAndGet);
+        loads.clear();
+        pages.clear();
+    }
+
+    /**
+     * Snapshot of the cache counters.
+     *
+     * @return cache counters
+     */
+    public PageCacheStats getStats() {
+        int size;
+        long currentWeight;
+        long evictions;
+        synchronized (pages) {
+            size = pages.size();
+            currentWeight = pages.getWeight();
+            evictions = pages.getEvictions();
+        }
+        return new PageCacheStats(hits.sum(), misses.sum(), sharedLoads.sum(), evictions, size, currentWeight);
+    }
+
+    private V getCached(PageKey key) {
+        synchronized (pages) {
+            Entry<V> entry = pages.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (clock.getAsLong() - entry.loadedAt >= ttlNanos) {
+                pages.remove(key);
+                return null;
+            }
+            return entry.page;
+        }
+    }
+
+    private void put(PageKey key, V page, long generation) {
+        long pageWeight = weigher.applyAsLong(page);
+        if (pageWeight > maxWeight) {
+            return;
+        }
+        Entry<V> entry = new Entry<>(page, pageWeight, clock.getAsLong());
+        synchronized (pages) {
+            // The table has been invalidated while the page was loading
+            if (getGeneration(key.table()).get() != generation) {
+                return;
+            }
+            pages.put(key, entry);
+        }
+    }
+
+    private AtomicLong getGeneration(String table) {
+        return generations.computeIfAbsent(table, name -> new AtomicLong());
+    }
+
+    private static <V> V join(CompletableFuture<V> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    private static final class Entry<V> {
+        private final V page;
+        private final long weight;
+        private final long loadedAt;
+
+        private Entry(V page, long weight, long loadedAt) {
+            this.page = page;
+            this.weight = weight;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.github.sukhin.page;
+
+/**
+ * Counters of a {@link PageCache}.
+ *
+ * @param hits        lookups served from the cache
+ * @param misses      lookups which loaded the page
+ * @param sharedLoads lookups which waited for a concurrent load of the same page instead of querying
+ * @param evictions   pages evicted because of the size or weight bound
+ * @param size        number of cached pages
+ * @param weight      total weight of cached pages
+ */
+public record PageCacheStats(
+        long hits,
+        long misses,
+        long sharedLoads,
+        long evictions,
+        int size,
+        long weight
+) {
+}
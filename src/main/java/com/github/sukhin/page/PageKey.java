@@ -0,0 +1,24 @@
+package com.github.sukhin.page;
+
+import com.github.sukhin.FilterKey;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Key of a cached result page.
+ *
+ * @param table  name of the table the page is read from, used for invalidation
+ * @param filter canonical filter and sort, see {@link FilterKey#of(java.util.Map, java.util.List)}
+ * @param page   position of the page, e.g. "offset=100,limit=50" or a keyset cursor
+ */
+public record PageKey(
+        String table,
+        FilterKey filter,
+        String page
+) {
+    public PageKey {
+        requireNonNull(table);
+        requireNonNull(filter);
+        requireNonNull(page);
+    }
+}
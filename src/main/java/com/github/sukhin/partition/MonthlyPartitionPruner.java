@@ -0,0 +1,176 @@
+package com.github.sukhin.partition;
+
+import com.github.sukhin.FilterUtils;
+import com.github.sukhin.QualifierValue;
+import com.github.sukhin.condition.Interval;
+import com.github.sukhin.condition.LocalDateTimeFilterCondition;
+import com.github.sukhin.condition.RangeSet;
+import org.jooq.Record;
+import org.jooq.Select;
+import org.jooq.Table;
+import org.jooq.impl.DSL;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Resolves the monthly partitions (or legacy per-month tables like events_202301) which can hold rows matching a
+ * filter on the partition key, and builds a table reference over just these partitions.
+ * <p>
+ * The time values of the partition key field are turned into a {@link RangeSet} by
+ * {@link LocalDateTimeFilterCondition#getRangeSet(List)}, a month is selected if one of the intervals overlaps it.
+ * Gaps between intervals are skipped: "=2021-01-10T00:00" and "=2023-05-10T00:00" select two months. A filter
+ * without usable values on the partition key selects all months.
+ * </p>
+ * <pre>
+ * MonthlyPartitionPruner pruner = new MonthlyPartitionPruner("created", CREATED_CONDITION,
+ *         YearMonth.of(2021, 1), YearMonth.of(2023, 12), MonthlyPartitionPruner.tablesNamed("events_", "yyyyMM"));
+ * ctx.selectFrom(pruner.getTable(filter, "events"))
+ *         .where(FilterUtils.getConditionFromFilter(CONDITIONS, filter))
+ *         .fetch();
+ * </pre>
+ */
+public class MonthlyPartitionPruner {
+    private final String fieldName;
+    private final LocalDateTimeFilterCondition condition;
+    private final YearMonth first;
+    private final YearMonth last;
+    private final Function<YearMonth, Table<?>> partitions;
+
+    /**
+     * Creates a new pruner.
+     *
+     * @param fieldName  name of the partition key field in filters
+     * @param condition  filter condition of the partition key field
+     * @param first      first existing partition
+     * @param last       last existing partition
+     * @param partitions table of a month
+     */
+    public MonthlyPartitionPruner(String fieldName, LocalDateTimeFilterCondition condition, YearMonth first,
+                                  YearMonth last, Function<YearMonth, Table<?>> partitions) {
+        requireNonNull(fieldName);
+        requireNonNull(condition);
+        requireNonNull(first);
+        requireNonNull(last);
+        requireNonNull(partitions);
+        if (first.isAfter(last)) {
+            throw new IllegalArgumentException("First partition " + first + " is after last partition " + last);
+        }
+        this.fieldName = fieldName;
+        this.condition = condition;
+        this.first = first;
+        this.last = last;
+        this.partitions = partitions;
+    }
+
+    /**
+     * Tables named by a prefix and a formatted month, e.g. tablesNamed("events_", "yyyyMM") for events_202301.
+     *
+     * @param prefix  table name prefix
+     * @param pattern month pattern, see {@link DateTimeFormatter#ofPattern(String)}
+     * @return table of a month
+     */
+    public static Function<YearMonth, Table<?>> tablesNamed(String prefix, String pattern) {
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(pattern);
+        return month -> DSL.table(DSL.name(prefix + formatter.format(month)));
+    }
+
+    /**
+     * Returns the time values of the partition key matched by a filter.
+     *
+     * @param filter list of fields and filtering conditions
+     * @return union of intervals, empty if the partition key is not constrained
+     */
+    public Optional<RangeSet<LocalDateTime>> getRangeSet(Map<String, List<String>> filter) {
+        List<String> values = filter.get(fieldName);
+        if (isNull(values)) {
+            return Optional.empty();
+        }
+        List<QualifierValue> qualifierValues = FilterUtils.parseQualifierValues(values);
+        return condition.getRangeSet(qualifierValues);
+    }
+
+    /**
+     * Resolves the partitions which can hold rows matching a filter.
+     *
+     * @param filter list of fields and filtering conditions
+     * @return months in ascending order, empty if the filter matches no time at all
+     */
+    public List<YearMonth> getPartitions(Map<String, List<String>> filter) {
+        Optional<RangeSet<LocalDateTime>> rangeSet = getRangeSet(filter);
+        if (rangeSet.isEmpty()) {
+            return getMonths(first, last);
+        }
+        List<YearMonth> months = new ArrayList<>();
+        for (Interval<LocalDateTime> interval : rangeSet.get().getIntervals()) {
+            YearMonth from = isNull(interval.lower()) ? first : YearMonth.from(getFirstIncluded(interval));
+            YearMonth to = isNull(interval.upper()) ? last : YearMonth.from(getLastIncluded(interval));
+            if (from.isBefore(first)) {
+                from = first;
+            }
+            if (to.isAfter(last)) {
+                to = last;
+            }
+            // Intervals are disjoint and ascending, neighbours may share a month
+            if (!months.isEmpty() && !from.isAfter(months.get(months.size() - 1))) {
+                from = months.get(months.size() - 1).plusMonths(1);
+            }
+            months.addAll(getMonths(from, to));
+        }
+        return Collections.unmodifiableList(months);
+    }
+
+    /**
+     * Builds a table reference over the partitions which can hold rows matching a filter: the partition itself if
+     * there is one, a UNION ALL of the partitions otherwise. Apply the filter condition to the returned table, its
+     * fields must be unqualified.
+     *
+     * @param filter list of fields and filtering conditions
+     * @param alias  alias of a derived table
+     * @return table of the partitions
+     */
+    public Table<?> getTable(Map<String, List<String>> filter, String alias) {
+        List<YearMonth> months = getPartitions(filter);
+        if (months.isEmpty()) {
+            return DSL.selectFrom(partitions.apply(first)).where(DSL.falseCondition()).asTable(alias);
+        }
+        if (months.size() == 1) {
+            return partitions.apply(months.get(0)).as(alias);
+        }
+        Select<Record> union = null;
+        for (YearMonth month : months) {
+            Select<Record> select = DSL.select(DSL.asterisk()).from(partitions.apply(month));
+            union = nonNull(union) ? union.unionAll(select) : select;
+        }
+        return union.asTable(alias);
+    }
+
+    private static LocalDateTime getFirstIncluded(Interval<LocalDateTime> interval) {
+        LocalDateTime lower = interval.lower();
+        return interval.lowerInclusive() || lower.equals(LocalDateTime.MAX) ? lower : lower.plusNanos(1);
+    }
+
+    private static LocalDateTime getLastIncluded(Interval<LocalDateTime> interval) {
+        LocalDateTime upper = interval.upper();
+        return interval.upperInclusive() || upper.equals(LocalDateTime.MIN) ? upper : upper.minusNanos(1);
+    }
+
+    private static List<YearMonth> getMonths(YearMonth from, YearMonth to) {
+        List<YearMonth> months = new ArrayList<>();
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            months.add(month);
+        }
+        return months;
+    }
+}
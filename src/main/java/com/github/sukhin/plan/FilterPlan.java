@@ -0,0 +1,109 @@
+package com.github.sukhin.plan;
+
+import com.github.sukhin.ConditionMode;
+import com.github.sukhin.FilterKey;
+import com.github.sukhin.FilterUtils;
+import com.github.sukhin.condition.FilterCondition;
+import org.jooq.Condition;
+
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Filter compiled against a list of filtering conditions.
+ * <p>
+ * Parsing of qualifiers, conversion of values and building of the condition are done once, the plan only replays
+ * the prebuilt immutable {@link Condition}, so it can be shared between threads and requests. Compiled in
+ * {@link ConditionMode#TEMPLATE} mode the condition is a bind-value template: its SQL text depends only on the
+ * fields and qualifiers used.
+ * </p>
+ */
+public final class FilterPlan {
+    private final FilterKey key;
+    private final Condition condition;
+
+    private FilterPlan(FilterKey key, Condition condition) {
+        this.key = key;
+        this.condition = condition;
+    }
+
+    /**
+     * Compiles a filter against a list of filtering conditions.
+     *
+     * @param filterConditions list of fields and filtering conditions for fields of a certain type
+     * @param filter           list of fields and filtering conditions
+     * @return compiled filter plan
+     */
+    public static FilterPlan compile(Map<String, FilterCondition> filterConditions,
+                                     Map<String, List<String>> filter) {
+        return compile(filterConditions, FilterKey.of(filter));
+    }
+
+    /**
+     * Compiles a canonical filter against a list of filtering conditions.
+     *
+     * @param filterConditions list of fields and filtering conditions for fields of a certain type
+     * @param key              canonical filter
+     * @return compiled filter plan
+     */
+    public static FilterPlan compile(Map<String, FilterCondition> filterConditions, FilterKey key) {
+        return compile(filterConditions, key, ConditionMode.VERBATIM);
+    }
+
+    /**
+     * Compiles a canonical filter against a list of filtering conditions in the given mode.
+     *
+     * @param filterConditions list of fields and filtering conditions for fields of a certain type
+     * @param key              canonical filter
+     * @param mode             condition building mode, see {@link ConditionMode}
+     * @return compiled filter plan
+     */
+    public static FilterPlan compile(Map<String, FilterCondition> filterConditions, FilterKey key,
+                                     ConditionMode mode) {
+        requireNonNull(filterConditions);
+        requireNonNull(key);
+        requireNonNull(mode);
+        return new FilterPlan(key,
+                FilterUtils.getConditionFromFilter(filterConditions, key.getFilter(), null, mode));
+    }
+
+    /**
+     * Canonical filter the plan is compiled from.
+     *
+     * @return canonical filter
+     */
+    public FilterKey getKey() {
+        return key;
+    }
+
+    /**
+     * Prebuilt filter condition.
+     *
+     * @return filter condition
+     */
+    public Condition getCondition() {
+        return condition;
+    }
+
+    /**
+     * Whether the filter is known to match nothing, so a query can be skipped.
+     *
+     * @return true if the condition is false
+     */
+    public boolean isAlwaysFalse() {
+        return FilterUtils.isAlwaysFalse(condition);
+    }
+
+    /**
+     * Prebuilt filter condition combined with an initial condition.
+     *
+     * @param initialCondition initial filter condition value
+     * @return filter condition
+     */
+    public Condition getCondition(Condition initialCondition) {
+        return isNull(initialCondition) ? condition : initialCondition.and(condition);
+    }
+}
@@ -0,0 +1,111 @@
+package com.github.sukhin.plan;
+
+import com.github.sukhin.BoundedLruCache;
+import com.github.sukhin.ConditionMode;
+import com.github.sukhin.FilterKey;
+import com.github.sukhin.condition.FilterCondition;
+import org.jooq.Condition;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Bounded LRU cache of {@link FilterPlan}s compiled against one list of filtering conditions.
+ * <p>
+ * Filters are looked up by their canonical form {@link FilterKey}, so filters which differ only in the order of
+ * fields and values share one plan. A plan is compiled outside the lock, concurrent misses on the same filter may
+ * compile it twice, the last one wins.
+ * </p>
+ */
+public class FilterPlanCache {
+    private final Map<String, FilterCondition> filterConditions;
+    private final ConditionMode mode;
+    private final int maxSize;
+    private final BoundedLruCache<FilterKey, FilterPlan> plans;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Creates a new cache.
+     *
+     * @param filterConditions list of fields and filtering conditions for fields of a certain type
+     * @param maxSize          maximum number of cached plans
+     */
+    public FilterPlanCache(Map<String, FilterCondition> filterConditions, int maxSize) {
+        this(filterConditions, maxSize, ConditionMode.VERBATIM);
+    }
+
+    /**
+     * Creates a new cache of plans compiled in the given mode.
+     *
+     * @param filterConditions list of fields and filtering conditions for fields of a certain type
+     * @param maxSize          maximum number of cached plans
+     * @param mode             condition building mode, see {@link ConditionMode}
+     */
+    public FilterPlanCache(Map<String, FilterCondition> filterConditions, int maxSize, ConditionMode mode) {
+        requireNonNull(filterConditions);
+        requireNonNull(mode);
+        this.plans = new BoundedLruCache<>(maxSize);
+        this.filterConditions = filterConditions;
+        this.mode = mode;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Returns the plan of a filter, compiling it on a cache miss.
+     *
+     * @param filter list of fields and filtering conditions
+     * @return compiled filter plan
+     */
+    public FilterPlan getPlan(Map<String, List<String>> filter) {
+        return getPlan(FilterKey.of(filter));
+    }
+
+    /**
+     * Returns the plan of a canonical filter, compiling it on a cache miss.
+     *
+     * @param key canonical filter
+     * @return compiled filter plan
+     */
+    public FilterPlan getPlan(FilterKey key) {
+        FilterPlan plan = plans.get(key);
+        if (nonNull(plan)) {
+            hits.increment();
+            return plan;
+        }
+        misses.increment();
+        plan = FilterPlan.compile(filterConditions, key, mode);
+        plans.put(key, plan);
+        return plan;
+    }
+
+    /**
+     * Returns the prebuilt filter condition of a filter.
+     *
+     * @param filter list of fields and filtering conditions
+     * @return filter condition
+     */
+    public Condition getCondition(Map<String, List<String>> filter) {
+        return getPlan(filter).getCondition();
+    }
+
+    /**
+     * Removes all cached plans, counters are kept.
+     */
+    public void clear() {
+        plans.clear();
+    }
+
+    /**
+     * Snapshot of the cache counters.
+     *
+     * @return cache counters
+     */
+    public FilterPlanCacheStats getStats() {
+        return new FilterPlanCacheStats(hits.sum(), misses.sum(), plans.getEvictions(), plans.size(), maxSize);
+    }
+}
@@ -0,0 +1,22 @@
+package com.github.sukhin.plan;
+
+/**
+ * Counters of a {@link FilterPlanCache}.
+ */
+public record FilterPlanCacheStats(
+        long hits,
+        long misses,
+        long evictions,
+        int size,
+        int maxSize
+) {
+    /**
+     * Share of lookups served from the cache.
+     *
+     * @return hit ratio from 0 to 1, 0 if there were no lookups
+     */
+    public double hitRatio() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+}
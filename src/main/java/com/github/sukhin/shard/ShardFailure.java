@@ -0,0 +1,29 @@
+package com.github.sukhin.shard;
+
+import java.util.concurrent.TimeoutException;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Shard which did not contribute rows to a {@link ShardedPage}.
+ *
+ * @param shard index of the shard in the list of {@link ShardedQuery}
+ * @param cause exception of the query, {@link TimeoutException} if the shard did not answer in time
+ */
+public record ShardFailure(
+        int shard,
+        Throwable cause
+) {
+    public ShardFailure {
+        requireNonNull(cause);
+    }
+
+    /**
+     * Whether the shard did not answer in time.
+     *
+     * @return true for a timeout, false for a failed query
+     */
+    public boolean isTimeout() {
+        return cause instanceof TimeoutException;
+    }
+}
@@ -0,0 +1,32 @@
+package com.github.sukhin.shard;
+
+import org.jooq.Record;
+
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Page of rows merged from several shards.
+ *
+ * @param records  rows in sort order
+ * @param failures shards whose rows are missing, empty if every shard answered
+ */
+public record ShardedPage(
+        List<Record> records,
+        List<ShardFailure> failures
+) {
+    public ShardedPage {
+        records = List.copyOf(requireNonNull(records));
+        failures = List.copyOf(requireNonNull(failures));
+    }
+
+    /**
+     * Whether rows of some shards are missing.
+     *
+     * @return true if at least one shard failed or timed out
+     */
+    public boolean isPartial() {
+        return !failures.isEmpty();
+    }
+}
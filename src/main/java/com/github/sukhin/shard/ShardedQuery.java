@@ -0,0 +1,253 @@
+package com.github.sukhin.shard;
+
+import com.github.sukhin.FilterRegistry;
+import com.github.sukhin.FilterUtils;
+import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.Result;
+import org.jooq.ResultQuery;
+import org.jooq.SortField;
+import org.jooq.SortOrder;
+import org.jooq.TableLike;
+import org.jooq.exception.DataAccessException;
+import org.jooq.impl.DSL;
+import org.jooq.impl.QOM;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Queries shards with identical schemas concurrently and merges their rows into one page.
+ * <p>
+ * Every shard is asked for its first offset + limit rows in the order of the sort fields, the ordered results are
+ * merged with a k-way heap until the page is complete. All shards share one deadline, so a page takes as long as
+ * the slowest shard or the timeout, not the sum of all shards. A shard which fails or does not answer in time is
+ * cancelled and reported in {@link ShardedPage#failures()}, the page is merged from the other shards. For deep
+ * pages pass the seek condition of {@link com.github.sukhin.page.KeysetPagination} with offset 0 instead of a large
+ * offset.
+ * </p>
+ * <pre>
+ * ShardedQuery query = new ShardedQuery(List.of(ctx1, ctx2, ctx3), executor, Duration.ofSeconds(2));
+ * ShardedPage page = query.fetchPage(FLOW, registry, filter, List.of("-bytes"), 0, 50);
+ * </pre>
+ * <p>
+ * Rows are compared in Java with {@link Comparable}, so sort fields should have the same order in the database and
+ * in Java, e.g. numbers, dates or strings with a binary collation. If a sort field has no explicit null ordering,
+ * shards are asked for NULLS LAST in ascending and NULLS FIRST in descending order, like PostgreSQL does. Rows with
+ * equal sort keys are taken from the shard with the lower index first. A unique tiebreaker field makes pages stable.
+ * </p>
+ * <p>
+ * The executor is owned by the caller: a virtual thread per task executor on Java 21, or a cached thread pool with
+ * at least as many threads as shards. The query can be shared between threads.
+ * </p>
+ */
+public class ShardedQuery {
+    private final List<DSLContext> shards;
+    private final ExecutorService executor;
+    private final long shardTimeoutNanos;
+
+    /**
+     * Creates a new sharded query.
+     *
+     * @param shards       contexts of the shards
+     * @param executor     executor running one task per shard and page
+     * @param shardTimeout maximum time to wait for the shards of a page
+     */
+    public ShardedQuery(List<DSLContext> shards, ExecutorService executor, Duration shardTimeout) {
+        requireNonNull(executor);
+        requireNonNull(shardTimeout);
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("At least one shard is required");
+        }
+        if (shardTimeout.isNegative() || shardTimeout.isZero()) {
+            throw new IllegalArgumentException("Shard timeout must be positive: " + shardTimeout);
+        }
+        this.shards = List.copyOf(shards);
+        this.executor = executor;
+        this.shardTimeoutNanos = shardTimeout.toNanos();
+    }
+
+    /**
+     * Fetches a page of rows matching a filter, see {@link FilterUtils#getConditionFromFilter(FilterRegistry, Map)}
+     * and {@link FilterUtils#getSortFieldsFromQualifierValues(FilterRegistry, List)}.
+     *
+     * @param source     table or select, present on every shard
+     * @param registry   registry of filter and sort fields
+     * @param filter     list of fields and filtering conditions
+     * @param sortValues sort qualifiers like "+field" and "-field"
+     * @param offset     number of rows to skip
+     * @param limit      maximum number of rows to return
+     * @return merged page
+     */
+    public ShardedPage fetchPage(TableLike<?> source, FilterRegistry registry, Map<String, List<String>> filter,
+                                 List<String> sortValues, int offset, int limit) {
+        return fetchPage(source, FilterUtils.getConditionFromFilter(registry, filter),
+                FilterUtils.getSortFieldsFromQualifierValues(registry, sortValues), offset, limit);
+    }
+
+    /**
+     * Fetches a page of rows matching a condition.
+     *
+     * @param source     table or select, present on every shard
+     * @param condition  filter condition
+     * @param sortFields sort fields, they must be selected from the source
+     * @param offset     number of rows to skip
+     * @param limit      maximum number of rows to return
+     * @return merged page
+     */
+    public ShardedPage fetchPage(TableLike<?> source, Condition condition, List<SortField<?>> sortFields,
+                                 int offset, int limit) {
+        requireNonNull(source);
+        requireNonNull(condition);
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("offset and limit must not be negative: " + offset + ", " + limit);
+        }
+        List<SortField<?>> orderBy = new ArrayList<>(sortFields.size());
+        for (SortField<?> sortField : sortFields) {
+            orderBy.add(isNull(sortField.$nullOrdering())
+                    ? (isDescending(sortField) ? sortField.nullsFirst() : sortField.nullsLast())
+                    : sortField);
+        }
+        long rowCount = Math.min((long) offset + limit, Integer.MAX_VALUE);
+        List<ShardFailure> failures = new ArrayList<>();
+        if (limit == 0) {
+            return new ShardedPage(List.of(), failures);
+        }
+
+        List<ResultQuery<Record>> queries = new ArrayList<>(shards.size());
+        List<Future<Result<Record>>> futures = new ArrayList<>(shards.size());
+        for (int shard = 0; shard < shards.size(); shard++) {
+            ResultQuery<Record> query = shards.get(shard).select(DSL.asterisk()).from(source).where(condition)
+                    .orderBy(orderBy).limit(rowCount);
+            queries.add(query);
+            try {
+                futures.add(executor.submit(() -> query.fetch()));
+            } catch (RejectedExecutionException e) {
+                futures.add(null);
+                failures.add(new ShardFailure(shard, e));
+            }
+        }
+
+        List<Result<Record>> results = new ArrayList<>(shards.size());
+        long deadline = System.nanoTime() + shardTimeoutNanos;
+        boolean interrupted = false;
+        for (int shard = 0; shard < futures.size(); shard++) {
+            Future<Result<Record>> future = futures.get(shard);
+            results.add(null);
+            if (isNull(future)) {
+                continue;
+            } else if (interrupted) {
+                cancel(queries.get(shard), future);
+                failures.add(new ShardFailure(shard, new InterruptedException()));
+                continue;
+            }
+            try {
+                results.set(shard, future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            } catch (ExecutionException e) {
+                failures.add(new ShardFailure(shard, isNull(e.getCause()) ? e : e.getCause()));
+            } catch (TimeoutException | InterruptedException e) {
+                interrupted |= e instanceof InterruptedException;
+                cancel(queries.get(shard), future);
+                failures.add(new ShardFailure(shard, e));
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        return new ShardedPage(merge(results, orderBy, offset, (int) rowCount), failures);
+    }
+
+    private static void cancel(ResultQuery<Record> query, Future<?> future) {
+        future.cancel(true);
+        try {
+            query.cancel();
+        } catch (DataAccessException e) {
+            // The query is not running or can't be cancelled, its result is ignored anyway
+        }
+    }
+
+    /**
+     * Merges ordered results with a heap of shards, the shard with the next row is at the top.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static List<Record> merge(List<Result<Record>> results, List<SortField<?>> sortFields, int offset,
+                                      int rowCount) {
+        int[][] indexes = new int[results.size()][];
+        boolean[] descending = new boolean[sortFields.size()];
+        boolean[] nullsFirst = new boolean[sortFields.size()];
+        for (int i = 0; i < sortFields.size(); i++) {
+            descending[i] = isDescending(sortFields.get(i));
+            nullsFirst[i] = QOM.NullOrdering.NULLS_FIRST == sortFields.get(i).$nullOrdering();
+        }
+        for (int shard = 0; shard < results.size(); shard++) {
+            Result<Record> result = results.get(shard);
+            if (isNull(result)) {
+                continue;
+            }
+            indexes[shard] = new int[sortFields.size()];
+            for (int i = 0; i < sortFields.size(); i++) {
+                Field<?> field = sortFields.get(i).$field();
+                indexes[shard][i] = result.indexOf(field);
+                if (indexes[shard][i] < 0) {
+                    throw new IllegalArgumentException("Sort field " + field.getName() + " is not selected");
+                }
+            }
+        }
+
+        int[] positions = new int[results.size()];
+        PriorityQueue<Integer> heap = new PriorityQueue<>(Math.max(1, results.size()), (shard1, shard2) -> {
+            Record record1 = results.get(shard1).get(positions[shard1]);
+            Record record2 = results.get(shard2).get(positions[shard2]);
+            for (int i = 0; i < descending.length; i++) {
+                Comparable value1 = (Comparable) record1.get(indexes[shard1][i]);
+                Comparable value2 = (Comparable) record2.get(indexes[shard2][i]);
+                int compareResult;
+                if (isNull(value1) || isNull(value2)) {
+                    int nullResult = isNull(value1) ? (isNull(value2) ? 0 : -1) : 1;
+                    compareResult = nullsFirst[i] ? nullResult : -nullResult;
+                } else {
+                    compareResult = descending[i] ? value2.compareTo(value1) : value1.compareTo(value2);
+                }
+                if (compareResult != 0) {
+                    return compareResult;
+                }
+            }
+            return Integer.compare(shard1, shard2);
+        });
+        for (int shard = 0; shard < results.size(); shard++) {
+            if (!isNull(results.get(shard)) && results.get(shard).isNotEmpty()) {
+                heap.add(shard);
+            }
+        }
+
+        List<Record> records = new ArrayList<>();
+        for (int row = 0; row < rowCount && !heap.isEmpty(); row++) {
+            int shard = heap.poll();
+            if (row >= offset) {
+                records.add(results.get(shard).get(positions[shard]));
+            }
+            if (++positions[shard] < results.get(shard).size()) {
+                heap.add(shard);
+            }
+        }
+        return records;
+    }
+
+    private static boolean isDescending(SortField<?> sortField) {
+        return SortOrder.DESC == sortField.getOrder();
+    }
+}
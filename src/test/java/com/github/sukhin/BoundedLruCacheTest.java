@@ -0,0 +1,38 @@
+package com.github.sukhin;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BoundedLruCacheTest {
+    @Test
+    void evictsLeastRecentlyUsedBySizeAndWeight() {
+        BoundedLruCache<String, String> cache = new BoundedLruCache<>(3, 6, String::length);
+
+        cache.put("a", "1");
+        cache.put("b", "22");
+        cache.put("c", "3");
+        assertEquals("1", cache.get("a"));
+        cache.put("d", "4");
+        assertNull(cache.get("b"));
+        assertEquals(3, cache.getWeight());
+
+        cache.put("e", "5555");
+        assertNull(cache.get("c"));
+        assertEquals(3, cache.size());
+        assertEquals(6, cache.getWeight());
+        assertEquals(2, cache.getEvictions());
+
+        cache.put("e", "5");
+        cache.removeIf((key, value) -> "a".equals(key));
+        assertEquals("4", cache.remove("d"));
+        assertEquals(1, cache.size());
+        assertEquals(1, cache.getWeight());
+        cache.clear();
+        assertEquals(0, cache.getWeight());
+        assertEquals(2, cache.getEvictions());
+        assertThrows(IllegalArgumentException.class, () -> new BoundedLruCache<>(0));
+    }
+}
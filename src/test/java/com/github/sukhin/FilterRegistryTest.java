@@ -0,0 +1,150 @@
+package com.github.sukhin;
+
+import com.github.sukhin.condition.BooleanFilterCondition;
+import com.github.sukhin.condition.IntegerFilterCondition;
+import com.github.sukhin.condition.LocalDateTimeFilterCondition;
+import com.github.sukhin.condition.LongFilterCondition;
+import com.github.sukhin.condition.ShortFilterCondition;
+import com.github.sukhin.condition.StringFilterCondition;
+import com.github.sukhin.condition.StringMatchStrategy;
+import org.jooq.DSLContext;
+import org.jooq.SQLDialect;
+import org.jooq.Table;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FilterRegistryTest {
+    private static Connection connection;
+    private static Table<?> flow;
+
+    @BeforeAll
+    static void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:registry");
+        DSLContext ctx = DSL.using(connection, SQLDialect.H2);
+        ctx.execute("create table \"flow\" (\"id\" bigint, \"port_dst\" int, \"vlan\" smallint, "
+                + "\"created\" timestamp, \"dropped\" boolean, \"ip_src\" varchar(64), \"bytes\" decimal(20))");
+        flow = ctx.meta().getTables("flow").get(0);
+    }
+
+    @AfterAll
+    static void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    void choosesConditionsByDataType() {
+        FilterRegistry registry = FilterRegistry.of(flow);
+
+        assertInstanceOf(LongFilterCondition.class, registry.getCondition("id"));
+        assertInstanceOf(IntegerFilterCondition.class, registry.getCondition("port_dst"));
+        assertInstanceOf(ShortFilterCondition.class, registry.getCondition("vlan"));
+        assertInstanceOf(LocalDateTimeFilterCondition.class, registry.getCondition("created"));
+        assertInstanceOf(BooleanFilterCondition.class, registry.getCondition("dropped"));
+        assertInstanceOf(StringFilterCondition.class, registry.getCondition("ip_src"));
+        assertNull(registry.getCondition("bytes"));
+        assertNotNull(registry.getField("bytes"));
+        assertNull(registry.getCondition("unknown"));
+        assertNull(registry.getField("unknown"));
+    }
+
+    @Test
+    void appliesWhitelistAliasesAndOverrides() {
+        StringFilterCondition ipSrc = new StringFilterCondition(flow.field("ip_src", String.class),
+                StringMatchStrategy.PREFIX);
+        FilterRegistry registry = FilterRegistry.builder(flow)
+                .whitelist("port_dst", "ip_src")
+                .alias("port", "port_dst")
+                .condition("ip_src", ipSrc)
+                .build();
+
+        assertEquals(Set.of("port", "ip_src"), registry.getFields().keySet());
+        assertNull(registry.getCondition("port_dst"));
+        assertSame(ipSrc, registry.getCondition("ip_src"));
+        assertThrows(IllegalArgumentException.class, () -> FilterRegistry.builder(flow).whitelist("nope").build());
+        assertThrows(IllegalArgumentException.class,
+                () -> FilterRegistry.builder(flow).alias("vlan", "port_dst").build());
+    }
+
+    @Test
+    void filterUtilsAcceptRegistry() {
+        FilterRegistry registry = FilterRegistry.builder(flow).alias("port", "port_dst").build();
+        Map<String, List<String>> filter = Map.of("port", List.of("<11", "=100"), "ip_src", List.of("!=a"),
+                "unknown", List.of("=1"));
+
+        assertEquals(FilterUtils.getConditionFromFilter(registry.getConditions(), filter),
+                FilterUtils.getConditionFromFilter(registry, filter));
+        assertEquals(List.of(flow.field("port_dst").desc(), flow.field("id").asc()),
+                FilterUtils.getSortFieldsFromQualifierValues(registry, List.of("-port", "+id", "+nope", "=id")));
+    }
+
+    @Test
+    void nameIndexIsPerfect() {
+        List<String> names = IntStream.range(0, 500).mapToObj(i -> "field_" + i).collect(Collectors.toList());
+        NameIndex index = new NameIndex(names);
+
+        for (int i = 0; i < names.size(); i++) {
+            assertEquals(i, index.indexOf(names.get(i)));
+        }
+        assertEquals(-1, index.indexOf("field_500"));
+        assertEquals(-1, index.indexOf(null));
+        assertEquals(-1, new NameIndex(List.of()).indexOf("x"));
+    }
+
+    @Test
+    void nameIndexFallsBackWithoutPerfectLayout() {
+        // "Aa" and "BB" have equal hash codes
+        NameIndex colliding = new NameIndex(List.of("Aa", "BB", "id"));
+
+        assertEquals(0, colliding.indexOf("Aa"));
+        assertEquals(1, colliding.indexOf("BB"));
+        assertEquals(2, colliding.indexOf("id"));
+        assertEquals(-1, colliding.indexOf("C#"));
+        assertEquals(-1, colliding.indexOf(null));
+
+        Random random = new Random(42);
+        List<String> names = IntStream.range(0, 2000)
+                .mapToObj(i -> Long.toString(random.nextLong() & Long.MAX_VALUE, 36) + "_" + i)
+                .collect(Collectors.toList());
+        NameIndex wide = new NameIndex(names);
+        for (int i = 0; i < names.size(); i++) {
+            assertEquals(i, wide.indexOf(names.get(i)));
+        }
+        assertEquals(-1, wide.indexOf("unknown"));
+    }
+
+    @Test
+    void registryIgnoresNullNames() {
+        FilterRegistry registry = FilterRegistry.of(flow);
+
+        assertNull(registry.getCondition(null));
+        assertNull(registry.getField(null));
+    }
+
+    @Test
+    void registryOfWideTable() {
+        String columns = IntStream.range(0, 600).mapToObj(i -> "\"c" + i + "\" int")
+                .collect(Collectors.joining(", "));
+        DSLContext ctx = DSL.using(connection, SQLDialect.H2);
+        ctx.execute("create table \"wide\" (\"Aa\" int, \"BB\" int, " + columns + ")");
+        FilterRegistry registry = FilterRegistry.of(ctx.meta().getTables("wide").get(0));
+
+        assertEquals(602, registry.getFields().size());
+        assertInstanceOf(IntegerFilterCondition.class, registry.getCondition("Aa"));
+        assertInstanceOf(IntegerFilterCondition.class, registry.getCondition("BB"));
+        assertEquals("c599", registry.getField("c599").getName());
+    }
+}
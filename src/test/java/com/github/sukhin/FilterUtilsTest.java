@@ -1,7 +1,99 @@
 package com.github.sukhin;
 
+import com.github.sukhin.condition.FilterCondition;
+import com.github.sukhin.condition.IntegerFilterCondition;
+import com.github.sukhin.condition.LocalDateTimeFilterCondition;
+import com.github.sukhin.condition.ShortFilterCondition;
+import com.github.sukhin.condition.StringFilterCondition;
+import com.github.sukhin.condition.StringMatchStrategy;
+import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class FilterUtilsTest {
+    private static final DSLContext CTX = DSL.using(SQLDialect.POSTGRES);
+    private static final Map<String, FilterCondition> CONDITIONS = Map.of(
+            "ip_src", new StringFilterCondition(DSL.field(DSL.name("ip_src"), String.class)),
+            "port_dst", new IntegerFilterCondition(DSL.field(DSL.name("port_dst"), Integer.class)),
+            "vlan", new ShortFilterCondition(DSL.field(DSL.name("vlan"), Short.class)),
+            "created", new LocalDateTimeFilterCondition(DSL.field(DSL.name("created"), LocalDateTime.class)),
+            "host", new StringFilterCondition(DSL.field(DSL.name("host_lower"), String.class),
+                    StringMatchStrategy.PREFIX, DSL.field(DSL.name("host_lower"), String.class), true),
+            "vendor", new StringFilterCondition(DSL.field(DSL.name("vendor"), String.class),
+                    StringMatchStrategy.CONTAINS)
+    );
+
+    @Test
+    void templateModeKeepsSqlShapeStable() {
+        String first = CTX.render(FilterUtils.getConditionFromFilter(CONDITIONS,
+                Map.of("port_dst", List.of("<11", "=100"), "ip_src", List.of("!=a")), null, ConditionMode.TEMPLATE));
+        String second = CTX.render(FilterUtils.getConditionFromFilter(CONDITIONS,
+                Map.of("port_dst", List.of("=200", "<5", "<3", "=300", "=100"), "ip_src", List.of("!=b", "!=c")),
+                null, ConditionMode.TEMPLATE));
+
+        assertEquals(first, second);
+    }
+
+    @Test
+    void templateModeMergesRangeBounds() {
+        String sql = CTX.renderInlined(FilterUtils.getConditionFromFilter(CONDITIONS,
+                Map.of("port_dst", List.of("<5", "<=7", "<7", ">3", ">=3", "x")), null, ConditionMode.TEMPLATE));
+
+        assertEquals("(\"port_dst\" <= 7 or \"port_dst\" >= 3)", sql);
+    }
+
+    @Test
+    void verbatimModeKeepsEveryValue() {
+        String sql = CTX.renderInlined(FilterUtils.getConditionFromFilter(CONDITIONS,
+                Map.of("port_dst", List.of("<11", "=100", "100"))));
+
+        assertEquals("(\"port_dst\" < 11 or \"port_dst\" = 100)", sql);
+    }
+
+    @Test
+    void simplifiedModeMergesRanges() {
+        assertEquals("(\"port_dst\" <= 2 or \"port_dst\" >= 6)",
+                simplified("port_dst", ">=10", ">5", "<3", "=7", "=7"));
+        assertEquals("\"port_dst\" not in (3, 5)", simplified("port_dst", "<3", ">5", "=4", "=4"));
+        assertEquals("(\"port_dst\" in (1, 3, 7) or \"port_dst\" >= 100)",
+                simplified("port_dst", "=7", "=1", "=3", ">=100", ">200", "x"));
+        assertEquals("(\"port_dst\" between 1 and 3 or \"port_dst\" >= 11)",
+                simplified("port_dst", "=1", "=2", "=3", ">10"));
+        assertEquals("\"created\" <> timestamp '2020-01-01 00:00:00.0'",
+                simplified("created", "<2020-01-01T00:00", ">2020-01-01T00:00"));
+    }
+
+    @Test
+    void simplifiedModeDetectsTautologiesAndContradictions() {
+        assertEquals("\"port_dst\" is not null", simplified("port_dst", ">=10", ">5", "<3", "=7", "!=7"));
+        assertEquals("\"vlan\" is not null", simplified("vlan", ">=-32768"));
+        assertEquals("true", simplified("port_dst", "x", "~1"));
+
+        Condition condition = FilterUtils.getConditionFromFilter(CONDITIONS,
+                Map.of("vlan", List.of("<-32768", ">32767"), "port_dst", List.of("=1")), null,
+                ConditionMode.SIMPLIFIED);
+        assertTrue(FilterUtils.isAlwaysFalse(condition));
+    }
+
+    @Test
+    void matchStrategyEscapesWildcards() {
+        assertEquals("(\"host_lower\" = 'web_1' or \"host_lower\" like 'web!_1!%!!%' escape '!')",
+                CTX.renderInlined(FilterUtils.getConditionFromFilter(CONDITIONS,
+                        Map.of("host", List.of("=Web_1", "~WEB_1%!")))));
+        assertEquals("\"vendor\" not ilike '%!%%' escape '!'",
+                CTX.renderInlined(FilterUtils.getConditionFromFilter(CONDITIONS, Map.of("vendor", List.of("!~%")))));
+    }
 
-}
\ No newline at end of file
+    private static String simplified(String field, String... values) {
+        return CTX.renderInlined(FilterUtils.getConditionFromFilter(CONDITIONS, Map.of(field, List.of(values)), null,
+                ConditionMode.SIMPLIFIED));
+    }
+}
@@ -0,0 +1,58 @@
+package com.github.sukhin;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class QualifierParserTest {
+    private static final List<String> SAMPLES = List.of(
+            "", " ", "=", "=10", "= 10 ", "==10", "!=10.119.24.99", "!~abc", "!x", "!", "~ abc", "<=5", "<5",
+            "< =5", ">=5", ">5", ">", "+port_dst", "-ip_src", "--1", "10", " =10", "abc", "=\t x \n", "<>3"
+    );
+
+    @Test
+    void parseMatchesLinearSearch() {
+        for (String sample : SAMPLES) {
+            assertEquals(linearSearch(sample), QualifierParser.parse(sample), sample);
+        }
+    }
+
+    @Test
+    void parseKeepsLongestSign() {
+        assertSame(Qualifier.LESS_EQUAL, QualifierParser.parseQualifier("<=1"));
+        assertSame(Qualifier.LESS, QualifierParser.parseQualifier("<1"));
+        assertSame(Qualifier.NOT_LIKE, QualifierParser.parseQualifier("!~1"));
+        assertSame(Qualifier.NOT_EQUAL, QualifierParser.parseQualifier("!=1"));
+        assertSame(Qualifier.DO_NOTHING, QualifierParser.parseQualifier("1"));
+    }
+
+    @Test
+    void parseReusesBuffer() {
+        List<QualifierValue> buffer = new ArrayList<>();
+        buffer.add(new QualifierValue(Qualifier.EQUAL, "stale"));
+
+        List<QualifierValue> result = FilterUtils.parseQualifierValues(List.of("<11", "100"), buffer);
+
+        assertSame(buffer, result);
+        assertEquals(List.of(new QualifierValue(Qualifier.LESS, "11"), new QualifierValue(Qualifier.DO_NOTHING, "100")),
+                result);
+    }
+
+    /**
+     * Reference implementation: the former linear scan over {@link Qualifier#values()}.
+     */
+    private static QualifierValue linearSearch(String stringValue) {
+        for (Qualifier qualifier : Qualifier.values()) {
+            String sign = qualifier.getSign();
+            if (stringValue.startsWith(sign)) {
+                return new QualifierValue(qualifier,
+                        stringValue.substring(stringValue.indexOf(sign) + sign.length()).trim());
+            }
+        }
+        throw new IllegalStateException(stringValue);
+    }
+}
@@ -0,0 +1,89 @@
+package com.github.sukhin;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class StringDatesTest {
+    private static final String[] DATES = {"2023-01-15T12:30", "2023-01-15T12:30:00", "2023-01-15T12:30:00.000000001",
+            "2023-01-15t12:29:59.999", "2023-02-29T00:00", "2024-02-29T00:00", "1677-12-31T23:59", "2262-01-01T00:00",
+            "+10000-01-01T00:00", "-0001-01-01T00:00", "2023-01-15", "", "x", "1970-01-01T00:00"};
+    private static final String[] SIGNS = {"=", "!=", "<", "<=", ">", ">=", "~", ""};
+
+    @Test
+    void matcherMatchesIsStringDateQualified() {
+        Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            List<String> filterValues = new ArrayList<>();
+            for (int j = random.nextInt(4); j > 0; j--) {
+                filterValues.add(SIGNS[random.nextInt(SIGNS.length)] + date(random));
+            }
+            List<QualifierValue> qualifierValues = FilterUtils.parseQualifierValues(filterValues);
+            String value = random.nextInt(50) == 0 ? null : date(random);
+
+            assertEquals(FilterUtils.isStringDateQualified(qualifierValues, value),
+                    DateQualifierMatcher.compile(qualifierValues).test(value), filterValues + " " + value);
+        }
+    }
+
+    @Test
+    void comparesAndSortsLikeLocalDateTime() {
+        Random random = new Random(42);
+        Comparator<String> reference = Comparator.comparing(LocalDateTime::parse);
+        for (int i = 0; i < 1_000; i++) {
+            List<String> dates = new ArrayList<>();
+            for (int j = random.nextInt(20); j > 0; j--) {
+                dates.add(random.nextInt(3) == 0 ? validDate(random) : randomValidSample(random));
+            }
+            List<String> expected = new ArrayList<>(dates);
+            expected.sort(reference.reversed());
+            List<String> actual = new ArrayList<>(dates);
+            StringDates.sort(actual, date -> date, true);
+            assertEquals(expected, actual);
+
+            if (dates.size() > 1) {
+                assertEquals(Integer.signum(reference.compare(dates.get(0), dates.get(1))),
+                        Integer.signum(StringDates.compare(dates.get(0), dates.get(1))));
+            }
+        }
+
+        assertThrows(DateTimeParseException.class, () -> StringDates.compare("2023-01-15T12:30", "2023-02-30T00:00"));
+        assertThrows(NullPointerException.class, () -> StringDates.compare(null, "2023-01-15T12:30"));
+        List<String> invalid = new ArrayList<>(List.of("2023-01-15T12:30", "x"));
+        assertThrows(DateTimeParseException.class, () -> StringDates.sort(invalid, date -> date));
+        assertEquals(List.of("2023-01-15T12:30", "x"), invalid);
+    }
+
+    private static String date(Random random) {
+        return random.nextBoolean() ? DATES[random.nextInt(DATES.length)] : validDate(random);
+    }
+
+    private static String randomValidSample(Random random) {
+        String date;
+        do {
+            date = DATES[random.nextInt(DATES.length)];
+        } while (isInvalid(date));
+        return date;
+    }
+
+    private static boolean isInvalid(String date) {
+        try {
+            LocalDateTime.parse(date);
+            return false;
+        } catch (DateTimeParseException e) {
+            return true;
+        }
+    }
+
+    private static String validDate(Random random) {
+        return LocalDateTime.parse("2023-01-15T12:30").plusSeconds(random.nextInt(7) - 3).toString();
+    }
+}
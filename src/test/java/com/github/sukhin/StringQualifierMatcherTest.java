@@ -0,0 +1,74 @@
+package com.github.sukhin;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StringQualifierMatcherTest {
+    // Latin, Greek final sigma, dotted capital I, Kelvin sign, long s, sharp s and a Deseret surrogate pair
+    private static final String[] PIECES = {"a", "b", "A", "B", "ab", "10.", "İ", "i", "I", "ı", "Σ", "σ", "ς",
+            "K", "k", "ſ", "s", "ß", "SS", "𐐀", "𐐨", " ", ""};
+    private static final String[] SIGNS = {"=", "!=", "~", "!~", "<", ""};
+
+    @Test
+    void matchesIsStringQualified() {
+        Locale defaultLocale = Locale.getDefault();
+        try {
+            for (Locale locale : List.of(Locale.ROOT, Locale.forLanguageTag("tr"), Locale.forLanguageTag("el"))) {
+                Locale.setDefault(locale);
+                compareWithFilterUtils(new Random(locale.hashCode()));
+            }
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    private static void compareWithFilterUtils(Random random) {
+        for (int i = 0; i < 2_000; i++) {
+            List<String> filterValues = new ArrayList<>();
+            for (int j = random.nextInt(5); j > 0; j--) {
+                filterValues.add(SIGNS[random.nextInt(SIGNS.length)] + randomString(random, 3));
+            }
+            List<QualifierValue> qualifierValues = FilterUtils.parseQualifierValues(filterValues);
+            StringQualifierMatcher matcher = StringQualifierMatcher.compile(qualifierValues);
+            for (int j = 0; j < 20; j++) {
+                String value = random.nextInt(20) == 0 ? null : randomString(random, 6);
+                assertEquals(FilterUtils.isStringQualified(qualifierValues, value), matcher.test(value),
+                        filterValues + " " + value);
+            }
+        }
+    }
+
+    @Test
+    void searchesManyValuesInOnePass() {
+        List<String> filterValues = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            filterValues.add("!~host-" + i + ";");
+        }
+        StringQualifierMatcher matcher = StringQualifierMatcher.compile(FilterUtils.parseQualifierValues(filterValues));
+        StringBuilder allHosts = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            allHosts.append("HOST-").append(i).append(';');
+        }
+
+        assertFalse(matcher.test(allHosts));
+        assertTrue(matcher.test(allHosts.substring(8)));
+        assertTrue(StringQualifierMatcher.compile(List.of()).test(null));
+        assertFalse(StringQualifierMatcher.compile(FilterUtils.parseQualifierValues(List.of("x"))).test("x"));
+    }
+
+    private static String randomString(Random random, int maxPieces) {
+        StringBuilder value = new StringBuilder();
+        for (int i = random.nextInt(maxPieces + 1); i > 0; i--) {
+            value.append(PIECES[random.nextInt(PIECES.length)]);
+        }
+        return value.toString();
+    }
+}
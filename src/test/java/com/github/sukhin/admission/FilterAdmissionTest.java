@@ -0,0 +1,96 @@
+package com.github.sukhin.admission;
+
+import com.github.sukhin.condition.FilterCondition;
+import com.github.sukhin.condition.IntegerFilterCondition;
+import com.github.sukhin.condition.StringFilterCondition;
+import com.github.sukhin.condition.StringMatchStrategy;
+import com.github.sukhin.metrics.InMemoryFilterRecorder;
+import org.jooq.Field;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FilterAdmissionTest {
+    private static final Field<Integer> PORT_DST = DSL.field(DSL.name("port_dst"), Integer.class);
+    private static final Field<String> HOST = DSL.field(DSL.name("host"), String.class);
+    private static final Map<String, FilterCondition> CONDITIONS = Map.of(
+            "port", new IntegerFilterCondition(PORT_DST),
+            "host", new StringFilterCondition(HOST, StringMatchStrategy.PREFIX),
+            "comment", new StringFilterCondition(HOST),
+            "tag", new StringFilterCondition(HOST, StringMatchStrategy.CONTAINS)
+    );
+
+    @Test
+    void costsValuesByConditionAndWeight() {
+        FilterCostModel costModel = new FilterCostModel(Map.of("port", 3.0));
+
+        assertEquals(3 * (1 + 2 + 2), costModel.getCost(CONDITIONS, Map.of("port", List.of("=1", "!=2", "<10"))));
+        assertEquals(1 + 2 + 2, costModel.getCost(CONDITIONS, Map.of("host", List.of("=a", "!=b", "~c"))));
+        assertEquals(2 * 50 + 20, costModel.getCost(CONDITIONS,
+                Map.of("comment", List.of("=a", "~b"), "tag", List.of("!~c", "<d"), "unknown", List.of("~x"))));
+        assertThrows(IllegalArgumentException.class, () -> new FilterCostModel(Map.of("port", -1.0)));
+    }
+
+    @Test
+    void degradesRejectsAndThrottles() {
+        InMemoryFilterRecorder recorder = new InMemoryFilterRecorder(Duration.ofHours(1), Duration.ofHours(1));
+        FilterAdmission filterAdmission = FilterAdmission.builder(new FilterCostModel())
+                .degrade(10, 3)
+                .heavyLane(10, 1, Duration.ZERO)
+                .rejectCost(100)
+                .listener(recorder)
+                .build();
+
+        Map<String, List<String>> cheap = Map.of("port", List.of("=1", "=1", "=2", "=3", "=1"));
+        try (Admission admission = filterAdmission.admit(CONDITIONS, cheap)) {
+            assertEquals(AdmissionDecision.ADMITTED, admission.getDecision());
+            assertFalse(admission.isDegraded());
+            assertSame(cheap, admission.getFilter());
+        }
+        Map<String, List<String>> duplicates = Map.of("port", List.of("=1", "=2", "=3", "=1", "=2", "=3", "=1",
+                "=2", "=3", "=1", "=2"));
+        try (Admission admission = filterAdmission.admit(CONDITIONS, duplicates)) {
+            assertEquals(AdmissionDecision.ADMITTED, admission.getDecision());
+            assertFalse(admission.isDegraded());
+            assertEquals(3, admission.getCost());
+            assertEquals(Map.of("port", List.of("=1", "=2", "=3")), admission.getFilter());
+        }
+        Map<String, List<String>> unchanged = Map.of("port", List.of("=1"), "unknown", List.of("1", "2", "3", "4"));
+        assertSame(unchanged, filterAdmission.admit(CONDITIONS, unchanged).getFilter());
+
+        List<String> manyLikes = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            manyLikes.add("~" + i);
+        }
+        Admission capped = filterAdmission.admit(CONDITIONS, Map.of("tag", manyLikes));
+        assertEquals(AdmissionDecision.HEAVY, capped.getDecision());
+        assertTrue(capped.isDegraded());
+        assertEquals(60, capped.getCost());
+        assertEquals(1, filterAdmission.getHeavyInFlight());
+
+        Admission throttled = filterAdmission.admit(CONDITIONS, Map.of("tag", List.of("~a")));
+        assertEquals(AdmissionDecision.THROTTLED, throttled.getDecision());
+        assertTrue(throttled.isRejected());
+        capped.close();
+        capped.close();
+        assertEquals(0, filterAdmission.getHeavyInFlight());
+
+        Admission rejected = filterAdmission.admit(CONDITIONS, Map.of("comment", List.of("~a", "~b", "~c")));
+        assertEquals(AdmissionDecision.REJECTED, rejected.getDecision());
+        assertEquals(0, filterAdmission.getHeavyInFlight());
+
+        assertEquals(Map.of(AdmissionDecision.ADMITTED, 3L, AdmissionDecision.HEAVY, 1L,
+                AdmissionDecision.THROTTLED, 1L, AdmissionDecision.REJECTED, 1L), recorder.getAdmissions());
+        assertEquals(1, recorder.getDegradedCount());
+    }
+}
@@ -0,0 +1,106 @@
+package com.github.sukhin.condition;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LiteralConvertersTest {
+    private static final List<String> NUMBERS = List.of(
+            "", "-", "+", "0", "-0", "+0", "00", "1", "-1", "+1", " 1", "1 ", "1a", "a1", "1.0", "1e3", "0x10",
+            "32767", "32768", "-32768", "-32769", "2147483647", "2147483648", "-2147483648", "-2147483649",
+            "9223372036854775807", "9223372036854775808", "-9223372036854775808", "-9223372036854775809",
+            "000000000000000000000000000042", "99999999999999999999", "--1", "+-1", "١٢٣", "-١", "1١"
+    );
+    private static final List<String> DATE_TIMES = List.of(
+            "", "2023-01-15T12:30", "2023-01-15t12:30", "2023-01-15 12:30", "2023-01-15T12:30:45",
+            "2023-01-15T12:30:45.1", "2023-01-15T12:30:45.123456789", "2023-01-15T12:30:45.1234567891",
+            "2023-01-15T12:30:45.", "2023-01-15T12:30:4", "2023-01-15T12:30.5", "2023-01-15T12:3",
+            "2023-01-15T24:00", "2023-01-15T23:60", "2023-01-15T23:59:60", "2023-02-29T00:00", "2024-02-29T00:00",
+            "1900-02-29T00:00", "2000-02-29T00:00", "2023-04-31T00:00", "2023-00-01T00:00", "2023-13-01T00:00",
+            "2023-01-00T00:00", "2023-1-15T12:30", "2023-01-15", "2023-01-15T12:30Z", "2023-01-15T12:30:45+01:00",
+            "1677-09-21T00:12:43", "1678-01-01T00:00", "2261-12-31T23:59:59.999999999", "2262-04-11T23:47:16.854775808",
+            "0001-01-01T00:00", "9999-12-31T23:59:59.999999999", "+10000-01-01T00:00", "-0001-01-01T00:00",
+            "10000-01-01T00:00", "999-01-01T00:00", "1970-01-01T00:00", "1969-12-31T23:59:59.999999999",
+            "２023-01-15T12:30", "2023-01-15T12:30:45.12a"
+    );
+
+    @Test
+    void numbersMatchJdk() {
+        List<String> samples = new ArrayList<>(NUMBERS);
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            samples.add(Long.toString(random.nextLong() >> random.nextInt(64)));
+        }
+        for (String sample : samples) {
+            assertEquals(jdk(Short::parseShort, sample), LiteralConverters.SHORT.convert(sample), sample);
+            assertEquals(jdk(Integer::parseInt, sample), LiteralConverters.INTEGER.convert(sample), sample);
+            assertEquals(jdk(Long::parseLong, sample), LiteralConverters.LONG.convert(sample), sample);
+        }
+    }
+
+    @Test
+    void dateTimesMatchJdk() {
+        List<String> samples = new ArrayList<>(DATE_TIMES);
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            LocalDateTime value = LocalDateTime.ofEpochSecond(random.nextLong() % 20_000_000_000L,
+                    random.nextInt(4) == 0 ? random.nextInt(1_000_000_000) : 0, ZoneOffset.UTC);
+            samples.add(value.toString());
+        }
+        for (String sample : samples) {
+            LocalDateTime expected = jdk(LocalDateTime::parse, sample);
+            assertEquals(expected, LiteralConverters.LOCAL_DATE_TIME.convert(sample), sample);
+
+            long epochNanos = IsoDateTimeParser.parseEpochNanos(sample);
+            if (epochNanos == IsoDateTimeParser.INVALID) {
+                assertNull(expected, sample);
+            } else if (epochNanos != IsoDateTimeParser.UNSUPPORTED) {
+                assertEquals(expected, IsoDateTimeParser.toLocalDateTime(epochNanos), sample);
+            }
+        }
+    }
+
+    @Test
+    void applyThrowsJdkExceptions() {
+        assertThrows(NumberFormatException.class, () -> LiteralConverters.SHORT.apply("32768"));
+        assertThrows(NumberFormatException.class, () -> LiteralConverters.LONG.apply("abc"));
+        assertThrows(java.time.format.DateTimeParseException.class,
+                () -> LiteralConverters.LOCAL_DATE_TIME.apply("2023-02-29T00:00"));
+        assertEquals(12, LiteralConverters.INTEGER.apply("12"));
+    }
+
+    @Test
+    void cachedConvertsOnce() {
+        AtomicInteger calls = new AtomicInteger();
+        LiteralConverter<Integer> converter = LiteralConverters.cached(value -> {
+            calls.incrementAndGet();
+            return Integer.parseInt(value);
+        }, 16);
+
+        assertEquals(10, converter.convert("10"));
+        assertEquals(10, converter.convert("10"));
+        assertNull(converter.convert("x"));
+        assertNull(converter.convert("x"));
+        assertEquals(2, calls.get());
+        assertThrows(NumberFormatException.class, () -> converter.apply("x"));
+        assertThrows(IllegalArgumentException.class, () -> LiteralConverters.cached(LiteralConverters.LONG, 0));
+    }
+
+    private static <T> T jdk(Function<String, T> parser, String value) {
+        try {
+            return parser.apply(value);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+}
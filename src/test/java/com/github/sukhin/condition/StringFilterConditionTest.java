@@ -0,0 +1,93 @@
+package com.github.sukhin.condition;
+
+import com.github.sukhin.FilterUtils;
+import com.github.sukhin.Qualifier;
+import com.github.sukhin.QualifierValue;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.SQLDialect;
+import org.jooq.Table;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class StringFilterConditionTest {
+    private static final String[] HOSTS = {"Web_1", "web_1", "web_10", "WEB-2", "web%x", "db1", null};
+    private static final String[] VALUES = {"=web_1", "!=web_1", "=WEB-2", "~web", "!~web", "~Web_", "~WEB_1",
+            "~%", "!~db1", "~b_1"};
+    private static final Table<?> HOST_TABLE = DSL.table(DSL.name("host"));
+    private static final Field<Integer> ID = DSL.field(DSL.name("id"), Integer.class);
+    private static final Field<String> NAME = DSL.field(DSL.name("name"), String.class);
+
+    private static Connection connection;
+    private static DSLContext ctx;
+
+    @BeforeAll
+    static void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:strings");
+        ctx = DSL.using(connection, SQLDialect.H2);
+        ctx.execute("create table \"host\" (\"id\" int, \"name\" varchar(64))");
+        for (int i = 0; i < HOSTS.length; i++) {
+            ctx.insertInto(HOST_TABLE, ID, NAME).values(i, HOSTS[i]).execute();
+        }
+    }
+
+    @AfterAll
+    static void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    void predicatesAndMatchKeysFollowStrategySql() {
+        for (StringMatchStrategy strategy : List.of(StringMatchStrategy.EXACT, StringMatchStrategy.PREFIX,
+                StringMatchStrategy.CONTAINS)) {
+            for (boolean lowerCaseValues : new boolean[]{false, true}) {
+                StringFilterCondition condition = new StringFilterCondition(NAME, String::trim, strategy, NAME,
+                        lowerCaseValues);
+                for (String value : VALUES) {
+                    String message = strategy + ", " + lowerCaseValues + ", " + value;
+                    List<QualifierValue> qualifierValues = FilterUtils.parseQualifierValues(List.of(value));
+                    List<Integer> expected = ctx.select(ID).from(HOST_TABLE)
+                            .where(condition.getCondition(qualifierValues)).orderBy(ID).fetch(ID);
+
+                    Predicate<String> predicate = condition.getPredicate(qualifierValues);
+                    assertEquals(expected, ids(predicate), message);
+                    if (Qualifier.EQUAL == qualifierValues.get(0).qualifier()) {
+                        Object key = condition.getMatchKey(condition.getConvertedValue(
+                                qualifierValues.get(0).value()).orElseThrow());
+                        assertEquals(expected, ids(name -> key.equals(condition.getMatchKey(name))), message);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void convertsValuesOfStrategies() {
+        StringFilterCondition condition = new StringFilterCondition(NAME, String::trim, StringMatchStrategy.EXACT);
+
+        assertEquals(List.of(3), ctx.select(ID).from(HOST_TABLE)
+                .where(condition.getCondition(FilterUtils.parseQualifierValues(List.of("= WEB-2 ")))).fetch(ID));
+    }
+
+    private static List<Integer> ids(Predicate<String> predicate) {
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < HOSTS.length; i++) {
+            if (Objects.nonNull(HOSTS[i]) && predicate.test(HOSTS[i])) {
+                ids.add(i);
+            }
+        }
+        return ids;
+    }
+}
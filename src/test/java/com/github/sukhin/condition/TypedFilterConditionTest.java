@@ -0,0 +1,102 @@
+package com.github.sukhin.condition;
+
+import com.github.sukhin.ConditionMode;
+import com.github.sukhin.FilterUtils;
+import com.github.sukhin.QualifierParser;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.jooq.impl.EnumConverter;
+import org.jooq.impl.SQLDataType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TypedFilterConditionTest {
+    private static final DSLContext CTX = DSL.using(SQLDialect.POSTGRES);
+    private static final Field<Object> IP_SRC = DSL.field(DSL.name("ip_src"), SQLDataType.OTHER);
+    private static final Field<UUID> SESSION = DSL.field(DSL.name("session"), UUID.class);
+    private static final Field<Protocol> PROTOCOL = DSL.field(DSL.name("protocol"),
+            SQLDataType.VARCHAR.asConvertedDataType(new EnumConverter<>(String.class, Protocol.class)));
+    private static final Map<String, FilterCondition> CONDITIONS = Map.of(
+            "ip_src", new InetFilterCondition(IP_SRC),
+            "session", new UuidFilterCondition(SESSION),
+            "protocol", new EnumFilterCondition<>(PROTOCOL, Protocol.class)
+    );
+
+    enum Protocol {
+        TCP, UDP, ICMP
+    }
+
+    @Test
+    void parsesAndFormatsCidr() {
+        assertEquals("10.119.24.99", Cidr.parse("10.119.24.99").toString());
+        assertEquals("10.0.0.0/8", Cidr.parse("10.0.0.0/8").toString());
+        assertEquals("2001:db8::1", Cidr.parse("2001:0DB8:0:0:0:0:0:1").toString());
+        assertEquals("2001:db8:0:1::/64", Cidr.parse("2001:db8:0:1:0:0:0:0/64").toString());
+        assertEquals("::", Cidr.parse("::").toString());
+        assertEquals("1::", Cidr.parse("1::").toString());
+        assertEquals("::ffff:1.2.3.4", Cidr.parse("::ffff:1.2.3.4").toString());
+        assertEquals("1:0:1:1:1:1:1:1", Cidr.parse("1::1:1:1:1:1:1").toString());
+        for (String invalid : List.of("", "1.2.3", "1.2.3.4.5", "256.1.1.1", "1.2.3.4/33", "1.2.3.4/", "1..2.3",
+                ":1::", "1:::2", "1::2::3", "1:2:3:4:5:6:7:8:9", "1:2:3:4:5:6:7", "12345::", "g::", "host.local",
+                "1.2.3.4/-1", "::1%eth0", "١.2.3.4")) {
+            assertNull(Cidr.parse(invalid), invalid);
+        }
+
+        Cidr network = Cidr.parse("10.0.0.0/9");
+        assertTrue(network.contains(Cidr.parse("10.127.255.255")));
+        assertFalse(network.contains(Cidr.parse("10.128.0.0")));
+        assertFalse(network.contains(Cidr.parse("10.0.0.0/8")));
+        assertFalse(network.contains(Cidr.parse("::a00:1")));
+    }
+
+    @Test
+    void bindsNativeValues() {
+        assertEquals("((\"ip_src\" <<= cast('10.0.0.0/8' as inet)) or \"ip_src\" = cast('2001:db8::1' as inet))",
+                CTX.renderInlined(FilterUtils.getConditionFromFilter(CONDITIONS,
+                        Map.of("ip_src", List.of("~10.0.0.0/8", "=2001:DB8::1", "=example.com")))));
+        assertEquals("\"session\" = '0f14d0ab-9605-4a62-a9e4-5ed26688389b'",
+                CTX.renderInlined(FilterUtils.getConditionFromFilter(CONDITIONS,
+                        Map.of("session", List.of("=0F14D0AB-9605-4A62-A9E4-5ED26688389B", "=1-2-3-4-5")))));
+        assertEquals("\"protocol\" <> 'ICMP'", CTX.renderInlined(FilterUtils.getConditionFromFilter(CONDITIONS,
+                Map.of("protocol", List.of("=tcp", "=UDP", "=sctp")), null, ConditionMode.SIMPLIFIED)));
+        assertEquals("\"protocol\" is not null", CTX.renderInlined(FilterUtils.getConditionFromFilter(CONDITIONS,
+                Map.of("protocol", List.of("!=tcp", "=tcp")), null, ConditionMode.SIMPLIFIED)));
+    }
+
+    @Test
+    void predicatesMatchConditions() {
+        Predicate<String> ip = new InetFilterCondition(IP_SRC)
+                .getPredicate(List.of(QualifierParser.parse("~10.0.0.0/8"), QualifierParser.parse("!~0.0.0.0/0")));
+        @SuppressWarnings("unchecked")
+        Predicate<Protocol> protocol = ((EnumFilterCondition<Protocol>) CONDITIONS.get("protocol"))
+                .getPredicate(List.of(QualifierParser.parse("!=icmp")));
+
+        assertTrue(ip.test("10.1.2.3"));
+        assertTrue(ip.test("::1"));
+        assertFalse(ip.test("192.168.0.1"));
+        assertFalse(ip.test(null));
+        assertTrue(protocol.test(Protocol.TCP));
+        assertFalse(protocol.test(Protocol.ICMP));
+    }
+
+    @Test
+    void parsesUuidsWithoutExceptions() {
+        UUID uuid = UUID.randomUUID();
+        assertEquals(uuid, LiteralConverters.parseUuid(uuid.toString()));
+        assertEquals(uuid, LiteralConverters.parseUuid(uuid.toString().toUpperCase()));
+        assertNull(LiteralConverters.parseUuid("0f14d0ab-9605-4a62-a9e4-5ed26688389"));
+        assertNull(LiteralConverters.parseUuid("0f14d0ab-9605-4a62-a9e4-5ed26688389g"));
+        assertNull(LiteralConverters.parseUuid("0f14d0ab+9605-4a62-a9e4-5ed26688389b"));
+    }
+}
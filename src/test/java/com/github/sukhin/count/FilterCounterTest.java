@@ -0,0 +1,100 @@
+package com.github.sukhin.count;
+
+import com.github.sukhin.condition.FilterCondition;
+import com.github.sukhin.condition.IntegerFilterCondition;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.SQLDialect;
+import org.jooq.Table;
+import org.jooq.exception.DataAccessException;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FilterCounterTest {
+    private static final Table<Record> FLOW = DSL.table(DSL.name("flow"));
+    private static final Field<Integer> PORT_DST = DSL.field(DSL.name("port_dst"), Integer.class);
+    private static final Field<Integer> VLAN = DSL.field(DSL.name("vlan"), Integer.class);
+    private static final Map<String, FilterCondition> CONDITIONS = Map.of(
+            "port_dst", new IntegerFilterCondition(PORT_DST),
+            "vlan", new IntegerFilterCondition(VLAN)
+    );
+
+    private Connection connection;
+    private DSLContext ctx;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:count");
+        ctx = DSL.using(connection, SQLDialect.H2);
+        ctx.execute("create table \"flow\" (\"port_dst\" int, \"vlan\" int)");
+        ctx.execute("insert into \"flow\" select mod(x, 100), mod(x, 7) from system_range(1, 1000)");
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    void countsWithStrategies() {
+        FilterCounter counter = new FilterCounter(ctx, 50);
+
+        assertEquals(new FilterCount(500, CountAccuracy.EXACT),
+                counter.count(FLOW, PORT_DST.lt(50), CountStrategy.EXACT));
+        assertEquals("50+", counter.count(FLOW, PORT_DST.lt(50), CountStrategy.CAPPED).format());
+        assertEquals(new FilterCount(10, CountAccuracy.EXACT),
+                counter.count(FLOW, PORT_DST.eq(1), CountStrategy.CAPPED));
+        // No planner estimate on H2, falls back to the capped count
+        assertEquals(new FilterCount(50, CountAccuracy.AT_LEAST),
+                counter.count(FLOW, DSL.noCondition(), CountStrategy.ESTIMATED));
+        assertEquals("~12", new FilterCount(12, CountAccuracy.ESTIMATE).format());
+    }
+
+    @Test
+    void cacheKeepsCountsForTtl() {
+        AtomicLong clock = new AtomicLong();
+        FilterCountCache cache = new FilterCountCache(new FilterCounter(ctx, 10_000), FLOW, CONDITIONS,
+                CountStrategy.EXACT, Duration.ofSeconds(5), 16, clock::get);
+        Map<String, List<String>> filter = new LinkedHashMap<>();
+        filter.put("port_dst", List.of("<10", "=50"));
+        filter.put("vlan", List.of("=1"));
+        Map<String, List<String>> reordered = new LinkedHashMap<>();
+        reordered.put("vlan", List.of("=1"));
+        reordered.put("port_dst", List.of("=50", "<10", "<10"));
+
+        long expected = ctx.fetchCount(FLOW, PORT_DST.lt(10).or(PORT_DST.eq(50)).and(VLAN.eq(1)));
+        assertEquals(new FilterCount(expected, CountAccuracy.EXACT), cache.getCount(filter));
+
+        ctx.execute("delete from \"flow\"");
+        clock.addAndGet(Duration.ofSeconds(4).toNanos());
+        assertEquals(expected, cache.getCount(reordered).value());
+
+        clock.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertEquals(0, cache.getCount(filter).value());
+    }
+
+    @Test
+    void contradictionsAreNotQueried() {
+        FilterCountCache cache = new FilterCountCache(new FilterCounter(ctx, 10), DSL.table(DSL.name("missing")),
+                CONDITIONS, CountStrategy.EXACT, Duration.ofMinutes(1), 16);
+
+        assertEquals(new FilterCount(0, CountAccuracy.EXACT),
+                cache.getCount(Map.of("port_dst", List.of(">2147483647"), "vlan", List.of("=1"))));
+        assertThrows(DataAccessException.class, () -> cache.getCount(Map.of("vlan", List.of("=1"))));
+    }
+}
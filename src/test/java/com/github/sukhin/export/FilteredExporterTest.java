@@ -0,0 +1,139 @@
+package com.github.sukhin.export;
+
+import com.github.sukhin.FilterUtils;
+import com.github.sukhin.condition.FilterCondition;
+import com.github.sukhin.condition.IntegerFilterCondition;
+import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.SQLDialect;
+import org.jooq.Table;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FilteredExporterTest {
+    private static final Table<Record> FLOW = DSL.table(DSL.name("flow"));
+    private static final Field<Long> ID = DSL.field(DSL.name("id"), Long.class);
+    private static final Field<Integer> PORT_DST = DSL.field(DSL.name("port_dst"), Integer.class);
+    private static final Field<String> HOST = DSL.field(DSL.name("host"), String.class);
+    private static final Map<String, FilterCondition> CONDITIONS =
+            Map.of("port_dst", new IntegerFilterCondition(PORT_DST));
+
+    private Connection connection;
+    private DSLContext ctx;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:export;LAZY_QUERY_EXECUTION=1");
+        ctx = DSL.using(connection, SQLDialect.H2);
+        ctx.execute("create table \"flow\" (\"id\" bigint primary key, \"port_dst\" int, \"host\" varchar(64))");
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    void writesNdjsonAndCsv() {
+        ctx.insertInto(FLOW, ID, PORT_DST, HOST)
+                .values(1L, 80, "a,\"b\"")
+                .values(2L, 443, null)
+                .values(3L, 22, "line\nbreak")
+                .execute();
+        Condition condition = FilterUtils.getConditionFromFilter(CONDITIONS, Map.of("port_dst", List.of(">=80")));
+        FilteredExporter exporter = new FilteredExporter(ctx, 2);
+
+        ByteArrayOutputStream json = new ByteArrayOutputStream();
+        ExportResult jsonResult =
+                exporter.export(FLOW, condition, List.of(ID.desc()), ExportFormat.NDJSON, json);
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        exporter.export(FLOW, condition, List.of(ID.asc()), ExportFormat.CSV, csv);
+
+        assertEquals(new ExportResult(2, false, false), jsonResult);
+        assertEquals("{\"id\":2,\"port_dst\":443,\"host\":null}\n"
+                        + "{\"id\":1,\"port_dst\":80,\"host\":\"a,\\\"b\\\"\"}\n",
+                json.toString(StandardCharsets.UTF_8));
+        assertEquals("id,port_dst,host\r\n1,80,\"a,\"\"b\"\"\"\r\n2,443,\r\n",
+                csv.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void stopsAtRowCapAndOnCancel() {
+        insertRows(100);
+        FilteredExporter exporter = new FilteredExporter(ctx, 10);
+
+        ExportResult capped = exporter.export(FLOW, DSL.noCondition(), List.of(ID.asc()), ExportFormat.CSV,
+                OutputStream.nullOutputStream(), 10, () -> false);
+        AtomicInteger checks = new AtomicInteger();
+        ExportResult cancelled = exporter.export(FLOW, DSL.noCondition(), List.of(), ExportFormat.NDJSON,
+                OutputStream.nullOutputStream(), Long.MAX_VALUE, () -> checks.incrementAndGet() > 5);
+        ExportResult exact = exporter.export(FLOW, DSL.noCondition(), List.of(), ExportFormat.NDJSON,
+                OutputStream.nullOutputStream(), 100, () -> false);
+
+        assertEquals(new ExportResult(10, true, false), capped);
+        assertEquals(new ExportResult(5, false, true), cancelled);
+        assertEquals(new ExportResult(100, false, false), exact);
+    }
+
+    @Test
+    void memoryStaysFlatWithRowCount() {
+        insertRows(300_000);
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long baseline = usedHeapAfterGc(memory);
+        long[] peak = {0};
+        OutputStream sampling = new OutputStream() {
+            private long written;
+
+            @Override
+            public void write(int b) {
+                write(new byte[]{(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                // Sample every 4 MB of output, about every 70k rows
+                if ((written + len) >> 22 != written >> 22) {
+                    peak[0] = Math.max(peak[0], usedHeapAfterGc(memory));
+                }
+                written += len;
+            }
+        };
+
+        ExportResult result = new FilteredExporter(ctx, 500).export(FLOW, DSL.noCondition(), List.of(ID.asc()),
+                ExportFormat.NDJSON, sampling);
+
+        assertEquals(300_000, result.rows());
+        assertTrue(peak[0] > 0);
+        // Materializing 300k records would take tens of megabytes
+        assertTrue(peak[0] - baseline < 16 << 20, "Heap grew by " + (peak[0] - baseline) + " bytes");
+    }
+
+    private void insertRows(int count) {
+        ctx.execute("insert into \"flow\" select x, mod(x, 1000), concat('host-', x) from system_range(1, ?)",
+                count);
+    }
+
+    private static long usedHeapAfterGc(MemoryMXBean memory) {
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,117 @@
+package com.github.sukhin.match;
+
+import com.github.sukhin.condition.BooleanFilterCondition;
+import com.github.sukhin.condition.FilterCondition;
+import com.github.sukhin.condition.IntegerFilterCondition;
+import com.github.sukhin.condition.LocalDateTimeFilterCondition;
+import com.github.sukhin.condition.ShortFilterCondition;
+import com.github.sukhin.condition.StringFilterCondition;
+import com.github.sukhin.memory.FilterPredicates;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FilterMatcherTest {
+    private static final Map<String, FilterCondition> CONDITIONS = Map.of(
+            "ip_src", new StringFilterCondition(DSL.field(DSL.name("ip_src"), String.class)),
+            "port_dst", new IntegerFilterCondition(DSL.field(DSL.name("port_dst"), Integer.class)),
+            "vlan", new ShortFilterCondition(DSL.field(DSL.name("vlan"), Short.class)),
+            "created", new LocalDateTimeFilterCondition(DSL.field(DSL.name("created"), LocalDateTime.class)),
+            "active", new BooleanFilterCondition(DSL.field(DSL.name("active"), Boolean.class))
+    );
+    private static final Map<String, String[]> VALUES = Map.of(
+            "ip_src", new String[]{"=10.0.0.1", "=10.0.0.2", "=10.0.0.3", "!=10.0.0.1", "~10.0", "!~10.0.0.2", "x"},
+            "port_dst", new String[]{"=1", "=2", "=3", "=4", "<2", "<=3", ">3", ">=2", "!=3", "5", "=x"},
+            "vlan", new String[]{"=1", "=2", "<-32768", ">32767", ">=1", "!=2"},
+            "created", new String[]{"=2023-01-01T00:00", "<2023-01-02T00:00", ">2023-01-01T00:00", "!=x"},
+            "active", new String[]{"=true", "=false", "!=true", "~true"}
+    );
+
+    @Test
+    void matchesLikePredicates() {
+        Random random = new Random(42);
+        FilterMatcher matcher = new FilterMatcher(CONDITIONS);
+        Map<String, Predicate<Map<String, Object>>> predicates = new HashMap<>();
+        List<String> fieldNames = new ArrayList<>(new TreeSet<>(VALUES.keySet()));
+        for (int i = 0; i < 2_000; i++) {
+            Map<String, List<String>> filter = new HashMap<>();
+            for (String fieldName : fieldNames) {
+                if (random.nextInt(3) == 0) {
+                    String[] values = VALUES.get(fieldName);
+                    List<String> filterValues = new ArrayList<>();
+                    for (int j = random.nextInt(3) + 1; j > 0; j--) {
+                        filterValues.add(values[random.nextInt(values.length)]);
+                    }
+                    filter.put(fieldName, filterValues);
+                }
+            }
+            String id = "filter-" + random.nextInt(500);
+            matcher.add(id, filter);
+            predicates.put(id, FilterPredicates.compile(CONDITIONS, accessors(), filter));
+            if (random.nextInt(10) == 0) {
+                String removed = "filter-" + random.nextInt(500);
+                assertEquals(predicates.remove(removed) != null, matcher.remove(removed));
+            }
+        }
+        assertEquals(predicates.size(), matcher.size());
+
+        for (int i = 0; i < 500; i++) {
+            Map<String, Object> event = new HashMap<>();
+            event.put("ip_src", random.nextInt(5) == 0 ? null : "10.0.0." + random.nextInt(4));
+            event.put("port_dst", random.nextInt(7) == 0 ? null : random.nextInt(6));
+            event.put("vlan", (short) random.nextInt(4));
+            event.put("created", LocalDateTime.parse("2023-01-01T00:00").plusHours(random.nextInt(48) - 12));
+            if (random.nextBoolean()) {
+                event.put("active", random.nextBoolean());
+            }
+
+            TreeSet<String> expected = new TreeSet<>();
+            predicates.forEach((id, predicate) -> {
+                if (predicate.test(event)) {
+                    expected.add(id);
+                }
+            });
+            assertEquals(expected, new TreeSet<>(matcher.match(event)), event.toString());
+        }
+    }
+
+    @Test
+    void addsAndRemovesFilters() {
+        FilterMatcher matcher = new FilterMatcher(CONDITIONS);
+        matcher.add("alert", Map.of("port_dst", List.of("<11", "100"), "ip_src", List.of("!=10.119.24.99")));
+        matcher.add("web", Map.of("port_dst", List.of("=80", "=443"), "ip_src", List.of("=10.119.24.99")));
+
+        assertEquals(List.of("alert"), matcher.match(Map.of("port_dst", 7, "ip_src", "10.0.0.1")));
+        assertEquals(List.of("web"), matcher.match(Map.of("port_dst", 443, "ip_src", "10.119.24.99")));
+        assertEquals(List.of(), matcher.match(Map.of("port_dst", 7)));
+
+        matcher.add("alert", Map.of("port_dst", List.of(">1000")));
+        assertEquals(List.of(), matcher.match(Map.of("port_dst", 7, "ip_src", "10.0.0.1")));
+        assertTrue(matcher.remove("web"));
+        assertFalse(matcher.remove("web"));
+        assertEquals(List.of(), matcher.match(Map.of("port_dst", 443, "ip_src", "10.119.24.99")));
+        assertEquals(List.of("alert"), matcher.match(Map.of("port_dst", 8080)));
+        assertEquals(1, matcher.size());
+    }
+
+    private static Map<String, Function<Map<String, Object>, ?>> accessors() {
+        Map<String, Function<Map<String, Object>, ?>> accessors = new HashMap<>();
+        for (String fieldName : CONDITIONS.keySet()) {
+            accessors.put(fieldName, event -> event.get(fieldName));
+        }
+        return accessors;
+    }
+}
@@ -0,0 +1,59 @@
+package com.github.sukhin.memory;
+
+import com.github.sukhin.FilterUtils;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ColumnarFilterTest {
+    private static final int ROWS = 1000;
+
+    @Test
+    void selectMatchesScalarEvaluation() {
+        Random random = new Random(42);
+        int[] ports = new int[ROWS];
+        short[] vlans = new short[ROWS];
+        long[] created = new long[ROWS];
+        for (int i = 0; i < ROWS; i++) {
+            ports[i] = random.nextInt(2000) - 1000;
+            vlans[i] = (short) random.nextInt();
+            created[i] = LocalDateTime.parse("2023-01-01T00:00").toEpochSecond(ZoneOffset.UTC) * 1000
+                    + random.nextInt(10_000);
+        }
+        ColumnarTable table = new ColumnarTable(ROWS)
+                .addColumn("port_dst", ports)
+                .addColumn("vlan", vlans)
+                .addTimestampColumn("created", created);
+
+        long[] selection = table.select(Map.of(
+                "port_dst", List.of("<11", "=100", ">=900", "x"),
+                "vlan", List.of("!=0", ">40000"),
+                "created", List.of("<2023-01-01T00:00:05.0005", ">=2023-01-01T00:00:09.999")));
+
+        int expected = 0;
+        for (int i = 0; i < ROWS; i++) {
+            long millis = created[i] % 10_000;
+            boolean match = (ports[i] < 11 || ports[i] == 100 || ports[i] >= 900)
+                    && vlans[i] != 0
+                    && (millis <= 5000 || millis >= 9999);
+            assertEquals(match, (selection[i >>> 6] & (1L << i)) != 0, "row " + i);
+            expected += match ? 1 : 0;
+        }
+        assertEquals(expected, ColumnarFilter.cardinality(selection));
+    }
+
+    @Test
+    void selectWithoutConditionSelectsAllRows() {
+        long[] selection = ColumnarFilter.newSelection(70);
+
+        ColumnarFilter.select(new long[70], 70, FilterUtils.parseQualifierValues(List.of("x", "~1")), selection);
+
+        assertEquals(70, ColumnarFilter.cardinality(selection));
+    }
+}
@@ -0,0 +1,62 @@
+package com.github.sukhin.memory;
+
+import com.github.sukhin.condition.BooleanFilterCondition;
+import com.github.sukhin.condition.FilterCondition;
+import com.github.sukhin.condition.IntegerFilterCondition;
+import com.github.sukhin.condition.LocalDateTimeFilterCondition;
+import com.github.sukhin.condition.StringFilterCondition;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FilterPredicatesTest {
+    private static final Map<String, FilterCondition> CONDITIONS = Map.of(
+            "ip_src", new StringFilterCondition(DSL.field(DSL.name("ip_src"), String.class)),
+            "port_dst", new IntegerFilterCondition(DSL.field(DSL.name("port_dst"), Integer.class)),
+            "created", new LocalDateTimeFilterCondition(DSL.field(DSL.name("created"), LocalDateTime.class)),
+            "active", new BooleanFilterCondition(DSL.field(DSL.name("active"), Boolean.class))
+    );
+    private static final Map<String, Function<Flow, ?>> ACCESSORS = Map.of(
+            "ip_src", Flow::ipSrc,
+            "port_dst", Flow::portDst,
+            "created", Flow::created,
+            "active", Flow::active
+    );
+    private static final List<Flow> FLOWS = List.of(
+            new Flow(1, "10.119.24.99", 10, LocalDateTime.parse("2023-01-01T10:00"), true),
+            new Flow(2, "10.119.24.100", 100, LocalDateTime.parse("2023-02-01T10:00"), false),
+            new Flow(3, "192.168.0.1", 443, LocalDateTime.parse("2023-03-01T10:00"), true),
+            new Flow(4, null, null, null, null)
+    );
+
+    @Test
+    void combinesFieldsWithAndAndValuesWithOr() {
+        assertEquals(List.of(2), ids(Map.of("ip_src", List.of("!=10.119.24.99"), "port_dst", List.of("<11", "=100"))));
+        assertEquals(List.of(1, 2), ids(Map.of("ip_src", List.of("~10.119"))));
+        assertEquals(List.of(3), ids(Map.of("ip_src", List.of("!~10.119"))));
+        assertEquals(List.of(2, 3), ids(Map.of("created", List.of(">=2023-02-01T10:00"))));
+        assertEquals(List.of(2), ids(Map.of("active", List.of("!=true"))));
+    }
+
+    @Test
+    void ignoresValuesWithoutCondition() {
+        assertEquals(List.of(1, 2, 3, 4), ids(Map.of("port_dst", List.of("x", "100", "~1"), "unknown", List.of("=1"))));
+        assertEquals(List.of(1, 2, 3), ids(Map.of("port_dst", List.of("x", ">=0"))));
+    }
+
+    private static List<Integer> ids(Map<String, List<String>> filter) {
+        Predicate<Flow> predicate = FilterPredicates.compile(CONDITIONS, ACCESSORS, filter);
+        return FLOWS.parallelStream().filter(predicate).map(Flow::id).collect(Collectors.toList());
+    }
+
+    private record Flow(int id, String ipSrc, Integer portDst, LocalDateTime created, Boolean active) {
+    }
+}
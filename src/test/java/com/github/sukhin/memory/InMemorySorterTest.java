@@ -0,0 +1,90 @@
+package com.github.sukhin.memory;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class InMemorySorterTest {
+    private static final String[] QUALIFIERS = {"+port", "-port", "+bytes", "-bytes", "+rate", "-rate", "+host",
+            "-host", "+unknown", "=port"};
+
+    @Test
+    void pageIsSameAsStableSort() {
+        Random random = new Random(42);
+        InMemorySorter<Flow> sequential = register(new InMemorySorter<>());
+        InMemorySorter<Flow> parallel = register(new InMemorySorter<>(1));
+        for (int i = 0; i < 500; i++) {
+            List<Flow> flows = randomFlows(random, random.nextInt(200));
+            List<String> sortQualifiers = new ArrayList<>();
+            for (int j = random.nextInt(4); j > 0; j--) {
+                sortQualifiers.add(QUALIFIERS[random.nextInt(QUALIFIERS.length)]);
+            }
+            int offset = random.nextInt(50);
+            int limit = random.nextInt(50);
+
+            List<Flow> expected = new ArrayList<>(flows);
+            expected.sort(referenceComparator(sortQualifiers));
+            expected = expected.subList(Math.min(offset, expected.size()), Math.min(offset + limit, expected.size()));
+            assertEquals(expected, sequential.getPage(flows, sortQualifiers, offset, limit), sortQualifiers.toString());
+            assertEquals(expected, parallel.getPage(flows, sortQualifiers, offset, limit), sortQualifiers.toString());
+        }
+    }
+
+    @Test
+    void mergesLargePartitions() {
+        Random random = new Random(7);
+        List<Flow> flows = randomFlows(random, 100_000);
+        List<String> sortQualifiers = List.of("-bytes", "+host");
+        List<Flow> expected = new ArrayList<>(flows);
+        expected.sort(referenceComparator(sortQualifiers));
+
+        List<Flow> page = register(new InMemorySorter<>(10_000)).getPage(flows, sortQualifiers, 1_000, 100);
+        assertEquals(expected.subList(1_000, 1_100), page);
+        assertEquals(List.of(), register(new InMemorySorter<>()).getPage(flows, sortQualifiers, Integer.MAX_VALUE, 1));
+        assertThrows(IllegalArgumentException.class, () -> new InMemorySorter<Flow>().getPage(flows, List.of(), -1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new InMemorySorter<Flow>(0));
+    }
+
+    private static InMemorySorter<Flow> register(InMemorySorter<Flow> sorter) {
+        return sorter.addIntKey("port", Flow::port)
+                .addLongKey("bytes", Flow::bytes)
+                .addDoubleKey("rate", Flow::rate)
+                .addKey("host", Flow::host);
+    }
+
+    private static Comparator<Flow> referenceComparator(List<String> sortQualifiers) {
+        Comparator<Flow> comparator = (flow1, flow2) -> 0;
+        for (String sortQualifier : sortQualifiers) {
+            boolean descending = sortQualifier.startsWith("-");
+            Comparator<Flow> key = switch (sortQualifier.substring(1)) {
+                case "port" -> Comparator.comparingInt(Flow::port);
+                case "bytes" -> Comparator.comparingLong(Flow::bytes);
+                case "rate" -> Comparator.comparingDouble(Flow::rate);
+                case "host" -> Comparator.comparing(Flow::host, Comparator.nullsLast(Comparator.naturalOrder()));
+                default -> null;
+            };
+            if (key != null && !sortQualifier.startsWith("=")) {
+                comparator = comparator.thenComparing(descending ? key.reversed() : key);
+            }
+        }
+        return comparator;
+    }
+
+    private static List<Flow> randomFlows(Random random, int size) {
+        List<Flow> flows = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            flows.add(new Flow(i, random.nextInt(5), random.nextInt(10) * 1_000_000_000L,
+                    random.nextInt(4) / 2.0, random.nextInt(6) == 0 ? null : "host-" + random.nextInt(5)));
+        }
+        return flows;
+    }
+
+    private record Flow(int id, int port, long bytes, double rate, String host) {
+    }
+}
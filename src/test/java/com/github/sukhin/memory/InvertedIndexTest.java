@@ -0,0 +1,161 @@
+package com.github.sukhin.memory;
+
+import com.github.sukhin.condition.BooleanFilterCondition;
+import com.github.sukhin.condition.FilterCondition;
+import com.github.sukhin.condition.IntegerFilterCondition;
+import com.github.sukhin.condition.StringFilterCondition;
+import org.jooq.Field;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InvertedIndexTest {
+    private static final Field<String> STATUS = DSL.field(DSL.name("status"), String.class);
+    private static final Field<String> VENDOR = DSL.field(DSL.name("vendor"), String.class);
+    private static final Field<Boolean> ONLINE = DSL.field(DSL.name("online"), Boolean.class);
+    private static final Field<Integer> PORT = DSL.field(DSL.name("port"), Integer.class);
+    private static final Map<String, FilterCondition> CONDITIONS = Map.of(
+            "status", new StringFilterCondition(STATUS),
+            "vendor", new StringFilterCondition(VENDOR),
+            "online", new BooleanFilterCondition(ONLINE),
+            "port", new IntegerFilterCondition(PORT)
+    );
+    private static final Map<String, Function<Device, ?>> ACCESSORS = Map.of(
+            "status", Device::status,
+            "vendor", Device::vendor,
+            "online", Device::online
+    );
+    private static final String[] STATUSES = {"active", "Active", "retired", "spare", null};
+    private static final String[] VENDORS = {"acme", "ACME", "globex", "initech", "umbrella", null};
+    private static final String[] SIGNS = {"=", "!=", ""};
+
+    @Test
+    void bitmapMatchesBitSet() {
+        Random random = new Random(42);
+        for (int i = 0; i < 200; i++) {
+            BitSet expected1 = randomBitSet(random);
+            BitSet expected2 = randomBitSet(random);
+            RowBitmap bitmap1 = RowBitmap.of(expected1.stream().toArray());
+            RowBitmap bitmap2 = RowBitmap.of(expected2.stream().toArray());
+
+            BitSet or = (BitSet) expected1.clone();
+            or.or(expected2);
+            BitSet and = (BitSet) expected1.clone();
+            and.and(expected2);
+            BitSet andNot = (BitSet) expected1.clone();
+            andNot.andNot(expected2);
+            assertArrayEquals(or.stream().toArray(), bitmap1.or(bitmap2).toArray());
+            assertArrayEquals(and.stream().toArray(), bitmap1.and(bitmap2).toArray());
+            assertArrayEquals(andNot.stream().toArray(), bitmap1.andNot(bitmap2).toArray());
+            assertEquals(expected1.cardinality(), bitmap1.cardinality());
+
+            int row = random.nextInt(200_000);
+            expected1.flip(row);
+            RowBitmap flipped = bitmap1.contains(row) ? bitmap1.remove(row) : bitmap1.add(row);
+            assertArrayEquals(expected1.stream().toArray(), flipped.toArray());
+            assertEquals(expected1.get(row), flipped.contains(row));
+        }
+        assertSame(RowBitmap.EMPTY, RowBitmap.of());
+        assertThrows(IllegalArgumentException.class, () -> RowBitmap.of(1, -1));
+    }
+
+    @Test
+    void selectsLikeFilterPredicates() {
+        Random random = new Random(7);
+        InvertedIndex<Device> index = new InvertedIndex<>(CONDITIONS, ACCESSORS);
+        Device[] devices = new Device[20_000];
+        Map<Integer, Device> batch = new HashMap<>();
+        for (int row = 0; row < devices.length; row++) {
+            devices[row] = randomDevice(random);
+            batch.put(row, devices[row]);
+        }
+        index.putAll(batch);
+        InvertedIndex<Device>.Snapshot initial = index.snapshot();
+        for (int i = 0; i < 2_000; i++) {
+            int row = random.nextInt(devices.length);
+            if (random.nextInt(10) == 0) {
+                index.remove(row);
+                devices[row] = null;
+            } else {
+                devices[row] = randomDevice(random);
+                index.put(row, devices[row]);
+            }
+        }
+
+        for (int i = 0; i < 300; i++) {
+            Map<String, List<String>> filter = randomFilter(random);
+            Predicate<Device> predicate = FilterPredicates.compile(CONDITIONS, ACCESSORS, filter);
+            List<Integer> expected = new ArrayList<>();
+            for (int row = 0; row < devices.length; row++) {
+                if (devices[row] != null && predicate.test(devices[row])) {
+                    expected.add(row);
+                }
+            }
+            int[] actual = index.snapshot().select(filter).orElseThrow().toArray();
+            assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(), actual, filter.toString());
+        }
+
+        // Readers of an old snapshot don't see later updates
+        assertEquals(devices.length, initial.getRows().cardinality());
+        assertEquals(index.snapshot().getRows(), index.snapshot().select(Map.of("unknown", List.of("=x"))).get());
+        assertEquals(Optional.empty(), index.snapshot().select(Map.of("port", List.of("=1"))));
+        assertEquals(Optional.empty(), index.snapshot().select(Map.of("status", List.of("=active", "~act"))));
+        assertTrue(index.snapshot().getRows("status", "ACTIVE").contains(
+                index.snapshot().getRows("status", "active").toArray()[0]));
+        assertThrows(IllegalArgumentException.class,
+                () -> new InvertedIndex<Device>(CONDITIONS, Map.of("port", Device::status)));
+    }
+
+    private static BitSet randomBitSet(Random random) {
+        BitSet bitSet = new BitSet();
+        int base = random.nextInt(3) << 16;
+        // Sparse array containers and dense bitmap containers
+        int count = random.nextBoolean() ? random.nextInt(100) : 4_000 + random.nextInt(20_000);
+        for (int i = 0; i < count; i++) {
+            bitSet.set(base + random.nextInt(random.nextBoolean() ? 65_536 : 140_000));
+        }
+        return bitSet;
+    }
+
+    private static Device randomDevice(Random random) {
+        return new Device(STATUSES[random.nextInt(STATUSES.length)], VENDORS[random.nextInt(VENDORS.length)],
+                random.nextInt(5) == 0 ? null : random.nextBoolean());
+    }
+
+    private static Map<String, List<String>> randomFilter(Random random) {
+        Map<String, List<String>> filter = new LinkedHashMap<>();
+        for (String fieldName : List.of("status", "vendor", "online")) {
+            if (random.nextBoolean()) {
+                continue;
+            }
+            List<String> values = new ArrayList<>();
+            for (int i = random.nextInt(3) + 1; i > 0; i--) {
+                String value = "status".equals(fieldName) ? STATUSES[random.nextInt(STATUSES.length - 1)]
+                        : "vendor".equals(fieldName) ? VENDORS[random.nextInt(VENDORS.length - 1)]
+                        : random.nextInt(4) == 0 ? "maybe" : String.valueOf(random.nextBoolean());
+                values.add(SIGNS[random.nextInt(SIGNS.length)] + value);
+            }
+            filter.put(fieldName, values);
+        }
+        return filter;
+    }
+
+    private record Device(String status, String vendor, Boolean online) {
+    }
+}
@@ -0,0 +1,120 @@
+package com.github.sukhin.metrics;
+
+import com.github.sukhin.FilterUtils;
+import com.github.sukhin.Qualifier;
+import com.github.sukhin.condition.FilterCondition;
+import com.github.sukhin.condition.IntegerFilterCondition;
+import com.github.sukhin.condition.StringFilterCondition;
+import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.SQLDialect;
+import org.jooq.Table;
+import org.jooq.impl.DSL;
+import org.jooq.impl.DefaultConfiguration;
+import org.jooq.impl.DefaultExecuteListenerProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InMemoryFilterRecorderTest {
+    private static final Table<Record> FLOW = DSL.table(DSL.name("flow"));
+    private static final Field<Integer> PORT_DST = DSL.field(DSL.name("port_dst"), Integer.class);
+    private static final Field<String> IP_SRC = DSL.field(DSL.name("ip_src"), String.class);
+    private static final Map<String, FilterCondition> CONDITIONS = Map.of(
+            "port", new IntegerFilterCondition(PORT_DST),
+            "ip_src", new StringFilterCondition(IP_SRC)
+    );
+
+    @AfterEach
+    void tearDown() {
+        FilterListeners.reset();
+    }
+
+    @Test
+    void recordsUsageDropsAndPhases() {
+        InMemoryFilterRecorder recorder = new InMemoryFilterRecorder(Duration.ofHours(1), Duration.ofHours(1));
+        FilterListeners.set(recorder);
+
+        FilterUtils.getConditionFromFilter(CONDITIONS,
+                Map.of("port", List.of("<11", "=100", "=x", "=99999999999"), "ip_src", List.of("~10."),
+                        "unknown", List.of("=1")));
+
+        assertEquals(Map.of("port", Map.of(Qualifier.LESS, 1L, Qualifier.EQUAL, 3L),
+                "ip_src", Map.of(Qualifier.LIKE, 1L)), recorder.getUsage());
+        assertEquals(Map.of("port", 2L), recorder.getDroppedValues());
+        assertEquals(2, recorder.getLatency(FilterPhase.PARSE).count());
+        assertEquals(2, recorder.getLatency(FilterPhase.BUILD).count());
+        assertEquals(5, recorder.getLatency(FilterPhase.CONVERT).count());
+        assertEquals(0, recorder.getSlowFilterCount());
+
+        recorder.reset();
+        assertTrue(recorder.getUsage().isEmpty());
+        assertEquals(0, recorder.getLatency(FilterPhase.PARSE).count());
+    }
+
+    @Test
+    void countsSlowFilters() {
+        InMemoryFilterRecorder recorder = new InMemoryFilterRecorder(Duration.ZERO, Duration.ofHours(1));
+        FilterListeners.set(recorder);
+
+        FilterUtils.getConditionFromFilter(CONDITIONS, Map.of("port", List.of("=1")));
+
+        assertEquals(1, recorder.getSlowFilterCount());
+    }
+
+    @Test
+    void recordsNothingWhenDisabled() {
+        InMemoryFilterRecorder recorder = new InMemoryFilterRecorder(Duration.ZERO, Duration.ZERO);
+
+        FilterUtils.getConditionFromFilter(CONDITIONS, Map.of("port", List.of("=x")));
+
+        assertTrue(recorder.getDroppedValues().isEmpty());
+        assertEquals(0, recorder.getSlowFilterCount());
+    }
+
+    @Test
+    void recordsRenderTime() throws Exception {
+        InMemoryFilterRecorder recorder = new InMemoryFilterRecorder(Duration.ofHours(1), Duration.ZERO);
+        FilterListeners.set(recorder);
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:metrics")) {
+            DSLContext ctx = DSL.using(new DefaultConfiguration()
+                    .set(connection)
+                    .set(SQLDialect.H2)
+                    .set(new DefaultExecuteListenerProvider(new RenderTimingListener())));
+            ctx.createTable(FLOW).column(PORT_DST).column(IP_SRC).execute();
+            Condition condition = FilterUtils.getConditionFromFilter(CONDITIONS, Map.of("port", List.of(">1")));
+
+            ctx.selectFrom(FLOW).where(condition).fetch();
+        }
+
+        assertEquals(2, recorder.getLatency(FilterPhase.RENDER).count());
+        assertEquals(2, recorder.getSlowRenderCount());
+        assertTrue(recorder.getLatency(FilterPhase.RENDER).percentile(50) > 0);
+    }
+
+    @Test
+    void percentileIsUpperBucketBound() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long nanos : new long[]{0, 1, 3, 100, 1000}) {
+            histogram.record(nanos);
+        }
+        LatencySnapshot snapshot = histogram.snapshot();
+
+        assertEquals(5, snapshot.count());
+        assertEquals(0, snapshot.percentile(20));
+        assertEquals(3, snapshot.percentile(60));
+        assertEquals(127, snapshot.percentile(80));
+        assertEquals(1000, snapshot.percentile(100));
+        assertEquals(220.8, snapshot.mean(), 1e-9);
+    }
+}
@@ -0,0 +1,119 @@
+package com.github.sukhin.page;
+
+import com.github.sukhin.FilterUtils;
+import com.github.sukhin.condition.FilterCondition;
+import com.github.sukhin.condition.IntegerFilterCondition;
+import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.Result;
+import org.jooq.SQLDialect;
+import org.jooq.SortField;
+import org.jooq.Table;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class KeysetPaginationTest {
+    private static final Table<Record> FLOW = DSL.table(DSL.name("flow"));
+    private static final Field<Long> ID = DSL.field(DSL.name("id"), Long.class);
+    private static final Field<Integer> PORT_DST = DSL.field(DSL.name("port_dst"), Integer.class);
+    private static final Field<String> IP_SRC = DSL.field(DSL.name("ip_src"), String.class);
+    private static final Map<String, Field<?>> SORT_FIELDS = Map.of("port_dst", PORT_DST, "ip_src", IP_SRC);
+    private static final Map<String, FilterCondition> CONDITIONS =
+            Map.of("port_dst", new IntegerFilterCondition(PORT_DST));
+
+    private Connection connection;
+    private DSLContext ctx;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:keyset");
+        ctx = DSL.using(connection, SQLDialect.H2);
+        ctx.createTable(FLOW).column(ID).column(PORT_DST).column(IP_SRC).execute();
+        for (long id = 1; id <= 50; id++) {
+            ctx.insertInto(FLOW, ID, PORT_DST, IP_SRC).values(id, (int) (id % 7), "10.0.0." + (id % 5)).execute();
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    void pagesThroughMixedOrderLikeOffset() {
+        List<SortField<?>> sortFields =
+                FilterUtils.getSortFieldsFromQualifierValues(SORT_FIELDS, List.of("-port_dst", "+ip_src"));
+        KeysetPagination pagination = new KeysetPagination(sortFields, ID);
+        Condition filter = FilterUtils.getConditionFromFilter(CONDITIONS, Map.of("port_dst", List.of("!=3")));
+
+        List<Long> expected = ctx.select(ID).from(FLOW).where(filter).orderBy(pagination.getSortFields()).fetch(ID);
+
+        assertEquals(expected, pageIds(pagination, filter));
+    }
+
+    @Test
+    void pagesThroughNullsInEveryNullOrdering() {
+        ctx.update(FLOW).set(PORT_DST, (Integer) null).where(ID.mod(4L).eq(0L).or(ID.lessThan(4L))).execute();
+        List<List<SortField<?>>> orders = List.of(
+                List.of(PORT_DST.asc()),
+                List.of(PORT_DST.desc()),
+                List.of(PORT_DST.asc().nullsFirst()),
+                List.of(PORT_DST.desc().nullsLast()),
+                List.of(PORT_DST.desc(), IP_SRC.asc()),
+                List.of(PORT_DST.asc().nullsFirst(), IP_SRC.desc()),
+                List.of(IP_SRC.asc(), PORT_DST.asc()));
+
+        for (List<SortField<?>> sortFields : orders) {
+            KeysetPagination pagination = new KeysetPagination(sortFields, ID);
+            List<Long> expected = ctx.select(ID).from(FLOW).orderBy(pagination.getSortFields()).fetch(ID);
+
+            assertEquals(50, expected.size());
+            assertEquals(expected, pageIds(pagination, DSL.noCondition()), sortFields.toString());
+        }
+    }
+
+    @Test
+    void rejectsCursorOfAnotherOrder() {
+        KeysetPagination ascending = new KeysetPagination(List.of(PORT_DST.asc()), ID);
+        KeysetPagination descending = new KeysetPagination(List.of(PORT_DST.desc()), ID);
+        Record row = ctx.select(ID, PORT_DST).from(FLOW).limit(1).fetchOne();
+
+        String cursor = ascending.getCursor(row);
+
+        assertThrows(IllegalArgumentException.class, () -> descending.getSeekCondition(cursor));
+        assertThrows(IllegalArgumentException.class, () -> ascending.getSeekCondition("not-a-cursor"));
+        KeysetPagination nullsFirst = new KeysetPagination(List.of(PORT_DST.asc().nullsFirst()), ID);
+        assertThrows(IllegalArgumentException.class, () -> nullsFirst.getSeekCondition(cursor));
+    }
+
+    private List<Long> pageIds(KeysetPagination pagination, Condition filter) {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        while (true) {
+            Result<?> page = ctx.select(ID, PORT_DST, IP_SRC).from(FLOW)
+                    .where(filter.and(pagination.getSeekCondition(cursor)))
+                    .orderBy(pagination.getSortFields())
+                    .limit(6)
+                    .fetch();
+            if (page.isEmpty()) {
+                return ids;
+            }
+            ids.addAll(page.getValues(ID));
+            cursor = pagination.getCursor(page.get(page.size() - 1));
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.github.sukhin.page;
+
+import com.github.sukhin.FilterKey;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PageCacheTest {
+    private static final PageKey FLOW_PAGE =
+            new PageKey("flow", FilterKey.of(Map.of("port_dst", List.of("=80")), List.of("-id")), "offset=0");
+    private static final PageKey HOST_PAGE =
+            new PageKey("host", FilterKey.of(Map.of("name", List.of("~a"))), "offset=0");
+
+    @Test
+    void keyCanonicalizesFilterAndSort() {
+        FilterKey key = FilterKey.of(Map.of("a", List.of("x", "y"), "b", List.of("z")), List.of("+a", "x", "-b", "-a"));
+
+        assertEquals(key, FilterKey.of(Map.of("b", List.of("z"), "a", List.of("y", "x")), List.of("+ a", "-b")));
+        assertEquals(List.of("+a", "-b"), key.getSort());
+        assertNotEquals(key, FilterKey.of(Map.of("a", List.of("x", "y"), "b", List.of("z")), List.of("-b", "+a")));
+        assertNotEquals(key, FilterKey.of(Map.of("a", List.of("x", "y"), "b", List.of("z"))));
+    }
+
+    @Test
+    void concurrentMissesShareOneLoad() throws Exception {
+        PageCache<List<Integer>> cache = new PageCache<>(10, 100, Duration.ofMinutes(1), List::size);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<List<Integer>>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> cache.get(FLOW_PAGE, () -> {
+                    loads.incrementAndGet();
+                    await(release);
+                    return List.of(1, 2, 3);
+                })));
+            }
+            while (cache.getStats().misses() + cache.getStats().sharedLoads() < 8) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+            for (Future<List<Integer>> result : results) {
+                assertEquals(List.of(1, 2, 3), result.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, loads.get());
+        assertEquals(new PageCacheStats(0, 1, 7, 0, 1, 3), cache.getStats());
+    }
+
+    @Test
+    void expiresEvictsAndInvalidates() {
+        AtomicLong clock = new AtomicLong();
+        PageCache<List<Integer>> cache = new PageCache<>(10, 6, Duration.ofSeconds(10), List::size, clock::get);
+
+        cache.get(FLOW_PAGE, () -> List.of(1, 2, 3));
+        clock.addAndGet(Duration.ofSeconds(9).toNanos());
+        assertEquals(List.of(1, 2, 3), cache.get(FLOW_PAGE, () -> List.of(4)));
+        clock.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertEquals(List.of(4), cache.get(FLOW_PAGE, () -> List.of(4)));
+
+        // Weight 1 + 3 fits, another 3 evicts the least recently used page
+        cache.get(HOST_PAGE, () -> List.of(5, 6, 7));
+        PageKey other = new PageKey("flow", FLOW_PAGE.filter(), "offset=50");
+        cache.get(other, () -> List.of(8, 9, 10));
+        assertEquals(new PageCacheStats(1, 4, 0, 1, 2, 6), cache.getStats());
+
+        cache.invalidate("flow");
+        assertEquals(new PageCacheStats(1, 4, 0, 1, 1, 3), cache.getStats());
+        assertEquals(List.of(11), cache.get(other, () -> List.of(11)));
+        assertEquals(List.of(5, 6, 7), cache.get(HOST_PAGE, () -> List.of()));
+    }
+
+    @Test
+    void failedLoadIsNotCached() {
+        PageCache<List<Integer>> cache = new PageCache<>(10, 100, Duration.ofMinutes(1), List::size);
+
+        assertThrows(IllegalStateException.class, () -> cache.get(FLOW_PAGE, () -> {
+            throw new IllegalStateException();
+        }));
+        assertEquals(List.of(1), cache.get(FLOW_PAGE, () -> List.of(1)));
+    }
+
+    @Test
+    void sharedLoadFailsWithCheckedException() throws Exception {
+        PageCache<List<Integer>> cache = new PageCache<>(10, 100, Duration.ofMinutes(1), List::size);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<List<Integer>> loader = executor.submit(() -> cache.get(FLOW_PAGE, () -> {
+                await(release);
+                return sneakyThrow(new IOException("Connection reset"));
+            }));
+            while (cache.getStats().misses() < 1) {
+                Thread.onSpinWait();
+            }
+            Future<List<Integer>> sharing = executor.submit(() -> cache.get(FLOW_PAGE, List::of));
+            while (cache.getStats().sharedLoads() < 1) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            ExecutionException loaderFailure =
+                    assertThrows(ExecutionException.class, () -> loader.get(10, TimeUnit.SECONDS));
+            assertInstanceOf(IOException.class, loaderFailure.getCause());
+            ExecutionException sharedFailure =
+                    assertThrows(ExecutionException.class, () -> sharing.get(10, TimeUnit.SECONDS));
+            assertInstanceOf(CompletionException.class, sharedFailure.getCause());
+            assertSame(loaderFailure.getCause(), sharedFailure.getCause().getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void invalidationDuringLoadSkipsCaching() {
+        PageCache<List<Integer>> cache = new PageCache<>(10, 100, Duration.ofMinutes(1), List::size);
+
+        assertEquals(List.of(1), cache.get(FLOW_PAGE, () -> {
+            cache.invalidate("flow");
+            return List.of(1);
+        }));
+        assertEquals(List.of(2), cache.get(FLOW_PAGE, () -> List.of(2)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T, E extends Throwable> T sneakyThrow(Throwable e) throws E {
+        throw (E) e;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
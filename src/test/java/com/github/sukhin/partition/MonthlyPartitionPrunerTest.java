@@ -0,0 +1,79 @@
+package com.github.sukhin.partition;
+
+import com.github.sukhin.FilterUtils;
+import com.github.sukhin.condition.FilterCondition;
+import com.github.sukhin.condition.IntegerFilterCondition;
+import com.github.sukhin.condition.LocalDateTimeFilterCondition;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MonthlyPartitionPrunerTest {
+    private static final Field<LocalDateTime> CREATED = DSL.field(DSL.name("created"), LocalDateTime.class);
+    private static final Field<Integer> PORT_DST = DSL.field(DSL.name("port_dst"), Integer.class);
+    private static final LocalDateTimeFilterCondition CREATED_CONDITION = new LocalDateTimeFilterCondition(CREATED);
+    private static final Map<String, FilterCondition> CONDITIONS = Map.of(
+            "created", CREATED_CONDITION,
+            "port_dst", new IntegerFilterCondition(PORT_DST)
+    );
+    private static final MonthlyPartitionPruner PRUNER = new MonthlyPartitionPruner("created", CREATED_CONDITION,
+            YearMonth.of(2021, 1), YearMonth.of(2023, 12), MonthlyPartitionPruner.tablesNamed("events_", "yyyyMM"));
+
+    @Test
+    void resolvesMinimalSetOfPartitions() {
+        assertEquals(36, PRUNER.getPartitions(Map.of("port_dst", List.of("=80"))).size());
+        assertEquals(36, PRUNER.getPartitions(Map.of("created", List.of("x"))).size());
+        assertEquals(List.of(YearMonth.of(2023, 3)),
+                PRUNER.getPartitions(Map.of("created", List.of("=2023-03-10T12:00"))));
+        assertEquals(List.of(YearMonth.of(2023, 11), YearMonth.of(2023, 12)),
+                PRUNER.getPartitions(Map.of("created", List.of(">=2023-11-15T00:00"))));
+        assertEquals(List.of(YearMonth.of(2021, 1)),
+                PRUNER.getPartitions(Map.of("created", List.of("<2021-02-01T00:00"))));
+        assertEquals(List.of(YearMonth.of(2021, 1), YearMonth.of(2021, 2)),
+                PRUNER.getPartitions(Map.of("created", List.of("<=2021-02-01T00:00"))));
+        assertEquals(List.of(YearMonth.of(2021, 5), YearMonth.of(2023, 5)),
+                PRUNER.getPartitions(Map.of("created", List.of("=2023-05-10T00:00", "=2021-05-10T00:00"))));
+        assertEquals(List.of(YearMonth.of(2021, 5)),
+                PRUNER.getPartitions(Map.of("created", List.of("=2021-05-10T00:00", "=2021-05-20T00:00"))));
+        assertEquals(List.of(), PRUNER.getPartitions(Map.of("created", List.of("=2030-01-01T00:00"))));
+    }
+
+    @Test
+    void queriesOnlyPrunedPartitions() throws Exception {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:partition")) {
+            DSLContext ctx = DSL.using(connection, SQLDialect.H2);
+            // Only the partitions the filters resolve to exist, querying any other one would fail
+            for (YearMonth month : List.of(YearMonth.of(2023, 11), YearMonth.of(2023, 12))) {
+                String table = "events_" + month.getYear() + month.getMonthValue();
+                ctx.createTable(DSL.name(table)).column(CREATED).column(PORT_DST).execute();
+                ctx.insertInto(DSL.table(DSL.name(table)), CREATED, PORT_DST)
+                        .values(month.atDay(20).atTime(10, 0), 80)
+                        .values(month.atDay(5).atTime(10, 0), 22)
+                        .execute();
+            }
+
+            Map<String, List<String>> filter = Map.of("created", List.of(">=2023-11-15T00:00"));
+            List<Integer> ports = ctx.select(PORT_DST).from(PRUNER.getTable(filter, "events"))
+                    .where(FilterUtils.getConditionFromFilter(CONDITIONS, filter))
+                    .orderBy(CREATED)
+                    .fetch(PORT_DST);
+            Map<String, List<String>> single = Map.of("created", List.of("=2023-12-05T10:00"));
+            int count = ctx.fetchCount(ctx.selectFrom(PRUNER.getTable(single, "events"))
+                    .where(FilterUtils.getConditionFromFilter(CONDITIONS, single)));
+
+            assertEquals(List.of(80, 22, 80), ports);
+            assertEquals(1, count);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.github.sukhin.plan;
+
+import com.github.sukhin.FilterUtils;
+import com.github.sukhin.condition.FilterCondition;
+import com.github.sukhin.condition.IntegerFilterCondition;
+import com.github.sukhin.condition.StringFilterCondition;
+import org.jooq.DSLContext;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class FilterPlanCacheTest {
+    private static final DSLContext CTX = DSL.using(SQLDialect.POSTGRES);
+    private static final Map<String, FilterCondition> CONDITIONS = Map.of(
+            "ip_src", new StringFilterCondition(DSL.field(DSL.name("ip_src"), String.class)),
+            "port_dst", new IntegerFilterCondition(DSL.field(DSL.name("port_dst"), Integer.class))
+    );
+
+    @Test
+    void reordersFilterToSamePlan() {
+        FilterPlanCache cache = new FilterPlanCache(CONDITIONS, 10);
+        Map<String, List<String>> first = new LinkedHashMap<>();
+        first.put("ip_src", List.of("!=10.119.24.99"));
+        first.put("port_dst", List.of("<11", "100"));
+        Map<String, List<String>> second = new LinkedHashMap<>();
+        second.put("port_dst", List.of("100", "<11", "100"));
+        second.put("ip_src", List.of("!=10.119.24.99"));
+
+        FilterPlan plan = cache.getPlan(second);
+
+        assertSame(plan, cache.getPlan(first));
+        assertEquals(CTX.renderInlined(FilterUtils.getConditionFromFilter(CONDITIONS, first)),
+                CTX.renderInlined(plan.getCondition()));
+        assertEquals(new FilterPlanCacheStats(1, 1, 0, 1, 10), cache.getStats());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedPlan() {
+        FilterPlanCache cache = new FilterPlanCache(CONDITIONS, 2);
+        FilterPlan first = cache.getPlan(Map.of("port_dst", List.of("1")));
+        cache.getPlan(Map.of("port_dst", List.of("2")));
+        cache.getPlan(Map.of("port_dst", List.of("1")));
+        cache.getPlan(Map.of("port_dst", List.of("3")));
+
+        assertSame(first, cache.getPlan(Map.of("port_dst", List.of("1"))));
+        assertEquals(new FilterPlanCacheStats(2, 3, 1, 2, 2), cache.getStats());
+    }
+}
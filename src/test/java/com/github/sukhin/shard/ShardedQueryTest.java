@@ -0,0 +1,145 @@
+package com.github.sukhin.shard;
+
+import com.github.sukhin.FilterRegistry;
+import org.jooq.DSLContext;
+import org.jooq.ExecuteContext;
+import org.jooq.ExecuteListener;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.SQLDialect;
+import org.jooq.SortField;
+import org.jooq.Table;
+import org.jooq.exception.DataAccessException;
+import org.jooq.impl.DSL;
+import org.jooq.impl.DefaultConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ShardedQueryTest {
+    private static final int SHARD_COUNT = 3;
+    private static final String CREATE = "create table \"flow\" (\"id\" int, \"port_dst\" int, \"bytes\" bigint)";
+    private static final Field<Integer> ID = DSL.field(DSL.name("id"), Integer.class);
+
+    private final List<Connection> connections = new ArrayList<>();
+    private final List<DSLContext> shards = new ArrayList<>();
+    private DSLContext all;
+    private Table<?> flow;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        all = DSL.using(connect("all"), SQLDialect.H2);
+        all.execute(CREATE);
+        for (int shard = 0; shard < SHARD_COUNT; shard++) {
+            DSLContext ctx = DSL.using(connect("shard" + shard), SQLDialect.H2);
+            ctx.execute(CREATE);
+            // Rows are spread unevenly, port_dst has duplicates and nulls
+            String rows = "select x, case when mod(x, 11) = 0 then null else mod(x, 13) end, mod(x * 7, 100) "
+                    + "from system_range(1, 300) where mod(x, " + (shard + 2) + ") = 0 and mod(x, 3) = " + shard;
+            ctx.execute("insert into \"flow\" " + rows);
+            all.execute("insert into \"flow\" " + rows);
+            shards.add(ctx);
+        }
+        flow = all.meta().getTables("flow").get(0);
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        executor.shutdownNow();
+        for (Connection connection : connections) {
+            connection.close();
+        }
+    }
+
+    @Test
+    void mergesShardsLikeOneDatabase() {
+        FilterRegistry registry = FilterRegistry.of(flow);
+        ShardedQuery query = new ShardedQuery(shards, executor, Duration.ofSeconds(10));
+        Map<String, List<String>> filter = Map.of("bytes", List.of("<70"));
+        for (List<String> sortValues : List.of(List.of("-port_dst", "+id"), List.of("+port_dst", "-bytes", "+id"),
+                List.of("-bytes", "-id"))) {
+            for (int offset : new int[]{0, 7, 40, 500}) {
+                ShardedPage page = query.fetchPage(flow, registry, filter, sortValues, offset, 15);
+                List<Integer> expected = all.select(ID).from(flow).where(DSL.field(DSL.name("bytes")).lt(70))
+                        .orderBy(nullsLikePostgres(sortValues)).limit(offset, 15).fetch(ID);
+
+                assertFalse(page.isPartial());
+                assertEquals(expected, ids(page), sortValues + " " + offset);
+            }
+        }
+    }
+
+    @Test
+    void reportsFailedAndSlowShards() {
+        List<DSLContext> withFailures = new ArrayList<>(shards);
+        withFailures.add(DSL.using(new DefaultConfiguration().set(connections.get(1)).set(SQLDialect.H2)
+                .set(ExecuteListener.onExecuteStart(ShardedQueryTest::sleep))));
+        withFailures.add(DSL.using(connect("empty"), SQLDialect.H2));
+        ShardedQuery query = new ShardedQuery(withFailures, executor, Duration.ofMillis(500));
+
+        long start = System.nanoTime();
+        ShardedPage page = query.fetchPage(flow, DSL.noCondition(), List.of(ID.asc()), 0, 5);
+
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+        assertEquals(all.select(ID).from(flow).orderBy(ID).limit(5).fetch(ID), ids(page));
+        assertTrue(page.isPartial());
+        assertEquals(2, page.failures().size());
+        assertEquals(SHARD_COUNT, page.failures().get(0).shard());
+        assertTrue(page.failures().get(0).isTimeout());
+        assertInstanceOf(DataAccessException.class, page.failures().get(1).cause());
+        assertFalse(page.failures().get(1).isTimeout());
+    }
+
+    private Connection connect(String name) {
+        try {
+            Connection connection = DriverManager.getConnection("jdbc:h2:mem:" + name);
+            connections.add(connection);
+            return connection;
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void sleep(ExecuteContext ctx) {
+        try {
+            Thread.sleep(30_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static List<SortField<?>> nullsLikePostgres(List<String> sortValues) {
+        List<SortField<?>> sortFields = new ArrayList<>();
+        for (String sortValue : sortValues) {
+            Field<Object> field = DSL.field(DSL.name(sortValue.substring(1)));
+            sortFields.add(sortValue.startsWith("-") ? field.desc().nullsFirst() : field.asc().nullsLast());
+        }
+        return sortFields;
+    }
+
+    private static List<Integer> ids(ShardedPage page) {
+        List<Integer> ids = new ArrayList<>();
+        for (Record record : page.records()) {
+            ids.add(record.get(ID));
+        }
+        return ids;
+    }
+}